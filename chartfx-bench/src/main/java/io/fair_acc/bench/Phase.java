@@ -0,0 +1,45 @@
+package io.fair_acc.bench;
+
+/**
+ * The processing phases of a chart update that are recorded individually in order to determine
+ * which part of the pipeline misses the frame budget.
+ */
+public enum Phase {
+    /**
+     * Time spent waiting for a data set lock
+     */
+    LockWait("lockWait"),
+
+    /**
+     * Data reduction, e.g. dropping points that map onto the same pixel
+     */
+    Reduce("reduce"),
+
+    /**
+     * Transformation from data to screen coordinates
+     */
+    Transform("transform"),
+
+    /**
+     * Issuing the draw commands to the canvas
+     */
+    Draw("draw"),
+
+    /**
+     * Layout of the chart and its components
+     */
+    Layout("layout");
+
+    Phase(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * @return tag that gets appended to the measurement name
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    final String tag;
+}
@@ -0,0 +1,103 @@
+package io.fair_acc.bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Records the durations of the individual {@link Phase}s of a component, e.g., a renderer or a data set,
+ * in separate time measures named '&lt;prefix&gt;-&lt;phase&gt;'.
+ * <p>
+ * Contrary to a {@link DurationMeasure}, the start timestamps are kept by the caller, so a single
+ * instance may be used from multiple threads concurrently. Subsequent phases can be chained via the
+ * returned end timestamps, e.g.,
+ *
+ * <pre>{@code
+ * long time = phases.start();
+ * transform();
+ * time = phases.record(Phase.Transform, time);
+ * reduce();
+ * time = phases.record(Phase.Reduce, time);
+ * draw();
+ * phases.record(Phase.Draw, time);
+ * }</pre>
+ */
+public final class PhaseMeasure {
+    /**
+     * @param recorder recorder that creates the underlying time measures
+     * @param prefix   name of the measured component, e.g., 'xy' or 'lock'
+     * @param level    the detail level of the measured values
+     * @param phases   the phases that should be recorded. Other phases are ignored.
+     * @return phase measure or {@link #DISABLED} if none of the phases are enabled
+     */
+    public static PhaseMeasure create(MeasurementRecorder recorder, String prefix, IntSupplier level, Phase... phases) {
+        final TimeMeasure[] measures = new TimeMeasure[PHASES.length];
+        boolean enabled = false;
+        for (Phase phase : phases) {
+            final TimeMeasure measure = recorder.newTime(prefix + "-" + phase.getTag(), level);
+            if (measure != TimeMeasure.DISABLED) {
+                measures[phase.ordinal()] = measure;
+                enabled = true;
+            }
+        }
+        return enabled ? new PhaseMeasure(measures) : DISABLED;
+    }
+
+    /**
+     * @param recorder recorder that creates the underlying time measures
+     * @param prefix   name of the measured component, e.g., 'xy' or 'lock'
+     * @param level    the detail level of the measured values
+     * @return phase measure that records all phases
+     */
+    public static PhaseMeasure create(MeasurementRecorder recorder, String prefix, IntSupplier level) {
+        return create(recorder, prefix, level, PHASES);
+    }
+
+    private PhaseMeasure(TimeMeasure[] measures) {
+        this.enabled = measures.length > 0;
+        for (int i = 0; i < measures.length; i++) {
+            if (measures[i] == null) {
+                measures[i] = TimeMeasure.DISABLED;
+            }
+        }
+        this.measures = measures;
+    }
+
+    /**
+     * @return start timestamp in nanoseconds, or zero if no phase is recorded
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the elapsed time since the start timestamp
+     *
+     * @param phase     the phase that has just finished
+     * @param startTime timestamp returned by {@link #start()} or a previous call to this method
+     * @return end timestamp that can be used as the start of the next phase
+     */
+    public long record(Phase phase, long startTime) {
+        if (!enabled) {
+            return 0;
+        }
+        final long endTime = System.nanoTime();
+        measures[phase.ordinal()].recordTime(TimeUnit.NANOSECONDS, endTime - startTime);
+        return endTime;
+    }
+
+    /**
+     * @return true if at least one phase gets recorded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private final boolean enabled;
+    private final TimeMeasure[] measures;
+    private static final Phase[] PHASES = Phase.values();
+
+    /**
+     * A default implementation that does nothing and may be eliminated at runtime
+     */
+    public static final PhaseMeasure DISABLED = new PhaseMeasure(new TimeMeasure[0]);
+}
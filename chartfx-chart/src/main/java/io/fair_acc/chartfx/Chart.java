@@ -22,9 +22,12 @@ import javafx.scene.canvas.Canvas;
 import javafx.scene.layout.*;
 import javafx.util.Duration;
 
+import io.fair_acc.bench.BenchLevel;
 import io.fair_acc.bench.DurationMeasure;
 import io.fair_acc.bench.Measurable;
 import io.fair_acc.bench.MeasurementRecorder;
+import io.fair_acc.bench.Phase;
+import io.fair_acc.bench.PhaseMeasure;
 import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.axes.spi.AbstractAxis;
 import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
@@ -99,7 +102,9 @@ public abstract class Chart extends Region implements EventSource, Measurable {
 
     // Inner canvas for the drawn content
     protected final ResizableCanvas canvas = StyleUtil.addStyles(new ResizableCanvas(), "chart-canvas");
+    protected final Pane canvasLayers = StyleUtil.addStyles(new FullSizePane(), "chart-canvas-layers"); // optional cached layers on top of the main canvas
     protected final Pane canvasForeground = StyleUtil.addStyles(new FullSizePane(), "chart-canvas-foreground");
+    protected Canvas renderCanvas = canvas; // canvas the renderers currently draw into
     protected final Group pluginsArea = FXUtils.createUnmanagedGroup();
 
     // Area where plots get drawn
@@ -235,6 +240,7 @@ public abstract class Chart extends Region implements EventSource, Measurable {
         getCanvasForeground().setManaged(false);
         getCanvasForeground().setMouseTransparent(true);
         getCanvas().toFront();
+        canvasLayers.toFront();
         getCanvasForeground().toFront();
         pluginsArea.toFront();
 
@@ -264,9 +270,11 @@ public abstract class Chart extends Region implements EventSource, Measurable {
         //           > hidden elements for zoom etc.
         //           > plot area
         //             > canvas (main)
+        //             > canvas layers (optional)
         //             > canvas foreground
         //             > plugins
-        var canvasArea = StyleUtil.addStyles(new FullSizePane(canvas, canvasForeground, pluginsArea), "chart-canvas-area");
+        canvasLayers.setMouseTransparent(true);
+        var canvasArea = StyleUtil.addStyles(new FullSizePane(canvas, canvasLayers, canvasForeground, pluginsArea), "chart-canvas-area");
         plotArea.setContent(canvasArea);
         axesAndCanvasPane.addCenter(plotBackground, plotArea, plotForeGround);
         titleLegendPane.addCenter(axesAndCanvasPane);
@@ -327,6 +335,15 @@ public abstract class Chart extends Region implements EventSource, Measurable {
         return canvas;
     }
 
+    /**
+     * @return the canvas the renderers are supposed to draw into during {@link #redrawCanvas()}, ie. the main
+     *         {@link #getCanvas() canvas} or, for charts with cached layers, the layer of the renderer that is
+     *         currently being drawn
+     */
+    public final Canvas getRenderCanvas() {
+        return renderCanvas;
+    }
+
     public final Pane getCanvasForeground() {
         return canvasForeground;
     }
@@ -498,9 +515,9 @@ public abstract class Chart extends Region implements EventSource, Measurable {
         state.clear(ChartBits.ChartLegend);
 
         // Make sure the datasets won't be modified
-        benchLockDataSets.start();
+        final long lockTime = benchPhases.start();
         ensureLockedDataSets();
-        benchLockDataSets.stop();
+        benchPhases.record(Phase.LockWait, lockTime);
 
         // Update data ranges etc. to trigger anything that might need a layout
         benchUpdateAxisRange.start();
@@ -525,7 +542,7 @@ public abstract class Chart extends Region implements EventSource, Measurable {
 
     @Override
     public void layoutChildren() {
-        benchLayoutChildren.start();
+        final long layoutTime = benchPhases.start();
 
         // Size all nodes to full size. Account for margin and border insets.
         final double x = snappedLeftInset();
@@ -554,7 +571,7 @@ public abstract class Chart extends Region implements EventSource, Measurable {
             layoutPluginsChildren();
         }
 
-        benchLayoutChildren.stop();
+        benchPhases.record(Phase.Layout, layoutTime);
     }
 
     protected void runPostLayout() {
@@ -597,11 +614,30 @@ public abstract class Chart extends Region implements EventSource, Measurable {
 
     protected void ensureLockedDataSets() {
         if (!hasLocked) {
-            forEachDataSet(ds -> lockedDataSets.add(ds.lock().readLock()));
+            // N.B. renderers that read the live data need the read lock, the others may use a consistent copy of data sets
+            // in snapshot read mode instead (see Renderer#isSnapshotAware())
+            for (Renderer renderer : renderers) {
+                if (!renderer.isSnapshotAware()) {
+                    for (DataSet dataset : renderer.getDatasets()) {
+                        lockedDataSets.computeIfAbsent(dataset, key -> key.lock().readLock());
+                    }
+                }
+            }
+            forEachDataSet(ds -> lockedDataSets.computeIfAbsent(ds, key -> key.lock().acquireSnapshot()));
             hasLocked = true;
         }
     }
 
+    /**
+     * @param dataSet data set of one of the renderers
+     * @return the consistent view of the data set during the current layout pass, ie. its latest snapshot if it is in
+     *         snapshot read mode and the (read-locked) data set itself otherwise
+     */
+    public DataSet getRenderDataSet(final DataSet dataSet) {
+        final DataSet snapshot = lockedDataSets.get(dataSet);
+        return snapshot == null ? dataSet : snapshot;
+    }
+
     protected void clearStates() {
         for (var renderer : getRenderers()) {
             if (renderer instanceof EventSource) {
@@ -617,12 +653,13 @@ public abstract class Chart extends Region implements EventSource, Measurable {
 
         state.clear();
 
-        for (var ds : lockedDataSets) {
+        for (var entry : lockedDataSets.entrySet()) {
+            final DataSet ds = entry.getKey();
             for (AxisDescription axisDescription : ds.getAxisDescriptions()) {
                 axisDescription.getBitState().clear();
             }
             ds.getBitState().clear(); // technically a 'write'
-            ds.lock().readUnLock();
+            ds.lock().releaseSnapshot(entry.getValue());
         }
         hasLocked = false;
         lockedDataSets.clear();
@@ -636,7 +673,7 @@ public abstract class Chart extends Region implements EventSource, Measurable {
         }
     }
 
-    private final List<DataSet> lockedDataSets = new ArrayList<>();
+    private final Map<DataSet, DataSet> lockedDataSets = new IdentityHashMap<>(); // data set -> snapshot
     private boolean hasLocked = false;
 
     public final ObjectProperty<Legend> legendProperty() {
@@ -942,9 +979,8 @@ public abstract class Chart extends Region implements EventSource, Measurable {
     public void setRecorder(MeasurementRecorder recorder) {
         benchPreLayout = recorder.newDuration("chart-runPreLayout");
         benchCssAndLayout = recorder.newTraceDuration("chart-cssAndLayout").ignoreMissingStart();
-        benchLayoutChildren = recorder.newTraceDuration("chart-layoutChildren");
         benchPostLayout = recorder.newDuration("chart-runPostLayout");
-        benchLockDataSets = recorder.newDebugDuration("chart-lockDataSets");
+        benchPhases = PhaseMeasure.create(recorder, "chart", BenchLevel.Debug, Phase.LockWait, Phase.Layout);
         benchUpdateAxisRange = recorder.newDuration("chart-updateAxisRange");
         benchDrawAxes = recorder.newDuration("chart-drawAxes");
         benchDrawCanvas = recorder.newDebugDuration("chart-drawCanvas");
@@ -952,9 +988,8 @@ public abstract class Chart extends Region implements EventSource, Measurable {
 
     private DurationMeasure benchPreLayout = DurationMeasure.DISABLED;
     private DurationMeasure benchCssAndLayout = DurationMeasure.DISABLED;
-    private DurationMeasure benchLayoutChildren = DurationMeasure.DISABLED;
     private DurationMeasure benchPostLayout = DurationMeasure.DISABLED;
-    private DurationMeasure benchLockDataSets = DurationMeasure.DISABLED;
+    private PhaseMeasure benchPhases = PhaseMeasure.DISABLED;
     private DurationMeasure benchUpdateAxisRange = DurationMeasure.DISABLED;
     private DurationMeasure benchDrawAxes = DurationMeasure.DISABLED;
     private DurationMeasure benchDrawCanvas = DurationMeasure.DISABLED;
@@ -1,5 +1,11 @@
 package io.fair_acc.chartfx;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -8,6 +14,8 @@ import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 
 import io.fair_acc.bench.DurationMeasure;
@@ -17,10 +25,13 @@ import io.fair_acc.chartfx.axes.spi.AxisRange;
 import io.fair_acc.chartfx.plugins.ChartPlugin;
 import io.fair_acc.chartfx.renderer.PolarTickStep;
 import io.fair_acc.chartfx.renderer.Renderer;
+import io.fair_acc.chartfx.renderer.spi.AbstractRenderer;
 import io.fair_acc.chartfx.renderer.spi.ErrorDataSetRenderer;
 import io.fair_acc.chartfx.renderer.spi.GridRenderer;
 import io.fair_acc.chartfx.renderer.spi.LabelledMarkerRenderer;
+import io.fair_acc.chartfx.ui.ResizableCanvas;
 import io.fair_acc.chartfx.ui.css.DataSetNode;
+import io.fair_acc.chartfx.ui.css.StyleUtil;
 import io.fair_acc.chartfx.ui.geometry.Side;
 import io.fair_acc.chartfx.utils.FXUtils;
 import io.fair_acc.chartfx.utils.PropUtil;
@@ -44,6 +55,11 @@ public class XYChart extends Chart {
     protected final BooleanProperty polarPlot = new SimpleBooleanProperty(this, "polarPlot", false);
     private final ObjectProperty<PolarTickStep> polarStepSize = new SimpleObjectProperty<>(PolarTickStep.THIRTY);
     private final GridRenderer gridRenderer = new GridRenderer(this);
+    private final BooleanProperty layeredRendering = new SimpleBooleanProperty(this, "layeredRendering", false);
+    private final Map<Renderer, RendererLayer> layers = new IdentityHashMap<>();
+    private final ResizableCanvas topGridLayer = StyleUtil.addStyles(new ResizableCanvas(), "chart-canvas-layer");
+    private boolean layersInvalid = true;
+    private int redrawnLayerCount;
 
     /**
      * Construct a new XYChart with the given axes.
@@ -89,6 +105,7 @@ public class XYChart extends Chart {
                 gridRenderer.drawOnTopProperty());
 
         getRenderers().addListener(this::rendererChanged);
+        PropUtil.runOnChange(this::invalidate, layeredRendering);
 
         // TODO: get rid of default instance. It's created if anyone wants to use getDatasets()
         getRenderers().add(new ErrorDataSetRenderer());
@@ -140,6 +157,14 @@ public class XYChart extends Chart {
         return gridRenderer;
     }
 
+    /**
+     * @return number of renderer layers that have been redrawn during the last {@link #redrawCanvas()} (N.B. all
+     *         renderers if {@link #isLayeredRendering() layered rendering} is disabled)
+     */
+    public int getRedrawnLayerCount() {
+        return redrawnLayerCount;
+    }
+
     public PolarTickStep getPolarStepSize() {
         return polarStepSizeProperty().get();
     }
@@ -162,6 +187,38 @@ public class XYChart extends Chart {
         return getFirstAxis(Orientation.VERTICAL);
     }
 
+    @Override
+    public void invalidate() {
+        layersInvalid = true; // N.B. explicit invalidation: redraw all layers
+        super.invalidate();
+    }
+
+    /**
+     * @return {@code true} if each renderer is drawn into its own cached layer
+     * @see #layeredRenderingProperty()
+     */
+    public final boolean isLayeredRendering() {
+        return layeredRenderingProperty().get();
+    }
+
+    /**
+     * Layered rendering mode: each renderer draws into its own cached canvas layer that is stacked on top of the main
+     * canvas (in the order of the renderers) and composited by the scene graph. A layer is only cleared and redrawn if
+     * its renderer's {@link AbstractRenderer#changeCounterProperty() properties}, one of its data sets (data, range,
+     * name or style), its axes (range, length, orientation or scale), the canvas size or the polar mode changed, or
+     * after an explicit {@link #invalidate()}. Thus, a fast-updating renderer no longer forces the repaint of the
+     * otherwise static ones, e.g. reference traces or overlays. The grid is always redrawn.
+     * <p>
+     * Renderers not derived from {@link AbstractRenderer} are redrawn on every pass. N.B. each layer holds a canvas of
+     * the size of the plot area, ie. the mode trades memory for repaint time and is best used with data sets grouped into
+     * few renderers by update rate. By default it's {@code false}.
+     *
+     * @return the layeredRendering property
+     */
+    public final BooleanProperty layeredRenderingProperty() {
+        return layeredRendering;
+    }
+
     /**
      * whether renderer should use polar coordinates (x -&gt; interpreted as phi, y as radial coordinate)
      *
@@ -195,6 +252,16 @@ public class XYChart extends Chart {
         return this;
     }
 
+    /**
+     * @param state {@code true} if each renderer should be drawn into its own cached layer
+     * @return itself (fluent design)
+     * @see #layeredRenderingProperty()
+     */
+    public final XYChart setLayeredRendering(final boolean state) {
+        layeredRenderingProperty().set(state);
+        return this;
+    }
+
     public void setPolarStepSize(final PolarTickStep step) {
         polarStepSizeProperty().set(step);
     }
@@ -202,9 +269,9 @@ public class XYChart extends Chart {
     @Override
     public void updateAxisRange() {
         // Update the axis definitions of all datasets. We do it here, so we can make better
-        // use of multi-threading. The datasets are already locked, so we can use a parallel
-        // stream without extra synchronization.
-        getRenderers().stream().flatMap(renderer -> renderer.getDatasetNodes().stream()).filter(DataSetNode::isVisible).map(DataSetNode::getDataSet).filter(ds -> ds.getBitState().isDirty(ChartBits.DataSetData, ChartBits.DataSetRange)).distinct().forEach(dataset -> dataset.getAxisDescriptions().parallelStream().filter(axisD -> !axisD.isDefined() || axisD.getBitState().isDirty()).forEach(axisDescription -> dataset.recomputeLimits(axisDescription.getDimIndex())));
+        // use of multi-threading. The render datasets are either read-locked or private snapshots
+        // of datasets in snapshot read mode, so we can use a parallel stream without extra synchronization.
+        getRenderers().stream().flatMap(renderer -> renderer.getDatasetNodes().stream()).filter(DataSetNode::isVisible).map(DataSetNode::getDataSet).filter(ds -> ds.getBitState().isDirty(ChartBits.DataSetData, ChartBits.DataSetRange)).map(this::getRenderDataSet).distinct().forEach(dataset -> dataset.getAxisDescriptions().parallelStream().filter(axisD -> !axisD.isDefined() || axisD.getBitState().isDirty()).forEach(axisDescription -> dataset.recomputeLimits(axisDescription.getDimIndex())));
 
         // Update each axis
         for (Axis axis : getAxes()) {
@@ -273,19 +340,71 @@ public class XYChart extends Chart {
 
         // Data
         benchDrawData.start();
-        for (final Renderer renderer : getRenderers()) {
-            renderer.render();
+        if (isLayeredRendering()) {
+            redrawLayers();
+        } else {
+            if (!layers.isEmpty() || !canvasLayers.getChildren().isEmpty()) {
+                layers.clear();
+                canvasLayers.getChildren().clear();
+            }
+            for (final Renderer renderer : getRenderers()) {
+                renderer.render();
+            }
+            redrawnLayerCount = getRenderers().size();
         }
         benchDrawData.stop();
 
         // Top grid
         if (gridRenderer.isDrawOnTop()) {
             benchDrawGrid.start();
+            if (isLayeredRendering()) {
+                // N.B. needs to be on top of the renderer layers
+                renderCanvas = topGridLayer;
+                topGridLayer.getGraphicsContext2D().clearRect(0, 0, topGridLayer.getWidth(), topGridLayer.getHeight());
+            }
             gridRenderer.render();
+            renderCanvas = canvas;
             benchDrawGrid.stop();
         }
     }
 
+    private void redrawLayers() {
+        // sync layers with the renderers (N.B. layer order = rendering order)
+        final List<Node> layerNodes = new ArrayList<>(getRenderers().size() + 1);
+        layers.keySet().retainAll(getRenderers());
+        for (final Renderer renderer : getRenderers()) {
+            layerNodes.add(layers.computeIfAbsent(renderer, r -> new RendererLayer()).canvas);
+        }
+        if (gridRenderer.isDrawOnTop()) {
+            layerNodes.add(topGridLayer);
+        }
+        if (!canvasLayers.getChildren().equals(layerNodes)) {
+            canvasLayers.getChildren().setAll(layerNodes);
+        }
+
+        final double width = canvas.getWidth();
+        final double height = canvas.getHeight();
+        redrawnLayerCount = 0;
+        try {
+            for (final Renderer renderer : getRenderers()) {
+                final RendererLayer layer = layers.get(renderer);
+                // N.B. the layers are resized by the parent pane
+                layer.canvas.setWidth(width);
+                layer.canvas.setHeight(height);
+                if (!layer.update(renderer, layersInvalid, isPolarPlot())) {
+                    continue;
+                }
+                renderCanvas = layer.canvas;
+                layer.canvas.getGraphicsContext2D().clearRect(0, 0, width, height);
+                renderer.render();
+                redrawnLayerCount++;
+            }
+        } finally {
+            renderCanvas = canvas;
+        }
+        layersInvalid = false;
+    }
+
     /**
      * @param recorder recorder for this chart and all nested components
      */
@@ -330,4 +449,62 @@ public class XYChart extends Chart {
 
     private DurationMeasure benchDrawData = DurationMeasure.DISABLED;
     private DurationMeasure benchDrawGrid = DurationMeasure.DISABLED;
+
+    /**
+     * cached canvas of one renderer and the state it has been drawn with
+     */
+    private static class RendererLayer {
+        private static final int AXIS_STATE_SIZE = 5;
+        private final Canvas canvas = StyleUtil.addStyles(new ResizableCanvas(), "chart-canvas-layer");
+        private final List<DataSet> dataSets = new ArrayList<>();
+        private double[] axisState = new double[0];
+        private double width = -1;
+        private double height = -1;
+        private long changeCount = -1;
+        private boolean polar;
+
+        /**
+         * @return {@code true} if the layer needs to be redrawn
+         */
+        private boolean update(final Renderer renderer, final boolean invalid, final boolean polarPlot) {
+            boolean dirty = invalid || !(renderer instanceof AbstractRenderer) || polar != polarPlot || width != canvas.getWidth() || height != canvas.getHeight();
+            polar = polarPlot;
+            width = canvas.getWidth();
+            height = canvas.getHeight();
+
+            if (renderer instanceof AbstractRenderer) {
+                final long count = ((AbstractRenderer<?>) renderer).changeCounterProperty().get();
+                dirty |= count != changeCount;
+                changeCount = count;
+            }
+
+            // data sets: membership, visibility and any data, range, name or style change since the last pass
+            int index = 0;
+            for (final DataSetNode node : renderer.getDatasetNodes()) {
+                final DataSet dataSet = node.getDataSet();
+                dirty |= index >= dataSets.size() || dataSets.get(index) != dataSet || dataSet.getBitState().isDirty(); // NOPMD NOSONAR - identity intended
+                index++;
+            }
+            dirty |= index != dataSets.size();
+            if (dirty) {
+                dataSets.clear();
+                renderer.getDatasetNodes().forEach(node -> dataSets.add(node.getDataSet()));
+            }
+
+            // axes: range, length and scale
+            final List<Axis> axes = renderer.getAxes();
+            final double[] newAxisState = new double[AXIS_STATE_SIZE * axes.size()];
+            for (int i = 0; i < axes.size(); i++) {
+                final Axis axis = axes.get(i);
+                newAxisState[AXIS_STATE_SIZE * i] = axis.getMin();
+                newAxisState[AXIS_STATE_SIZE * i + 1] = axis.getMax();
+                newAxisState[AXIS_STATE_SIZE * i + 2] = axis.getLength();
+                newAxisState[AXIS_STATE_SIZE * i + 3] = axis.isInvertedAxis() ? 1 : 0;
+                newAxisState[AXIS_STATE_SIZE * i + 4] = axis.isLogAxis() ? 1 : 0;
+            }
+            dirty |= !Arrays.equals(axisState, newAxisState);
+            axisState = newAxisState;
+            return dirty;
+        }
+    }
 }
@@ -12,6 +12,15 @@ public interface AxisLabelFormatter {
     // N.B. needs to be an abstract class since there is no interface definition
     // for StringConverter
 
+    /**
+     * @return counter that changes whenever the labels of the same values may have changed (e.g. different precision
+     *         or date format), or a negative value if unknown (default). Used by the axes to cache the formatted and
+     *         measured tick labels.
+     */
+    default long getChangeCounter() {
+        return -1;
+    }
+
     /**
      * Converts the string provided into an object defined by the specific converter. Format of the string and type of
      * the resulting object is defined by the specific converter.
@@ -2,6 +2,7 @@ package io.fair_acc.chartfx.axes.spi;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.DoubleFunction;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -678,6 +679,7 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
         // Update labels
         if (isTickLabelsVisible()) {
             getAxisLabelFormatter().updateFormatter(newTickValues, getUnitScaling());
+            validateTickLabelCache();
         }
 
         // Update the existing mark objects
@@ -685,7 +687,11 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
         int i = 0;
         for (var mark : marks) {
             var tick = newTickValues.getDouble(i++);
-            mark.setValue(tick, isTickLabelsVisible() ? getTickMarkLabel(tick) : "");
+            if (isTickLabelsVisible()) {
+                tickLabelCache.setValue(mark, tick, tickMarkLabelFunction);
+            } else {
+                mark.setValue(tick, "");
+            }
         }
 
         oldTickValues.setAll(newTickValues);
@@ -967,12 +973,34 @@ public abstract class AbstractAxis extends AbstractAxisParameter implements Axis
     }
 
     protected double measureTickMarkLength(final double major) {
-        // N.B. this is a known performance hot-spot -> start optimisation here
-        tmpTickMark.setValue(major, getTickMarkLabel(major));
+        // N.B. this is a known performance hot-spot -> formatted and measured labels are cached
+        validateTickLabelCache();
+        tickLabelCache.setValue(tmpTickMark, major, tickMarkLabelFunction);
         return getSide().isHorizontal() ? tmpTickMark.getWidth() : tmpTickMark.getHeight();
     }
 
+    private void validateTickLabelCache() {
+        final StringConverter<Number> tickLabelFormatter = getTickLabelFormatter();
+        if (tickLabelFormatter != null || customTickMarkLabel) {
+            tickLabelCache.validate(tickLabelFormatter, -1, getUnitScaling()); // unknown state
+            return;
+        }
+        final AxisLabelFormatter axisLabelFormatter = getAxisLabelFormatter();
+        tickLabelCache.validate(axisLabelFormatter, axisLabelFormatter.getChangeCounter(), getUnitScaling());
+    }
+
+    private static boolean isCustomTickMarkLabel(final Class<?> axisClass) {
+        try {
+            return axisClass.getMethod("getTickMarkLabel", double.class).getDeclaringClass() != AbstractAxis.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
     private final TickMark tmpTickMark = new TickMark(getTickLabelStyle());
+    private final TickLabelCache tickLabelCache = new TickLabelCache(getTickLabelStyle());
+    private final DoubleFunction<String> tickMarkLabelFunction = this::getTickMarkLabel;
+    private final boolean customTickMarkLabel = isCustomTickMarkLabel(getClass()); // N.B. labels may depend on state unknown to the cache
 
     protected void updateAxisLabelAlignment() {
         // TODO: maybe set this via CSS?
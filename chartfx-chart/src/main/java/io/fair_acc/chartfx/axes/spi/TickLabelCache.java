@@ -0,0 +1,154 @@
+package io.fair_acc.chartfx.axes.spi;
+
+import java.util.Objects;
+import java.util.function.DoubleFunction;
+
+import io.fair_acc.chartfx.ui.css.TextStyle;
+
+/**
+ * Bounded cache of formatted and measured tick-mark labels, keyed by the tick value, the formatter state and the
+ * {@link TextStyle} the labels are measured with.
+ * <p>
+ * The cache is direct-mapped (ie. a colliding value replaces the previous entry) and does not allocate on look-ups.
+ * Entries are invalidated as a whole (O(1)) whenever the formatter, its state, the unit scaling or the text style
+ * changes. For formatters with unknown state (negative state, e.g. custom {@link javafx.util.StringConverter}s or
+ * overridden {@link AbstractAxis#getTickMarkLabel(double)}) the labels are re-formatted on every look-up and only the
+ * measured bounds of unchanged label texts are re-used.
+ */
+final class TickLabelCache {
+    static final int DEFAULT_CAPACITY = 512;
+    private final TextStyle style;
+    private final int mask;
+    private final long[] keys;
+    private final long[] stamps; // epoch the entry has been written in, 0: empty
+    private final String[] texts;
+    private final double[] widths;
+    private final double[] heights;
+    private long epoch = 1;
+    private Object formatter;
+    private long formatterState = -1;
+    private double unitScaling = Double.NaN;
+    private long styleState = -1;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * @param style text style the labels are measured with
+     */
+    TickLabelCache(final TextStyle style) {
+        this(style, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param style text style the labels are measured with
+     * @param capacity maximum number of cached labels (rounded up to the next power of two)
+     */
+    TickLabelCache(final TextStyle style, final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.style = style;
+        final int size = Math.max(1, Integer.highestOneBit(capacity - 1) << 1);
+        mask = size - 1;
+        keys = new long[size];
+        stamps = new long[size];
+        texts = new String[size];
+        widths = new double[size];
+        heights = new double[size];
+    }
+
+    /**
+     * Invalidates the cache if the formatter or its state changed
+     *
+     * @param newFormatter the formatter that is currently used to compute the labels
+     * @param newFormatterState formatter state (changes whenever the labels for the same value may change) or a
+     *        negative value if unknown
+     * @param newUnitScaling unit scaling that is applied before formatting
+     */
+    void validate(final Object newFormatter, final long newFormatterState, final double newUnitScaling) {
+        if (newFormatter != formatter || newFormatterState != formatterState || Double.compare(newUnitScaling, unitScaling) != 0) { // NOPMD NOSONAR - identity intended
+            formatter = newFormatter;
+            formatterState = newFormatterState;
+            unitScaling = newUnitScaling;
+            invalidate();
+        }
+    }
+
+    /**
+     * drops all cached labels
+     */
+    void invalidate() {
+        epoch++;
+    }
+
+    /**
+     * Updates the tick mark with the cached label and size of the given value, and computes and caches them if absent
+     *
+     * @param tickMark the tick mark to be updated (N.B. needs to use the style of this cache)
+     * @param value tick value
+     * @param labelFunction computes the label of a given tick value
+     */
+    void setValue(final TickMark tickMark, final double value, final DoubleFunction<String> labelFunction) {
+        if (style.getChangeCounter() != styleState) {
+            styleState = style.getChangeCounter();
+            invalidate();
+        }
+        final long key = Double.doubleToLongBits(value);
+        final int slot = slot(key);
+        final boolean present = stamps[slot] == epoch && keys[slot] == key;
+        if (present && formatterState >= 0) {
+            hitCount++;
+            tickMark.setValue(value, texts[slot], widths[slot], heights[slot], this, slot);
+            return;
+        }
+
+        final String text = labelFunction.apply(value);
+        if (present && Objects.equals(text, texts[slot])) {
+            // unknown formatter state but same label -> re-use the measured size
+            hitCount++;
+            tickMark.setValue(value, texts[slot], widths[slot], heights[slot], this, slot);
+            return;
+        }
+        missCount++;
+        keys[slot] = key;
+        stamps[slot] = epoch;
+        texts[slot] = text;
+        widths[slot] = -1; // N.B. measured on demand and written back by the tick mark
+        heights[slot] = -1;
+        tickMark.setValue(value, text, -1, -1, this, slot);
+    }
+
+    /**
+     * stores the measured size of a label if it is still cached and has been measured with the current style
+     *
+     * @param slot cache slot of the label
+     * @param text the measured label
+     * @param width the label width in display units
+     * @param height the label height in display units
+     */
+    void setSize(final int slot, final String text, final double width, final double height) {
+        if (stamps[slot] == epoch && texts[slot] == text && style.getChangeCounter() == styleState) { // NOPMD NOSONAR - identity intended
+            widths[slot] = width;
+            heights[slot] = height;
+        }
+    }
+
+    /**
+     * @return number of look-ups that re-used a cached label
+     */
+    long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of look-ups that required the label to be formatted and measured
+     */
+    long getMissCount() {
+        return missCount;
+    }
+
+    private int slot(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L; // Fibonacci hashing
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -28,6 +28,8 @@ public class TickMark {
     private boolean visible = true; // whether the tick mark should be displayed
     private final TextStyle style;
     private long usedStyle = -1;
+    private TickLabelCache labelCache; // optional cache the measured label size is written back to
+    private int labelCacheSlot;
 
     /**
      * @param style a styleable node that the text can be rendered into
@@ -49,6 +51,26 @@ public class TickMark {
         }
         this.tickValue = tickValue;
         this.text = tickMarkLabel;
+        this.labelCache = null;
+    }
+
+    /**
+     * Updates a tick mark with a label from the cache
+     * @param tickValue numeric value of tick
+     * @param tickMarkLabel string label associated with tick
+     * @param width the label width in display units or negative if not yet measured
+     * @param height the label height in display units or negative if not yet measured
+     * @param cache cache the measured size is written back to (N.B. needs to use the same style)
+     * @param slot cache slot of the label
+     */
+    void setValue(double tickValue, String tickMarkLabel, double width, double height, TickLabelCache cache, int slot) {
+        this.tickValue = tickValue;
+        this.text = tickMarkLabel;
+        this.width = width;
+        this.height = height;
+        this.usedStyle = style.getChangeCounter();
+        this.labelCache = cache;
+        this.labelCacheSlot = slot;
     }
 
     private void updateTextSize() {
@@ -65,6 +87,9 @@ public class TickMark {
                 width = bounds.getWidth();
             }
             usedStyle = style.getChangeCounter();
+            if (labelCache != null) {
+                labelCache.setSize(labelCacheSlot, text, width, height);
+            }
         }
     }
 
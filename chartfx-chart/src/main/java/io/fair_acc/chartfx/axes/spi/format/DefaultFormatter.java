@@ -42,7 +42,10 @@ public class DefaultFormatter extends AbstractFormatter {
         if (displayFormat == null) {
             throw new NullPointerException("displayFormat");
         }
-        this.displayFormat = displayFormat;
+        if (this.displayFormat != displayFormat) {
+            this.displayFormat = displayFormat;
+            labelCache.clear();
+        }
         return this;
     }
 
@@ -96,6 +99,14 @@ public class DefaultFormatter extends AbstractFormatter {
         }
     }
 
+    /**
+     * @return counter that changes whenever the formatting changed, ie. the {@link #labelCache} has been cleared
+     */
+    @Override
+    public long getChangeCounter() {
+        return labelCache.getClearCount();
+    }
+
     @Override
     protected void rangeUpdated() {
         if (majorTickMarks.size() > 0) {
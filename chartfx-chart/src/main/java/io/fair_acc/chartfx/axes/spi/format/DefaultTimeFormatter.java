@@ -50,6 +50,7 @@ public class DefaultTimeFormatter extends AbstractFormatter {
                 dateFormat[i] = DateTimeFormatter.ofPattern(format, Locale.ENGLISH);
             }
         }
+        timeZone.addListener((ch, o, n) -> labelCache.clear());
     }
 
     public String formatHighResString(final Number utcValueSeconds) {
@@ -95,6 +96,14 @@ public class DefaultTimeFormatter extends AbstractFormatter {
         return timeZoneOffsetProperty().get();
     }
 
+    /**
+     * @return counter that changes whenever the formatting changed, ie. the {@link #labelCache} has been cleared
+     */
+    @Override
+    public long getChangeCounter() {
+        return labelCache.getClearCount();
+    }
+
     @Override
     protected void rangeUpdated() {
         // set formatter based on range if necessary
@@ -14,11 +14,25 @@ import org.slf4j.LoggerFactory;
  */
 public class FormatterLabelCache extends WeakHashMap<Number, String> {
     private static final Logger LOGGER = LoggerFactory.getLogger(FormatterLabelCache.class);
+    private long clearCount;
 
     public FormatterLabelCache() {
         super();
     }
 
+    @Override
+    public void clear() {
+        clearCount++;
+        super.clear();
+    }
+
+    /**
+     * @return number of times the cache has been cleared, ie. the formatting changed
+     */
+    public long getClearCount() {
+        return clearCount;
+    }
+
     public String get(final StringConverter<Number> formatter, final Number value) {
         return computeIfAbsent(value, formatter::toString);
     }
@@ -7,13 +7,17 @@ import javafx.util.StringConverter;
 
 import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.axes.TickUnitSupplier;
+import io.fair_acc.chartfx.utils.NumberFormatterImpl;
 
 /**
  * @author rstein
  */
 public class SimpleFormatter extends AbstractFormatter {
     private static final TickUnitSupplier DEFAULT_TICK_UNIT_SUPPLIER = new DefaultTickUnitSupplier();
+    private static final double MAX_PLAIN_VALUE = 1e7; // N.B. larger values are formatted exponentially by NumberFormatterImpl
     private final DecimalFormat formatter = new DecimalFormat("0.######");
+    private final NumberFormatterImpl numberFormatter = new NumberFormatterImpl(6, false).setTrimTrailingZeros(true);
+    private final StringBuilder builder = new StringBuilder();
     private String prefix;
     private String suffix;
 
@@ -65,6 +69,14 @@ public class SimpleFormatter extends AbstractFormatter {
         }
     }
 
+    /**
+     * @return counter that changes whenever the formatting changed, ie. the {@link #labelCache} has been cleared
+     */
+    @Override
+    public long getChangeCounter() {
+        return labelCache.getClearCount();
+    }
+
     @Override
     protected void rangeUpdated() {
         // normally set formatter based on range, this doesn't because it's the
@@ -90,8 +102,19 @@ public class SimpleFormatter extends AbstractFormatter {
     }
 
     private String toString(final Number object, final DecimalFormat numFormatter) {
-        final String pref = prefix == null ? "" : prefix;
-        final String suff = suffix == null ? "" : suffix;
-        return pref + numFormatter.format(object) + suff;
+        final double value = object.doubleValue();
+        builder.setLength(0);
+        if (prefix != null) {
+            builder.append(prefix);
+        }
+        if (Math.abs(value) < MAX_PLAIN_VALUE) {
+            numberFormatter.appendTo(builder, value);
+        } else {
+            builder.append(numFormatter.format(object)); // large values and non-finite values: keep the plain form
+        }
+        if (suffix != null) {
+            builder.append(suffix);
+        }
+        return builder.toString();
     }
 }
@@ -13,7 +13,7 @@ import java.util.function.IntSupplier;
 
 import org.HdrHistogram.Histogram;
 import org.HdrHistogram.HistogramLogWriter;
-import org.HdrHistogram.SingleWriterRecorder;
+import org.HdrHistogram.Recorder;
 
 import io.fair_acc.bench.MeasurementRecorder;
 import io.fair_acc.bench.TimeMeasure;
@@ -22,7 +22,10 @@ import io.fair_acc.dataset.utils.AssertUtils;
 /**
  * Records measurements in tagged HdrHistograms and
  * writes them to disk. Very low overhead. Measurements
- * assume updates from single-threads. Very
+ * may be recorded concurrently from multiple threads, e.g.,
+ * lock waits or parallel renderer phases. The resulting
+ * interval logs can be analysed with the standard HdrHistogram
+ * tools, e.g., HistogramLogProcessor.
  *
  * @author ennerf
  */
@@ -63,7 +66,7 @@ public class HdrHistogramRecorder implements MeasurementRecorder, Closeable {
         task = executor.scheduleAtFixedRate(this::persistToDisk, period, period, timeUnit);
     }
 
-    private void persistToDisk() {
+    private synchronized void persistToDisk() {
         if (closed) {
             return;
         }
@@ -95,8 +98,15 @@ public class HdrHistogramRecorder implements MeasurementRecorder, Closeable {
 
     @Override
     public void close() {
-        closed = true;
+        if (closed) {
+            return;
+        }
         task.cancel(false);
+        executor.shutdown();
+        synchronized (this) {
+            persistToDisk(); // write the last (partial) interval
+            closed = true;
+        }
         try {
             out.flush();
             out.close();
@@ -112,12 +122,16 @@ public class HdrHistogramRecorder implements MeasurementRecorder, Closeable {
     private volatile boolean closed = false;
 
     private final ScheduledFuture<?> task;
-    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "HdrHistogramRecorder");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     static class HdrHistogramMeasure implements TimeMeasure {
         HdrHistogramMeasure(final String tag) {
             this.tag = AssertUtils.notNull("tag", tag);
-            this.histogramRecorder = new SingleWriterRecorder(defaultMinValue, defaultMaxValue, numberOfSignificantDigits);
+            this.histogramRecorder = new Recorder(defaultMinValue, defaultMaxValue, numberOfSignificantDigits);
         }
 
         @Override
@@ -136,7 +150,7 @@ public class HdrHistogramRecorder implements MeasurementRecorder, Closeable {
         }
 
         final String tag;
-        final SingleWriterRecorder histogramRecorder;
+        final Recorder histogramRecorder;
         Histogram interval = null;
 
         private static final long defaultMinValue = 1;
@@ -1,5 +1,8 @@
 package io.fair_acc.chartfx.plugins;
 
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.geometry.Orientation;
@@ -11,6 +14,7 @@ import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.axes.spi.MetricPrefix;
 import io.fair_acc.chartfx.renderer.Renderer;
 import io.fair_acc.chartfx.ui.geometry.Side;
+import io.fair_acc.chartfx.utils.NumberFormatterImpl;
 import io.fair_acc.dataset.spi.utils.Tuple;
 
 /**
@@ -223,6 +227,9 @@ public abstract class AbstractDataFormattingPlugin extends ChartPlugin {
     }
 
     private static class DefaultFormatter<T> extends StringConverter<T> {
+        // shortest round-trip representation, N.B. locale-independent to keep the ', ' separated values readable
+        private final NumberFormatterImpl numberFormatter = new NumberFormatterImpl().setDecimalFormatSymbols(DecimalFormatSymbols.getInstance(Locale.ROOT));
+
         @Override
         public final T fromString(final String string) {
             throw new UnsupportedOperationException();
@@ -230,6 +237,9 @@ public abstract class AbstractDataFormattingPlugin extends ChartPlugin {
 
         @Override
         public String toString(final T value) {
+            if (value instanceof Double || value instanceof Float) {
+                return numberFormatter.toString(((Number) value).doubleValue());
+            }
             return String.valueOf(value);
         }
     }
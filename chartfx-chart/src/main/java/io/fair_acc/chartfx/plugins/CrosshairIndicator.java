@@ -4,6 +4,8 @@
 
 package io.fair_acc.chartfx.plugins;
 
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.ObservableList;
 import javafx.event.EventHandler;
 import javafx.geometry.Bounds;
@@ -17,13 +19,23 @@ import javafx.scene.shape.Path;
 import javafx.scene.shape.PathElement;
 import javafx.scene.text.Text;
 
+import io.fair_acc.chartfx.XYChart;
 import io.fair_acc.chartfx.axes.Axis;
+import io.fair_acc.chartfx.renderer.Renderer;
+import io.fair_acc.chartfx.ui.css.DataSetNode;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.GridDataSet;
 import io.fair_acc.dataset.spi.utils.Tuple;
 
 /**
  * Horizontal and vertical {@link Line} drawn on the plot area, crossing at the mouse cursor location, together with a
  * {@link Text} displaying the cursor coordinates in data units.
  * <p>
+ * Optionally (see {@link #snapToDataPointProperty()}), the crosshair snaps to the nearest data point within
+ * {@value #DEFAULT_PICKING_DISTANCE} pixels from the mouse cursor and displays its coordinates instead. The data points
+ * are looked up in a screen-space index that is re-built at most once per render pass and hence do not need to be
+ * sorted.
+ * <p>
  * CSS style class names: {@value #STYLE_CLASS_PATH} and {@value #STYLE_CLASS_LABEL}
  *
  * @author Grzegorz Kruk
@@ -33,9 +45,16 @@ public class CrosshairIndicator extends AbstractDataFormattingPlugin {
     public static final String STYLE_CLASS_LABEL = "chart-crosshair-label";
     private static final int LABEL_X_OFFSET = 15;
     private static final int LABEL_Y_OFFSET = 5;
+    /**
+     * distance between a data point and the mouse cursor (in display units) within which the crosshair snaps to the data
+     * point
+     */
+    public static final int DEFAULT_PICKING_DISTANCE = 5;
 
     protected final Path crosshairPath = new Path();
     protected final Text coordinatesLabel = new Text();
+    private final BooleanProperty snapToDataPoint = new SimpleBooleanProperty(this, "snapToDataPoint", false);
+    private final DataPointPickIndex pickIndex = new DataPointPickIndex();
 
     /**
      * Creates a new instance of CrosshairIndicator class.
@@ -56,8 +75,18 @@ public class CrosshairIndicator extends AbstractDataFormattingPlugin {
             }
 
             final Bounds plotAreaBounds = getChart().getPlotArea().getBoundsInLocal();
-            updatePath(event, plotAreaBounds);
-            updateLabel(event, plotAreaBounds);
+            final Point2D locationInPlotArea = getLocationInPlotArea(event);
+            final Tuple<Point2D, Tuple<Number, Number>> dataPoint = isSnapToDataPoint() ? findNearestDataPoint(locationInPlotArea) : null;
+            if (dataPoint == null) {
+                updatePath(event.getX(), event.getY(), plotAreaBounds);
+                updateLabel(event.getX(), event.getY(), formatLabelText(locationInPlotArea), plotAreaBounds);
+            } else {
+                // N.B. shift from plot area to chart coordinates
+                final double x = event.getX() + dataPoint.getXValue().getX() - locationInPlotArea.getX();
+                final double y = event.getY() + dataPoint.getXValue().getY() - locationInPlotArea.getY();
+                updatePath(x, y, plotAreaBounds);
+                updateLabel(x, y, formatData(getChart(), dataPoint.getYValue()), plotAreaBounds);
+            }
 
             if (!getChartChildren().contains(crosshairPath)) {
                 getChartChildren().addAll(crosshairPath, coordinatesLabel);
@@ -66,6 +95,82 @@ public class CrosshairIndicator extends AbstractDataFormattingPlugin {
         registerInputEventHandler(MouseEvent.ANY, mouseMoveHandler);
     }
 
+    /**
+     * Returns the value of the {@link #snapToDataPointProperty()}.
+     *
+     * @return {@code true} if the crosshair snaps to the nearest data point
+     */
+    public final boolean isSnapToDataPoint() {
+        return snapToDataPointProperty().get();
+    }
+
+    @Override
+    public void runPostLayout() {
+        super.runPostLayout();
+        pickIndex.invalidate();
+    }
+
+    /**
+     * Sets the value of the {@link #snapToDataPointProperty()}.
+     *
+     * @param state {@code true} if the crosshair should snap to the nearest data point
+     */
+    public final void setSnapToDataPoint(final boolean state) {
+        snapToDataPointProperty().set(state);
+    }
+
+    /**
+     * When {@code true} the crosshair snaps to the nearest data point within {@value #DEFAULT_PICKING_DISTANCE} pixels
+     * from the mouse cursor. By default it's {@code false}.
+     *
+     * @return the snapToDataPoint property
+     */
+    public final BooleanProperty snapToDataPointProperty() {
+        return snapToDataPoint;
+    }
+
+    /**
+     * @param location mouse location in the plot area
+     * @return display position (in the plot area) and data coordinates of the nearest data point within the picking
+     *         distance or {@code null} if there is none
+     */
+    protected Tuple<Point2D, Tuple<Number, Number>> findNearestDataPoint(final Point2D location) {
+        if (location == null || !(getChart() instanceof XYChart)) {
+            return null;
+        }
+        final XYChart xyChart = (XYChart) getChart();
+        Tuple<Point2D, Tuple<Number, Number>> nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (final Renderer renderer : xyChart.getRenderers()) {
+            final Axis xAxis = renderer.getAxes().stream().filter(axis -> axis.getSide().isHorizontal()).findFirst().orElse(null);
+            final Axis yAxis = renderer.getAxes().stream().filter(axis -> axis.getSide().isVertical()).findFirst().orElse(null);
+            if (xAxis == null || yAxis == null) {
+                continue;
+            }
+            for (final DataSetNode node : renderer.getDatasetNodes()) {
+                final DataSet dataSet = node.getDataSet();
+                if (!node.isVisible() || dataSet instanceof GridDataSet) {
+                    continue;
+                }
+                final Tuple<Point2D, Tuple<Number, Number>> candidate = dataSet.lock().readLockGuard(() -> {
+                    final int index = pickIndex.get(dataSet, xAxis, yAxis, DEFAULT_PICKING_DISTANCE).findNearest(location.getX(), location.getY(), DEFAULT_PICKING_DISTANCE);
+                    if (index < 0) {
+                        return null;
+                    }
+                    final double x = dataSet.get(DataSet.DIM_X, index);
+                    final double y = dataSet.get(DataSet.DIM_Y, index);
+                    return new Tuple<Point2D, Tuple<Number, Number>>(new Point2D(xAxis.getDisplayPosition(x), yAxis.getDisplayPosition(y)), new Tuple<>(x, y));
+                });
+                // N.B. ties in favour of earlier data sets to match the rendering order
+                if (candidate != null && candidate.getXValue().distance(location) < nearestDistance) {
+                    nearest = candidate;
+                    nearestDistance = candidate.getXValue().distance(location);
+                }
+            }
+        }
+        return nearest;
+    }
+
     private String formatLabelText(final Point2D displayPointInPlotArea) {
         final Axis yAxis = getChart().getFirstAxis(Orientation.VERTICAL);
         if (yAxis == null) {
@@ -79,30 +184,30 @@ public class CrosshairIndicator extends AbstractDataFormattingPlugin {
         return formatData(getChart(), tuple);
     }
 
-    private void updateLabel(final MouseEvent event, final Bounds plotAreaBounds) {
-        coordinatesLabel.setText(formatLabelText(getLocationInPlotArea(event)));
+    private void updateLabel(final double x, final double y, final String text, final Bounds plotAreaBounds) {
+        coordinatesLabel.setText(text);
 
         final double width = coordinatesLabel.prefWidth(-1);
         final double height = coordinatesLabel.prefHeight(width);
 
-        double xLocation = event.getX() + CrosshairIndicator.LABEL_X_OFFSET;
-        double yLocation = event.getY() + CrosshairIndicator.LABEL_Y_OFFSET;
+        double xLocation = x + CrosshairIndicator.LABEL_X_OFFSET;
+        double yLocation = y + CrosshairIndicator.LABEL_Y_OFFSET;
 
         if (xLocation + width > plotAreaBounds.getMaxX()) {
-            xLocation = event.getX() - CrosshairIndicator.LABEL_X_OFFSET - width;
+            xLocation = x - CrosshairIndicator.LABEL_X_OFFSET - width;
         }
         if (yLocation + height > plotAreaBounds.getMaxY()) {
-            yLocation = event.getY() - CrosshairIndicator.LABEL_Y_OFFSET - height;
+            yLocation = y - CrosshairIndicator.LABEL_Y_OFFSET - height;
         }
         coordinatesLabel.resizeRelocate(xLocation, yLocation, width, height);
     }
 
-    private void updatePath(final MouseEvent event, final Bounds plotAreaBounds) {
+    private void updatePath(final double x, final double y, final Bounds plotAreaBounds) {
         final ObservableList<PathElement> path = crosshairPath.getElements();
         path.clear();
-        path.add(new MoveTo(plotAreaBounds.getMinX() + 1, event.getY()));
-        path.add(new LineTo(plotAreaBounds.getMaxX(), event.getY()));
-        path.add(new MoveTo(event.getX(), plotAreaBounds.getMinY() + 1));
-        path.add(new LineTo(event.getX(), plotAreaBounds.getMaxY()));
+        path.add(new MoveTo(plotAreaBounds.getMinX() + 1, y));
+        path.add(new LineTo(plotAreaBounds.getMaxX(), y));
+        path.add(new MoveTo(x, plotAreaBounds.getMinY() + 1));
+        path.add(new LineTo(x, plotAreaBounds.getMaxY()));
     }
 }
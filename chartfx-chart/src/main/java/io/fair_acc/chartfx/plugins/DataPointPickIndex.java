@@ -0,0 +1,64 @@
+package io.fair_acc.chartfx.plugins;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import io.fair_acc.chartfx.axes.Axis;
+import io.fair_acc.chartfx.utils.SpatialPointIndex;
+import io.fair_acc.dataset.DataSet;
+
+/**
+ * Lazily (re-)built {@link SpatialPointIndex}es of the screen coordinates of the data sets shown by a chart, shared by
+ * the picking plugins (e.g. {@link DataPointTooltip}, {@link EditDataSet} and {@link CrosshairIndicator}).
+ * <p>
+ * An index is built on the first query after a render pass (see {@link #invalidate()}, to be called from
+ * {@link ChartPlugin#runPostLayout()}) and re-used by all following mouse events until the next render pass.
+ */
+final class DataPointPickIndex {
+    private final Map<DataSet, Entry> entries = new IdentityHashMap<>();
+    private long renderVersion;
+
+    /**
+     * @param dataSet the data set (N.B. needs to be read-locked by the caller)
+     * @param xAxis horizontal axis the data set is drawn on
+     * @param yAxis vertical axis the data set is drawn on
+     * @param margin additional distance beyond the axis ranges that is included in the index (e.g. picking distance)
+     * @return spatial index of the screen coordinates of the data set, relative to the plot area
+     */
+    SpatialPointIndex get(final DataSet dataSet, final Axis xAxis, final Axis yAxis, final double margin) {
+        final Entry entry = entries.computeIfAbsent(dataSet, ds -> new Entry());
+        final int dataCount = dataSet.getDataCount();
+        if (entry.renderVersion != renderVersion || entry.xAxis != xAxis || entry.yAxis != yAxis || entry.dataCount != dataCount || entry.margin != margin) { // NOPMD NOSONAR - identity intended
+            entry.index.build(dataCount, //
+                    i -> xAxis.getDisplayPosition(dataSet.get(DataSet.DIM_X, i)), //
+                    i -> yAxis.getDisplayPosition(dataSet.get(DataSet.DIM_Y, i)), //
+                    -margin, -margin, xAxis.getLength() + margin, yAxis.getLength() + margin);
+            entry.renderVersion = renderVersion;
+            entry.xAxis = xAxis;
+            entry.yAxis = yAxis;
+            entry.dataCount = dataCount;
+            entry.margin = margin;
+        }
+        entry.lastUsed = renderVersion;
+        return entry.index;
+    }
+
+    /**
+     * invalidates all indices (e.g. data, axis ranges or the chart size may have changed) and drops the indices of data
+     * sets that have not been queried since the previous render pass
+     */
+    void invalidate() {
+        entries.values().removeIf(entry -> entry.lastUsed < renderVersion);
+        renderVersion++;
+    }
+
+    private static class Entry {
+        private final SpatialPointIndex index = new SpatialPointIndex();
+        private long renderVersion = -1;
+        private long lastUsed;
+        private Axis xAxis;
+        private Axis yAxis;
+        private int dataCount;
+        private double margin;
+    }
+}
@@ -67,6 +67,7 @@ public class DataPointTooltip extends AbstractDataFormattingPlugin {
     };
 
     private final EventHandler<MouseEvent> mouseMoveHandler = this::updateToolTip;
+    private final DataPointPickIndex pickIndex = new DataPointPickIndex();
 
     /**
      * Creates a new instance of DataPointTooltip class with {{@link #pickingDistanceProperty() picking distance}
@@ -90,6 +91,12 @@ public class DataPointTooltip extends AbstractDataFormattingPlugin {
         setPickingDistance(pickingDistance);
     }
 
+    @Override
+    public void runPostLayout() {
+        super.runPostLayout();
+        pickIndex.invalidate();
+    }
+
     protected Optional<DataPoint> findDataPoint(final MouseEvent event, final Bounds plotAreaBounds) {
         if (!plotAreaBounds.contains(event.getX(), event.getY())) {
             return Optional.empty();
@@ -128,19 +135,25 @@ public class DataPointTooltip extends AbstractDataFormattingPlugin {
         }
 
         return dataset.lock().readLockGuard(() -> {
-            int minIdx = 0;
-            int maxIdx = dataset.getDataCount();
-
+            final IntStream candidates;
             if (isDataSorted(renderer)) {
                 // get the screen x coordinates and dataset indices between which points can be in picking distance
                 final double xMin = xAxis.getValueForDisplay(mouseLocation.getX() - getPickingDistance());
                 final double xMax = xAxis.getValueForDisplay(mouseLocation.getX() + getPickingDistance());
 
-                minIdx = Math.max(0, dataset.getIndex(DataSet.DIM_X, xMin) - 1);
-                maxIdx = Math.min(dataset.getDataCount(), dataset.getIndex(DataSet.DIM_X, xMax) + 1);
+                final int minIdx = Math.max(0, dataset.getIndex(DataSet.DIM_X, xMin) - 1);
+                final int maxIdx = Math.min(dataset.getDataCount(), dataset.getIndex(DataSet.DIM_X, xMax) + 1);
+                candidates = IntStream.range(minIdx, maxIdx);
+            } else {
+                // unsorted, scatter, etc. data: screen-space index that is re-built at most once per render pass
+                final double distance = getPickingDistance();
+                final IntStream.Builder builder = IntStream.builder();
+                pickIndex.get(dataset, xAxis, yAxis, distance)
+                        .forEachInRectangle(mouseLocation.getX() - distance, mouseLocation.getY() - distance, mouseLocation.getX() + distance, mouseLocation.getY() + distance, builder);
+                candidates = builder.build();
             }
 
-            return IntStream.range(minIdx, maxIdx) // loop over all candidate points
+            return candidates // loop over all candidate points
                     .mapToObj(i -> getDataPointFromDataSet(renderer, dataset, xAxis, yAxis, mouseLocation, i)) // get points with distance to mouse
                     .filter(p -> p.distanceFromMouse <= getPickingDistance()) // filter out points which are too far away
                     .map(dataPoint -> dataPoint.withFormattedLabel(formatLabel(dataPoint)))
@@ -90,6 +90,7 @@ public class EditDataSet extends TableViewer {
     private double mouseOriginX = -1;
     private double mouseOriginY = -1;
     protected PointEditionPopup popup = new PointEditionPopup();
+    private final DataPointPickIndex pickIndex = new DataPointPickIndex();
 
     private final EventHandler<KeyEvent> keyReleasedHandler = keyEvent -> {
         if (keyEvent.getCode() == KeyCode.CONTROL) {
@@ -156,6 +157,7 @@ public class EditDataSet extends TableViewer {
     @Override
     public void runPostLayout() {
         super.runPostLayout();
+        pickIndex.invalidate();
         if (getChart().getBitState().isDirty(ChartBits.AxisMask | ChartBits.DataSetMask)) {
             updateMarker();
         }
@@ -297,20 +299,11 @@ public class EditDataSet extends TableViewer {
             }
             final EditableDataSet dataSet = (EditableDataSet) ds;
 
-            final int indexMin = Math.max(0, ds.getIndex(DataSet.DIM_X, xAxis.getValueForDisplay(xMinScreen)));
-            final int indexMax = Math.min(ds.getIndex(DataSet.DIM_X, xAxis.getValueForDisplay(xMaxScreen)) + 1,
-                    ds.getDataCount());
-
-            // N.B. (0,0) screen coordinate is in the top left corner vs. normal
-            // 0,0 in the bottom left -> need to invert limits
-            final double yMax = yAxis.getValueForDisplay(yMinScreen);
-            final double yMin = yAxis.getValueForDisplay(yMaxScreen);
-
             final ConcurrentHashMap<Integer, SelectedDataPoint> dataSetHashMap = markedPoints.computeIfAbsent(dataSet,
                     k -> new ConcurrentHashMap<>());
-            for (int i = indexMin; i < indexMax; i++) {
-                final double y = dataSet.get(DataSet.DIM_Y, i);
-                if ((y >= yMin) && (y <= yMax)) {
+            // N.B. screen-space index, ie. does neither assume sorted data nor scan all points
+            ds.lock().readLockGuard(() -> {
+                pickIndex.get(ds, xAxis, yAxis, 0.0).forEachInRectangle(xMinScreen, yMinScreen, xMaxScreen, yMaxScreen, i -> {
                     if (isShiftDown()) {
                         // add if not existing/remove if existing
                         if (dataSetHashMap.get(i) != null) {
@@ -321,8 +314,8 @@ public class EditDataSet extends TableViewer {
                     } else {
                         dataSetHashMap.put(i, new SelectedDataPoint(xAxis, yAxis, dataSet, i));
                     }
-                }
-            }
+                });
+            });
         }
     }
 
@@ -732,18 +725,20 @@ public class EditDataSet extends TableViewer {
                 // workaround... key shouldn't be here in the first place
                 continue;
             }
-            for (final Integer dataPointIndex : dataPoints.keySet()) {
-                final SelectedDataPoint dataPoint = dataPoints.get(dataPointIndex);
-
-                // dataPoint.setOnMouseClicked(evt -> {
-                // if (evt.isSecondaryButtonDown()) {
-                // // right clicked on circle
-                // }
-                // });
-
-                dataPoint.update();
-                markerPane.getChildren().add(dataPoint);
-            }
+            dataSet.lock().readLockGuard(() -> {
+                for (final Integer dataPointIndex : dataPoints.keySet()) {
+                    final SelectedDataPoint dataPoint = dataPoints.get(dataPointIndex);
+
+                    // dataPoint.setOnMouseClicked(evt -> {
+                    // if (evt.isSecondaryButtonDown()) {
+                    // // right clicked on circle
+                    // }
+                    // });
+
+                    dataPoint.update();
+                    markerPane.getChildren().add(dataPoint);
+                }
+            });
         }
         if (markerPane.getChildren().isEmpty()) {
             markerPane.getParent().setMouseTransparent(true);
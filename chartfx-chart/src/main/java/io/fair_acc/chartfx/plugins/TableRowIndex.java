@@ -0,0 +1,158 @@
+package io.fair_acc.chartfx.plugins;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+
+import io.fair_acc.dataset.utils.ArrayPool;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Maps the (filtered and sorted) rows shown by the {@link TableViewer} onto the indices of the underlying data sets.
+ * <p>
+ * Filtering and sorting only compute a permutation of the row indices, the data itself is neither copied nor modified.
+ * Instances are immutable and may thus be handed to background tasks (e.g. the csv export) while the table re-sorts.
+ */
+final class TableRowIndex {
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    private final int size;
+    private final int[] viewToData; // null: identity mapping
+
+    private TableRowIndex(final int size, final int[] viewToData) {
+        this.size = size;
+        this.viewToData = viewToData;
+    }
+
+    /**
+     * @param viewRow row index as shown in the table
+     * @return the corresponding index in the data sets
+     */
+    int toDataRow(final int viewRow) {
+        return viewToData == null ? viewRow : viewToData[viewRow];
+    }
+
+    /**
+     * @return {@code true} if the table rows map 1:1 onto the data set indices
+     */
+    boolean isIdentity() {
+        return viewToData == null;
+    }
+
+    /**
+     * @return number of rows shown in the table
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param nRows number of data rows
+     * @return the 1:1 mapping of the given number of rows
+     */
+    static TableRowIndex identity(final int nRows) {
+        AssertUtils.gtEqThanZero("nRows", nRows);
+        return new TableRowIndex(nRows, null);
+    }
+
+    /**
+     * @param nRows number of data rows
+     * @param filter accepts the data indices that should be shown, {@code null}: all rows
+     * @param sortKey the sort key of a given data index, {@code null}: data order
+     * @param ascending sort order (N.B. the sort is stable and NaN keys are sorted last in either order)
+     * @return the mapping of the filtered and sorted rows
+     */
+    static TableRowIndex create(final int nRows, final IntPredicate filter, final IntToDoubleFunction sortKey, final boolean ascending) {
+        AssertUtils.gtEqThanZero("nRows", nRows);
+        if (filter == null && sortKey == null) {
+            return identity(nRows);
+        }
+        int[] rows = new int[nRows];
+        int count = 0;
+        for (int row = 0; row < nRows; row++) {
+            if (filter == null || filter.test(row)) {
+                rows[count++] = row;
+            }
+        }
+        if (count < nRows) {
+            rows = Arrays.copyOf(rows, count);
+        }
+        if (sortKey != null) {
+            sort(rows, sortKey, ascending);
+        }
+        return new TableRowIndex(count, rows);
+    }
+
+    private static void sort(final int[] rows, final IntToDoubleFunction sortKey, final boolean ascending) {
+        final int length = rows.length;
+        if (length < 2) {
+            return;
+        }
+        final double[] keys = ArrayPool.DOUBLE.allocate(length);
+        final double[] keyBuffer = ArrayPool.DOUBLE.allocate(length);
+        final int[] rowBuffer = ArrayPool.INT.allocate(length);
+        try {
+            for (int i = 0; i < length; i++) {
+                final double key = sortKey.applyAsDouble(rows[i]);
+                keys[i] = ascending ? key : -key; // N.B. -NaN remains NaN and thus last
+            }
+            for (int from = 0; from < length; from += INSERTION_SORT_THRESHOLD) {
+                insertionSort(keys, rows, from, Math.min(from + INSERTION_SORT_THRESHOLD, length));
+            }
+
+            // bottom-up merge sort, alternating between the data and buffer arrays
+            double[] srcKeys = keys;
+            double[] dstKeys = keyBuffer;
+            int[] srcRows = rows;
+            int[] dstRows = rowBuffer;
+            for (int width = INSERTION_SORT_THRESHOLD; width < length; width <<= 1) {
+                for (int from = 0; from < length; from += 2 * width) {
+                    final int mid = Math.min(from + width, length);
+                    final int to = Math.min(from + 2 * width, length);
+                    merge(srcKeys, srcRows, dstKeys, dstRows, from, mid, to);
+                }
+                final double[] tmpKeys = srcKeys;
+                srcKeys = dstKeys;
+                dstKeys = tmpKeys;
+                final int[] tmpRows = srcRows;
+                srcRows = dstRows;
+                dstRows = tmpRows;
+            }
+            if (srcRows != rows) { // NOPMD NOSONAR - identity intended
+                System.arraycopy(srcRows, 0, rows, 0, length);
+            }
+        } finally {
+            ArrayPool.DOUBLE.release(keys);
+            ArrayPool.DOUBLE.release(keyBuffer);
+            ArrayPool.INT.release(rowBuffer);
+        }
+    }
+
+    private static void insertionSort(final double[] keys, final int[] rows, final int from, final int to) {
+        for (int i = from + 1; i < to; i++) {
+            final double key = keys[i];
+            final int row = rows[i];
+            int j = i - 1;
+            while (j >= from && Double.compare(keys[j], key) > 0) {
+                keys[j + 1] = keys[j];
+                rows[j + 1] = rows[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            rows[j + 1] = row;
+        }
+    }
+
+    private static void merge(final double[] srcKeys, final int[] srcRows, final double[] dstKeys, final int[] dstRows, final int from, final int mid, final int to) { // NOPMD - many parameters
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && Double.compare(srcKeys[left], srcKeys[right]) <= 0)) {
+                dstKeys[i] = srcKeys[left];
+                dstRows[i] = srcRows[left++];
+            } else {
+                dstKeys[i] = srcKeys[right];
+                dstRows[i] = srcRows[right++];
+            }
+        }
+    }
+}
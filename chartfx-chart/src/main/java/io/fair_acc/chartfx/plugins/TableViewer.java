@@ -6,16 +6,22 @@ import static io.fair_acc.dataset.DataSet.DIM_Y;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.text.DecimalFormatSymbols;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 
+import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableListBase;
@@ -26,6 +32,7 @@ import javafx.scene.control.Button;
 import javafx.scene.control.SelectionMode;
 import javafx.scene.control.Separator;
 import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumn.SortType;
 import javafx.scene.control.TablePosition;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TableView.TableViewSelectionModel;
@@ -43,11 +50,13 @@ import org.slf4j.LoggerFactory;
 
 import io.fair_acc.chartfx.Chart;
 import io.fair_acc.chartfx.utils.FXUtils;
+import io.fair_acc.chartfx.utils.NumberFormatterImpl;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.DataSetError;
 import io.fair_acc.dataset.EditConstraints;
 import io.fair_acc.dataset.EditableDataSet;
 import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.utils.CachedDaemonThreadFactory;
 
 /**
  * Displays the all visible data sets inside a table on demand. Implements copy-paste functionality into system
@@ -68,6 +77,8 @@ public class TableViewer extends ChartPlugin {
     /* default */ static final String BUTTON_BAR_STYLE_CLASS = "table-viewer-button-bar";
 
     protected static final int MIN_REFRESH_RATE_WARN = 20; // [ms] warn if refresh rate is set lower than this value
+    protected static final int EXPORT_CHUNK_SIZE = 4096; // number of rows that are exported per data set read-lock
+    protected static final int ROW_CACHE_SIZE = 256; // visible rows plus prefetch window, needs to be a power of two
     private final FontIcon tableView = new FontIcon("fa-table:" + FONT_SIZE);
     private final FontIcon graphView = new FontIcon("fa-line-chart:" + FONT_SIZE);
     private final FontIcon saveIcon = new FontIcon("fa-save:" + FONT_SIZE);
@@ -89,6 +100,7 @@ public class TableViewer extends ChartPlugin {
             super.set(newValue);
         }
     };
+    private final ObjectProperty<IntPredicate> rowFilter = new SimpleObjectProperty<>(this, "rowFilter");
 
     /**
      * Creates a new instance of DataSetTableViewer class and setup the required listeners.
@@ -99,7 +111,12 @@ public class TableViewer extends ChartPlugin {
         table.getSelectionModel().setCellSelectionEnabled(true);
         table.setEditable(true); // Generally the TableView is editable, actual editability is configured column-wise
         table.setItems(dsModel);
+        table.setSortPolicy(tableView -> dsModel.sort(tableView.getSortOrder()));
         Bindings.bindContent(table.getColumns(), dsModel.getColumns());
+        rowFilter.addListener((ch, o, n) -> {
+            dsModel.forceNextUpdate = true;
+            dsModel.runPreLayout();
+        });
 
         chartProperty().addListener((change, oldChart, newChart) -> {
             if (oldChart != null) {
@@ -158,32 +175,101 @@ public class TableViewer extends ChartPlugin {
     }
 
     /**
-     * Copies the (selected) table data to the clipboard in csv Format.
+     * Row filter that is applied to the data set indices before sorting. Filtering and sorting (by clicking on the
+     * column headers) only permute the row indices, the data sets are neither copied nor modified. The permutation is
+     * computed in a background thread and shown once completed.
+     *
+     * @return the rowFilter property, {@code null}: all rows are shown
+     */
+    public ObjectProperty<IntPredicate> rowFilterProperty() {
+        return rowFilter;
+    }
+
+    /**
+     * gets {@link #rowFilterProperty()}
+     * @return the row filter, {@code null}: all rows are shown
+     */
+    public IntPredicate getRowFilter() {
+        return rowFilter.get();
+    }
+
+    /**
+     * sets {@link #rowFilterProperty()}
+     * @param filter accepts the data set indices that should be shown, {@code null}: all rows
+     */
+    public void setRowFilter(final IntPredicate filter) {
+        rowFilter.set(filter);
+    }
+
+    /**
+     * Copies the (selected) table data to the clipboard in csv Format. The data is formatted in a background thread.
      */
     public void copySelectedToClipboard() {
+        copySelectedToClipboardAsync();
+    }
+
+    /**
+     * Copies the (selected) table data to the clipboard in csv Format. The data is formatted in a background thread.
+     *
+     * @return future that completes once the data has been copied to the clipboard
+     */
+    public CompletableFuture<Void> copySelectedToClipboardAsync() {
         dsModel.runPreLayout();
-        final ClipboardContent content = new ClipboardContent();
-        content.putString(dsModel.getSelectedData(table.getSelectionModel()));
-        Clipboard.getSystemClipboard().setContent(content);
+        final TableSnapshot snapshot = dsModel.getSnapshot(table.getSelectionModel());
+        return CompletableFuture.supplyAsync(snapshot::getData, CachedDaemonThreadFactory.getCommonPool()) //
+                .thenAcceptAsync(data -> {
+                    final ClipboardContent content = new ClipboardContent();
+                    content.putString(data);
+                    Clipboard.getSystemClipboard().setContent(content);
+                }, Platform::runLater)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        LOGGER.atError().setCause(ex).log("error while copying data to clipboard");
+                    }
+                });
     }
 
     /**
      * Show a FileChooser and export the (selected) Table Data to the choosen .csv File.
      */
     public void exportGridToCSV() {
-        dsModel.runPreLayout();
+        exportGridToCSVAsync();
+    }
+
+    /**
+     * Show a FileChooser and export the (selected) Table Data to the choosen .csv File.
+     *
+     * @return future that completes once the file has been written
+     */
+    public CompletableFuture<Void> exportGridToCSVAsync() {
         final FileChooser chooser = new FileChooser();
         final File save = chooser.showSaveDialog(getChart().getScene().getWindow());
         if (save == null) {
-            return;
-        }
-        final String data = dsModel.getSelectedData(table.getSelectionModel());
-        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(save.getPath() + ".csv"),
-                     StandardCharsets.UTF_8)) {
-            writer.write(data);
-        } catch (IOException ex) {
-            LOGGER.atError().setCause(ex).log("error while exporting data to csv");
+            return CompletableFuture.completedFuture(null);
         }
+        return exportToCSV(new File(save.getPath() + ".csv"));
+    }
+
+    /**
+     * Exports the (selected) Table Data to the given file. The file is written in a background thread.
+     *
+     * @param file the destination .csv file
+     * @return future that completes once the file has been written
+     */
+    public CompletableFuture<Void> exportToCSV(final File file) {
+        dsModel.runPreLayout();
+        final TableSnapshot snapshot = dsModel.getSnapshot(table.getSelectionModel());
+        return CompletableFuture.runAsync(() -> {
+            try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                snapshot.write(writer);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, CachedDaemonThreadFactory.getCommonPool()).whenComplete((result, ex) -> {
+            if (ex != null) {
+                LOGGER.atError().setCause(ex).log("error while exporting data to csv");
+            }
+        });
     }
 
     /**
@@ -245,6 +331,22 @@ public class TableViewer extends ChartPlugin {
         return table;
     }
 
+    private static double getDataValue(final int row, final DataSet ds, final ColumnType type) {
+        if (ds == null || row >= ds.getDataCount()) {
+            return 0.0;
+        }
+        if (!type.errorCol) {
+            return ds.get(type.dimIdx, row);
+        }
+        if (!(ds instanceof DataSetError))
+            return 0.0;
+        DataSetError eds = (DataSetError) ds;
+        if (type.positive) {
+            return eds.getErrorPositive(type.dimIdx, row);
+        }
+        return eds.getErrorNegative(type.dimIdx, row);
+    }
+
     protected enum ColumnType {
         X(DIM_X, "x", false, true),
         Y(DIM_Y, "y", false, true),
@@ -270,7 +372,8 @@ public class TableViewer extends ChartPlugin {
      * Model Abstraction to the DataSets of a chart as the backing for a JavaFX TableView. Only elements visible on
      * screen are allocated and new elements are generated onDemand using Cell Factories. Also generates the column
      * Objects for the TableView and subscribes Change Listeners to update the Table whenever the datasets change or new
-     * Datasets are added
+     * Datasets are added. Row objects are only cached for the visible rows plus a prefetch window and sorting/filtering
+     * is implemented via a permutation of the row indices (see {@link TableRowIndex}).
      *
      * @author akrimm
      */
@@ -279,6 +382,11 @@ public class TableViewer extends ChartPlugin {
         private int nRows;
         private final ObservableList<TableColumn<DataSetsRow, ?>> columns = FXCollections.observableArrayList();
         private boolean forceNextUpdate = false;
+        private TableRowIndex rowIndex = TableRowIndex.identity(0);
+        private final DataSetsRow[] rowCache = new DataSetsRow[ROW_CACHE_SIZE];
+        private DataSetTableColumn sortColumn;
+        private SortType sortType;
+        private long rowIndexGeneration; // N.B. only accessed from the JavaFX application thread
 
         public DataSetsModel() {
             super();
@@ -321,15 +429,8 @@ public class TableViewer extends ChartPlugin {
                 }
             }
 
-            if (nRows != nRowsNew) {
-                // Workaround, let the selection model realize, that the number of cols has changed
-                // in the process the selection is lost
-                nRows = nRowsNew;
-                table.setItems(null);
-                table.setItems(dsModel);
-            } else {
-                table.refresh();
-            }
+            nRows = nRowsNew;
+            updateRowIndex();
         }
 
         /**
@@ -346,48 +447,25 @@ public class TableViewer extends ChartPlugin {
         @Override
         public boolean contains(final Object o) {
             if (o instanceof DataSetsRow) {
-                return (nRows > ((DataSetsRow) o).getRow());
+                return (rowIndex.size() > ((DataSetsRow) o).viewRow);
             }
             return false;
         }
 
         @Override
         public DataSetsRow get(final int row) {
-            return new DataSetsRow(row, this);
+            final int slot = row & (ROW_CACHE_SIZE - 1);
+            final DataSetsRow cached = rowCache[slot];
+            if (cached != null && cached.viewRow == row) {
+                return cached;
+            }
+            final DataSetsRow dataSetsRow = new DataSetsRow(row, rowIndex.toDataRow(row), this);
+            rowCache[slot] = dataSetsRow;
+            return dataSetsRow;
         }
 
         protected String getAllData() {
-            final StringBuilder sb = new StringBuilder();
-            sb.append('#');
-            int dataSetNo = 0;
-            for (TableColumn<DataSetsRow, ?> col : columns) {
-                if (col instanceof DataSetTableColumns && col.isVisible()) {
-                    dataSetNo++;
-                    for (TableColumn<DataSetsRow, ?> subcol : col.getColumns()) {
-                        if (subcol instanceof DataSetTableColumn && ((DataSetTableColumn) subcol).active) {
-                            sb.append(subcol.getText()).append(dataSetNo).append(", ");
-                        }
-                    }
-                }
-            }
-            sb.setCharAt(sb.length() - 2, '\n');
-            sb.deleteCharAt(sb.length() - 1);
-            for (int r = 0; r < nRows; r++) {
-                for (TableColumn<DataSetsRow, ?> col : columns) {
-                    if (col instanceof DataSetTableColumns && col.isVisible()) {
-                        for (TableColumn<DataSetsRow, ?> subcol : col.getColumns()) {
-                            if (subcol instanceof DataSetTableColumn && ((DataSetTableColumn) subcol).active) {
-                                sb.append(((DataSetTableColumn) subcol).getValue(r)).append(", ");
-                            }
-                        }
-                    } else if (col instanceof RowIndexHeaderTableColumn) {
-                        sb.append(col.getCellData(r)).append(", ");
-                    }
-                }
-                sb.setCharAt(sb.length() - 2, '\n');
-                sb.deleteCharAt(sb.length() - 1);
-            }
-            return sb.toString();
+            return getSnapshot(null).getData();
         }
 
         public ObservableList<TableColumn<DataSetsRow, ?>> getColumns() {
@@ -395,77 +473,161 @@ public class TableViewer extends ChartPlugin {
         }
 
         protected String getSelectedData(final TableViewSelectionModel<DataSetsRow> selModel) {
+            return getSnapshot(selModel).getData();
+        }
+
+        /**
+         * @param selModel selection model of the table, {@code null}: all data
+         * @return snapshot of the selected (or all if nothing is selected) cells that can be exported in the background
+         */
+        protected TableSnapshot getSnapshot(final TableViewSelectionModel<DataSetsRow> selModel) {
             // Construct a sorted Set/Map with all the selected columns.
             // This means, that if you select (1,1) and (4,5), (1,5) and (4,1)
             // will also be exported.
             // A better approach would be a custom Selection model, which also
             // visualises this behaviour
             @SuppressWarnings("rawtypes") // getSelectedCells returns raw type
-            final ObservableList<TablePosition> selected = selModel.getSelectedCells();
+            final ObservableList<TablePosition> selected = selModel == null ? FXCollections.emptyObservableList() : selModel.getSelectedCells();
+            final List<String> headers = new ArrayList<>();
+            final List<TableColumn<DataSetsRow, ?>> exported = new ArrayList<>();
+            int[] viewRows = null;
             if (selected.isEmpty()) {
-                return getAllData();
-            }
-            final TreeSet<Integer> rows = new TreeSet<>();
-            final TreeMap<Integer, TableColumn<DataSetsRow, ?>> cols = new TreeMap<>();
-            for (final TablePosition<DataSetsRow, ?> cell : selected) {
-                cols.put(cell.getColumn(), cell.getTableColumn());
-                rows.add(cell.getRow());
-            }
-            // Generate a string from the selected data
-            StringBuilder sb = new StringBuilder();
-            sb.append('#');
-            for (final Map.Entry<Integer, TableColumn<DataSetsRow, ?>> col : cols.entrySet()) {
-                sb.append(col.getValue().getText()).append(", ");
-            }
-            sb.setCharAt(sb.length() - 2, '\n');
-            sb.deleteCharAt(sb.length() - 1);
-            for (final int r : rows) {
-                for (final Map.Entry<Integer, TableColumn<DataSetsRow, ?>> col : cols.entrySet()) {
-                    if (col.getValue() instanceof DataSetTableColumn) {
-                        sb.append(((DataSetTableColumn) col.getValue()).getValue(r)).append(", ");
-                    } else {
-                        sb.append(col.getValue().getCellData(r)).append(", ");
+                int dataSetNo = 0;
+                for (TableColumn<DataSetsRow, ?> col : columns) {
+                    if (col instanceof DataSetTableColumns && col.isVisible()) {
+                        dataSetNo++;
+                        for (TableColumn<DataSetsRow, ?> subcol : col.getColumns()) {
+                            if (subcol instanceof DataSetTableColumn && ((DataSetTableColumn) subcol).active) {
+                                headers.add(subcol.getText() + dataSetNo);
+                                exported.add(subcol);
+                            }
+                        }
+                    } else if (col instanceof RowIndexHeaderTableColumn) {
+                        headers.add(null); // N.B. row index is exported without header
+                        exported.add(col);
                     }
                 }
-                sb.setCharAt(sb.length() - 2, '\n');
-                sb.deleteCharAt(sb.length() - 1);
+            } else {
+                final TreeSet<Integer> rows = new TreeSet<>();
+                final TreeMap<Integer, TableColumn<DataSetsRow, ?>> cols = new TreeMap<>();
+                for (final TablePosition<DataSetsRow, ?> cell : selected) {
+                    cols.put(cell.getColumn(), cell.getTableColumn());
+                    rows.add(cell.getRow());
+                }
+                for (final TableColumn<DataSetsRow, ?> col : cols.values()) {
+                    headers.add(Objects.toString(col.getText(), ""));
+                    exported.add(col);
+                }
+                viewRows = rows.stream().mapToInt(Integer::intValue).toArray();
             }
-            return sb.toString();
+
+            final int nCols = exported.size();
+            final DataSet[] dataSets = new DataSet[nCols];
+            final ColumnType[] types = new ColumnType[nCols];
+            for (int i = 0; i < nCols; i++) {
+                // N.B. all other columns show the row index
+                if (exported.get(i) instanceof DataSetTableColumn) {
+                    dataSets[i] = ((DataSetTableColumn) exported.get(i)).ds;
+                    types[i] = ((DataSetTableColumn) exported.get(i)).type;
+                }
+            }
+            return new TableSnapshot(headers.toArray(new String[0]), dataSets, types, rowIndex, viewRows);
         }
 
         public double getValue(final int row, final DataSet ds, final ColumnType type) {
-            if (ds == null || row >= ds.getDataCount()) {
+            if (ds == null) {
                 return 0.0;
             }
-            if (!type.errorCol) {
-                return ds.get(type.dimIdx, row);
-            }
-            if (!(ds instanceof DataSetError))
-                return 0.0;
-            DataSetError eds = (DataSetError) ds;
-            if (type.positive) {
-                return eds.getErrorPositive(type.dimIdx, row);
-            }
-            return eds.getErrorNegative(type.dimIdx, row);
+            return ds.lock().readLockGuard(() -> getDataValue(row, ds, type));
         }
 
         @Override
         public int indexOf(final Object o) {
             if (o instanceof DataSetsRow) {
-                final int row = ((DataSetsRow) o).row;
-                return row < nRows ? row : -1;
+                final int row = ((DataSetsRow) o).viewRow;
+                return row < rowIndex.size() ? row : -1;
             }
             return -1;
         }
 
         @Override
         public boolean isEmpty() {
-            return (nRows >= 0);
+            return rowIndex.size() == 0;
         }
 
         @Override
         public int size() {
-            return nRows;
+            return rowIndex.size();
+        }
+
+        /**
+         * Sort policy of the table: sorts the rows by the first data column of the sort order via a permutation of the
+         * row indices.
+         *
+         * @param sortOrder the sort order of the table
+         * @return {@code true} (sorting is always possible)
+         */
+        protected boolean sort(final List<TableColumn<DataSetsRow, ?>> sortOrder) {
+            DataSetTableColumn newSortColumn = null;
+            for (TableColumn<DataSetsRow, ?> col : sortOrder) {
+                if (col instanceof DataSetTableColumn && ((DataSetTableColumn) col).active) {
+                    newSortColumn = (DataSetTableColumn) col;
+                    break;
+                }
+            }
+            final SortType newSortType = newSortColumn == null ? null : newSortColumn.getSortType();
+            if (newSortColumn == sortColumn && newSortType == sortType) { // NOPMD NOSONAR - identity intended
+                return true;
+            }
+            sortColumn = newSortColumn;
+            sortType = newSortType;
+            table.getSelectionModel().clearSelection();
+            updateRowIndex();
+            return true;
+        }
+
+        /**
+         * Filters and sorts the rows in a background thread and swaps in the new row index on the JavaFX application
+         * thread. Until then, the table keeps showing the previous permutation (N.B. rows beyond the present data
+         * count are shown as zero). Only the result of the latest request is applied.
+         */
+        private void updateRowIndex() {
+            final long generation = ++rowIndexGeneration;
+            final int nRowsLocal = nRows;
+            final IntPredicate filter = getRowFilter();
+            final DataSet sortDataSet = sortColumn == null ? null : sortColumn.ds;
+            if (filter == null && sortDataSet == null) {
+                setRowIndex(TableRowIndex.identity(nRowsLocal));
+                return;
+            }
+            final ColumnType sortColumnType = sortColumn == null ? null : sortColumn.type;
+            final boolean ascending = sortType != SortType.DESCENDING;
+            CompletableFuture.supplyAsync(() -> {
+                if (sortDataSet == null) {
+                    return TableRowIndex.create(nRowsLocal, filter, null, true);
+                }
+                return sortDataSet.lock().readLockGuard(() -> TableRowIndex.create(nRowsLocal, filter, row -> getDataValue(row, sortDataSet, sortColumnType), ascending));
+            }, CachedDaemonThreadFactory.getCommonPool()).whenCompleteAsync((newIndex, ex) -> {
+                if (ex != null) {
+                    LOGGER.atError().setCause(ex).log("error while filtering/sorting table rows");
+                } else if (generation == rowIndexGeneration) {
+                    setRowIndex(newIndex);
+                }
+            }, Platform::runLater);
+        }
+
+        private void setRowIndex(final TableRowIndex newIndex) {
+            final int nViewRows = rowIndex.size();
+            rowIndex = newIndex;
+            Arrays.fill(rowCache, null);
+            if (nViewRows != newIndex.size()) {
+                // Workaround, let the selection model realize, that the number of cols has changed
+                // in the process the selection is lost
+                table.setItems(null);
+                table.setItems(dsModel);
+            } else {
+                table.refresh();
+            }
         }
 
         /**
@@ -487,7 +649,7 @@ public class TableViewer extends ChartPlugin {
              */
             public DataSetTableColumn(final ColumnType type) {
                 super("");
-                this.setSortable(false);
+                this.setSortable(true); // N.B. sorted via the row index permutation, see DataSetsModel#sort
                 this.setReorderable(false);
                 this.ds = null;
                 this.type = type;
@@ -665,10 +827,12 @@ public class TableViewer extends ChartPlugin {
     }
 
     protected class DataSetsRow {
+        private final int viewRow;
         private final int row;
         private final DataSetsModel model;
 
-        private DataSetsRow(final int row, final DataSetsModel model) {
+        private DataSetsRow(final int viewRow, final int row, final DataSetsModel model) {
+            this.viewRow = viewRow;
             this.row = row;
             this.model = model;
         }
@@ -702,4 +866,109 @@ public class TableViewer extends ChartPlugin {
             return hash;
         }
     }
+
+    /**
+     * Immutable copy of the exported columns and rows of the table, which can be formatted independently of the JavaFX
+     * application thread. The data sets are read-locked for chunks of {@link #EXPORT_CHUNK_SIZE} rows, so that data
+     * updates are not blocked for the whole duration of large exports.
+     */
+    protected static class TableSnapshot {
+        private final String[] headers; // null: column without header entry
+        private final DataSet[] dataSets;
+        private final ColumnType[] types; // null: row index column
+        private final TableRowIndex rowIndex;
+        private final int[] viewRows; // null: all rows
+
+        private TableSnapshot(final String[] headers, final DataSet[] dataSets, final ColumnType[] types, final TableRowIndex rowIndex, final int[] viewRows) {
+            this.headers = headers;
+            this.dataSets = dataSets;
+            this.types = types;
+            this.rowIndex = rowIndex;
+            this.viewRows = viewRows;
+        }
+
+        /**
+         * @return the data in csv format
+         */
+        public String getData() {
+            final StringBuilder builder = new StringBuilder();
+            try {
+                write(builder);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // N.B. not thrown by StringBuilder
+            }
+            return builder.toString();
+        }
+
+        /**
+         * @return number of exported rows
+         */
+        public int getRowCount() {
+            return viewRows == null ? rowIndex.size() : viewRows.length;
+        }
+
+        /**
+         * Writes the data in csv format
+         *
+         * @param out destination of the data
+         * @throws IOException in case the destination cannot be written
+         */
+        public void write(final Appendable out) throws IOException {
+            // N.B. locale-independent shortest round-trip representation, one instance per export for thread-safety
+            final NumberFormatterImpl formatter = new NumberFormatterImpl().setDecimalFormatSymbols(DecimalFormatSymbols.getInstance(Locale.ROOT));
+            final StringBuilder sb = new StringBuilder();
+            sb.append('#');
+            for (final String header : headers) {
+                if (header != null) {
+                    sb.append(header).append(", ");
+                }
+            }
+            endLine(sb);
+
+            final Set<DataSet> unique = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (final DataSet dataSet : dataSets) {
+                if (dataSet != null) {
+                    unique.add(dataSet);
+                }
+            }
+            final DataSet[] lockedDataSets = unique.toArray(new DataSet[0]);
+            final int nRows = getRowCount();
+            for (int from = 0; from < nRows; from += EXPORT_CHUNK_SIZE) {
+                final int to = Math.min(from + EXPORT_CHUNK_SIZE, nRows);
+                int locked = 0;
+                try {
+                    for (; locked < lockedDataSets.length; locked++) {
+                        lockedDataSets[locked].lock().readLock();
+                    }
+                    for (int r = from; r < to; r++) {
+                        final int row = rowIndex.toDataRow(viewRows == null ? r : viewRows[r]);
+                        for (int col = 0; col < types.length; col++) {
+                            if (types[col] == null) {
+                                sb.append(row);
+                            } else {
+                                formatter.appendTo(sb, getDataValue(row, dataSets[col], types[col]));
+                            }
+                            sb.append(", ");
+                        }
+                        endLine(sb);
+                    }
+                } finally {
+                    while (locked > 0) {
+                        lockedDataSets[--locked].lock().readUnLock();
+                    }
+                }
+                out.append(sb);
+                sb.setLength(0);
+            }
+            out.append(sb);
+        }
+
+        private static void endLine(final StringBuilder sb) {
+            final int length = sb.length();
+            if (length >= 2 && sb.charAt(length - 2) == ',') {
+                sb.setLength(length - 2);
+            }
+            sb.append('\n');
+        }
+    }
 }
@@ -84,6 +84,15 @@ public interface Renderer extends Measurable.EmptyDefault {
         // empty by default
     }
 
+    /**
+     * @return {@code true} if the renderer reads the data during the layout pass exclusively via
+     *         {@link Chart#getRenderDataSet(DataSet)}. Only then, data sets in snapshot read mode are not read-locked
+     *         while being drawn by this renderer.
+     */
+    default boolean isSnapshotAware() {
+        return false;
+    }
+
     /**
      * Sets up axis mapping and creates any axes that may be needed.
      * Gets called before axis ranges are updated.
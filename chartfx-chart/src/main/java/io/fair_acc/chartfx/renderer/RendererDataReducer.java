@@ -1,5 +1,9 @@
 package io.fair_acc.chartfx.renderer;
 
+import java.util.Arrays;
+
+import io.fair_acc.dataset.utils.ArrayPool;
+
 /**
  * @author rstein N.B. in-place computation have to be assumed (ie. the reduced data set is part and overwrites of the
  *         input arrays)
@@ -24,4 +28,89 @@ public interface RendererDataReducer {
     int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
             final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
             final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax);
+
+    /**
+     * Variant of {@link #reducePoints(double[], double[], double[], double[], double[], double[], String[], boolean[],
+     * int, int)} that stores the reduced points starting at 'targetIndex' rather than at index '0'. Implementations that
+     * support this (see {@link #isParallelisable()}) allow the renderer to reduce disjoint index ranges concurrently.
+     * The default implementation reduces a temporary copy of the index range and copies the result into place.
+     *
+     * @param xValues array of x coordinates
+     * @param yValues array of y coordinates
+     * @param xPointErrorsPos array of coordinates containing x+exp
+     * @param xPointErrorsNeg array of coordinates containing x-exn
+     * @param yPointErrorsPos array of coordinates containing x+eyp
+     * @param yPointErrorsNeg array of coordinates containing x+eyn
+     * @param styles point styles
+     * @param pointSelected array containing the points that have been specially selected by the user
+     * @param indexMin minimum index of those array that shall be considered
+     * @param indexMax maximum index of those array that shall be considered
+     * @param targetIndex first index the reduced points are written to (N.B. needs to be &lt;= indexMin)
+     * @return effective number of points that remain after the reduction
+     */
+    default int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
+            final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
+            final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax,
+            final int targetIndex) {
+        if (targetIndex == 0) {
+            return reducePoints(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles,
+                    pointSelected, indexMin, indexMax);
+        }
+        final int length = indexMax - indexMin;
+        final double[] x = copyOfRange(xValues, indexMin, length);
+        final double[] y = copyOfRange(yValues, indexMin, length);
+        final double[] exPos = copyOfRange(xPointErrorsPos, indexMin, length);
+        final double[] exNeg = copyOfRange(xPointErrorsNeg, indexMin, length);
+        final double[] eyPos = copyOfRange(yPointErrorsPos, indexMin, length);
+        final double[] eyNeg = copyOfRange(yPointErrorsNeg, indexMin, length);
+        final String[] style = styles == null ? null : Arrays.copyOfRange(styles, indexMin, indexMax);
+        boolean[] selected = null;
+        if (pointSelected != null) {
+            selected = ArrayPool.BOOLEAN.allocate(length);
+            System.arraycopy(pointSelected, indexMin, selected, 0, length);
+        }
+        try {
+            final int count = reducePoints(x, y, exPos, exNeg, eyPos, eyNeg, style, selected, 0, length);
+            copyInto(x, xValues, targetIndex, count);
+            copyInto(y, yValues, targetIndex, count);
+            copyInto(exPos, xPointErrorsPos, targetIndex, count);
+            copyInto(exNeg, xPointErrorsNeg, targetIndex, count);
+            copyInto(eyPos, yPointErrorsPos, targetIndex, count);
+            copyInto(eyNeg, yPointErrorsNeg, targetIndex, count);
+            copyInto(style, styles, targetIndex, count);
+            copyInto(selected, pointSelected, targetIndex, count);
+            return count;
+        } finally {
+            ArrayPool.DOUBLE.release(x);
+            ArrayPool.DOUBLE.release(y);
+            ArrayPool.DOUBLE.release(exPos);
+            ArrayPool.DOUBLE.release(exNeg);
+            ArrayPool.DOUBLE.release(eyPos);
+            ArrayPool.DOUBLE.release(eyNeg);
+            ArrayPool.BOOLEAN.release(selected);
+        }
+    }
+
+    /**
+     * @return {@code true} if the reducer is stateless w.r.t. a single reduction call and supports target offsets, ie.
+     *         may be invoked concurrently on disjoint index ranges
+     */
+    default boolean isParallelisable() {
+        return false;
+    }
+
+    private static double[] copyOfRange(final double[] source, final int from, final int length) {
+        if (source == null) {
+            return null; // NOPMD - may be null due to a CachedDataPoint optimisation
+        }
+        final double[] copy = ArrayPool.DOUBLE.allocate(length);
+        System.arraycopy(source, from, copy, 0, length);
+        return copy;
+    }
+
+    private static void copyInto(final Object reduced, final Object target, final int targetIndex, final int count) {
+        if (reduced != null && target != null) {
+            System.arraycopy(reduced, 0, target, targetIndex, count);
+        }
+    }
 }
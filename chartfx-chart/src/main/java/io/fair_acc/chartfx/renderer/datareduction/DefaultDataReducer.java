@@ -56,12 +56,22 @@ public class DefaultDataReducer implements RendererDataReducer {
     public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
             final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
             final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax) {
+        return reducePoints(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles,
+                pointSelected, indexMin, indexMax, 0);
+    }
+
+    @Override
+    public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
+            final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
+            final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax,
+            final int targetIndex) {
         AssertUtils.nonEmptyArray("xValues", xValues);
         final int defaultDataLength = xValues.length;
         AssertUtils.checkArrayDimension("yValues", yValues, defaultDataLength);
         AssertUtils.checkArrayDimension("pointSelected", pointSelected, defaultDataLength);
         AssertUtils.gtEqThanZero("indexMax", indexMin);
         AssertUtils.gtThanZero("indexMax", indexMax);
+        AssertUtils.indexOrder(targetIndex, "targetIndex", indexMin, "indexMin");
 
         final boolean xErrorPos = xPointErrorsPos != null;
         final boolean xErrorNeg = xPointErrorsNeg != null;
@@ -74,22 +84,22 @@ public class DefaultDataReducer implements RendererDataReducer {
             AssertUtils.checkArrayDimension("yPointErrorsPos", yPointErrorsPos, defaultDataLength);
             AssertUtils.checkArrayDimension("yPointErrorsNeg", yPointErrorsNeg, defaultDataLength);
             return reducePointsInternal(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos,
-                    yPointErrorsNeg, styles, pointSelected, indexMin, indexMax);
+                    yPointErrorsNeg, styles, pointSelected, indexMin, indexMax, targetIndex);
         } else if (yErrorPos && yErrorNeg) {
             AssertUtils.checkArrayDimension("yPointErrorsPos", yPointErrorsPos, defaultDataLength);
             AssertUtils.checkArrayDimension("yPointErrorsNeg", yPointErrorsNeg, defaultDataLength);
             return reducePointsInternal(xValues, yValues, yPointErrorsPos, yPointErrorsNeg, styles, pointSelected,
-                    indexMin, indexMax);
+                    indexMin, indexMax, targetIndex);
         } else {
-            return reducePointsInternal(xValues, yValues, styles, pointSelected, indexMin, indexMax);
+            return reducePointsInternal(xValues, yValues, styles, pointSelected, indexMin, indexMax, targetIndex);
         }
     }
 
     private int reducePointsInternal(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
             final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
-            final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax) {
+            final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax, final int targetIndex) {
         final long start = ProcessingProfiler.getTimeStamp();
-        int count = 0;
+        int count = targetIndex;
         int ncount = 0;
         double meanX = 0;
         double meanY = 0;
@@ -233,16 +243,16 @@ public class DefaultDataReducer implements RendererDataReducer {
 
         if (ProcessingProfiler.getDebugState()) {
             ProcessingProfiler.getTimeDiff(start,
-                    String.format("data reduction (full-xy error definitions: from %d to %d)", indexMax - indexMin, count));
+                    String.format("data reduction (full-xy error definitions: from %d to %d)", indexMax - indexMin, count - targetIndex));
         }
-        return count;
+        return count - targetIndex;
     }
 
     private int reducePointsInternal(final double[] xValues, final double[] yValues, final double[] yPointErrorsPos,
             final double[] yPointErrorsNeg, final String[] styles, final boolean[] pointSelected, final int indexMin,
-            final int indexMax) {
+            final int indexMax, final int targetIndex) {
         final long start = ProcessingProfiler.getTimeStamp();
-        int count = 0;
+        int count = targetIndex;
         int ncount = 0;
         double meanX = 0;
         double meanY = 0;
@@ -369,15 +379,15 @@ public class DefaultDataReducer implements RendererDataReducer {
 
         if (ProcessingProfiler.getDebugState()) {
             ProcessingProfiler.getTimeDiff(start,
-                    String.format("only-y error definitions: data reduction (from %d to %d)", indexMax - indexMin, count));
+                    String.format("only-y error definitions: data reduction (from %d to %d)", indexMax - indexMin, count - targetIndex));
         }
-        return count;
+        return count - targetIndex;
     }
 
     private int reducePointsInternal(final double[] xValues, final double[] yValues, final String[] styles,
-            final boolean[] pointSelected, final int indexMin, final int indexMax) {
+            final boolean[] pointSelected, final int indexMin, final int indexMax, final int targetIndex) {
         final long start = ProcessingProfiler.getTimeStamp();
-        int count = 0;
+        int count = targetIndex;
         int ncount = 0;
         double meanX = 0;
         double meanY = 0;
@@ -485,9 +495,14 @@ public class DefaultDataReducer implements RendererDataReducer {
 
         if (ProcessingProfiler.getDebugState()) {
             ProcessingProfiler.getTimeDiff(start,
-                    String.format("data reduction (no error definitions: from %d to %d)", indexMax - indexMin, count));
+                    String.format("data reduction (no error definitions: from %d to %d)", indexMax - indexMin, count - targetIndex));
         }
-        return count;
+        return count - targetIndex;
+    }
+
+    @Override
+    public boolean isParallelisable() {
+        return true;
     }
 
     /**
@@ -0,0 +1,266 @@
+package io.fair_acc.chartfx.renderer.datareduction;
+
+import java.util.Arrays;
+
+import io.fair_acc.chartfx.axes.Axis;
+import io.fair_acc.chartfx.renderer.RendererDataReducer;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.ProcessingProfiler;
+
+/**
+ * M4 data reduction: for each horizontal pixel column only the first, minimum, maximum and last point are kept (in
+ * their original order). The resulting poly-line is pixel-identical to the poly-line through all points, while at most
+ * four points per pixel column remain.
+ * <p>
+ * Two variants are provided:
+ * <ul>
+ * <li>{@link #reducePoints} implements the standard {@link RendererDataReducer} interface and operates in-place on
+ * already transformed screen coordinates, ie. O(N) in the number of visible points;</li>
+ * <li>{@link #reduceIndices} operates directly on the (x-sorted) {@link DataSet} and selects the sample indices that
+ * need to be transformed and drawn. Using exponential search along x and the cached {@link MinMaxPyramid} for the
+ * min/max queries, the cost is O(W log N) with W being the screen width in pixels, ie. independent of the number of
+ * samples. This variant is used automatically by the {@code ErrorDataSetRenderer} for sorted data without NaN
+ * handling.</li>
+ * </ul>
+ * N.B. NaN values are treated as gaps, ie. in the screen-space variant they are always kept; in the data-space variant
+ * they are ignored for the min/max selection.
+ */
+public class M4DataReducer implements RendererDataReducer {
+    private static final int N_CANDIDATES = 4;
+    private int[] reducedIndices = new int[0];
+    private int[] bucketMinIndices = new int[0];
+    private int[] bucketMaxIndices = new int[0];
+    private final int[] candidates = new int[N_CANDIDATES];
+
+    /**
+     * @return the sample indices selected by the last call to {@link #reduceIndices} (N.B. internal buffer, only the
+     *         first 'count' entries are valid)
+     */
+    public int[] getReducedIndices() {
+        return reducedIndices;
+    }
+
+    /**
+     * @return for each index selected by the last call to {@link #reduceIndices}, the index of the minimum y-value
+     *         within its pixel column, e.g. to draw the compression error (N.B. internal buffer, only the first 'count'
+     *         entries are valid)
+     */
+    public int[] getBucketMinIndices() {
+        return bucketMinIndices;
+    }
+
+    /**
+     * @return for each index selected by the last call to {@link #reduceIndices}, the index of the maximum y-value
+     *         within its pixel column (N.B. internal buffer, only the first 'count' entries are valid)
+     */
+    public int[] getBucketMaxIndices() {
+        return bucketMaxIndices;
+    }
+
+    /**
+     * Selects the M4 subset of sample indices of a data set that is sorted in x. The selected indices are stored in
+     * ascending order in {@link #getReducedIndices()}.
+     *
+     * @param dataSet the source data set (N.B. read-lock should be held by the caller, x-values must be sorted)
+     * @param xAxis the horizontal axis used to map x values to pixel columns
+     * @param indexMin minimum index of the data set that shall be considered
+     * @param indexMax maximum index (exclusive) of the data set that shall be considered
+     * @return effective number of points that remain after the reduction
+     */
+    public int reduceIndices(final DataSet dataSet, final Axis xAxis, final int indexMin, final int indexMax) {
+        AssertUtils.notNull("dataSet", dataSet);
+        AssertUtils.notNull("xAxis", xAxis);
+        AssertUtils.gtEqThanZero("indexMin", indexMin);
+        AssertUtils.indexOrder(indexMin, "indexMin", indexMax, "indexMax");
+        final long start = ProcessingProfiler.getTimeStamp();
+        final MinMaxPyramid pyramid = MinMaxPyramid.get(dataSet);
+        final boolean inverted = xAxis.isInvertedAxis();
+        final int max = Math.min(indexMax, pyramid.getDataCount());
+
+        int count = 0;
+        int bucketStart = indexMin;
+        while (bucketStart < max) {
+            final double xDisplay = xAxis.getDisplayPosition(dataSet.get(DataSet.DIM_X, bucketStart));
+            final int bucketEnd;
+            if (Double.isFinite(xDisplay)) {
+                // data-space boundary of the pixel column that contains the first point of the bucket
+                final double pixel = Math.floor(xDisplay);
+                final double xBoundary = xAxis.getValueForDisplay(inverted ? pixel : pixel + 1.0);
+                bucketEnd = findBucketEnd(dataSet, xBoundary, !inverted, bucketStart + 1, max);
+            } else {
+                bucketEnd = bucketStart + 1;
+            }
+            count = addBucket(pyramid, bucketStart, bucketEnd, count);
+            bucketStart = bucketEnd;
+        }
+
+        if (ProcessingProfiler.getDebugState()) {
+            ProcessingProfiler.getTimeDiff(start, String.format("M4 data reduction (from %d to %d)", indexMax - indexMin, count));
+        }
+        return count;
+    }
+
+    @Override
+    public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
+            final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
+            final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax) {
+        return reducePoints(xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles,
+                pointSelected, indexMin, indexMax, 0);
+    }
+
+    @Override
+    public int reducePoints(final double[] xValues, final double[] yValues, final double[] xPointErrorsPos,
+            final double[] xPointErrorsNeg, final double[] yPointErrorsPos, final double[] yPointErrorsNeg,
+            final String[] styles, final boolean[] pointSelected, final int indexMin, final int indexMax,
+            final int targetIndex) {
+        AssertUtils.nonEmptyArray("xValues", xValues);
+        final int defaultDataLength = xValues.length;
+        AssertUtils.checkArrayDimension("yValues", yValues, defaultDataLength);
+        AssertUtils.checkArrayDimension("pointSelected", pointSelected, defaultDataLength);
+        AssertUtils.gtEqThanZero("indexMin", indexMin);
+        AssertUtils.gtThanZero("indexMax", indexMax);
+        AssertUtils.indexOrder(targetIndex, "targetIndex", indexMin, "indexMin");
+        final long start = ProcessingProfiler.getTimeStamp();
+        final int[] bucket = new int[N_CANDIDATES]; // N.B. local to permit concurrent calls on disjoint ranges
+
+        int count = targetIndex;
+        int bucketStart = indexMin;
+        while (bucketStart < indexMax) {
+            // find end of pixel column (N.B. NaNs are kept as individual gap points)
+            int bucketEnd = bucketStart + 1;
+            if (!Double.isNaN(yValues[bucketStart])) {
+                final double column = Math.floor(xValues[bucketStart]);
+                while (bucketEnd < indexMax && Math.floor(xValues[bucketEnd]) == column && !Double.isNaN(yValues[bucketEnd])) {
+                    bucketEnd++;
+                }
+            }
+
+            // select first, min, max and last of the pixel column
+            int nCandidates = 0;
+            bucket[nCandidates++] = bucketStart;
+            if (bucketEnd - bucketStart > 1) {
+                int minIndex = bucketStart;
+                int maxIndex = bucketStart;
+                for (int i = bucketStart + 1; i < bucketEnd; i++) {
+                    if (yValues[i] < yValues[minIndex]) {
+                        minIndex = i;
+                    }
+                    if (yValues[i] > yValues[maxIndex]) {
+                        maxIndex = i;
+                    }
+                }
+                bucket[nCandidates++] = minIndex;
+                bucket[nCandidates++] = maxIndex;
+                bucket[nCandidates++] = bucketEnd - 1;
+            }
+            nCandidates = sortUnique(bucket, nCandidates);
+
+            // move in-place (N.B. target index <= source index, sorted ascending -> no overlap with unread data)
+            for (int k = 0; k < nCandidates; k++) {
+                final int source = bucket[k];
+                xValues[count] = xValues[source];
+                yValues[count] = yValues[source];
+                copyIfPresent(xPointErrorsPos, source, count);
+                copyIfPresent(xPointErrorsNeg, source, count);
+                copyIfPresent(yPointErrorsPos, source, count);
+                copyIfPresent(yPointErrorsNeg, source, count);
+                pointSelected[count] = pointSelected[source];
+                if (styles != null) {
+                    styles[count] = styles[source];
+                }
+                count++;
+            }
+            bucketStart = bucketEnd;
+        }
+
+        if (ProcessingProfiler.getDebugState()) {
+            ProcessingProfiler.getTimeDiff(start, String.format("M4 data reduction (from %d to %d)", indexMax - indexMin, count - targetIndex));
+        }
+        return count - targetIndex;
+    }
+
+    @Override
+    public boolean isParallelisable() {
+        return true;
+    }
+
+    private int addBucket(final MinMaxPyramid pyramid, final int bucketStart, final int bucketEnd, final int count) {
+        int nCandidates = 0;
+        int minIndex = bucketStart;
+        int maxIndex = bucketStart;
+        candidates[nCandidates++] = bucketStart;
+        if (bucketEnd - bucketStart > 1) {
+            minIndex = pyramid.getMinIndex(bucketStart, bucketEnd);
+            maxIndex = pyramid.getMaxIndex(bucketStart, bucketEnd);
+            candidates[nCandidates++] = minIndex;
+            candidates[nCandidates++] = maxIndex;
+            candidates[nCandidates++] = bucketEnd - 1;
+        }
+        nCandidates = sortUnique(candidates, nCandidates);
+        if (reducedIndices.length < count + nCandidates) {
+            final int newLength = Math.max(2 * reducedIndices.length, count + 4 * N_CANDIDATES);
+            reducedIndices = Arrays.copyOf(reducedIndices, newLength);
+            bucketMinIndices = Arrays.copyOf(bucketMinIndices, newLength);
+            bucketMaxIndices = Arrays.copyOf(bucketMaxIndices, newLength);
+        }
+        System.arraycopy(candidates, 0, reducedIndices, count, nCandidates);
+        // N.B. all-NaN buckets (index < 0) fall back to the bucket's first point
+        Arrays.fill(bucketMinIndices, count, count + nCandidates, minIndex < 0 ? bucketStart : minIndex);
+        Arrays.fill(bucketMaxIndices, count, count + nCandidates, maxIndex < 0 ? bucketStart : maxIndex);
+        return count + nCandidates;
+    }
+
+    /**
+     * @param dataSet the source data set
+     * @param xBoundary x value of the pixel column boundary
+     * @param exclusive {@code true}: returns first index with x &gt;= boundary, {@code false}: first index with x &gt;
+     *            boundary
+     * @param from first index to be checked
+     * @param to maximum index (exclusive)
+     * @return first index in [from, to] that is beyond the pixel column boundary
+     */
+    private static int findBucketEnd(final DataSet dataSet, final double xBoundary, final boolean exclusive, final int from, final int to) {
+        // exponential search followed by a binary search, ie. O(log(bucket size))
+        int lastInside = from - 1; // N.B. 'from - 1' is the first point of the bucket and thus inside by construction
+        int probe = from;
+        int step = 1;
+        while (probe < to && isInside(dataSet.get(DataSet.DIM_X, probe), xBoundary, exclusive)) {
+            lastInside = probe;
+            probe = from + step;
+            step <<= 1;
+        }
+        int lower = lastInside + 1;
+        int upper = Math.min(probe, to); // first index known to be outside (or 'to')
+        while (lower < upper) {
+            final int mid = (lower + upper) >>> 1;
+            if (isInside(dataSet.get(DataSet.DIM_X, mid), xBoundary, exclusive)) {
+                lower = mid + 1;
+            } else {
+                upper = mid;
+            }
+        }
+        return lower;
+    }
+
+    private static boolean isInside(final double x, final double xBoundary, final boolean exclusive) {
+        return exclusive ? x < xBoundary : x <= xBoundary;
+    }
+
+    private static void copyIfPresent(final double[] array, final int source, final int target) {
+        if (array != null) {
+            array[target] = array[source];
+        }
+    }
+
+    private static int sortUnique(final int[] indices, final int length) {
+        Arrays.sort(indices, 0, length);
+        int nUnique = 0;
+        for (int i = 0; i < length; i++) {
+            if (indices[i] >= 0 && (nUnique == 0 || indices[i] != indices[nUnique - 1])) {
+                indices[nUnique++] = indices[i];
+            }
+        }
+        return nUnique;
+    }
+}
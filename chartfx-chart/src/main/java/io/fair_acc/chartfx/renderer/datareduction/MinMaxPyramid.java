@@ -0,0 +1,330 @@
+package io.fair_acc.chartfx.renderer.datareduction;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.events.BitState;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.events.StateListener;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Multi-resolution min/max index pyramid over the y-values of a {@link DataSet}.
+ * <p>
+ * Level 0 stores the arg-min and arg-max of consecutive blocks of {@link #BLOCK_SIZE} samples, each following level
+ * merges two nodes of the level below. Thus, the min/max (and their indices) of an arbitrary index range can be
+ * retrieved in O(BLOCK_SIZE + log(N)) instead of O(N). The values themselves are not copied but read from
+ * {@link DataSet#getValues(int)}, ie. the memory overhead of the two int index arrays per level is about
+ * {@code 2 * 2 * 4 / BLOCK_SIZE} = 1 byte per sample (the higher levels together are as large as level 0).
+ * <p>
+ * Instances are cached per data set instance (see {@link #get(DataSet)}, N.B. keyed by identity as the data set's
+ * {@code equals/hashCode} depend on its content) and are marked for a lazy re-build whenever the data
+ * set fires {@link ChartBits#DataSetData}. Stand-alone pyramids may be invalidated from a given index onwards (see
+ * {@link #invalidate(int)}), appended samples are detected automatically: only the blocks from the first modified index
+ * onwards are re-built. NaN values are ignored, ie. a range containing only NaNs returns an index of
+ * {@code -1}.
+ * <p>
+ * N.B. the caller is expected to hold the data set's read lock while querying.
+ */
+public final class MinMaxPyramid {
+    /**
+     * number of raw samples that are merged in the lowest pyramid level
+     */
+    public static final int BLOCK_SIZE = 16;
+    private static final Map<IdentityKey, MinMaxPyramid> CACHE = new HashMap<>();
+    private static final ReferenceQueue<DataSet> STALE_KEYS = new ReferenceQueue<>();
+
+    private static final int CLEAN = Integer.MAX_VALUE;
+    private final StateListener invalidationListener = (BitState source, int bits) -> invalidate();
+    private final AtomicInteger invalidFrom = new AtomicInteger(0); // first modified sample index or CLEAN
+    private final int dimIndex;
+    private int dataCount = -1;
+    private double[] values = new double[0];
+    private int[][] minIndex = new int[0][];
+    private int[][] maxIndex = new int[0][];
+
+    /**
+     * Creates a stand-alone pyramid that is not automatically invalidated (use {@link #invalidate()}).
+     *
+     * @param dimIndex dimension index of the values that shall be indexed (typically {@link DataSet#DIM_Y})
+     */
+    public MinMaxPyramid(final int dimIndex) {
+        AssertUtils.gtEqThanZero("dimIndex", dimIndex);
+        this.dimIndex = dimIndex;
+    }
+
+    /**
+     * @return number of samples covered by the last (re-)build
+     */
+    public int getDataCount() {
+        return dataCount;
+    }
+
+    /**
+     * @return number of pyramid levels
+     */
+    public int getLevelCount() {
+        return minIndex.length;
+    }
+
+    /**
+     * marks the pyramid for a (full) re-build on the next access
+     */
+    public void invalidate() {
+        invalidate(0);
+    }
+
+    /**
+     * marks the samples from the given index onwards as modified, only the affected blocks are re-built on the next
+     * access
+     *
+     * @param fromIndex first modified sample index
+     */
+    public void invalidate(final int fromIndex) {
+        AssertUtils.gtEqThanZero("fromIndex", fromIndex);
+        invalidFrom.accumulateAndGet(fromIndex, Math::min);
+    }
+
+    /**
+     * @return true if the pyramid needs to be re-built on the next access
+     */
+    public boolean isDirty() {
+        return invalidFrom.get() != CLEAN;
+    }
+
+    /**
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return index of the first occurrence of the largest non-NaN value within [from, to[ or -1 if none
+     */
+    public int getMaxIndex(final int from, final int to) {
+        return query(from, to, false);
+    }
+
+    /**
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return index of the first occurrence of the smallest non-NaN value within [from, to[ or -1 if none
+     */
+    public int getMinIndex(final int from, final int to) {
+        return query(from, to, true);
+    }
+
+    /**
+     * @param index sample index
+     * @return the cached value at the given index
+     */
+    public double getValue(final int index) {
+        return values[index];
+    }
+
+    /**
+     * (Re-)builds the pyramid if it has been invalidated or the number of samples changed. Complexity O(N - M) with M
+     * being the first modified (or appended) sample index.
+     *
+     * @param dataSet the source data set (N.B. read-lock should be held by the caller)
+     * @return itself (fluent design)
+     */
+    public synchronized MinMaxPyramid update(final DataSet dataSet) {
+        final int nSamples = dataSet.getDataCount();
+        // N.B. reset first so that concurrent changes during the build trigger a new re-build
+        final int modified = invalidFrom.getAndSet(CLEAN);
+        // the array may have been re-allocated by the data set, thus it's always re-fetched
+        values = dataSet.getValues(dimIndex);
+        if (modified == CLEAN && nSamples == dataCount) {
+            return this;
+        }
+        build(nSamples, Math.max(0, Math.min(modified, Math.min(nSamples, dataCount))));
+        return this;
+    }
+
+    private void build(final int nSamples, final int fromIndex) {
+        // compute number of levels
+        int nLevels = 0;
+        for (int size = (nSamples + BLOCK_SIZE - 1) / BLOCK_SIZE; size > 0; size = size > 1 ? (size + 1) / 2 : 0) {
+            nLevels++;
+        }
+        if (minIndex.length != nLevels) {
+            minIndex = Arrays.copyOf(minIndex, nLevels);
+            maxIndex = Arrays.copyOf(maxIndex, nLevels);
+        }
+
+        // level 0: arg-min/max of raw sample blocks
+        int size = (nSamples + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int first = fromIndex / BLOCK_SIZE; // first modified node of the current level
+        if (nLevels > 0) {
+            minIndex[0] = resize(minIndex[0], size);
+            maxIndex[0] = resize(maxIndex[0], size);
+            for (int block = first; block < size; block++) {
+                final int from = block * BLOCK_SIZE;
+                final int to = Math.min(nSamples, from + BLOCK_SIZE);
+                minIndex[0][block] = scan(from, to, true);
+                maxIndex[0][block] = scan(from, to, false);
+            }
+        }
+
+        // higher levels: merge pairs of lower-level nodes
+        for (int level = 1; level < nLevels; level++) {
+            final int lowerSize = size;
+            size = (size + 1) / 2;
+            first >>= 1;
+            minIndex[level] = resize(minIndex[level], size);
+            maxIndex[level] = resize(maxIndex[level], size);
+            final int[] lowerMin = minIndex[level - 1];
+            final int[] lowerMax = maxIndex[level - 1];
+            for (int node = first; node < size; node++) {
+                final int left = 2 * node;
+                final int right = left + 1;
+                if (right < lowerSize) {
+                    minIndex[level][node] = select(lowerMin[left], lowerMin[right], true);
+                    maxIndex[level][node] = select(lowerMax[left], lowerMax[right], false);
+                } else {
+                    minIndex[level][node] = lowerMin[left];
+                    maxIndex[level][node] = lowerMax[left];
+                }
+            }
+        }
+        dataCount = nSamples;
+    }
+
+    private int query(final int from, final int to, final boolean min) {
+        AssertUtils.indexInBounds(from, dataCount + 1, "from index out of bounds");
+        AssertUtils.indexInBounds(to, dataCount + 1, "to index out of bounds");
+        if (to - from <= 2 * BLOCK_SIZE) {
+            return scan(from, to, min);
+        }
+        int blockLow = (from + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int blockHigh = to / BLOCK_SIZE;
+        // partial blocks at the edges (N.B. left edge first to preserve 'first occurrence' semantic)
+        int result = scan(from, blockLow * BLOCK_SIZE, min);
+        final int tail = scan(blockHigh * BLOCK_SIZE, to, min);
+
+        // full blocks via pyramid
+        int leftResult = -1;
+        int rightResult = -1;
+        for (int level = 0; blockLow < blockHigh; level++) {
+            final int[] nodes = min ? minIndex[level] : maxIndex[level];
+            if ((blockLow & 1) == 1) {
+                leftResult = select(leftResult, nodes[blockLow++], min);
+            }
+            if ((blockHigh & 1) == 1) {
+                rightResult = select(nodes[--blockHigh], rightResult, min);
+            }
+            blockLow >>= 1;
+            blockHigh >>= 1;
+        }
+        result = select(result, leftResult, min);
+        result = select(result, rightResult, min);
+        return select(result, tail, min);
+    }
+
+    private int scan(final int from, final int to, final boolean min) {
+        int result = -1;
+        for (int i = from; i < to; i++) {
+            result = select(result, i, min);
+        }
+        return result;
+    }
+
+    /**
+     * @return the preferred of both indices, the first index wins for equal values (N.B. assumes first &lt; second)
+     */
+    private int select(final int first, final int second, final boolean min) {
+        if (second < 0 || Double.isNaN(values[second])) {
+            return first;
+        }
+        if (first < 0 || Double.isNaN(values[first])) {
+            return second;
+        }
+        if (min) {
+            return values[second] < values[first] ? second : first;
+        }
+        return values[second] > values[first] ? second : first;
+    }
+
+    /**
+     * Returns the cached y-value pyramid for the given data set. The pyramid is automatically invalidated whenever the
+     * data set's data changes (ie. {@link ChartBits#DataSetData}) and lazily re-built on the next access.
+     *
+     * @param dataSet the source data set (N.B. read-lock should be held by the caller)
+     * @return up-to-date pyramid for the y-dimension
+     */
+    public static MinMaxPyramid get(final DataSet dataSet) {
+        AssertUtils.notNull("dataSet", dataSet);
+        MinMaxPyramid pyramid;
+        synchronized (CACHE) {
+            expungeStaleEntries();
+            pyramid = CACHE.get(new IdentityKey(dataSet, null));
+            if (pyramid == null) {
+                pyramid = new MinMaxPyramid(DataSet.DIM_Y);
+                dataSet.getBitState().addInvalidateListener(ChartBits.DataSetData, pyramid.invalidationListener);
+                CACHE.put(new IdentityKey(dataSet, STALE_KEYS), pyramid);
+            }
+        }
+        return pyramid.update(dataSet);
+    }
+
+    /**
+     * Removes and detaches the cached pyramid of the given data set (if any).
+     *
+     * @param dataSet the source data set
+     */
+    public static void evict(final DataSet dataSet) {
+        final MinMaxPyramid pyramid;
+        synchronized (CACHE) {
+            expungeStaleEntries();
+            pyramid = CACHE.remove(new IdentityKey(dataSet, null));
+        }
+        if (pyramid != null) {
+            dataSet.getBitState().removeInvalidateListener(pyramid.invalidationListener);
+        }
+    }
+
+    private static void expungeStaleEntries() {
+        for (Object key = STALE_KEYS.poll(); key != null; key = STALE_KEYS.poll()) {
+            CACHE.remove(key);
+        }
+    }
+
+    private static int[] resize(final int[] array, final int size) {
+        if (array == null) {
+            return new int[size];
+        }
+        // N.B. keeps the nodes preceding the first modified one
+        return array.length == size ? array : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * weak reference to a data set that compares by identity
+     */
+    private static final class IdentityKey extends WeakReference<DataSet> {
+        private final int hash;
+
+        private IdentityKey(final DataSet dataSet, final ReferenceQueue<DataSet> queue) {
+            super(dataSet, queue);
+            hash = System.identityHashCode(dataSet);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof IdentityKey)) {
+                return false;
+            }
+            final DataSet referent = get();
+            return referent != null && referent == ((IdentityKey) obj).get(); // NOPMD NOSONAR - identity intended
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -57,6 +57,8 @@ public abstract class AbstractContourDataSetRendererParameter<R extends Abstract
         }
     };
 
+    private final BooleanProperty tiledHeatMap = new SimpleBooleanProperty(this, "tiledHeatMap", true);
+
     public AbstractContourDataSetRendererParameter() {
         super();
         setMinRequiredReductionSize(3);
@@ -172,6 +174,15 @@ public abstract class AbstractContourDataSetRendererParameter<R extends Abstract
         return smoothProperty().get();
     }
 
+    /**
+     * Returns the value of the {@link #tiledHeatMapProperty()}.
+     *
+     * @return {@code true} if heat maps are drawn from the tiled multi-resolution pyramid
+     */
+    public boolean isTiledHeatMap() {
+        return tiledHeatMapProperty().get();
+    }
+
     /**
      * @return the property controlling the maximum number of sub-segments allowed for a contour to be drawn.
      */
@@ -274,6 +285,15 @@ public abstract class AbstractContourDataSetRendererParameter<R extends Abstract
         smoothProperty().set(value);
     }
 
+    /**
+     * Sets the value of the {@link #tiledHeatMapProperty()}.
+     *
+     * @param value {@code true} to draw heat maps from the tiled multi-resolution pyramid
+     */
+    public void setTiledHeatMap(final boolean value) {
+        tiledHeatMapProperty().set(value);
+    }
+
     /**
      * Indicates if the chart should smooth colors between data points or render each data point as a rectangle with
      * uniform color.
@@ -289,4 +309,19 @@ public abstract class AbstractContourDataSetRendererParameter<R extends Abstract
     public BooleanProperty smoothProperty() {
         return smooth;
     }
+
+    /**
+     * Indicates if {@link ContourType#HEATMAP} plots of 2D grid data sets are drawn from a lazily built, tiled
+     * multi-resolution (min/max/mean) pyramid (true) or by re-sampling the whole visible grid on every update (false).
+     * The pyramid only computes and colour-maps the visible tiles at the level matching the screen resolution and
+     * caches them across zoom, pan and partial data updates.
+     * <p>
+     * By default the tiled implementation is enabled.
+     * </p>
+     *
+     * @return tiledHeatMap property
+     */
+    public BooleanProperty tiledHeatMapProperty() {
+        return tiledHeatMap;
+    }
 }
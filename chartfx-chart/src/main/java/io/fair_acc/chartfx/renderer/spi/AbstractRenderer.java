@@ -44,6 +44,7 @@ public abstract class AbstractRenderer<R extends Renderer> extends Parent implem
     private final ObservableList<DataSetNode> readOnlyDataSetNodes = FXCollections.unmodifiableObservableList(dataSetNodes);
     private final ObservableList<Axis> axesList = FXCollections.observableList(new NoDuplicatesList<>());
     private final ObjectProperty<Chart> chart = new SimpleObjectProperty<>();
+    private final LongProperty changeCounter = new SimpleLongProperty(this, "changeCounter", 0);
 
     protected DataSetNode createNode(DataSet dataSet) {
         // Reuse existing nodes when possible
@@ -263,9 +264,18 @@ public abstract class AbstractRenderer<R extends Renderer> extends Parent implem
     }
 
     protected void invalidateCanvas() {
+        changeCounter.set(changeCounter.get() + 1);
         fireInvalidated(ChartBits.ChartCanvas);
     }
 
+    /**
+     * @return counter that is incremented whenever a property that affects the drawn output of this renderer changes
+     *         (N.B. changes of the data sets and their styles are tracked by the data sets themselves)
+     */
+    public ReadOnlyLongProperty changeCounterProperty() {
+        return changeCounter;
+    }
+
     protected void fireInvalidated(IntSupplier bit) {
         var chart = getChart();
         if (chart != null) {
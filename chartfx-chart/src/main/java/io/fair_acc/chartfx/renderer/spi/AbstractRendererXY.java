@@ -1,13 +1,18 @@
 package io.fair_acc.chartfx.renderer.spi;
 
 import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
 
 import javafx.geometry.Orientation;
 import javafx.scene.canvas.GraphicsContext;
 
+import io.fair_acc.bench.BenchLevel;
 import io.fair_acc.bench.DurationMeasure;
 import io.fair_acc.bench.Measurable;
 import io.fair_acc.bench.MeasurementRecorder;
+import io.fair_acc.bench.Phase;
+import io.fair_acc.bench.PhaseMeasure;
 import io.fair_acc.chartfx.Chart;
 import io.fair_acc.chartfx.XYChart;
 import io.fair_acc.chartfx.axes.Axis;
@@ -62,14 +67,36 @@ public abstract class AbstractRendererXY<R extends AbstractRendererXY<R>> extend
             var dataSetNode = getDatasetNodes().get(i);
             if (dataSetNode.isVisible()) {
                 benchDrawOne.start();
-                render(getChart().getCanvas().getGraphicsContext2D(), dataSetNode.getDataSet(), dataSetNode);
+                benchPhases = getPhaseMeasure(i);
+                render(getChart().getRenderCanvas().getGraphicsContext2D(), getChart().getRenderDataSet(dataSetNode.getDataSet()), dataSetNode);
                 benchDrawOne.stop();
             }
         }
 
+        benchPhases = PhaseMeasure.DISABLED;
         benchDrawAll.stop();
     }
 
+    /**
+     * @return per-phase measures of the data set that is currently being rendered. Implementations of
+     *         {@link #render(GraphicsContext, DataSet, DataSetNode)} may use it to record their reduce, transform and
+     *         draw phases.
+     */
+    protected PhaseMeasure getPhaseMeasure() {
+        return benchPhases;
+    }
+
+    private PhaseMeasure getPhaseMeasure(int index) {
+        if (recorder == MeasurementRecorder.DISABLED) {
+            return PhaseMeasure.DISABLED;
+        }
+        while (benchDataSetPhases.size() <= index) {
+            final var dsRecorder = recorder.addPrefix("ds" + benchDataSetPhases.size());
+            benchDataSetPhases.add(PhaseMeasure.create(dsRecorder, "xy", BenchLevel.Debug, Phase.Reduce, Phase.Transform, Phase.Draw));
+        }
+        return benchDataSetPhases.get(index);
+    }
+
     protected abstract void render(GraphicsContext gc, DataSet dataSet, DataSetNode style);
 
     @Override
@@ -123,7 +150,7 @@ public abstract class AbstractRendererXY<R extends AbstractRendererXY<R>> extend
     protected void updateAxisRange(AxisRange range, int dim) {
         for (DataSetNode node : getDatasetNodes()) {
             if (node.isVisible()) {
-                updateAxisRange(node.getDataSet(), range, dim);
+                updateAxisRange(getChart().getRenderDataSet(node.getDataSet()), range, dim);
             }
         }
     }
@@ -150,10 +177,15 @@ public abstract class AbstractRendererXY<R extends AbstractRendererXY<R>> extend
 
     @Override
     public void setRecorder(MeasurementRecorder recorder) {
+        this.recorder = AssertUtils.notNull("recorder", recorder);
+        benchDataSetPhases.clear();
         benchDrawAll = recorder.newDuration("xy-drawAll");
         benchDrawOne = recorder.newTraceDuration("xy-drawOne");
     }
 
     private DurationMeasure benchDrawAll = DurationMeasure.DISABLED;
     private DurationMeasure benchDrawOne = DurationMeasure.DISABLED;
+    private MeasurementRecorder recorder = MeasurementRecorder.DISABLED;
+    private final List<PhaseMeasure> benchDataSetPhases = new ArrayList<>();
+    private PhaseMeasure benchPhases = PhaseMeasure.DISABLED;
 }
@@ -4,28 +4,27 @@ import static io.fair_acc.dataset.DataSet.DIM_X;
 import static io.fair_acc.dataset.DataSet.DIM_Y;
 import static io.fair_acc.math.ArrayUtils.*;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-
 import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.renderer.ErrorStyle;
 import io.fair_acc.chartfx.renderer.RendererDataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.M4DataReducer;
 import io.fair_acc.chartfx.ui.css.DataSetNode;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.DataSetError;
 import io.fair_acc.dataset.DataSetError.ErrorType;
-import io.fair_acc.dataset.utils.CachedDaemonThreadFactory;
 import io.fair_acc.dataset.utils.IndexedStringConsumer;
+import io.fair_acc.dataset.utils.ParallelLoop;
 import io.fair_acc.dataset.utils.ProcessingProfiler;
 import io.fair_acc.math.ArrayUtils;
 
 /**
  * public class implementation (data point caching) required by ErrorDataSetRenderer local screen data point
  * cache (minimises re-allocation/garbage collection)
+ * <p>
+ * The coordinate transform, data reduction and minimum point distance stages may be executed in parallel on the shared
+ * {@link io.fair_acc.dataset.utils.ComputePool} (see {@link #computeScreenCoordinatesInParallel}). The corresponding
+ * {@link ParallelLoop}s are owned by this cache, adapt their chunk size to the measured per-point cost and do not
+ * allocate per frame.
  *
  * @author rstein
  */
@@ -62,6 +61,18 @@ public class CachedDataPoints {
     protected double maxRadius;
     protected int maxDataCount;
     protected int actualDataCount; // number of data points that remain after data reduction
+    protected boolean parallel; // whether the stages of the current frame are executed in parallel
+
+    // parallel stages and their per-frame arguments (N.B. loops and bodies are re-used to avoid per-frame allocation)
+    private Axis loopXAxis;
+    private Axis loopYAxis;
+    private DataSet loopDataSet;
+    private RendererDataReducer loopReducer;
+    private final ParallelLoop transformLoop = new ParallelLoop(
+            (chunk, from, to) -> computeScreenCoordinatesNonThreaded(loopXAxis, loopYAxis, loopDataSet, from, to));
+    private final ParallelLoop reduceLoop = new ParallelLoop(this::reduceChunk);
+    private final ParallelLoop distanceLoop = new ParallelLoop(this::minDistanceChunk);
+    private final int[] chunkResults = new int[Math.max(reduceLoop.getMaxChunkCount(), distanceLoop.getMaxChunkCount())];
 
     public void trim() {
         xValues = clearIfLarger(xValues, maxDataCount);
@@ -171,11 +182,72 @@ public class CachedDataPoints {
             final boolean isPolarPlot, final boolean doAllowForNaNs) {
         setBoundaryConditions(xAxis, yAxis, dataSet, style, min, max, localRendErrorStyle, isPolarPlot,
                 doAllowForNaNs);
+        parallel = false;
 
         // compute data set to screen coordinates
         computeScreenCoordinatesNonThreaded(xAxis, yAxis, dataSet, min, max);
     }
 
+    /**
+     * Computes the screen coordinates only for the points selected by the {@link M4DataReducer}, ie. combines the
+     * coordinate transform and data reduction steps at a cost that depends on the screen width rather than the number of
+     * data points. N.B. requires x-sorted data, euclidean coordinates and no NaN handling.
+     * <p>
+     * As for the default reducer, the y-errors of data sets without explicit errors are set to the min/max envelope of
+     * the pixel column (ie. the compression error).
+     */
+    protected void computeReducedScreenCoordinates(final Axis xAxis, final Axis yAxis, final DataSet dataSet, final DataSetNode style,
+            final int min, final int max, final ErrorStyle localRendErrorStyle, final M4DataReducer reducer) {
+        // N.B. styles are only looked up for the selected points below
+        setBoundaryConditions(xAxis, yAxis, dataSet, style, min, max, localRendErrorStyle, false, false, false);
+
+        actualDataCount = reducer.reduceIndices(dataSet, xAxis, min, max);
+        final int[] indices = reducer.getReducedIndices();
+        final int[] bucketMinIndices = reducer.getBucketMinIndices();
+        final int[] bucketMaxIndices = reducer.getBucketMaxIndices();
+        final DataSetError errorDataSet = dataSet instanceof DataSetError ? (DataSetError) dataSet : null;
+        for (int i = 0; i < actualDataCount; i++) {
+            final int index = indices[i];
+            computeReducedPoint(xAxis, dataSet, errorDataSet, DIM_X, index, i);
+            computeReducedPoint(yAxis, dataSet, errorDataSet, DIM_Y, index, i);
+            if (errorDataSet == null && errorType[DIM_Y] != ErrorType.NO_ERROR && Double.isFinite(yValues[i])) {
+                // compression error: envelope of the pixel column
+                final double yAtMin = yAxis.getDisplayPosition(dataSet.get(DIM_Y, bucketMinIndices[i]));
+                final double yAtMax = yAxis.getDisplayPosition(dataSet.get(DIM_Y, bucketMaxIndices[i]));
+                errorYNeg[i] = Math.max(yAtMin, yAtMax);
+                errorYPos[i] = Math.min(yAtMin, yAtMax);
+            }
+            selected[i] = selected[index];
+            if (hasStyles) {
+                styles[i] = dataSet.getStyle(index);
+            }
+        }
+        minDataPointDistanceX();
+    }
+
+    private void computeReducedPoint(final Axis axis, final DataSet dataSet, final DataSetError errorDataSet, final int dimIndex, final int index, final int target) {
+        final double[] values = dimIndex == DIM_X ? xValues : yValues;
+        final double[] valuesEN = dimIndex == DIM_X ? errorXNeg : errorYNeg;
+        final double[] valuesEP = dimIndex == DIM_X ? errorXPos : errorYPos;
+        final double minValue = dimIndex == DIM_X ? xMin : yMin;
+        final double value = dataSet.get(dimIndex, index);
+        final double position = axis.getDisplayPosition(value);
+        if (!Double.isFinite(position)) {
+            values[target] = minValue;
+            valuesEN[target] = minValue;
+            valuesEP[target] = minValue;
+            return;
+        }
+        values[target] = position;
+        if (errorType[dimIndex] != ErrorType.NO_ERROR && errorDataSet != null) {
+            valuesEN[target] = axis.getDisplayPosition(value - errorDataSet.getErrorNegative(dimIndex, index));
+            valuesEP[target] = axis.getDisplayPosition(value + errorDataSet.getErrorPositive(dimIndex, index));
+        } else if (dimIndex == DIM_Y || errorType[dimIndex] != ErrorType.NO_ERROR) {
+            valuesEN[target] = position;
+            valuesEP[target] = position;
+        }
+    }
+
     private void computeScreenCoordinatesEuclidean(final Axis xAxis, final Axis yAxis, final DataSet dataSet,
             final int min, final int max) {
         for (int dimIndex = 0; dimIndex < 2; dimIndex++) {
@@ -205,6 +277,7 @@ public class CachedDataPoints {
             final boolean isPolarPlot, final boolean doAllowForNaNs) {
         setBoundaryConditions(xAxis, yAxis, dataSet, style, min, max, localRendErrorStyle, isPolarPlot,
                 doAllowForNaNs);
+        parallel = true;
 
         // compute data set to screen coordinates
         computeScreenCoordinatesParallel(xAxis, yAxis, dataSet, min, max);
@@ -221,33 +294,15 @@ public class CachedDataPoints {
 
     protected void computeScreenCoordinatesParallel(final Axis xAxis, final Axis yAxis, final DataSet dataSet,
             final int min, final int max) {
-        final int minthreshold = 1000;
-        final int divThread = (int) Math
-                                      .ceil(Math.abs(max - min) / (double) CachedDaemonThreadFactory.getNumbersOfThreads());
-        final int stepSize = Math.max(divThread, minthreshold);
-        final List<Callable<Boolean>> workers = new ArrayList<>();
-        for (int i = min; i < max; i += stepSize) {
-            final int start = i;
-            workers.add(() -> {
-                if (polarPlot) {
-                    computeScreenCoordinatesPolar(yAxis, dataSet, start, Math.min(max, start + stepSize));
-                } else {
-                    computeScreenCoordinatesEuclidean(xAxis, yAxis, dataSet, start, Math.min(max, start + stepSize));
-                }
-                return Boolean.TRUE;
-            });
-        }
-
+        loopXAxis = xAxis;
+        loopYAxis = yAxis;
+        loopDataSet = dataSet;
         try {
-            final List<Future<Boolean>> jobs = CachedDaemonThreadFactory.getCommonPool().invokeAll(workers);
-            for (final Future<Boolean> future : jobs) {
-                final Boolean r = future.get();
-                if (Boolean.FALSE.equals(r)) {
-                    throw new IllegalStateException("one parallel worker thread finished execution with error");
-                }
-            }
-        } catch (final InterruptedException | ExecutionException e) {
-            throw new IllegalStateException("one parallel worker thread finished execution with error", e);
+            transformLoop.run(min, max);
+        } finally {
+            loopXAxis = null;
+            loopYAxis = null;
+            loopDataSet = null;
         }
     }
 
@@ -443,13 +498,27 @@ public class CachedDataPoints {
             minDistanceX = 1;
             return minDistanceX;
         }
+        if (!parallel) {
+            minDistanceChunk(0, 1, actualDataCount);
+            minDistanceX = chunkResults[0];
+            return minDistanceX;
+        }
+        final int nChunks = distanceLoop.run(1, actualDataCount);
         minDistanceX = Integer.MAX_VALUE;
-        for (int i = 1; i < actualDataCount; i++) {
+        for (int chunk = 0; chunk < nChunks; chunk++) {
+            minDistanceX = Math.min(minDistanceX, chunkResults[chunk]);
+        }
+        return minDistanceX;
+    }
+
+    private void minDistanceChunk(final int chunk, final int from, final int to) {
+        int minDistance = Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) {
             final double x0 = xValues[i - 1];
             final double x1 = xValues[i];
-            minDistanceX = Math.min(minDistanceX, (int) Math.abs(x1 - x0));
+            minDistance = Math.min(minDistance, (int) Math.abs(x1 - x0));
         }
-        return minDistanceX;
+        chunkResults[chunk] = minDistance;
     }
 
     protected void reduce(final RendererDataReducer cruncher, final boolean isReducePoints,
@@ -480,7 +549,9 @@ public class CachedDataPoints {
             ProcessingProfiler.getTimeDiff(startTimeStamp, String.format("no data reduction (%d)", actualDataCount));
             return;
         }
-        if (errorType[DIM_X] == ErrorType.NO_ERROR) {
+        if (parallel && cruncher.isParallelisable()) {
+            reduceInParallel(cruncher);
+        } else if (errorType[DIM_X] == ErrorType.NO_ERROR) {
             actualDataCount = cruncher.reducePoints(xValues, yValues, null, null, errorYPos, errorYNeg, styles,
                     selected, indexMin, indexMax);
         } else {
@@ -490,9 +561,60 @@ public class CachedDataPoints {
         minDataPointDistanceX();
     }
 
+    /**
+     * reduces disjoint chunks concurrently (each in-place to the start of its chunk) and compacts the chunk results
+     * afterwards. N.B. the first and last point of each chunk are always kept.
+     */
+    private void reduceInParallel(final RendererDataReducer cruncher) {
+        loopReducer = cruncher;
+        final int nChunks;
+        try {
+            nChunks = reduceLoop.run(indexMin, indexMax);
+        } finally {
+            loopReducer = null;
+        }
+        final boolean withErrorsX = errorType[DIM_X] != ErrorType.NO_ERROR;
+        int count = 0;
+        for (int chunk = 0; chunk < nChunks; chunk++) {
+            final int source = reduceLoop.getChunkFrom(chunk);
+            final int length = chunkResults[chunk];
+            if (source != count) {
+                // N.B. target < source -> System.arraycopy handles the overlap correctly
+                System.arraycopy(xValues, source, xValues, count, length);
+                System.arraycopy(yValues, source, yValues, count, length);
+                System.arraycopy(errorYPos, source, errorYPos, count, length);
+                System.arraycopy(errorYNeg, source, errorYNeg, count, length);
+                if (withErrorsX) {
+                    System.arraycopy(errorXPos, source, errorXPos, count, length);
+                    System.arraycopy(errorXNeg, source, errorXNeg, count, length);
+                }
+                System.arraycopy(selected, source, selected, count, length);
+                System.arraycopy(styles, source, styles, count, length);
+            }
+            count += length;
+        }
+        actualDataCount = count;
+    }
+
+    private void reduceChunk(final int chunk, final int from, final int to) {
+        if (errorType[DIM_X] == ErrorType.NO_ERROR) {
+            chunkResults[chunk] = loopReducer.reducePoints(xValues, yValues, null, null, errorYPos, errorYNeg, styles,
+                    selected, from, to, from);
+        } else {
+            chunkResults[chunk] = loopReducer.reducePoints(xValues, yValues, errorXPos, errorXNeg, errorYPos, errorYNeg,
+                    styles, selected, from, to, from);
+        }
+    }
+
     private void setBoundaryConditions(final Axis xAxis, final Axis yAxis, DataSet dataSet, final DataSetNode style,
             final int min, final int max, final ErrorStyle rendererErrorStyle, final boolean isPolarPlot,
             final boolean doAllowForNaNs) {
+        setBoundaryConditions(xAxis, yAxis, dataSet, style, min, max, rendererErrorStyle, isPolarPlot, doAllowForNaNs, true);
+    }
+
+    private void setBoundaryConditions(final Axis xAxis, final Axis yAxis, DataSet dataSet, final DataSetNode style, // NOPMD - many parameters
+            final int min, final int max, final ErrorStyle rendererErrorStyle, final boolean isPolarPlot,
+            final boolean doAllowForNaNs, final boolean copyStyles) {
         indexMin = min;
         indexMax = max;
         polarPlot = isPolarPlot;
@@ -503,7 +625,9 @@ public class CachedDataPoints {
         hasStyles = dataSet.hasStyles();
         if (hasStyles) {
             styles = ArrayUtils.resizeMinNulled(styles, maxDataCount, String[] ::new);
-            dataSet.forEachStyle(min, max, styleSetter);
+            if (copyStyles) {
+                dataSet.forEachStyle(min, max, styleSetter);
+            }
         } else {
             // For now we still need to allocate the array to not break other code
             // (e.g. reducer). TODO: remove unnecessary array
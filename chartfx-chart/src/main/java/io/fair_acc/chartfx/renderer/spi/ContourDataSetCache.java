@@ -3,12 +3,6 @@ package io.fair_acc.chartfx.renderer.spi;
 import static io.fair_acc.dataset.DataSet.DIM_X;
 import static io.fair_acc.dataset.DataSet.DIM_Y;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-
 import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
@@ -34,10 +28,8 @@ import io.fair_acc.dataset.utils.*;
  */
 class ContourDataSetCache extends WritableImageCache {
     private static final Logger LOGGER = LoggerFactory.getLogger(ContourDataSetCache.class);
-    private static final String PARALLEL_WORKER_ERROR = "one parallel worker thread finished execution with error";
     private static final int BGRA_BYTE_SIZE = 4;
-    private static final int REF_WIDTH_PARALLEL = 1024;
-    private static final int REF_HEIGHT_PARALLEL = 1000;
+    private static final int MIN_PIXELS_PER_CHUNK = 1 << 16; // ~ 100 us copy-transform per chunk
 
     protected final DataSet dataSet;
     protected final Axis xAxis;
@@ -139,11 +131,9 @@ class ContourDataSetCache extends WritableImageCache {
         this.ySize = Math.abs(this.indexYMax - this.indexYMin) + 1;
 
         // copy- transform data
-        dataBuffer = DoubleArrayCache.getInstance().getArrayExact(this.xSize * this.ySize);
-        // TODO: tune this limit
-        final int minSizeThreshold = REF_WIDTH_PARALLEL * REF_HEIGHT_PARALLEL;
-        final boolean sufficientlyLarge = xSize * ySize < minSizeThreshold;
-        copySubFrame(dataSet, dataBuffer, renderer.isParallelImplementation() && sufficientlyLarge, //
+        dataBuffer = ArrayPool.DOUBLE.allocateExact(this.xSize * this.ySize);
+        // N.B. small frames are copied in the calling thread (see MIN_PIXELS_PER_CHUNK)
+        copySubFrame(dataSet, dataBuffer, renderer.isParallelImplementation(), //
                 xInverted, indexXMin, indexXMax, yInverted, indexYMin, indexYMax);
         ProcessingProfiler.getTimeDiff(start, "copySubFrame");
 
@@ -186,8 +176,8 @@ class ContourDataSetCache extends WritableImageCache {
     }
 
     public void releaseCachedVariables() {
-        DoubleArrayCache.getInstance().add(dataBuffer);
-        DoubleArrayCache.getInstance().add(tempDataBuffer);
+        ArrayPool.DOUBLE.release(dataBuffer);
+        ArrayPool.DOUBLE.release(tempDataBuffer);
     }
 
     protected double[] reduceDataArray(final double[] input, final int srcWidth, final int srcHeight,
@@ -217,7 +207,7 @@ class ContourDataSetCache extends WritableImageCache {
 
             //            System.err.printf("image width = %d x %d - reduced from %d x %d\n", targetWidth, targetHeight, xSize, ySize);
 
-            tempDataBuffer = DoubleArrayCache.getInstance().getArrayExact(targetWidth * targetHeight);
+            tempDataBuffer = ArrayPool.DOUBLE.allocateExact(targetWidth * targetHeight);
 
             DefaultDataReducer3D.resample(input, srcWidth, srcHeight, tempDataBuffer, targetWidth, targetHeight,
                     reductionType);
@@ -305,35 +295,13 @@ class ContourDataSetCache extends WritableImageCache {
             return;
         }
 
-        final int nMaxThreads = CachedDaemonThreadFactory.getNumbersOfThreads();
-        final int minthreshold = REF_HEIGHT_PARALLEL / 2; // TODO: tune this limit
-        final int divThread = (int) Math.ceil(height / (double) nMaxThreads);
-        final int stepSize = Math.max(divThread, minthreshold);
-        final List<Callable<Boolean>> workers = new ArrayList<>();
-        for (int i = yMinIndex; i < yMaxIndex; i += stepSize) {
-            final int start = i;
-            workers.add(() -> {
-                final int yMinLocal = start;
-                final int yMaxLocal = Math.min(start + stepSize, yMaxIndex);
+        final int minRowsPerChunk = Math.max(1, MIN_PIXELS_PER_CHUNK / width);
+        // N.B. computeCoordinates(..) uses inclusive upper row indices
+        ComputePool.parallelFor(yMinIndex, yMaxIndex + 1, minRowsPerChunk, (chunk, yMinLocal, yMaxLocal) -> //
                 computeCoordinates((GridDataSet) dataSet, dataBuffer, dataLength, //
                         xInverted, xMinIndex, xMaxIndex, //
-                        yInverted, yMinLocal, yMaxLocal, //
-                        yMinIndex);
-                return Boolean.TRUE;
-            });
-        }
-
-        try {
-            final List<Future<Boolean>> jobs = CachedDaemonThreadFactory.getCommonPool().invokeAll(workers);
-            for (final Future<Boolean> future : jobs) {
-                final Boolean r = future.get();
-                if (Boolean.FALSE.equals(r)) {
-                    throw new IllegalStateException(PARALLEL_WORKER_ERROR);
-                }
-            }
-        } catch (final InterruptedException | ExecutionException e) {
-            throw new IllegalStateException(PARALLEL_WORKER_ERROR, e);
-        }
+                        yInverted, yMinLocal, yMaxLocal - 1, //
+                        yMinIndex));
     }
 
     protected static double quantize(final double value, final int nLevels) {
@@ -344,7 +312,7 @@ class ContourDataSetCache extends WritableImageCache {
             final ColorGradient colorGradient) {
         final int length = dataWidth * dataHeight;
 
-        final byte[] byteBuffer = ByteArrayCache.getInstance().getArrayExact(length * BGRA_BYTE_SIZE);
+        final byte[] byteBuffer = ArrayPool.BYTE.allocateExact(length * BGRA_BYTE_SIZE);
         final int rowSizeInBytes = BGRA_BYTE_SIZE * dataWidth;
         final WritableImage image = this.getImage(dataWidth, dataHeight);
         final PixelWriter pixelWriter = image.getPixelWriter();
@@ -372,7 +340,7 @@ class ContourDataSetCache extends WritableImageCache {
 
         pixelWriter.setPixels(0, 0, dataWidth, dataHeight, PixelFormat.getByteBgraPreInstance(), byteBuffer, 0,
                 rowSizeInBytes);
-        ByteArrayCache.getInstance().add(byteBuffer);
+        ArrayPool.BYTE.release(byteBuffer);
         return image;
     }
 
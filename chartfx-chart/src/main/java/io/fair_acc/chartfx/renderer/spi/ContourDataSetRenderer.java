@@ -2,11 +2,15 @@ package io.fair_acc.chartfx.renderer.spi;
 
 import static javafx.scene.paint.CycleMethod.NO_CYCLE;
 
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
+import java.util.Map;
 
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.ObjectBinding;
@@ -18,6 +22,7 @@ import javafx.geometry.Orientation;
 import javafx.scene.Node;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
@@ -35,10 +40,13 @@ import io.fair_acc.chartfx.axes.Axis;
 import io.fair_acc.chartfx.axes.AxisTransform;
 import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
 import io.fair_acc.chartfx.plugins.Zoomer;
+import io.fair_acc.chartfx.renderer.ContourType;
 import io.fair_acc.chartfx.renderer.Renderer;
 import io.fair_acc.chartfx.renderer.spi.hexagon.Hexagon;
 import io.fair_acc.chartfx.renderer.spi.hexagon.HexagonMap;
+import io.fair_acc.chartfx.renderer.spi.marchingsquares.FlatMarchingSquares;
 import io.fair_acc.chartfx.renderer.spi.marchingsquares.GeneralPath;
+import io.fair_acc.chartfx.renderer.spi.marchingsquares.IsoLines;
 import io.fair_acc.chartfx.renderer.spi.marchingsquares.MarchingSquares;
 import io.fair_acc.chartfx.renderer.spi.utils.ColorGradient;
 import io.fair_acc.chartfx.ui.css.DataSetNode;
@@ -46,6 +54,7 @@ import io.fair_acc.chartfx.ui.geometry.Side;
 import io.fair_acc.chartfx.ui.layout.ChartPane;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.GridDataSet;
+import io.fair_acc.dataset.spi.DataRange;
 import io.fair_acc.dataset.utils.ProcessingProfiler;
 
 /**
@@ -53,10 +62,12 @@ import io.fair_acc.dataset.utils.ProcessingProfiler;
  * The following drawing options controlled via {@link #setContourType(io.fair_acc.chartfx.renderer.ContourType)} are provided:
  * <ul>
  * <li>CONTOUR: marching-square based contour plotting algorithm, see e.g.
- * <a href="https://en.wikipedia.org/wiki/Marching_squares#Isoline">reference</a>
+ * <a href="https://en.wikipedia.org/wiki/Marching_squares#Isoline">reference</a>. The iso-lines are computed in
+ * parallel bands that are cached and only recomputed for the modified parts of the (reduced) grid,
  * <li>CONTOUR_FAST: an experimental contour plotting algorithm,
  * <li>CONTOUR_HEXAGON: a hexagon-map based contour plotting algorithm,
- * <li>HEATMAP: an 2D orthogonal projection based plotting algorithm
+ * <li>HEATMAP: an 2D orthogonal projection based plotting algorithm. For large grids, the visible part is drawn
+ * from a lazily built and cached, tiled multi-resolution pyramid (see {@link #setTiledHeatMap(boolean)}),
  * <li>HEATMAP_HEXAGON: an 2D orthogonal hexagon-projection based plotting algorithm.
  * </ul>
  * Most of the internal processing algorithm are parallelised which can be controlled via
@@ -77,6 +88,8 @@ import io.fair_acc.dataset.utils.ProcessingProfiler;
 public class ContourDataSetRenderer extends AbstractContourDataSetRendererParameter<ContourDataSetRenderer> implements Renderer {
     private static final Logger LOGGER = LoggerFactory.getLogger(ContourDataSetRenderer.class);
     private ContourDataSetCache localCache;
+    private final Map<DataSet, HeatMapPyramid> pyramids = new IdentityHashMap<>(); // N.B. DataSet#equals depends on its content
+    private final Map<DataSet, FlatMarchingSquares> contourCaches = new IdentityHashMap<>();
     protected final ColorGradientBar gradientBar = new ColorGradientBar();
 
     private void drawContour(final GraphicsContext gc, final ContourDataSetCache lCache) {
@@ -85,6 +98,17 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
             levels[i] = (i + 1) / (double) levels.length;
         }
 
+        // abort if min/max == 0 -> cannot compute contours
+        final double zRange = Math.abs(lCache.zMax - lCache.zMin);
+        if (zRange <= 0) {
+            return;
+        }
+
+        if (!isAltImplementation()) {
+            drawFlatContour(gc, lCache, levels);
+            return;
+        }
+
         final int xSize = lCache.xSize;
         final int ySize = lCache.ySize;
         final double[][] data = new double[ySize][xSize];
@@ -93,12 +117,6 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
                 System.arraycopy(lCache.reduced, yIndex * xSize + 0, data[ySize - 1 - yIndex], 0, xSize);
         }
 
-        // abort if min/max == 0 -> cannot compute contours
-        final double zRange = Math.abs(lCache.zMax - lCache.zMin);
-        if (zRange <= 0) {
-            return;
-        }
-
         final ColorGradient colorGradient = getColorGradient();
         final MarchingSquares marchingSquares = new MarchingSquares();
         final double scaleX = lCache.xDataPixelRange / xSize;
@@ -123,7 +141,7 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
                 gc.setLineWidth(0.5);
                 path.draw(gc);
             }
-        } catch (InterruptedException | ExecutionException e) {
+        } catch (InterruptedException e) {
             if (LOGGER.isErrorEnabled()) {
                 LOGGER.atError().setCause(e).log("marchingSquares algorithm");
             }
@@ -132,6 +150,35 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
         }
     }
 
+    private void drawFlatContour(final GraphicsContext gc, final ContourDataSetCache lCache, final double[] levels) {
+        final long start = ProcessingProfiler.getTimeStamp();
+        final int xSize = lCache.xSize;
+        final int ySize = lCache.ySize;
+        // the reduced grid is row-major with row 0 at the bottom -> no copy needed, the y-axis is flipped instead
+        final IsoLines[] isolines = getMarchingSquares(lCache.dataSet).buildContours(lCache.reduced, xSize, ySize, levels, isParallelImplementation());
+
+        final ColorGradient colorGradient = getColorGradient();
+        final double scaleX = lCache.xDataPixelRange / xSize;
+        final double scaleY = lCache.yDataPixelRange / ySize;
+        gc.save();
+        gc.translate(lCache.xDataPixelMin + scaleX, lCache.yDataPixelMin + ySize * scaleY);
+        gc.scale(scaleX, -scaleY);
+        gc.setLineDashes(1.0);
+        gc.setMiterLimit(10);
+        gc.setLineWidth(0.5);
+        for (int i = 0; i < isolines.length; i++) {
+            if (isolines[i].size() > getMaxContourSegments()) {
+                continue;
+            }
+            final Color color = lCache.zInverted ? colorGradient.getColor(1 - levels[i]) : colorGradient.getColor(levels[i]);
+            gc.setStroke(color);
+            gc.setFill(color);
+            isolines[i].draw(gc);
+        }
+        gc.restore();
+        ProcessingProfiler.getTimeDiff(start, "drawFlatContour");
+    }
+
     private void drawContourFast(final GraphicsContext gc, final AxisTransform axisTransform, final ContourDataSetCache lCache) {
         final long start = ProcessingProfiler.getTimeStamp();
         final int xSize = lCache.xSize;
@@ -213,6 +260,164 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
         ProcessingProfiler.getTimeDiff(start, "drawHeatMap");
     }
 
+    private void drawTiledHeatMap(final GraphicsContext gc, final GridDataSet dataSet) {
+        final long start = ProcessingProfiler.getTimeStamp();
+        final HeatMapPyramid pyramid = getPyramid(dataSet);
+        pyramid.update();
+        final int nx = pyramid.getSize(0, DIM_X);
+        final int ny = pyramid.getSize(0, DIM_Y);
+        final AxisTransform axisTransform = zAxis.getAxisTransform();
+        if (nx == 0 || ny == 0 || axisTransform == null) {
+            return;
+        }
+
+        // grid cell i covers [min + i * cellSize, min + (i + 1) * cellSize] (N.B. same mapping as ContourDataSetCache)
+        final double gridXMin = dataSet.getAxisDescription(DIM_X).getMin();
+        final double gridYMin = dataSet.getAxisDescription(DIM_Y).getMin();
+        final double cellWidth = (dataSet.getAxisDescription(DIM_X).getMax() - gridXMin) / nx;
+        final double cellHeight = (dataSet.getAxisDescription(DIM_Y).getMax() - gridYMin) / ny;
+        final int[] xRange = getVisibleCells(xAxis, xAxis.getWidth(), gridXMin, cellWidth, nx);
+        final int[] yRange = getVisibleCells(yAxis, yAxis.getHeight(), gridYMin, cellHeight, ny);
+        if (xRange == null || yRange == null) {
+            return;
+        }
+
+        // choose the level that still has at least one cell per (reduction factor) screen pixel
+        int level = 0;
+        if (isActualReducePoints()) {
+            final double cellsPerPixelX = Math.max(getReductionFactorX(), 1) * (xRange[1] - xRange[0] + 1.0) / Math.max(xRange[2], 1);
+            final double cellsPerPixelY = Math.max(getReductionFactorY(), 1) * (yRange[1] - yRange[0] + 1.0) / Math.max(yRange[2], 1);
+            level = pyramid.selectLevel(Math.min(cellsPerPixelX, cellsPerPixelY));
+        }
+        final int shift = HeatMapPyramid.TILE_SHIFT + level;
+        final int tileXMin = xRange[0] >> shift;
+        final int tileXMax = xRange[1] >> shift;
+        final int tileYMin = yRange[0] >> shift;
+        final int tileYMax = yRange[1] >> shift;
+        final int nTiles = (tileXMax - tileXMin + 1) * (tileYMax - tileYMin + 1);
+        if (2 * nTiles > pyramid.getMaxTiles()) {
+            // keep the visible tiles and their neighbourhood in the cache
+            pyramid.setMaxTiles(2 * nTiles);
+        }
+        final HeatMapPyramid.Tile[] tiles = pyramid.getTiles(level, tileXMin, tileXMax, tileYMin, tileYMax, isParallelImplementation());
+        ProcessingProfiler.getTimeDiff(start, "pyramid tiles (level " + level + ")");
+
+        double zMin = zAxis.getMin();
+        double zMax = zAxis.getMax();
+        if (computeLocalRange() && (zAxis.isAutoRanging() || zAxis.isAutoGrowRanging())) {
+            final DataRange zDataRange = new DataRange();
+            for (final HeatMapPyramid.Tile tile : tiles) {
+                tile.addRange(zDataRange, getReductionType());
+            }
+            if (zDataRange.isDefined()) {
+                zMin = zDataRange.getMin();
+                zMax = zDataRange.getMax();
+            }
+        }
+        final HeatMapPyramid.ImageStyle style = new HeatMapPyramid.ImageStyle(getReductionType(), zMin, zMax,
+                zAxis.isInvertedAxis(), getNumberQuantisationLevels(), axisTransform, getColorGradient());
+
+        gc.save();
+        gc.setImageSmoothing(isSmooth());
+        for (final HeatMapPyramid.Tile tile : tiles) {
+            // tile boundaries in level 0 cells, snapped to full pixels so that adjacent tiles share their edges
+            final int cellXMin = (tile.tileX << HeatMapPyramid.TILE_SHIFT) << level;
+            final int cellXMax = Math.min(nx, ((tile.tileX << HeatMapPyramid.TILE_SHIFT) + tile.width) << level);
+            final int cellYMin = (tile.tileY << HeatMapPyramid.TILE_SHIFT) << level;
+            final int cellYMax = Math.min(ny, ((tile.tileY << HeatMapPyramid.TILE_SHIFT) + tile.height) << level);
+            final double x0 = Math.round(xAxis.getDisplayPosition(gridXMin + cellXMin * cellWidth));
+            final double x1 = Math.round(xAxis.getDisplayPosition(gridXMin + cellXMax * cellWidth));
+            final double y0 = Math.round(yAxis.getDisplayPosition(gridYMin + cellYMax * cellHeight));
+            final double y1 = Math.round(yAxis.getDisplayPosition(gridYMin + cellYMin * cellHeight));
+            drawImage(gc, tile.getImage(style), x0, y0, x1 - x0, y1 - y0);
+        }
+        gc.restore();
+        ProcessingProfiler.getTimeDiff(start, "drawTiledHeatMap");
+    }
+
+    private FlatMarchingSquares getMarchingSquares(final DataSet dataSet) {
+        contourCaches.keySet().removeIf(cached -> !isAttached(cached));
+        return contourCaches.computeIfAbsent(dataSet, ds -> new FlatMarchingSquares());
+    }
+
+    private boolean isAttached(final DataSet dataSet) {
+        for (final DataSet attached : getDatasets()) {
+            if (attached == dataSet) { // NOPMD NOSONAR - identity intended
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private HeatMapPyramid getPyramid(final GridDataSet dataSet) {
+        // drop the pyramids of data sets that are no longer attached to this renderer
+        pyramids.entrySet().removeIf(entry -> {
+            if (isAttached(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().dispose();
+            return true;
+        });
+        return pyramids.computeIfAbsent(dataSet, ds -> new HeatMapPyramid(dataSet));
+    }
+
+    /**
+     * @param dataSet the data set drawn as {@link ContourType#HEATMAP}
+     * @return the tiled multi-resolution pyramid of the data set, e.g. to notify partial updates via
+     *         {@code invalidateRows(..)}, or {@code null} if the data set has not (yet) been drawn as tiled heat map
+     */
+    HeatMapPyramid getHeatMapPyramid(final DataSet dataSet) {
+        return pyramids.get(dataSet);
+    }
+
+    /**
+     * Notifies the renderer that only the given grid rows of the data set have been modified. Only these rows of the
+     * cached heat map tiles are recomputed during the next update, instead of the whole multi-resolution pyramid. N.B.
+     * needs to be called prior to the data set notification and for every subsequent modification.
+     *
+     * @param dataSet the modified data set
+     * @param fromRow first modified row, ie. y index (inclusive)
+     * @param toRow last modified row (exclusive)
+     */
+    public void invalidateRows(final DataSet dataSet, final int fromRow, final int toRow) {
+        final HeatMapPyramid pyramid = pyramids.get(dataSet);
+        if (pyramid != null) {
+            pyramid.invalidateRows(fromRow, toRow);
+        }
+    }
+
+    /**
+     * @return visible cell index range [min, max] (inclusive) and the visible width of the grid in pixels, or null
+     */
+    private static int[] getVisibleCells(final Axis axis, final double length, final double gridMin, final double cellSize, final int nCells) {
+        final double value0 = axis.getValueForDisplay(0);
+        final double value1 = axis.getValueForDisplay(length);
+        final double cellMin = (Math.min(value0, value1) - gridMin) / cellSize;
+        final double cellMax = (Math.max(value0, value1) - gridMin) / cellSize;
+        if (!(cellMax >= 0 && cellMin < nCells)) { // N.B. also catches NaN
+            return null;
+        }
+        final int indexMin = Math.max(0, (int) Math.floor(cellMin));
+        final int indexMax = Math.min(nCells - 1, (int) Math.floor(cellMax));
+        final double pixel0 = axis.getDisplayPosition(gridMin + indexMin * cellSize);
+        final double pixel1 = axis.getDisplayPosition(gridMin + (indexMax + 1) * cellSize);
+        final int pixels = (int) Math.min(Math.abs(pixel1 - pixel0), length);
+        return new int[] { indexMin, indexMax, pixels };
+    }
+
+    private static void drawImage(final GraphicsContext gc, final Image image, final double x, final double y, final double width, final double height) {
+        if (width >= 0 && height >= 0) {
+            gc.drawImage(image, x, y, width, height);
+            return;
+        }
+        // inverted axes
+        gc.save();
+        gc.translate(x, y);
+        gc.scale(width < 0 ? -1 : 1, height < 0 ? -1 : 1);
+        gc.drawImage(image, 0, 0, Math.abs(width), Math.abs(height));
+        gc.restore();
+    }
+
     private void drawHexagonHeatMap(final GraphicsContext gc, final ContourDataSetCache lCache) {
         final long start = ProcessingProfiler.getTimeStamp();
 
@@ -435,6 +640,12 @@ public class ContourDataSetRenderer extends AbstractContourDataSetRendererParame
     @Override
     protected void render(GraphicsContext gc, DataSet dataSet, DataSetNode style) {
         long start = ProcessingProfiler.getTimeStamp();
+        if (isTiledHeatMap() && getContourType() == ContourType.HEATMAP && dataSet.getDimension() >= 3
+                && dataSet instanceof GridDataSet gridDataSet && gridDataSet.getNGrid() >= 2) {
+            drawTiledHeatMap(gc, gridDataSet);
+            ProcessingProfiler.getTimeDiff(start, "finished drawing");
+            return;
+        }
         localCache = new ContourDataSetCache(getChart(), this, dataSet); // NOPMD
         ProcessingProfiler.getTimeDiff(start, "updateCachedVariables");
 
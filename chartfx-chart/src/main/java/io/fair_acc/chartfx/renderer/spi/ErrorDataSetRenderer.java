@@ -7,9 +7,13 @@ import javafx.scene.shape.FillRule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.fair_acc.bench.Phase;
+import io.fair_acc.bench.PhaseMeasure;
 import io.fair_acc.chartfx.marker.Marker;
 import io.fair_acc.chartfx.renderer.ErrorStyle;
 import io.fair_acc.chartfx.renderer.Renderer;
+import io.fair_acc.chartfx.renderer.RendererDataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.M4DataReducer;
 import io.fair_acc.chartfx.renderer.spi.utils.BezierCurve;
 import io.fair_acc.chartfx.ui.css.DataSetNode;
 import io.fair_acc.chartfx.ui.css.DataSetStyleParser;
@@ -98,6 +102,11 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         return true;
     }
 
+    @Override
+    public boolean isSnapshotAware() {
+        return true;
+    }
+
     @Override
     protected void render(final GraphicsContext gc, final DataSet dataSet, final DataSetNode style) {
         // N.B. print out for debugging purposes, please keep (used for
@@ -105,6 +114,7 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
         // System.err.println(String.format("render for range [%f,%f] and dataset = '%s'", xMin, xMax, dataSet.getName()));
 
         var timestamp = ProcessingProfiler.getTimeStamp();
+        final PhaseMeasure benchPhases = getPhaseMeasure();
         int indexMin;
         int indexMax; /* indexMax is excluded in the drawing */
         if (isAssumeSortedData()) {
@@ -133,6 +143,26 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
 
         // compute local screen coordinates
         final boolean isPolarPlot = getChart().isPolarPlot();
+        final RendererDataReducer reducer = rendererDataReducerProperty().get();
+        if (reducer instanceof M4DataReducer && isReducePoints() && isAssumeSortedData() && !isPolarPlot && !isallowNaNs()
+                && indexMax - indexMin >= getMinRequiredReductionSize()) {
+            // combined transform and reduction, ie. only the reduced points are transformed to screen coordinates
+            // N.B. recorded as reduce phase since the transform is limited to the few reduced points
+            long phaseTime = benchPhases.start();
+            points.computeReducedScreenCoordinates(xAxis, yAxis, dataSet, style, indexMin, indexMax, getErrorType(), (M4DataReducer) reducer);
+            phaseTime = benchPhases.record(Phase.Reduce, phaseTime);
+            if (ProcessingProfiler.getDebugState()) {
+                timestamp = ProcessingProfiler.getTimeDiff(timestamp, "computeReducedScreenCoordinates()");
+            }
+            drawChartComponents(gc, style, points);
+            benchPhases.record(Phase.Draw, phaseTime);
+            if (ProcessingProfiler.getDebugState()) {
+                ProcessingProfiler.getTimeDiff(timestamp, "drawChartComponents()");
+            }
+            return;
+        }
+
+        long phaseTime = benchPhases.start();
         if (isParallelImplementation()) {
             points.computeScreenCoordinatesInParallel(xAxis, yAxis, dataSet, style,
                     indexMin, indexMax, getErrorType(), isPolarPlot,
@@ -141,16 +171,19 @@ public class ErrorDataSetRenderer extends AbstractErrorDataSetRendererParameter<
             points.computeScreenCoordinates(xAxis, yAxis, dataSet, style,
                     indexMin, indexMax, getErrorType(), isPolarPlot, isallowNaNs());
         }
+        phaseTime = benchPhases.record(Phase.Transform, phaseTime);
         if (ProcessingProfiler.getDebugState()) {
             timestamp = ProcessingProfiler.getTimeDiff(timestamp, "computeScreenCoordinates()");
         }
 
         // invoke data reduction algorithm
-        points.reduce(rendererDataReducerProperty().get(), isReducePoints(),
+        points.reduce(reducer, isReducePoints(),
                 getMinRequiredReductionSize());
+        phaseTime = benchPhases.record(Phase.Reduce, phaseTime);
 
         // draw individual plot components
         drawChartComponents(gc, style, points);
+        benchPhases.record(Phase.Draw, phaseTime);
         if (ProcessingProfiler.getDebugState()) {
             timestamp = ProcessingProfiler.getTimeDiff(timestamp, "drawChartComponents()");
         }
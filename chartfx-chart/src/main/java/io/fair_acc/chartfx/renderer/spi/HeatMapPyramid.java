@@ -0,0 +1,602 @@
+package io.fair_acc.chartfx.renderer.spi;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import io.fair_acc.chartfx.axes.AxisTransform;
+import io.fair_acc.chartfx.renderer.datareduction.ReductionType;
+import io.fair_acc.chartfx.renderer.spi.utils.ColorGradient;
+import io.fair_acc.dataset.GridDataSet;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.events.StateListener;
+import io.fair_acc.dataset.spi.DataRange;
+import io.fair_acc.dataset.utils.ArrayPool;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.ComputePool;
+
+/**
+ * Tiled multi-resolution (level-of-detail) representation of a 2D {@link GridDataSet} used by the
+ * {@link ContourDataSetRenderer} for {@link io.fair_acc.chartfx.renderer.ContourType#HEATMAP HEATMAP} plots.
+ * <p>
+ * Level 0 corresponds to the original grid. Each cell of level {@code L} aggregates the 2x2 cells of level {@code L-1}
+ * (ie. 2<sup>L</sup> x 2<sup>L</sup> grid cells) into their min, max and (count-weighted) mean values. Every level is
+ * split into {@link #TILE_SIZE}x{@link #TILE_SIZE} tiles that are built lazily from the tiles of the next lower level
+ * and kept in a least-recently-used cache, together with the colour-mapped tile image. Thus, zooming or panning only
+ * re-computes the tiles that become visible and never touches more than the visible grid cells at the matching level.
+ * The tiles of the last {@link #getTiles} request (ie. the visible ones) are exempt from eviction, so that building
+ * coarse tiles from their many lower-level tiles does not evict the tiles needed for the next render pass.
+ * <p>
+ * Any data change of the underlying data set invalidates all tiles. Producers that know which rows have been
+ * modified (e.g. appended rows of a 2D detector frame or waterfall plot) may call {@link #invalidateRows(int, int)}
+ * prior to the data set notification, in which case only the affected rows of the cached tiles (on every level) are
+ * re-computed in place. Since each cell row only depends on the corresponding rows of the lower levels, this reads no
+ * more than the modified data set rows (rounded to the cell size of the coarsest cached level), independent of
+ * whether the intermediate tiles are still cached. N.B. once used, row hints are expected for every modification
+ * until the next render pass.
+ */
+class HeatMapPyramid {
+    protected static final int TILE_SHIFT = 8;
+    protected static final int TILE_SIZE = 1 << TILE_SHIFT;
+    protected static final int DEFAULT_MAX_TILES = 128;
+    private static final int BGRA_BYTE_SIZE = 4;
+    private static final int LEVEL_BITS = 6;
+    private static final int INDEX_BITS = 29;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    private final GridDataSet dataSet;
+    private final int dataDim;
+    private final Map<Long, Tile> tiles;
+    private final AtomicBoolean dataChanged = new AtomicBoolean(true);
+    private final List<int[]> rowHints = new ArrayList<>();
+    private final Set<Long> pinnedTiles = new HashSet<>();
+    private final AtomicLong buildCount = new AtomicLong();
+    private final StateListener dataListener = (src, bits) -> dataChanged.set(true);
+    private int maxTiles = DEFAULT_MAX_TILES;
+    private int nx;
+    private int ny;
+    private int nLevels;
+
+    /**
+     * @param dataSet the 2D grid data set to be represented
+     */
+    HeatMapPyramid(final GridDataSet dataSet) {
+        AssertUtils.notNull("dataSet", dataSet);
+        if (dataSet.getNGrid() < 2) {
+            throw new IllegalArgumentException("HeatMapPyramid only supports 2D Grids");
+        }
+        this.dataSet = dataSet;
+        this.dataDim = dataSet.getNGrid();
+        this.tiles = new LinkedHashMap<>(2 * DEFAULT_MAX_TILES, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, Tile> eldest) {
+                // N.B. evicts the least-recently used tile that is not pinned rather than strictly the eldest one
+                while (size() > maxTiles && evictUnpinned(this)) {
+                    // evicted one tile
+                }
+                return false;
+            }
+        };
+        dataSet.getBitState().addInvalidateListener(ChartBits.DataSetData, dataListener);
+    }
+
+    /**
+     * detaches the pyramid from the data set and drops all cached tiles
+     */
+    public void dispose() {
+        dataSet.getBitState().removeInvalidateListener(dataListener);
+        synchronized (tiles) {
+            tiles.clear();
+            pinnedTiles.clear();
+        }
+    }
+
+    /**
+     * @return number of tiles that have been (re-)computed so far
+     */
+    public long getBuildCount() {
+        return buildCount.get();
+    }
+
+    public GridDataSet getDataSet() {
+        return dataSet;
+    }
+
+    /**
+     * @return number of levels, the highest level fits into a single tile
+     */
+    public int getLevelCount() {
+        return nLevels;
+    }
+
+    public int getMaxTiles() {
+        return maxTiles;
+    }
+
+    /**
+     * @param level the pyramid level
+     * @param dim DIM_X or DIM_Y
+     * @return number of cells of the given level in the given dimension
+     */
+    public int getSize(final int level, final int dim) {
+        return ceilShift(dim == DIM_X ? nx : ny, level);
+    }
+
+    /**
+     * Returns the tile, building it (and missing tiles of lower levels) if necessary.
+     *
+     * @param level the pyramid level
+     * @param tileX tile column
+     * @param tileY tile row
+     * @return the tile
+     */
+    public Tile getTile(final int level, final int tileX, final int tileY) {
+        final long key = key(level, tileX, tileY);
+        synchronized (tiles) {
+            final Tile tile = tiles.get(key);
+            if (tile != null) {
+                return tile;
+            }
+        }
+        final Tile tile = level == 0 ? buildBaseTile(tileX, tileY) : buildTile(level, tileX, tileY);
+        buildCount.incrementAndGet();
+        synchronized (tiles) {
+            tiles.put(key, tile);
+        }
+        return tile;
+    }
+
+    /**
+     * @return number of presently cached tiles
+     */
+    public int getTileCount() {
+        synchronized (tiles) {
+            return tiles.size();
+        }
+    }
+
+    /**
+     * Drops all cached tiles
+     */
+    public void invalidate() {
+        synchronized (tiles) {
+            tiles.clear();
+            rowHints.clear();
+        }
+    }
+
+    /**
+     * Notifies the pyramid that only the given grid rows (y indices) have been modified. Only the tiles containing
+     * these rows (on every level) are rebuilt during the next render pass.
+     *
+     * @param fromRow first modified row (inclusive)
+     * @param toRow last modified row (exclusive)
+     */
+    public void invalidateRows(final int fromRow, final int toRow) {
+        AssertUtils.gtEqThanZero("fromRow", fromRow);
+        if (toRow <= fromRow) {
+            throw new IllegalArgumentException("toRow = " + toRow + " must be larger than fromRow = " + fromRow);
+        }
+        synchronized (tiles) {
+            rowHints.add(new int[] { fromRow, toRow });
+        }
+    }
+
+    /**
+     * Builds all missing tiles of the given range, in parallel if requested. The returned tiles are pinned in the cache
+     * until the next call.
+     *
+     * @param level the pyramid level
+     * @param tileXMin first tile column (inclusive)
+     * @param tileXMax last tile column (inclusive)
+     * @param tileYMin first tile row (inclusive)
+     * @param tileYMax last tile row (inclusive)
+     * @param parallel true: build tiles on the shared {@link ComputePool}
+     * @return the tiles in row-major order
+     */
+    public Tile[] getTiles(final int level, final int tileXMin, final int tileXMax, final int tileYMin, final int tileYMax, final boolean parallel) {
+        final int nTilesX = tileXMax - tileXMin + 1;
+        final int nTilesY = tileYMax - tileYMin + 1;
+        final Tile[] result = new Tile[Math.max(0, nTilesX * nTilesY)];
+        if (result.length == 0) {
+            return result;
+        }
+        synchronized (tiles) {
+            pinnedTiles.clear();
+            for (int i = 0; i < result.length; i++) {
+                pinnedTiles.add(key(level, tileXMin + i % nTilesX, tileYMin + i / nTilesX));
+            }
+        }
+        if (!parallel) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = getTile(level, tileXMin + i % nTilesX, tileYMin + i / nTilesX);
+            }
+            return result;
+        }
+        ComputePool.parallelFor(0, result.length, 1, (chunk, from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = getTile(level, tileXMin + i % nTilesX, tileYMin + i / nTilesX);
+            }
+        });
+        return result;
+    }
+
+    public void setMaxTiles(final int maxTiles) {
+        AssertUtils.gtThanZero("maxTiles", maxTiles);
+        synchronized (tiles) {
+            this.maxTiles = maxTiles;
+            while (tiles.size() > maxTiles && evictUnpinned(tiles)) {
+                // evicted one tile
+            }
+        }
+    }
+
+    /**
+     * Synchronises the pyramid with the data set. Needs to be called with the data set being (read-)locked, typically
+     * at the beginning of each render pass.
+     */
+    public void update() {
+        final int newNx = dataSet.getShape(DIM_X);
+        final int newNy = dataSet.getShape(DIM_Y);
+        synchronized (tiles) {
+            if (newNx != nx || newNy != ny) {
+                nx = newNx;
+                ny = newNy;
+                nLevels = 1;
+                while (ceilShift(nx, nLevels - 1) > TILE_SIZE || ceilShift(ny, nLevels - 1) > TILE_SIZE) {
+                    nLevels++;
+                }
+                dataChanged.set(false);
+                invalidate();
+                return;
+            }
+            if (!dataChanged.getAndSet(false)) {
+                return;
+            }
+            if (rowHints.isEmpty()) {
+                tiles.clear();
+                return;
+            }
+            for (final int[] hint : rowHints) {
+                refreshRows(hint[0], Math.min(hint[1], ny));
+            }
+            rowHints.clear();
+        }
+    }
+
+    /**
+     * @param cellsPerPixel number of grid cells per screen pixel
+     * @return the highest level that still has at least one cell per pixel
+     */
+    public int selectLevel(final double cellsPerPixel) {
+        if (!(cellsPerPixel >= 2.0)) { // N.B. also catches NaN
+            return 0;
+        }
+        final int level = 31 - Integer.numberOfLeadingZeros((int) Math.min(cellsPerPixel, Integer.MAX_VALUE));
+        return Math.min(level, nLevels - 1);
+    }
+
+    private Tile buildBaseTile(final int tileX, final int tileY) {
+        final int x0 = tileX << TILE_SHIFT;
+        final int y0 = tileY << TILE_SHIFT;
+        final int width = Math.min(TILE_SIZE, nx - x0);
+        final int height = Math.min(TILE_SIZE, ny - y0);
+        final double[] values = new double[width * height];
+        for (int y = 0; y < height; y++) {
+            final int rowOffset = y * width;
+            for (int x = 0; x < width; x++) {
+                values[rowOffset + x] = dataSet.get(dataDim, x0 + x, y0 + y);
+            }
+        }
+        return new Tile(0, tileX, tileY, width, height, values, values, values);
+    }
+
+    private Tile buildTile(final int level, final int tileX, final int tileY) {
+        final int x0 = tileX << TILE_SHIFT;
+        final int y0 = tileY << TILE_SHIFT;
+        final int width = Math.min(TILE_SIZE, getSize(level, DIM_X) - x0);
+        final int height = Math.min(TILE_SIZE, getSize(level, DIM_Y) - y0);
+        final double[] min = new double[width * height];
+        final double[] max = new double[width * height];
+        final double[] mean = new double[width * height];
+        Arrays.fill(min, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        final double[] weight = new double[width * height];
+
+        // each parent tile aggregates the (up to) 2x2 child tiles of the next lower level
+        final int childLevel = level - 1;
+        final int childNx = getSize(childLevel, DIM_X);
+        final int childNy = getSize(childLevel, DIM_Y);
+        for (int dy = 0; dy < 2; dy++) {
+            for (int dx = 0; dx < 2; dx++) {
+                final int childTileX = 2 * tileX + dx;
+                final int childTileY = 2 * tileY + dy;
+                if (childTileX << TILE_SHIFT >= childNx || childTileY << TILE_SHIFT >= childNy) {
+                    continue;
+                }
+                final Tile child = getTile(childLevel, childTileX, childTileY);
+                for (int cy = 0; cy < child.height; cy++) {
+                    final int globalCy = (childTileY << TILE_SHIFT) + cy;
+                    final double weightY = cellCount(ny, childLevel, globalCy);
+                    final int dstRow = ((globalCy >> 1) - y0) * width;
+                    for (int cx = 0; cx < child.width; cx++) {
+                        final int globalCx = (childTileX << TILE_SHIFT) + cx;
+                        final double w = weightY * cellCount(nx, childLevel, globalCx);
+                        final int src = cy * child.width + cx;
+                        final int dst = dstRow + (globalCx >> 1) - x0;
+                        min[dst] = Math.min(min[dst], child.min[src]);
+                        max[dst] = Math.max(max[dst], child.max[src]);
+                        mean[dst] += w * child.mean[src];
+                        weight[dst] += w;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < mean.length; i++) {
+            mean[i] /= weight[i];
+        }
+        return new Tile(level, tileX, tileY, width, height, min, max, mean);
+    }
+
+    /**
+     * Computes min, max and mean of the given cells from the next lower level, or the data set for level 0.
+     *
+     * @param level the pyramid level
+     * @param row cell row at the given level
+     * @param x0 first cell column at the given level
+     * @param width number of cells
+     * @param min min output
+     * @param max max output
+     * @param mean mean output
+     * @param offset output index of the first cell
+     */
+    private void computeRow(final int level, final int row, final int x0, final int width, final double[] min, final double[] max, final double[] mean, final int offset) {
+        if (level == 0) {
+            for (int x = 0; x < width; x++) {
+                final double value = dataSet.get(dataDim, x0 + x, row);
+                min[offset + x] = value;
+                max[offset + x] = value;
+                mean[offset + x] = value;
+            }
+            return;
+        }
+        Arrays.fill(min, offset, offset + width, Double.POSITIVE_INFINITY);
+        Arrays.fill(max, offset, offset + width, Double.NEGATIVE_INFINITY);
+        Arrays.fill(mean, offset, offset + width, 0.0);
+        final double[] weight = new double[width];
+
+        final int childLevel = level - 1;
+        final int childX0 = 2 * x0;
+        final int childWidth = Math.min(2 * width, getSize(childLevel, DIM_X) - childX0);
+        final double[] childMin = new double[childWidth];
+        final double[] childMax = new double[childWidth];
+        final double[] childMean = new double[childWidth];
+        final int childRowMax = Math.min(2 * row + 2, getSize(childLevel, DIM_Y));
+        for (int childRow = 2 * row; childRow < childRowMax; childRow++) {
+            getRow(childLevel, childRow, childX0, childWidth, childMin, childMax, childMean);
+            final double weightY = cellCount(ny, childLevel, childRow);
+            for (int cx = 0; cx < childWidth; cx++) {
+                final double w = weightY * cellCount(nx, childLevel, childX0 + cx);
+                final int dst = offset + (cx >> 1);
+                min[dst] = Math.min(min[dst], childMin[cx]);
+                max[dst] = Math.max(max[dst], childMax[cx]);
+                mean[dst] += w * childMean[cx];
+                weight[cx >> 1] += w;
+            }
+        }
+        for (int x = 0; x < width; x++) {
+            mean[offset + x] /= weight[x];
+        }
+    }
+
+    private boolean evictUnpinned(final Map<Long, Tile> map) {
+        final Iterator<Long> iterator = map.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (!pinnedTiles.contains(iterator.next())) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves min, max and mean of the given cells from the cached tiles, or computes them if not cached.
+     *
+     * @param level the pyramid level
+     * @param row cell row at the given level
+     * @param x0 first cell column at the given level
+     * @param width number of cells
+     * @param min min output
+     * @param max max output
+     * @param mean mean output
+     */
+    private void getRow(final int level, final int row, final int x0, final int width, final double[] min, final double[] max, final double[] mean) {
+        final int tileY = row >> TILE_SHIFT;
+        int x = x0;
+        while (x < x0 + width) {
+            final int tileX = x >> TILE_SHIFT;
+            final int end = Math.min(x0 + width, (tileX + 1) << TILE_SHIFT);
+            final Tile tile = tiles.get(key(level, tileX, tileY));
+            if (tile == null) {
+                computeRow(level, row, x, end - x, min, max, mean, x - x0);
+            } else {
+                final int src = (row - (tileY << TILE_SHIFT)) * tile.width + x - (tileX << TILE_SHIFT);
+                System.arraycopy(tile.min, src, min, x - x0, end - x);
+                System.arraycopy(tile.max, src, max, x - x0, end - x);
+                System.arraycopy(tile.mean, src, mean, x - x0, end - x);
+            }
+            x = end;
+        }
+    }
+
+    /**
+     * Re-computes the given (level 0) rows of all cached tiles, lower levels first so that the higher levels can use
+     * the already updated cells.
+     *
+     * @param fromRow first modified row (inclusive)
+     * @param toRow last modified row (exclusive)
+     */
+    private void refreshRows(final int fromRow, final int toRow) {
+        if (fromRow >= toRow) {
+            return;
+        }
+        final List<Tile> affected = new ArrayList<>();
+        for (final Tile tile : tiles.values()) {
+            final int y0 = tile.tileY << TILE_SHIFT;
+            if ((fromRow >> tile.level) < y0 + tile.height && ((toRow - 1) >> tile.level) >= y0) {
+                affected.add(tile);
+            }
+        }
+        affected.sort(Comparator.comparingInt(tile -> tile.level));
+        for (final Tile tile : affected) {
+            final int y0 = tile.tileY << TILE_SHIFT;
+            final int rowMin = Math.max(fromRow >> tile.level, y0);
+            final int rowMax = Math.min((toRow - 1) >> tile.level, y0 + tile.height - 1);
+            for (int row = rowMin; row <= rowMax; row++) {
+                computeRow(tile.level, row, tile.tileX << TILE_SHIFT, tile.width, tile.min, tile.max, tile.mean, (row - y0) * tile.width);
+            }
+            tile.imageStyle = null; // forces the image to be re-computed
+        }
+    }
+
+    /**
+     * @param n number of grid cells at level 0
+     * @param level the level
+     * @param index cell index at the given level
+     * @return number of level 0 grid cells (along one dimension) that are aggregated in the given cell
+     */
+    private static int cellCount(final int n, final int level, final int index) {
+        return Math.min(1 << level, n - (index << level));
+    }
+
+    private static int ceilShift(final int n, final int shift) {
+        return (int) ((n + (1L << shift) - 1) >> shift);
+    }
+
+    private static long key(final int level, final int tileX, final int tileY) {
+        if (level >= 1 << LEVEL_BITS) {
+            throw new IllegalArgumentException("level " + level + " exceeds the supported range");
+        }
+        return ((long) level << (2 * INDEX_BITS)) | ((tileX & INDEX_MASK) << INDEX_BITS) | (tileY & INDEX_MASK);
+    }
+
+    /**
+     * Colour-mapping parameters of a tile image. Images are re-computed whenever any of these change.
+     */
+    record ImageStyle(ReductionType reductionType, double zMin, double zMax, boolean zInverted, int nQuantisation, AxisTransform axisTransform, ColorGradient colorGradient) {}
+
+    /**
+     * A tile of a given pyramid level, N.B. the cell (0, 0) corresponds to the lower left corner
+     */
+    static class Tile {
+        final int level;
+        final int tileX;
+        final int tileY;
+        final int width;
+        final int height;
+        final double[] min;
+        final double[] max;
+        final double[] mean;
+        private WritableImage image;
+        private ImageStyle imageStyle;
+
+        Tile(final int level, final int tileX, final int tileY, final int width, final int height, final double[] min, final double[] max, final double[] mean) {
+            this.level = level;
+            this.tileX = tileX;
+            this.tileY = tileY;
+            this.width = width;
+            this.height = height;
+            this.min = min;
+            this.max = max;
+            this.mean = mean;
+        }
+
+        /**
+         * @param reductionType statistic to be used (N.B. DOWN_SAMPLE and AVERAGE use the mean)
+         * @return the per-cell values of the requested statistic
+         */
+        double[] getValues(final ReductionType reductionType) {
+            switch (reductionType) {
+            case MIN:
+                return min;
+            case MAX:
+                return max;
+            case AVERAGE:
+            case DOWN_SAMPLE:
+            default:
+                return mean;
+            }
+        }
+
+        /**
+         * @param range range to be extended by this tile's values
+         * @param reductionType statistic to be used
+         */
+        void addRange(final DataRange range, final ReductionType reductionType) {
+            for (final double value : getValues(reductionType)) {
+                range.add(value);
+            }
+        }
+
+        /**
+         * N.B. to be called from a single (rendering) thread only
+         *
+         * @param style colour-mapping parameters
+         * @return the colour-mapped tile, re-used as long as the style does not change
+         */
+        WritableImage getImage(final ImageStyle style) {
+            if (image != null && Objects.equals(style, imageStyle)) {
+                return image;
+            }
+            if (image == null) {
+                image = new WritableImage(width, height);
+            }
+            final PixelWriter pixelWriter = image.getPixelWriter();
+            final double[] values = getValues(style.reductionType());
+            final AxisTransform axisTransform = style.axisTransform();
+            final double zMinPixel = axisTransform.forward(style.zMin());
+            final double zRangeInv = 1.0 / Math.abs(axisTransform.forward(style.zMax()) - zMinPixel);
+            final int nQuant = style.nQuantisation();
+
+            final int rowSizeInBytes = BGRA_BYTE_SIZE * width;
+            final byte[] byteBuffer = ArrayPool.BYTE.allocateExact(rowSizeInBytes * height);
+            for (int y = 0; y < height; y++) {
+                final int rowIndex = y * width;
+                final int rowPixelIndex = rowSizeInBytes * (height - 1 - y); // image row 0 is the top
+                for (int x = 0; x < width; x++) {
+                    final double offset = (axisTransform.forward(values[rowIndex + x]) - zMinPixel) * zRangeInv;
+                    final double quantised = ContourDataSetCache.quantize(style.zInverted() ? 1 - offset : offset, nQuant);
+                    final int[] color = style.colorGradient().getColorBytes(quantised);
+                    final int pixelIndex = rowPixelIndex + x * BGRA_BYTE_SIZE;
+                    byteBuffer[pixelIndex] = (byte) (color[3]);
+                    byteBuffer[pixelIndex + 1] = (byte) (color[2]);
+                    byteBuffer[pixelIndex + 2] = (byte) (color[1]);
+                    byteBuffer[pixelIndex + 3] = (byte) (color[0]);
+                }
+            }
+            pixelWriter.setPixels(0, 0, width, height, PixelFormat.getByteBgraPreInstance(), byteBuffer, 0, rowSizeInBytes);
+            ArrayPool.BYTE.release(byteBuffer);
+            imageStyle = style;
+            return image;
+        }
+    }
+}
@@ -24,7 +24,7 @@ import io.fair_acc.chartfx.utils.FastDoubleArrayCache;
 import io.fair_acc.chartfx.utils.PropUtil;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.Histogram;
-import io.fair_acc.dataset.spi.LimitedIndexedTreeDataSet;
+import io.fair_acc.dataset.spi.LimitedSortedDataSet;
 
 /**
  * Simple renderer specialised for 1D histograms.
@@ -103,7 +103,7 @@ public class HistogramRenderer extends AbstractErrorDataSetRendererParameter<His
         // replace DataSet with sorted variety
         // do not need to do this for Histograms as they are always sorted by design
         if (!(dataSet instanceof Histogram) && isAutoSorting() && (!isDataSetSorted(dataSet, DIM_X) && !isDataSetSorted(dataSet, DIM_Y))) {
-            LimitedIndexedTreeDataSet newDataSet = new LimitedIndexedTreeDataSet(dataSet.getName(), Integer.MAX_VALUE);
+            LimitedSortedDataSet newDataSet = new LimitedSortedDataSet(dataSet.getName(), Integer.MAX_VALUE);
             dataSet = newDataSet.set(dataSet);
         }
 
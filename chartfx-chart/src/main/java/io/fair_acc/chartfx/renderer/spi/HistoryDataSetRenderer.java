@@ -35,6 +35,11 @@ public class HistoryDataSetRenderer extends ErrorDataSetRenderer implements Rend
         this.historyDepth = historyDepth;
     }
 
+    @Override
+    public boolean isSnapshotAware() {
+        return false; // N.B. renders the live (history) data
+    }
+
     @Override
     protected void render(final GraphicsContext gc, final DataSet dataSet, final DataSetNode style) {
         final double originalIntensity = style.getIntensity();
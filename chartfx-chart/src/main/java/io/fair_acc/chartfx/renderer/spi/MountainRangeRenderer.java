@@ -69,6 +69,11 @@ public class MountainRangeRenderer extends ErrorDataSetRenderer implements Rende
 
     double zRangeMin, zRangeMax;
 
+    @Override
+    public boolean isSnapshotAware() {
+        return false; // N.B. renders the live (history) data
+    }
+
     @Override
     protected void render(final GraphicsContext gc, final DataSet dataSet, final DataSetNode style) {
         // detect and fish-out 3D DataSet, ignore others
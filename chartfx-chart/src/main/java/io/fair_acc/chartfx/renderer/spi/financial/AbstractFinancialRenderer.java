@@ -18,6 +18,7 @@ import io.fair_acc.chartfx.ui.css.DataSetNode;
 import io.fair_acc.chartfx.ui.css.StyleUtil;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.spi.financial.OhlcvDataSet;
+import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvColumns;
 
 /**
  * The ancestor for common financial renderers.
@@ -166,14 +167,31 @@ public abstract class AbstractFinancialRenderer<R extends AbstractRendererXY<R>>
     protected void applyLocalYRange(DataSet ds, Axis yAxis, double xmin, double xmax) {
         double minYRange = Double.MAX_VALUE;
         double maxYRange = Double.MIN_VALUE;
-        for (int i = ds.getIndex(DataSet.DIM_X, xmin) + 1; i < Math.min(ds.getIndex(DataSet.DIM_X, xmax) + 1, ds.getDataCount()); i++) {
-            double low = ds.get(OhlcvDataSet.DIM_Y_LOW, i);
-            double high = ds.get(OhlcvDataSet.DIM_Y_HIGH, i);
-            if (minYRange > low) {
-                minYRange = low;
+        final int imin = ds.getIndex(DataSet.DIM_X, xmin) + 1;
+        final int imax = Math.min(ds.getIndex(DataSet.DIM_X, xmax) + 1, ds.getDataCount());
+        final IOhlcvColumns columns = getColumns(ds);
+        if (columns != null) {
+            // bulk scan of the primitive columns
+            final double[] lows = columns.getLowColumn();
+            final double[] highs = columns.getHighColumn();
+            for (int i = imin; i < imax; i++) {
+                if (minYRange > lows[i]) {
+                    minYRange = lows[i];
+                }
+                if (maxYRange < highs[i]) {
+                    maxYRange = highs[i];
+                }
             }
-            if (maxYRange < high) {
-                maxYRange = high;
+        } else {
+            for (int i = imin; i < imax; i++) {
+                double low = ds.get(OhlcvDataSet.DIM_Y_LOW, i);
+                double high = ds.get(OhlcvDataSet.DIM_Y_HIGH, i);
+                if (minYRange > low) {
+                    minYRange = low;
+                }
+                if (maxYRange < high) {
+                    maxYRange = high;
+                }
             }
         }
         double space = (maxYRange - minYRange) * 0.05;
@@ -220,6 +238,16 @@ public abstract class AbstractFinancialRenderer<R extends AbstractRendererXY<R>>
             double maxVolume = Double.MIN_VALUE;
             int imin = dataset.getIndex(DataSet.DIM_X, xmin) + 1;
             int imax = Math.min(dataset.getIndex(DataSet.DIM_X, xmax) + 1, dataset.getDataCount());
+            final IOhlcvColumns columns = getColumns(dataset);
+            if (columns != null) {
+                final double[] volumes = columns.getVolumeColumn();
+                for (int i = imin; i < imax; i++) {
+                    if (maxVolume < volumes[i]) {
+                        maxVolume = volumes[i];
+                    }
+                }
+                return new double[] { xminAreaDistances[0], maxVolume };
+            }
             for (int i = imin; i < imax; i++) {
                 double volume = dataset.get(OhlcvDataSet.DIM_Y_VOLUME, i);
                 if (maxVolume < volume) {
@@ -230,6 +258,14 @@ public abstract class AbstractFinancialRenderer<R extends AbstractRendererXY<R>>
         }
     }
 
+    /**
+     * @param ds data set to be rendered
+     * @return primitive OHLCV columns for bulk access or {@code null} if not available
+     */
+    protected static IOhlcvColumns getColumns(DataSet ds) {
+        return ds instanceof OhlcvDataSet ? ((OhlcvDataSet) ds).getColumns() : null;
+    }
+
     protected static Double getMostPopularElement(List<Double> a) {
         int counter = 0;
         int maxcounter = -1;
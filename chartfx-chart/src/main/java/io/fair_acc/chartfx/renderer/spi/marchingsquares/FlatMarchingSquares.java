@@ -0,0 +1,439 @@
+package io.fair_acc.chartfx.renderer.spi.marchingsquares;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.ComputePool;
+import io.fair_acc.dataset.utils.ProcessingProfiler;
+
+/**
+ * <p>
+ * Flat-array implementation of the Marching Squares algorithm (see {@code https://en.wikipedia.org/wiki/Marching_squares})
+ * that reads the row-major grid in place.
+ * </p>
+ * <p>
+ * The grid is (virtually) padded with a guard value below the minimum to ensure that all lines are closed, and split
+ * into fixed bands of cell rows. The bands are processed in parallel on the shared {@link ComputePool}, each computing
+ * the line segments of all levels in a single pass over its rows. The segments are subsequently stitched into closed
+ * lines via the grid edges they share, again in parallel for the individual levels.
+ * </p>
+ * <p>
+ * The segments of each band are cached together with a hash of the band's input rows. Repeated calls for the same
+ * grid dimensions and levels (ie. the same viewport) only recompute the bands whose rows have changed, and re-use the
+ * previous lines entirely if none did. N.B. instances are stateful and not thread-safe.
+ * </p>
+ */
+public class FlatMarchingSquares {
+    private static final int MIN_CELLS_PER_BAND = 1 << 14;
+    private static final int LEFT = 0;
+    private static final int RIGHT = 1;
+    private static final int BOTTOM = 2;
+    private static final int TOP = 3;
+    private int width = -1;
+    private int height = -1;
+    private double guard = Double.NaN;
+    private double[] levels = new double[0];
+    private Band[] bands = new Band[0];
+    private IsoLines[] result;
+    private int recomputedBands;
+
+    /**
+     * @param data row-major grid data, ie. {@code data[row * width + column]}
+     * @param width number of columns
+     * @param height number of rows
+     * @param levels iso values for which the lines are computed
+     * @param parallel true: process bands and levels in parallel
+     * @return the closed iso-lines for each level. Constant fields (or fields without finite values) yield no lines.
+     */
+    public IsoLines[] buildContours(final double[] data, final int width, final int height, final double[] levels, final boolean parallel) {
+        AssertUtils.notNull("data", data);
+        AssertUtils.notNull("levels", levels);
+        AssertUtils.gtThanZero("width", width);
+        AssertUtils.gtThanZero("height", height);
+        if (data.length < width * height) {
+            throw new IllegalArgumentException("data length " + data.length + " is smaller than " + width + " x " + height);
+        }
+        final long start = ProcessingProfiler.getTimeStamp();
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        final int length = width * height;
+        for (int i = 0; i < length; i++) {
+            final double value = data[i];
+            if (value < min) {
+                min = value;
+            }
+            if (value > max) {
+                max = value;
+            }
+        }
+        if (!(max > min) || Double.isInfinite(min)) {
+            reset(width, height, Double.NaN, levels, 0);
+            result = new IsoLines[levels.length];
+            for (int i = 0; i < levels.length; i++) {
+                result[i] = new IsoLines(levels[i], new float[0], new int[] { 0 });
+            }
+            return result.clone();
+        }
+
+        // N.B. the grid is padded by one row/column on each side -> (height + 1) x (width + 1) cells
+        final int cellRows = height + 1;
+        final int rowsPerBand = Math.max(1, MIN_CELLS_PER_BAND / (width + 1));
+        final int nBands = (cellRows + rowsPerBand - 1) / rowsPerBand;
+        final double newGuard = min - 1;
+        if (width != this.width || height != this.height || newGuard != this.guard || !Arrays.equals(levels, this.levels)) {
+            reset(width, height, newGuard, levels, nBands);
+        }
+
+        final AtomicInteger recomputed = new AtomicInteger();
+        final int minChunkSize = parallel ? 1 : Integer.MAX_VALUE;
+        ComputePool.parallelFor(0, nBands, minChunkSize, (chunk, from, to) -> {
+            for (int band = from; band < to; band++) {
+                if (processBand(data, band, rowsPerBand, cellRows)) {
+                    recomputed.incrementAndGet();
+                }
+            }
+        });
+        recomputedBands = recomputed.get();
+        if (recomputedBands == 0 && result != null) {
+            return result.clone();
+        }
+
+        final IsoLines[] lines = new IsoLines[this.levels.length];
+        ComputePool.parallelFor(0, lines.length, minChunkSize, (chunk, from, to) -> {
+            for (int level = from; level < to; level++) {
+                lines[level] = stitch(level);
+            }
+        });
+        result = lines;
+        ProcessingProfiler.getTimeDiff(start, "built " + levels.length + " contours (" + recomputedBands + "/" + nBands + " bands)");
+        return result.clone();
+    }
+
+    /**
+     * @return number of bands the grid of the last call has been split into
+     */
+    public int getBandCount() {
+        return bands.length;
+    }
+
+    /**
+     * @return number of bands that had to be (re-)computed during the last call
+     */
+    public int getRecomputedBandCount() {
+        return recomputedBands;
+    }
+
+    /**
+     * drops all cached bands and lines
+     */
+    public void invalidate() {
+        Arrays.fill(bands, null);
+        result = null;
+    }
+
+    private void emit(final Band band, final int level, final double iso, final int r, final int c, final int side1, final int side2, //
+            final double bl, final double br, final double tl, final double tr) {
+        band.add(level, crossingX(side1, iso, c, bl, br, tl, tr), crossingY(side1, iso, r, bl, br, tl, tr), edge(side1, r, c), //
+                crossingX(side2, iso, c, bl, br, tl, tr), crossingY(side2, iso, r, bl, br, tl, tr), edge(side2, r, c));
+    }
+
+    private long edge(final int side, final int r, final int c) {
+        // horizontal edges (r, c)-(r, c+1) have even, vertical edges (r, c)-(r+1, c) odd ids
+        final long paddedWidth = width + 2L;
+        switch (side) {
+        case LEFT:
+            return 2 * (r * paddedWidth + c) + 1;
+        case RIGHT:
+            return 2 * (r * paddedWidth + c + 1) + 1;
+        case BOTTOM:
+            return 2 * (r * paddedWidth + c);
+        case TOP:
+        default:
+            return 2 * ((r + 1) * paddedWidth + c);
+        }
+    }
+
+    private void fillRow(final double[] data, final int paddedRow, final double[] row) {
+        if (paddedRow == 0 || paddedRow == height + 1) {
+            Arrays.fill(row, guard);
+            return;
+        }
+        row[0] = guard;
+        System.arraycopy(data, (paddedRow - 1) * width, row, 1, width);
+        row[width + 1] = guard;
+    }
+
+    /**
+     * @return hash over the data rows read by the given padded cell rows
+     */
+    private long hash(final double[] data, final int cellRowMin, final int cellRowMax) {
+        final int rowMin = Math.max(0, cellRowMin - 1);
+        final int rowMax = Math.min(height - 1, cellRowMax - 1);
+        long hash = 0x9E3779B97F4A7C15L;
+        for (int i = rowMin * width; i < (rowMax + 1) * width; i++) {
+            hash ^= Double.doubleToLongBits(data[i]);
+            hash *= 0xBF58476D1CE4E5B9L;
+            hash ^= hash >>> 31;
+        }
+        return hash;
+    }
+
+    private void march(final Band band, final int r, final int c, final double bl, final double br, final double tl, final double tr) {
+        for (int level = 0; level < levels.length; level++) {
+            final double iso = levels[level];
+            final int ndx = (tl > iso ? 0 : 8) | (tr > iso ? 0 : 4) | (br > iso ? 0 : 2) | (bl > iso ? 0 : 1);
+            switch (ndx) {
+            case 0:
+            case 15:
+                break;
+            case 1:
+            case 14:
+                emit(band, level, iso, r, c, LEFT, BOTTOM, bl, br, tl, tr);
+                break;
+            case 2:
+            case 13:
+                emit(band, level, iso, r, c, BOTTOM, RIGHT, bl, br, tl, tr);
+                break;
+            case 3:
+            case 12:
+                emit(band, level, iso, r, c, LEFT, RIGHT, bl, br, tl, tr);
+                break;
+            case 4:
+            case 11:
+                emit(band, level, iso, r, c, TOP, RIGHT, bl, br, tl, tr);
+                break;
+            case 6:
+            case 9:
+                emit(band, level, iso, r, c, BOTTOM, TOP, bl, br, tl, tr);
+                break;
+            case 7:
+            case 8:
+                emit(band, level, iso, r, c, LEFT, TOP, bl, br, tl, tr);
+                break;
+            case 5:
+            case 10:
+            default:
+                // saddle: the average value of the cell centre decides whether the corners above
+                // (N.B. for case 5: top-left and bottom-right) are connected or separated
+                final boolean centreAbove = (tl + tr + br + bl) / 4 > iso;
+                if (centreAbove == (ndx == 5)) {
+                    emit(band, level, iso, r, c, LEFT, BOTTOM, bl, br, tl, tr);
+                    emit(band, level, iso, r, c, TOP, RIGHT, bl, br, tl, tr);
+                } else {
+                    emit(band, level, iso, r, c, LEFT, TOP, bl, br, tl, tr);
+                    emit(band, level, iso, r, c, BOTTOM, RIGHT, bl, br, tl, tr);
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return true if the band had to be recomputed
+     */
+    private boolean processBand(final double[] data, final int index, final int rowsPerBand, final int cellRows) {
+        final int cellRowMin = index * rowsPerBand;
+        final int cellRowMax = Math.min(cellRows, cellRowMin + rowsPerBand);
+        final long hash = hash(data, cellRowMin, cellRowMax);
+        if (bands[index] != null && bands[index].hash == hash) {
+            return false;
+        }
+        final Band band = new Band(levels.length, hash);
+        double[] below = new double[width + 2];
+        double[] above = new double[width + 2];
+        fillRow(data, cellRowMin, below);
+        for (int r = cellRowMin; r < cellRowMax; r++) {
+            fillRow(data, r + 1, above);
+            for (int c = 0; c <= width; c++) {
+                march(band, r, c, below[c], below[c + 1], above[c], above[c + 1]);
+            }
+            final double[] tmp = below;
+            below = above;
+            above = tmp;
+        }
+        bands[index] = band;
+        return true;
+    }
+
+    private void reset(final int width, final int height, final double guard, final double[] levels, final int nBands) {
+        this.width = width;
+        this.height = height;
+        this.guard = guard;
+        this.levels = levels.clone();
+        this.bands = new Band[nBands];
+        this.result = null;
+    }
+
+    private IsoLines stitch(final int level) {
+        int nSegments = 0;
+        for (final Band band : bands) {
+            nSegments += band.count[level];
+        }
+        final float[] coords = new float[4 * nSegments];
+        final long[] edges = new long[2 * nSegments];
+        int offset = 0;
+        for (final Band band : bands) {
+            final int count = band.count[level];
+            System.arraycopy(band.coords[level], 0, coords, 4 * offset, 4 * count);
+            System.arraycopy(band.edges[level], 0, edges, 2 * offset, 2 * count);
+            offset += count;
+        }
+
+        // link the segment ends sharing the same edge crossing (each crossed edge is shared by exactly two cells)
+        final int[] link = new int[2 * nSegments];
+        Arrays.fill(link, -1);
+        final EdgeMap map = new EdgeMap(2 * nSegments);
+        for (int end = 0; end < edges.length; end++) {
+            final int other = map.putIfAbsent(edges[end], end);
+            if (other >= 0) {
+                link[end] = other;
+                link[other] = end;
+            }
+        }
+
+        final float[] xy = new float[2 * (nSegments + 1)];
+        int nPoints = 0;
+        int[] loopOffsets = new int[16];
+        int nLoops = 0;
+        final boolean[] visited = new boolean[nSegments];
+        for (int segment = 0; segment < nSegments; segment++) {
+            if (visited[segment]) {
+                continue;
+            }
+            if (nLoops + 2 > loopOffsets.length) {
+                loopOffsets = Arrays.copyOf(loopOffsets, 2 * loopOffsets.length);
+            }
+            loopOffsets[nLoops++] = nPoints;
+            visited[segment] = true;
+            nPoints = addPoint(xy, nPoints, coords, 2 * segment);
+            int exit = 2 * segment + 1;
+            while (true) {
+                final int next = link[exit];
+                if (next < 0 || visited[next >> 1]) {
+                    if (next < 0) {
+                        nPoints = addPoint(xy, nPoints, coords, exit);
+                    }
+                    break; // closed (or -- N.B. not expected due to the padding -- open) line
+                }
+                nPoints = addPoint(xy, nPoints, coords, exit);
+                visited[next >> 1] = true;
+                exit = next ^ 1;
+            }
+        }
+        loopOffsets[nLoops] = nPoints;
+        return new IsoLines(levels[level], Arrays.copyOf(xy, 2 * nPoints), Arrays.copyOf(loopOffsets, nLoops + 1));
+    }
+
+    private static int addPoint(final float[] xy, final int nPoints, final float[] coords, final int end) {
+        final float x = coords[2 * end];
+        final float y = coords[2 * end + 1];
+        if (nPoints > 0 && xy[2 * nPoints - 2] == x && xy[2 * nPoints - 1] == y) {
+            return nPoints; // degenerate crossing on a grid point
+        }
+        xy[2 * nPoints] = x;
+        xy[2 * nPoints + 1] = y;
+        return nPoints + 1;
+    }
+
+    /**
+     * @return x coordinate (in grid units) of the crossing on the given side of the padded cell (r, c)
+     */
+    private static float crossingX(final int side, final double iso, final int c, final double bl, final double br, final double tl, final double tr) {
+        switch (side) {
+        case LEFT:
+            return c - 1.0f;
+        case RIGHT:
+            return c;
+        case BOTTOM:
+            return (float) (c - 1 + (iso - bl) / (br - bl));
+        case TOP:
+        default:
+            return (float) (c - 1 + (iso - tl) / (tr - tl));
+        }
+    }
+
+    /**
+     * @return y coordinate (in grid units) of the crossing on the given side of the padded cell (r, c)
+     */
+    private static float crossingY(final int side, final double iso, final int r, final double bl, final double br, final double tl, final double tr) {
+        switch (side) {
+        case LEFT:
+            return (float) (r - 1 + (iso - bl) / (tl - bl));
+        case RIGHT:
+            return (float) (r - 1 + (iso - br) / (tr - br));
+        case BOTTOM:
+            return r - 1.0f;
+        case TOP:
+        default:
+            return r;
+        }
+    }
+
+    /**
+     * cached line segments of a band of cell rows
+     */
+    private static class Band {
+        private final long hash;
+        private final float[][] coords; // [level][4 * segment]: x1, y1, x2, y2
+        private final long[][] edges; // [level][2 * segment]: edge ids of both ends
+        private final int[] count;
+
+        Band(final int nLevels, final long hash) {
+            this.hash = hash;
+            this.coords = new float[nLevels][0];
+            this.edges = new long[nLevels][0];
+            this.count = new int[nLevels];
+        }
+
+        void add(final int level, final float x1, final float y1, final long edge1, final float x2, final float y2, final long edge2) {
+            final int n = count[level];
+            if (2 * n + 2 > edges[level].length) {
+                final int capacity = Math.max(16, 2 * edges[level].length);
+                edges[level] = Arrays.copyOf(edges[level], capacity);
+                coords[level] = Arrays.copyOf(coords[level], 2 * capacity);
+            }
+            final float[] xy = coords[level];
+            xy[4 * n] = x1;
+            xy[4 * n + 1] = y1;
+            xy[4 * n + 2] = x2;
+            xy[4 * n + 3] = y2;
+            edges[level][2 * n] = edge1;
+            edges[level][2 * n + 1] = edge2;
+            count[level] = n + 1;
+        }
+    }
+
+    /**
+     * minimal open-addressing hash map from (non-negative) edge ids to segment ends
+     */
+    private static class EdgeMap {
+        private final long[] keys;
+        private final int[] values;
+        private final int mask;
+
+        EdgeMap(final int expectedSize) {
+            final int capacity = Integer.highestOneBit(Math.max(4, 2 * expectedSize - 1)) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, -1L);
+        }
+
+        /**
+         * @return the value previously stored for the key, or -1 if the new value has been stored
+         */
+        int putIfAbsent(final long key, final int value) {
+            int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+            while (keys[slot] != -1L) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.fair_acc.chartfx.renderer.spi.marchingsquares;
+
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * The closed iso-lines (contours) of a single level in flat-array form as computed by {@link FlatMarchingSquares}.
+ * <p>
+ * Coordinates are given in grid index units, ie. the grid value {@code data[row * width + column]} is located at
+ * {@code (x, y) = (column, row)}. The outermost lines may extend by up to one unit beyond the grid as the grid is
+ * (virtually) padded to ensure that all lines are closed.
+ */
+public class IsoLines {
+    private final double level;
+    private final float[] xy;
+    private final int[] loopOffsets;
+
+    IsoLines(final double level, final float[] xy, final int[] loopOffsets) {
+        this.level = level;
+        this.xy = xy;
+        this.loopOffsets = loopOffsets;
+    }
+
+    /**
+     * Strokes all lines as a single path
+     *
+     * @param gc the graphics context to draw on
+     * @return number of drawn points
+     */
+    public int draw(final GraphicsContext gc) {
+        if (xy.length == 0) {
+            return 0;
+        }
+        gc.beginPath();
+        for (int loop = 0; loop < getLoopCount(); loop++) {
+            final int start = loopOffsets[loop];
+            final int end = loopOffsets[loop + 1];
+            gc.moveTo(xy[2 * start], xy[2 * start + 1]);
+            for (int i = start + 1; i < end; i++) {
+                gc.lineTo(xy[2 * i], xy[2 * i + 1]);
+            }
+            gc.closePath();
+        }
+        gc.stroke();
+        return size();
+    }
+
+    /**
+     * @return the iso value of these lines
+     */
+    public double getLevel() {
+        return level;
+    }
+
+    /**
+     * @return number of closed lines
+     */
+    public int getLoopCount() {
+        return loopOffsets.length - 1;
+    }
+
+    /**
+     * @param loop line index
+     * @return number of points of the given line
+     */
+    public int getLoopSize(final int loop) {
+        return loopOffsets[loop + 1] - loopOffsets[loop];
+    }
+
+    /**
+     * @param point point index (over all lines)
+     * @return x coordinate of the point
+     */
+    public double getX(final int point) {
+        return xy[2 * point];
+    }
+
+    /**
+     * @param point point index (over all lines)
+     * @return y coordinate of the point
+     */
+    public double getY(final int point) {
+        return xy[2 * point + 1];
+    }
+
+    /**
+     * @param loop line index
+     * @return index of the first point of the given line
+     */
+    public int getLoopOffset(final int loop) {
+        return loopOffsets[loop];
+    }
+
+    /**
+     * @return total number of points
+     */
+    public int size() {
+        return xy.length / 2;
+    }
+}
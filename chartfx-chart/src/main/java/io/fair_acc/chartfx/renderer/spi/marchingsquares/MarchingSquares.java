@@ -1,15 +1,6 @@
 package io.fair_acc.chartfx.renderer.spi.marchingsquares;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-
-import io.fair_acc.dataset.utils.CachedDaemonThreadFactory;
+import io.fair_acc.dataset.utils.ComputePool;
 import io.fair_acc.dataset.utils.ProcessingProfiler;
 
 /**
@@ -18,11 +9,10 @@ import io.fair_acc.dataset.utils.ProcessingProfiler;
  * </p>
  */
 public class MarchingSquares {
-    private static final ExecutorService ES = Executors.newCachedThreadPool(CachedDaemonThreadFactory.getInstance());
     private double[] isovalues;
 
     public GeneralPath[] buildContours(final double[][] data, final double[] levels)
-            throws InterruptedException, ExecutionException {
+            throws InterruptedException {
         final long start = ProcessingProfiler.getTimeStamp();
         // find min, max, and guard
         double min = +Double.MAX_VALUE;
@@ -57,18 +47,14 @@ public class MarchingSquares {
         return result;
     }
 
-    private GeneralPath[] doConcurrent(final double[][] data) throws InterruptedException, ExecutionException {
-        final Collection<Callable<Result>> workers = new ArrayList<>();
-        for (int i = 0; i < isovalues.length; i++) {
-            workers.add(new Task(i, data, isovalues[i]));
-        }
-
-        final List<Future<Result>> jobs = MarchingSquares.ES.invokeAll(workers);
+    private GeneralPath[] doConcurrent(final double[][] data) {
+        // one chunk per iso-level, executed on the shared work-stealing pool
         final GeneralPath[] result = new GeneralPath[isovalues.length];
-        for (final Future<Result> future : jobs) {
-            final Result r = future.get();
-            result[r.ndx] = r.path;
-        }
+        ComputePool.parallelFor(0, isovalues.length, 1, (chunk, from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = contourPath(i, data, isovalues[i]);
+            }
+        });
         return result;
     }
 
@@ -205,49 +191,13 @@ public class MarchingSquares {
         return result;
     }
 
-    private static final class Result {
-        private final int ndx;
-        private final GeneralPath path;
-        private String str;
-
-        Result(final int ndx, final GeneralPath path) {
-            super();
-            this.ndx = ndx;
-            this.path = path;
-        }
-
-        @Override
-        public String toString() {
-            if (str == null) {
-                str = "Result{ndx=" + ndx + ", bbox=" + '}';
-            }
-            return str;
-        }
-    }
-
-    private static final class Task implements Callable<Result> {
-        private final int ndx;
-        private final double[][] data;
-        private final double level;
-
-        Task(final int ndx, final double[][] data, final double level) {
-            super();
-            this.ndx = ndx;
-            this.data = data;
-            this.level = level;
-        }
-
-        @Override
-        public Result call() throws Exception {
-            GeneralPath path = null;
-            try {
-                path = new PathGenerator().generalPath(MarchingSquares.contour(data, level));
-            } catch (final Exception x) {
-                final String m = "Failed making contour at index #" + ndx + " for level " + level + ": "
-                               + x.getLocalizedMessage();
-                throw new IllegalArgumentException(m, x);
-            }
-            return new Result(ndx, path);
+    private static GeneralPath contourPath(final int ndx, final double[][] data, final double level) {
+        try {
+            return new PathGenerator().generalPath(MarchingSquares.contour(data, level));
+        } catch (final Exception x) {
+            final String m = "Failed making contour at index #" + ndx + " for level " + level + ": "
+                           + x.getLocalizedMessage();
+            throw new IllegalArgumentException(m, x);
         }
     }
 }
@@ -17,7 +17,9 @@ import javafx.util.StringConverter;
  * @author braeun
  */
 public class DecimalStringConverter extends StringConverter<Number> implements NumberFormatter {
+    private static final double MAX_PLAIN_VALUE = 1e7; // N.B. larger values are formatted exponentially by NumberFormatterImpl
     private int precision = 6;
+    private final NumberFormatterImpl formatter = new NumberFormatterImpl(precision, false);
     private final DecimalFormat format = new DecimalFormat();
 
     public DecimalStringConverter() {
@@ -30,6 +32,7 @@ public class DecimalStringConverter extends StringConverter<Number> implements N
     }
 
     private void buildFormat(int precision) {
+        formatter.setDecimalPlaces(Math.max(0, precision));
         if (precision == 0) {
             format.applyPattern("#0");
         } else {
@@ -79,11 +82,14 @@ public class DecimalStringConverter extends StringConverter<Number> implements N
 
     @Override
     public String toString(double val) {
-        return toString(Double.valueOf(val));
+        if (Math.abs(val) < MAX_PLAIN_VALUE) {
+            return formatter.toString(val);
+        }
+        return format.format(val); // large values: keep the plain form
     }
 
     @Override
     public String toString(Number object) {
-        return format.format(object);
+        return toString(object.doubleValue());
     }
 }
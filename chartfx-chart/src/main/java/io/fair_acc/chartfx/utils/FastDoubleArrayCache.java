@@ -1,10 +1,11 @@
 package io.fair_acc.chartfx.utils;
 
-import io.fair_acc.math.ArrayUtils;
+import io.fair_acc.dataset.utils.ArrayPool;
 
 /**
  * A highly efficient cache for temporary arrays that
- * only gets accessed by a single thread.
+ * only gets accessed by a single thread. Outgrown and
+ * trimmed arrays are recycled via the shared {@link ArrayPool}.
  *
  * @author ennerf
  */
@@ -15,12 +16,23 @@ public class FastDoubleArrayCache {
 
     public void trim() {
         for (int i = 0; i < cache.length; i++) {
-            cache[i] = ArrayUtils.clearIfLarger(cache[i], lastRequestedSize);
+            if (cache[i] != null && cache[i].length > lastRequestedSize) {
+                ArrayPool.DOUBLE.release(cache[i]);
+                cache[i] = null;
+            }
         }
     }
 
     public double[] getArray(int index, int minSize) {
-        return cache[index] = ArrayUtils.resizeMin(cache[index], lastRequestedSize = minSize);
+        lastRequestedSize = minSize;
+        final double[] array = cache[index];
+        if (array != null && array.length >= minSize) {
+            return array;
+        }
+        if (array != null) {
+            ArrayPool.DOUBLE.release(array);
+        }
+        return cache[index] = ArrayPool.DOUBLE.allocate(minSize);
     }
 
     int lastRequestedSize;
@@ -4,12 +4,22 @@ import static java.lang.Math.*;
 
 import static io.fair_acc.chartfx.utils.Schubfach.*;
 
-import java.nio.charset.StandardCharsets;
 import java.text.DecimalFormatSymbols;
 import java.util.Objects;
 
 import javafx.util.StringConverter;
 
+import io.fair_acc.chartfx.axes.spi.MetricPrefix;
+
+/**
+ * Allocation-free number formatter based on the shortest round-trip decimal representation ({@link Schubfach}).
+ * <p>
+ * Supports plain, exponential and engineering notation (exponents that are multiples of three, optionally replaced by
+ * the {@link MetricPrefix} symbol, e.g. '1.5k') with either all (shortest round-trip) or a fixed number of decimal
+ * places. The digits are written into an internal {@code char[]} buffer that can be copied via
+ * {@link #appendTo(StringBuilder, double)} or {@link #getChars(double, char[], int)} without intermediate String
+ * allocations, e.g. for text export of large data sets. N.B. instances are not thread-safe.
+ */
 public class NumberFormatterImpl extends StringConverter<Number> implements NumberFormatter {
     public final static char DEFAULT_DECIMAL_SEPARATOR = ' ';
 
@@ -51,24 +61,108 @@ public class NumberFormatterImpl extends StringConverter<Number> implements Numb
         return this;
     }
 
+    /**
+     * @return {@code true} if the exponents are multiples of three (N.B. supersedes the exponential form)
+     */
+    public boolean isEngineeringForm() {
+        return isEngineeringForm;
+    }
+
+    /**
+     * @param state {@code true} if the exponents should be multiples of three, e.g. '12.5E3'
+     * @return itself (fluent design)
+     */
+    public NumberFormatterImpl setEngineeringForm(final boolean state) {
+        this.isEngineeringForm = state;
+        return this;
+    }
+
+    /**
+     * @return {@code true} if the engineering exponents are replaced by the metric prefix symbols (within their range)
+     */
+    public boolean isMetricPrefix() {
+        return isMetricPrefix;
+    }
+
+    /**
+     * @param state {@code true} if the engineering exponents should be replaced by the {@link MetricPrefix} symbols,
+     *        e.g. '12.5k' (N.B. requires the engineering form)
+     * @return itself (fluent design)
+     */
+    public NumberFormatterImpl setMetricPrefix(final boolean state) {
+        this.isMetricPrefix = state;
+        return this;
+    }
+
+    /**
+     * @return {@code true} if trailing zeros of fixed decimal places are removed
+     */
+    public boolean isTrimTrailingZeros() {
+        return isTrimTrailingZeros;
+    }
+
+    /**
+     * @param state {@code true} if trailing zeros of fixed decimal places should be removed, ie. the decimal places are
+     *        treated as maximum, e.g. '2.5' rather than '2.500'
+     * @return itself (fluent design)
+     */
+    public NumberFormatterImpl setTrimTrailingZeros(final boolean state) {
+        this.isTrimTrailingZeros = state;
+        return this;
+    }
+
     @Override
     public String toString(final double val) {
-        switch (Schubfach.encodeDouble(val, this::encodeDouble)) {
+        format(val);
+        return length == 1 && chars[0] == ZERO ? "0" : new String(chars, 0, length);
+    }
+
+    /**
+     * @param sb the builder the formatted value is appended to
+     * @param val the value to be formatted
+     * @return the builder (fluent design)
+     */
+    public StringBuilder appendTo(final StringBuilder sb, final double val) {
+        format(val);
+        return sb.append(chars, 0, length);
+    }
+
+    /**
+     * @param val the value to be formatted
+     * @param dst destination array (N.B. needs to have space for at least {@link #MAX_CHARS} characters)
+     * @param offset start index in the destination array
+     * @return number of written characters
+     */
+    public int getChars(final double val, final char[] dst, final int offset) {
+        format(val);
+        System.arraycopy(chars, 0, dst, offset, length);
+        return length;
+    }
+
+    private void format(final double val) {
+        switch (Schubfach.encodeDouble(val, encoder)) {
         case Schubfach.NON_SPECIAL:
-            return bytesToString();
+            return;
         case Schubfach.PLUS_ZERO:
         case Schubfach.MINUS_ZERO:
             encodeZero();
-            return length == 1 ? "0" : bytesToString();
+            return;
         case Schubfach.PLUS_INF:
-            return "+inf";
+            setChars(PLUS_INF_CHARS);
+            return;
         case Schubfach.MINUS_INF:
-            return "-inf";
+            setChars(MINUS_INF_CHARS);
+            return;
         default:
-            return "NaN";
+            setChars(NAN_CHARS);
         }
     }
 
+    private void setChars(final char[] value) {
+        length = 0;
+        append(value);
+    }
+
     @Override
     public String toString(final Number object) {
         return toString(object.doubleValue());
@@ -86,9 +180,9 @@ public class NumberFormatterImpl extends StringConverter<Number> implements Numb
         e += len;
 
         // Round to the desired number of digits
-        final boolean useExponentialForm = isExponentialForm || e > MAX_PLAIN_EXP;
+        final boolean useExponentialForm = isExponentialForm || e > MAX_PLAIN_EXP || (e < MIN_PLAIN_EXP && (decimalPlaces == ALL_DIGITS || decimalPlaces > MAX_PLAIN_CHARS - 3));
         if (decimalPlaces >= 0) {
-            final int significantDigits = decimalPlaces + (useExponentialForm ? 1 : e);
+            final int significantDigits = decimalPlaces + (isEngineeringForm ? 1 + floorMod(e - 1, 3) : useExponentialForm ? 1 : e);
             f += Schubfach.getRoundingOffset(significantDigits);
             if (f >= DIGITS_18) {
                 f /= 10;
@@ -102,7 +196,9 @@ public class NumberFormatterImpl extends StringConverter<Number> implements Numb
         int m = (int) (hm - 100000000L * h); // next 8 digits
         int l = (int) (f - 100000000L * hm); // lowest 8 digits
 
-        if (useExponentialForm) {
+        if (isEngineeringForm) {
+            toEngineeringFormat(h, m, l, e);
+        } else if (useExponentialForm) {
             toExponentialFormat(h, m, l, e);
         } else {
             if (e > 0) {
@@ -118,6 +214,7 @@ public class NumberFormatterImpl extends StringConverter<Number> implements Numb
         if (decimalPlaces > 0) {
             append(DOT);
             appendNDigits(m, l, decimalPlaces);
+            trimTrailingZeros();
         } else if (decimalPlaces == ALL_DIGITS) {
             append(DOT);
             append8Digits(m);
@@ -126,6 +223,17 @@ public class NumberFormatterImpl extends StringConverter<Number> implements Numb
         exponent(e - 1);
     }
 
+    private void toEngineeringFormat(int h, int m, int l, int e) {
+        final int shift = floorMod(e - 1, 3); // additional integer digits
+        final int exponent = e - 1 - shift;
+        toPlainFormat(h, m, l, 1 + shift);
+        if (isMetricPrefix && exponent >= MIN_PREFIX_EXP && exponent <= MAX_PREFIX_EXP) {
+            append(PREFIXES[(exponent - MIN_PREFIX_EXP) / 3]);
+        } else {
+            exponent(exponent);
+        }
+    }
+
     private void toPlainFormat(int h, int m, int l, int e) {
         appendDigit(h);
         int y = y(m);
@@ -156,6 +264,7 @@ public class NumberFormatterImpl extends StringConverter<Number> implements Numb
                 remainingDigits--;
             }
             appendNDigits(l, remainingDigits);
+            trimTrailingZeros();
         }
     }
 
@@ -165,7 +274,7 @@ public class NumberFormatterImpl extends StringConverter<Number> implements Numb
             return;
         }
         append(DOT);
-        int spaceLeft = bytes.length - length;
+        int spaceLeft = MAX_PLAIN_CHARS - length;
         if (decimalPlaces == ALL_DIGITS) {
             for (; e < 0 && spaceLeft > 0; ++e) {
                 append(ZERO);
@@ -186,36 +295,37 @@ public class NumberFormatterImpl extends StringConverter<Number> implements Numb
                 appendDigit(h);
                 appendNDigits(m, l, remainingDigits - 1);
             }
+            trimTrailingZeros();
         }
     }
 
     private void encodeZero() {
         length = 0;
         append(ZERO);
-        if (decimalPlaces > 0) {
+        if (decimalPlaces > 0 && !isTrimTrailingZeros) {
             append(DOT);
             for (int i = 0; i < decimalPlaces; i++) {
                 append(ZERO);
             }
         }
-        if (isExponentialForm) {
+        if (isEngineeringForm ? !isMetricPrefix : isExponentialForm) {
             append(EXP);
             append(ZERO);
         }
     }
 
-    private void append(byte c) {
-        bytes[length++] = c;
+    private void append(char c) {
+        chars[length++] = c;
     }
 
-    private void append(byte[] bytes) {
-        for (byte b : bytes) {
-            append(b);
+    private void append(char[] value) {
+        for (char c : value) {
+            append(c);
         }
     }
 
     private void appendDigit(int d) {
-        bytes[length++] = (byte) (ZERO + d);
+        chars[length++] = (char) (ZERO + d);
     }
 
     private void append8Digits(int m) {
@@ -272,12 +382,18 @@ public class NumberFormatterImpl extends StringConverter<Number> implements Numb
         return n;
     }
 
+    private void trimTrailingZeros() {
+        if (isTrimTrailingZeros) {
+            removeTrailingZeroes();
+        }
+    }
+
     private void removeTrailingZeroes() {
-        while (bytes[length - 1] == ZERO) {
+        while (chars[length - 1] == ZERO) {
             length--;
         }
         // remove trailing comma
-        if (bytes[length - 1] == DOT) {
+        if (chars[length - 1] == DOT) {
             length--;
         }
     }
@@ -308,19 +424,25 @@ public class NumberFormatterImpl extends StringConverter<Number> implements Numb
             appendDigit(e);
             return;
         }
+        int d;
+        if (e >= 100) {
+            /*
+            For n = 3, m = 2 the table in section 10 of [1] shows
+                floor(e / 100) = floor(1311 e / 2^17)
+             */
+            d = (e * 1311) >>> 17;
+            appendDigit(d);
+            e -= 100 * d;
+        }
         /*
         For n = 2, m = 1 the table in section 10 of [1] shows
             floor(e / 10) = floor(103 e / 2^10)
          */
-        int d = (e * 103) >>> 10;
+        d = (e * 103) >>> 10;
         appendDigit(d);
         appendDigit(e - 10 * d);
     }
 
-    private String bytesToString() {
-        return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
-    }
-
     static final int ALL_DIGITS = -1;
     private int decimalPlaces = ALL_DIGITS;
 
@@ -332,7 +454,12 @@ public class NumberFormatterImpl extends StringConverter<Number> implements Numb
     where there are H digits d
     */
     private static final int MAX_EXP_LENGTH = 5;
-    private static final int MAX_CHARS_DOUBLE = Schubfach.H_DOUBLE + 7 + MAX_EXP_LENGTH;
+    private static final int MAX_PLAIN_CHARS = Schubfach.H_DOUBLE + 7 + MAX_EXP_LENGTH;
+    /**
+     * maximum number of characters of a formatted value, ie. the plain form or the engineering form with up to two
+     * additional integer digits and a metric prefix
+     */
+    public static final int MAX_CHARS = MAX_PLAIN_CHARS + 2;
 
     /**
      * eventually the plain format starts going beyond the byte array limits,
@@ -341,11 +468,20 @@ public class NumberFormatterImpl extends StringConverter<Number> implements Numb
      * never be met in charting code.
      */
     private static final int MAX_PLAIN_EXP = 7;
+    /**
+     * the leading zeros and all significant digits of smaller values do not fit into the plain form, i.e. these
+     * fall back to the exponential form as well (unless a fixed number of decimal places is requested)
+     */
+    private static final int MIN_PLAIN_EXP = -(MAX_PLAIN_CHARS - Schubfach.H_DOUBLE - 3);
     private static final long DIGITS_18 = 100000000000000000L;
-    byte[] bytes = new byte[MAX_CHARS_DOUBLE];
+    private final char[] chars = new char[MAX_CHARS];
+    private final Schubfach.DoubleEncoder encoder = this::encodeDouble;
     int length = 0;
 
     boolean isExponentialForm = false;
+    private boolean isEngineeringForm;
+    private boolean isMetricPrefix;
+    private boolean isTrimTrailingZeros;
 
     // Used for left-to-tight digit extraction.
     private static final int MASK_28 = (1 << 28) - 1;
@@ -355,14 +491,30 @@ public class NumberFormatterImpl extends StringConverter<Number> implements Numb
         if (exp.length() > MAX_EXP_LENGTH) {
             throw new IllegalArgumentException("Exponent separator can't be longer than " + MAX_EXP_LENGTH);
         }
-        this.EXP = Objects.equals(exp, "E") ? DEFAULT_EXP : exp.getBytes(StandardCharsets.ISO_8859_1);
-        this.DOT = (byte) symbols.getDecimalSeparator();
+        this.EXP = Objects.equals(exp, "E") ? DEFAULT_EXP : exp.toCharArray();
+        this.DOT = symbols.getDecimalSeparator();
         return this;
     }
 
-    byte DOT = '.';
-    byte[] EXP = DEFAULT_EXP;
-    private static final byte[] DEFAULT_EXP = new byte[] { 'E' };
-    private static final byte ZERO = (byte) '0';
-    private static final byte MINUS = (byte) '-';
+    char DOT = '.';
+    char[] EXP = DEFAULT_EXP;
+    private static final char[] DEFAULT_EXP = { 'E' };
+    private static final char ZERO = '0';
+    private static final char MINUS = '-';
+    private static final char[] PLUS_INF_CHARS = "Infinity".toCharArray();
+    private static final char[] MINUS_INF_CHARS = "-Infinity".toCharArray();
+    private static final char[] NAN_CHARS = "NaN".toCharArray();
+
+    // metric prefix symbols of the engineering exponents, N.B. MetricPrefix is sorted by descending power
+    private static final int MIN_PREFIX_EXP = -30;
+    private static final int MAX_PREFIX_EXP = 30;
+    private static final char[][] PREFIXES = new char[(MAX_PREFIX_EXP - MIN_PREFIX_EXP) / 3 + 1][];
+    static {
+        for (final MetricPrefix prefix : MetricPrefix.values()) {
+            final int exp = (int) Math.round(Math.log10(prefix.getPower()));
+            if (exp % 3 == 0 && exp >= MIN_PREFIX_EXP && exp <= MAX_PREFIX_EXP) {
+                PREFIXES[(exp - MIN_PREFIX_EXP) / 3] = prefix.getShortPrefix().toCharArray();
+            }
+        }
+    }
 }
@@ -8,8 +8,6 @@ package io.fair_acc.chartfx.utils;
  * *
  ****************************************************************************/
 
-import java.text.DecimalFormat;
-
 import javafx.util.StringConverter;
 
 /**
@@ -17,7 +15,7 @@ import javafx.util.StringConverter;
  */
 public class ScientificNotationStringConverter extends StringConverter<Number> implements NumberFormatter {
     private int precision = 2;
-    private final DecimalFormat format = new DecimalFormat();
+    private final NumberFormatterImpl formatter = new NumberFormatterImpl(precision, true);
 
     public ScientificNotationStringConverter() {
         buildFormat(precision);
@@ -29,11 +27,7 @@ public class ScientificNotationStringConverter extends StringConverter<Number> i
     }
 
     private void buildFormat(final int precision) {
-        final StringBuilder sb = new StringBuilder(32);
-        sb.append("0.");
-        sb.append("0".repeat(Math.max(0, precision)));
-        sb.append("E0");
-        format.applyPattern(sb.toString());
+        formatter.setDecimalPlaces(Math.max(0, precision));
     }
 
     @Override
@@ -65,11 +59,11 @@ public class ScientificNotationStringConverter extends StringConverter<Number> i
 
     @Override
     public String toString(double val) {
-        return toString(Double.valueOf(val));
+        return formatter.toString(val);
     }
 
     @Override
     public String toString(final Number object) {
-        return format.format(object);
+        return toString(object.doubleValue());
     }
 }
@@ -0,0 +1,185 @@
+package io.fair_acc.chartfx.utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntToDoubleFunction;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.math.ArrayUtils;
+
+/**
+ * Screen-space spatial index (uniform grid) for picking data points, e.g. for tool-tips or selections, without
+ * assuming sorted data.
+ * <p>
+ * Only finite points within the given clip rectangle (typically the plot area plus the picking distance) are indexed.
+ * The cell size adapts to the number of indexed points (on average about {@value #POINTS_PER_CELL} points per cell), so
+ * that nearest-neighbour and rectangle queries only visit the few cells around the query location, independent of
+ * the ordering and number of data points. Queries return the original point indices.
+ * <p>
+ * N.B. the index is meant to be (re-)built once per render pass and queried on every mouse event. The internal arrays
+ * are re-used between builds. The class is not thread-safe.
+ */
+public class SpatialPointIndex {
+    private static final int POINTS_PER_CELL = 2;
+    private double clipMinX;
+    private double clipMinY;
+    private double cellSize = 1.0;
+    private int nCellsX;
+    private int nCellsY;
+    private int size;
+    private int[] cellStart = new int[0]; // first sorted point of each cell, length nCells + 1
+    private int[] cells = new int[0]; // temporary: cell of each point in insertion order
+    private double[] xBuffer = new double[0]; // temporary: insertion order
+    private double[] yBuffer = new double[0];
+    private int[] indexBuffer = new int[0];
+    private double[] xValues = new double[0]; // sorted by cell
+    private double[] yValues = new double[0];
+    private int[] indices = new int[0];
+
+    /**
+     * @param length number of points
+     * @param xFunction screen x-coordinate of the point with the given index
+     * @param yFunction screen y-coordinate of the point with the given index
+     * @param minX lower x-limit of the clip rectangle
+     * @param minY lower y-limit of the clip rectangle
+     * @param maxX upper x-limit of the clip rectangle
+     * @param maxY upper y-limit of the clip rectangle
+     * @return itself (fluent design)
+     */
+    public SpatialPointIndex build(final int length, final IntToDoubleFunction xFunction, final IntToDoubleFunction yFunction, final double minX, final double minY, final double maxX, final double maxY) {
+        AssertUtils.gtEqThanZero("length", length);
+        AssertUtils.notNull("xFunction", xFunction);
+        AssertUtils.notNull("yFunction", yFunction);
+        if (!(minX <= maxX && minY <= maxY)) { // NOPMD NOSONAR - also catches NaN
+            throw new IllegalArgumentException("invalid clip rectangle [" + minX + ", " + minY + ", " + maxX + ", " + maxY + "]");
+        }
+        xBuffer = ArrayUtils.resizeMin(xBuffer, length);
+        yBuffer = ArrayUtils.resizeMin(yBuffer, length);
+        indexBuffer = ArrayUtils.resizeMin(indexBuffer, length);
+
+        // collect the visible points
+        size = 0;
+        for (int i = 0; i < length; i++) {
+            final double x = xFunction.applyAsDouble(i);
+            final double y = yFunction.applyAsDouble(i);
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY) { // N.B. excludes NaNs
+                xBuffer[size] = x;
+                yBuffer[size] = y;
+                indexBuffer[size] = i;
+                size++;
+            }
+        }
+
+        // adapt grid to point density
+        clipMinX = minX;
+        clipMinY = minY;
+        final double width = Math.max(maxX - minX, 1.0);
+        final double height = Math.max(maxY - minY, 1.0);
+        final int nTargetCells = Math.max(1, size / POINTS_PER_CELL);
+        cellSize = Math.max(Math.sqrt(width * height / nTargetCells), Math.max(width, height) / nTargetCells);
+        nCellsX = (int) Math.min(nTargetCells, Math.floor(width / cellSize) + 1);
+        nCellsY = (int) Math.min(nTargetCells, Math.floor(height / cellSize) + 1);
+        final int nCells = nCellsX * nCellsY;
+
+        // counting sort by cell
+        cellStart = ArrayUtils.resizeMin(cellStart, nCells + 1);
+        Arrays.fill(cellStart, 0, nCells + 1, 0);
+        cells = ArrayUtils.resizeMin(cells, size);
+        for (int i = 0; i < size; i++) {
+            final int cell = cellY(yBuffer[i]) * nCellsX + cellX(xBuffer[i]);
+            cells[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int cell = 0; cell < nCells; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        xValues = ArrayUtils.resizeMin(xValues, size);
+        yValues = ArrayUtils.resizeMin(yValues, size);
+        indices = ArrayUtils.resizeMin(indices, size);
+        for (int i = 0; i < size; i++) {
+            final int target = cellStart[cells[i]]++;
+            xValues[target] = xBuffer[i];
+            yValues[target] = yBuffer[i];
+            indices[target] = indexBuffer[i];
+        }
+        // restore start offsets (shifted by one cell during the sort)
+        System.arraycopy(cellStart, 0, cellStart, 1, nCells);
+        cellStart[0] = 0;
+        return this;
+    }
+
+    /**
+     * @param x screen x-coordinate of the query location
+     * @param y screen y-coordinate of the query location
+     * @param maxDistance maximum (euclidean) distance
+     * @return original index of the nearest point within {@code maxDistance} (lowest index on ties) or '-1' if none
+     */
+    public int findNearest(final double x, final double y, final double maxDistance) {
+        int nearest = -1;
+        double nearestDistance2 = maxDistance * maxDistance;
+        if (size == 0 || !(maxDistance >= 0)) { // NOPMD NOSONAR - also catches NaN
+            return nearest;
+        }
+        final int cellMinX = cellX(x - maxDistance);
+        final int cellMaxX = cellX(x + maxDistance);
+        final int cellMaxY = cellY(y + maxDistance);
+        for (int cellY = cellY(y - maxDistance); cellY <= cellMaxY; cellY++) {
+            for (int cell = cellY * nCellsX + cellMinX; cell <= cellY * nCellsX + cellMaxX; cell++) {
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    final double dx = xValues[i] - x;
+                    final double dy = yValues[i] - y;
+                    final double distance2 = dx * dx + dy * dy;
+                    if (distance2 < nearestDistance2 || (distance2 == nearestDistance2 && (nearest < 0 || indices[i] < nearest))) { // NOPMD
+                        nearest = indices[i];
+                        nearestDistance2 = distance2;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * @param minX lower x-limit of the query rectangle
+     * @param minY lower y-limit of the query rectangle
+     * @param maxX upper x-limit of the query rectangle
+     * @param maxY upper y-limit of the query rectangle
+     * @param action called with the original index of each point within the rectangle (N.B. in no particular order)
+     * @return number of points within the rectangle
+     */
+    public int forEachInRectangle(final double minX, final double minY, final double maxX, final double maxY, final IntConsumer action) {
+        AssertUtils.notNull("action", action);
+        if (size == 0 || !(minX <= maxX && minY <= maxY)) { // NOPMD NOSONAR - also catches NaN
+            return 0;
+        }
+        int count = 0;
+        final int cellMinX = cellX(minX);
+        final int cellMaxX = cellX(maxX);
+        final int cellMaxY = cellY(maxY);
+        for (int cellY = cellY(minY); cellY <= cellMaxY; cellY++) {
+            for (int i = cellStart[cellY * nCellsX + cellMinX]; i < cellStart[cellY * nCellsX + cellMaxX + 1]; i++) {
+                // N.B. the cells of one row are contiguous
+                if (xValues[i] >= minX && xValues[i] <= maxX && yValues[i] >= minY && yValues[i] <= maxY) {
+                    action.accept(indices[i]);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return number of indexed (ie. finite and visible) points
+     */
+    public int size() {
+        return size;
+    }
+
+    private int cellX(final double x) {
+        return (int) Math.max(0, Math.min(nCellsX - 1, Math.floor((x - clipMinX) / cellSize)));
+    }
+
+    private int cellY(final double y) {
+        return (int) Math.max(0, Math.min(nCellsY - 1, Math.floor((y - clipMinY) / cellSize)));
+    }
+}
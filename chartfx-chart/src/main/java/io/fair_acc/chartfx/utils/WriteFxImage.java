@@ -18,7 +18,7 @@ import javafx.scene.paint.Color;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import io.fair_acc.dataset.utils.ArrayCache;
+import io.fair_acc.dataset.utils.ArrayPool;
 import io.fair_acc.dataset.utils.ByteBufferOutputStream;
 
 import ar.com.hjg.pngj.FilterType;
@@ -45,8 +45,6 @@ public final class WriteFxImage {
     private static final String IMAGE_PIXEL_READER_NOT_AVAILABLE = "image PixelReader not available";
     private static final String IMAGE_MUST_NOT_BE_NULL = "image must not be null";
     private static final int HEADER_SIZE = 8 + 12 + 13 + 12 + 12; // size of all the headers and other Metadata
-    private static final String INTERNAL_ARRAY_CACHE_NAME = "WriteFxImage-internalArray";
-    private static final String INTERNAL_LINE_ARRAY_CACHE_NAME = "WriteFxImage-internalLineArray";
 
     /**
      * private constructor for static utility class
@@ -250,7 +248,7 @@ public final class WriteFxImage {
         final int w = (int) image.getWidth();
         final int h = (int) image.getHeight();
         final int nPixel = w * h;
-        final int[] uncompressedImageData = ArrayCache.getCachedIntArray(INTERNAL_ARRAY_CACHE_NAME, nPixel);
+        final int[] uncompressedImageData = ArrayPool.INT.allocateExact(nPixel);
         copyImageDataToPixelBuffer(image, uncompressedImageData);
 
         PaletteQuantizer palette = userPalette.length > 0 && userPalette[0] != null ? userPalette[0] : estimatePalette(uncompressedImageData, w, h, alpha, DEFAULT_PALETTE_COLOR_COUNT);
@@ -270,7 +268,7 @@ public final class WriteFxImage {
 
             preparePaletteHeader(pngWriter, palette);
 
-            final int[] lineArray = ArrayCache.getCachedIntArray(INTERNAL_LINE_ARRAY_CACHE_NAME, w);
+            final int[] lineArray = ArrayPool.INT.allocateExact(w);
             final ImageLineInt line = new ImageLineInt(pngWriter.imgInfo, lineArray);
             if (alpha) {
                 int row = 0;
@@ -293,8 +291,8 @@ public final class WriteFxImage {
                 }
             }
             pngWriter.end();
-            ArrayCache.release(INTERNAL_ARRAY_CACHE_NAME, uncompressedImageData);
-            ArrayCache.release(INTERNAL_LINE_ARRAY_CACHE_NAME, lineArray);
+            ArrayPool.INT.release(uncompressedImageData);
+            ArrayPool.INT.release(lineArray);
             return os.buffer().flip();
         } catch (IOException e) {
             LOGGER.atError().setCause(e).log("buffer couldn't be closed");
@@ -428,7 +426,7 @@ public final class WriteFxImage {
         // get raw image data
         final int bytesPerPixel = alpha ? 4 : 3;
         final int rawDataSize = w * h * bytesPerPixel + h; // image dimensions times bytesPerPixel + line filtering flag
-        final byte[] uncompressedImageData = ArrayCache.getCachedByteArray(INTERNAL_ARRAY_CACHE_NAME, rawDataSize);
+        final byte[] uncompressedImageData = ArrayPool.BYTE.allocateExact(rawDataSize);
         int i = 0;
         if (alpha) {
             for (int y = 0; y < h; y++) {
@@ -466,7 +464,7 @@ public final class WriteFxImage {
         crc.update(outputByteBuffer);
         outputByteBuffer.limit(outputByteBuffer.capacity());
         outputByteBuffer.putInt((int) crc.getValue());
-        ArrayCache.release(INTERNAL_ARRAY_CACHE_NAME, uncompressedImageData);
+        ArrayPool.BYTE.release(uncompressedImageData);
     }
 
     /**
@@ -0,0 +1,111 @@
+package io.fair_acc.chartfx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+
+import io.fair_acc.chartfx.axes.Axis;
+import io.fair_acc.chartfx.axes.spi.AxisRange;
+import io.fair_acc.chartfx.renderer.spi.AbstractRenderer;
+import io.fair_acc.chartfx.ui.utils.JavaFXInterceptorUtils.SelectiveJavaFxInterceptor;
+import io.fair_acc.chartfx.ui.utils.TestFx;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+
+/**
+ * Tests of the {@link XYChart} layered rendering mode
+ */
+@ExtendWith(ApplicationExtension.class)
+@ExtendWith(SelectiveJavaFxInterceptor.class)
+class XYChartTests {
+    @TestFx
+    void testLayeredRendering() {
+        final XYChart chart = new XYChart();
+        final CountingRenderer renderer1 = new CountingRenderer();
+        final CountingRenderer renderer2 = new CountingRenderer();
+        chart.getRenderers().setAll(renderer1, renderer2);
+        chart.canvas.setWidth(200);
+        chart.canvas.setHeight(100);
+        assertFalse(chart.isLayeredRendering());
+        final int gridLayers = chart.getGridRenderer().isDrawOnTop() ? 1 : 0;
+
+        chart.redrawCanvas();
+        assertEquals(2, chart.getRedrawnLayerCount());
+        assertTrue(chart.canvasLayers.getChildren().isEmpty());
+
+        chart.setLayeredRendering(true);
+        chart.redrawCanvas();
+        assertEquals(2, chart.getRedrawnLayerCount());
+        assertEquals(2 + gridLayers, chart.canvasLayers.getChildren().size());
+        assertSame(chart.canvas, chart.getRenderCanvas());
+        assertEquals(2, renderer1.count);
+
+        // nothing changed -> cached layers
+        chart.redrawCanvas();
+        assertEquals(0, chart.getRedrawnLayerCount());
+        assertEquals(2, renderer1.count);
+
+        // data set added and modified -> only the affected layer
+        final DoubleDataSet dataSet = new DoubleDataSet("test");
+        renderer2.getDatasets().add(dataSet);
+        chart.redrawCanvas();
+        assertEquals(1, chart.getRedrawnLayerCount());
+        assertEquals(2, renderer1.count);
+        dataSet.getBitState().clear(); // N.B. normally cleared after the layout pass
+        chart.redrawCanvas();
+        assertEquals(0, chart.getRedrawnLayerCount());
+        dataSet.add(1.0, 2.0);
+        chart.redrawCanvas();
+        assertEquals(1, chart.getRedrawnLayerCount());
+        dataSet.getBitState().clear();
+
+        // renderer property and canvas size changes
+        renderer1.option.set(true);
+        chart.redrawCanvas();
+        assertEquals(1, chart.getRedrawnLayerCount());
+        assertEquals(3, renderer1.count);
+        chart.canvas.setWidth(300);
+        chart.redrawCanvas();
+        assertEquals(2, chart.getRedrawnLayerCount());
+
+        // explicit invalidation -> all layers
+        chart.invalidate();
+        chart.redrawCanvas();
+        assertEquals(2, chart.getRedrawnLayerCount());
+
+        // removed renderers release their layers
+        chart.getRenderers().remove(renderer2);
+        chart.redrawCanvas();
+        assertEquals(1 + gridLayers, chart.canvasLayers.getChildren().size());
+
+        chart.setLayeredRendering(false);
+        chart.redrawCanvas();
+        assertTrue(chart.canvasLayers.getChildren().isEmpty());
+    }
+
+    private static class CountingRenderer extends AbstractRenderer<CountingRenderer> {
+        private final BooleanProperty option = registerCanvasProp(new SimpleBooleanProperty(this, "option", false));
+        private int count;
+
+        @Override
+        public void render() {
+            count++;
+        }
+
+        @Override
+        public void updateAxisRange(final Axis axis, final AxisRange range) {
+            // not needed for this test
+        }
+
+        @Override
+        protected CountingRenderer getThis() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.fair_acc.chartfx.axes.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.DoubleFunction;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.chartfx.ui.css.TextStyle;
+
+/**
+ * Tests of the {@link TickLabelCache}
+ */
+class TickLabelCacheTests {
+    private int formatCount;
+    private final DoubleFunction<String> formatter = value -> {
+        formatCount++;
+        return value == 0.0 ? "" : "#" + (int) value; // N.B. '0' -> empty label
+    };
+
+    @Test
+    void testCaching() {
+        final TextStyle style = new TextStyle();
+        final TickLabelCache cache = new TickLabelCache(style, 4);
+        assertThrows(IllegalArgumentException.class, () -> new TickLabelCache(style, 0));
+        final TickMark tickMark = new TickMark(style);
+        final Object labelFormatter = new Object();
+
+        cache.validate(labelFormatter, 0, 1.0);
+        cache.setValue(tickMark, 0.0, formatter);
+        assertEquals("", tickMark.getText());
+        assertEquals(0.0, tickMark.getWidth());
+        assertEquals(0.0, tickMark.getValue());
+        assertEquals(1, formatCount);
+
+        // known formatter state -> no re-formatting
+        cache.validate(labelFormatter, 0, 1.0);
+        cache.setValue(tickMark, 0.0, formatter);
+        assertEquals(1, formatCount);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // changed formatter state, unit scaling, formatter or style -> re-computed
+        cache.validate(labelFormatter, 1, 1.0);
+        cache.setValue(tickMark, 0.0, formatter);
+        assertEquals(2, formatCount);
+        cache.validate(labelFormatter, 1, 1000.0);
+        cache.setValue(tickMark, 0.0, formatter);
+        assertEquals(3, formatCount);
+        cache.validate(new Object(), 1, 1000.0);
+        cache.setValue(tickMark, 0.0, formatter);
+        assertEquals(4, formatCount);
+        style.setRotate(90);
+        cache.setValue(tickMark, 0.0, formatter);
+        assertEquals(5, formatCount);
+        cache.setValue(tickMark, 0.0, formatter);
+        assertEquals(5, formatCount);
+
+        // unknown formatter state -> re-formatted but measured size re-used for the same label
+        cache.validate(labelFormatter, -1, 1.0);
+        cache.setValue(tickMark, 0.0, formatter);
+        final long misses = cache.getMissCount();
+        cache.setValue(tickMark, 0.0, formatter);
+        assertEquals(7, formatCount);
+        assertEquals(misses, cache.getMissCount());
+    }
+
+    @Test
+    void testBoundedCapacity() {
+        final TextStyle style = new TextStyle();
+        final TickLabelCache cache = new TickLabelCache(style, 4);
+        final TickMark tickMark = new TickMark(style);
+        cache.validate(this, 0, 1.0);
+        for (int i = 0; i < 100; i++) {
+            cache.setValue(tickMark, i, value -> "");
+        }
+        assertEquals(100, cache.getMissCount());
+        for (int i = 0; i < 100; i++) {
+            cache.setValue(tickMark, i, value -> "");
+        }
+        assertTrue(cache.getHitCount() <= 4, "at most 'capacity' entries are retained");
+    }
+}
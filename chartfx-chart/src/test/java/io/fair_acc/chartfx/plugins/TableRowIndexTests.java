@@ -0,0 +1,65 @@
+package io.fair_acc.chartfx.plugins;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the {@link TableRowIndex}
+ */
+class TableRowIndexTests {
+    @Test
+    void basicTests() {
+        assertThrows(IllegalArgumentException.class, () -> TableRowIndex.identity(-1));
+        assertThrows(IllegalArgumentException.class, () -> TableRowIndex.create(-1, null, null, true));
+
+        final TableRowIndex identity = TableRowIndex.create(10, null, null, true);
+        assertTrue(identity.isIdentity());
+        assertEquals(10, identity.size());
+        assertEquals(7, identity.toDataRow(7));
+
+        final TableRowIndex filtered = TableRowIndex.create(10, row -> row % 3 == 0, null, true);
+        assertFalse(filtered.isIdentity());
+        assertEquals(4, filtered.size());
+        assertEquals(9, filtered.toDataRow(3));
+
+        // descending, stable for equal keys and NaN sorted last
+        final double[] keys = { 1, Double.NaN, 3, 1, 2, 3 };
+        final TableRowIndex sorted = TableRowIndex.create(keys.length, null, row -> keys[row], false);
+        assertEquals(keys.length, sorted.size());
+        final int[] expected = { 2, 5, 4, 0, 3, 1 };
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], sorted.toDataRow(i));
+        }
+        final TableRowIndex filteredSorted = TableRowIndex.create(keys.length, row -> row > 0, row -> keys[row], true);
+        assertEquals(5, filteredSorted.size());
+        assertEquals(3, filteredSorted.toDataRow(0));
+        assertEquals(1, filteredSorted.toDataRow(4));
+    }
+
+    @Test
+    void testAgainstStreamSort() {
+        final Random random = new Random(42);
+        final int nRows = 100_003;
+        final double[] keys = new double[nRows];
+        for (int i = 0; i < nRows; i++) {
+            keys[i] = random.nextInt(1000); // N.B. many equal keys to check stability
+        }
+        final TableRowIndex index = TableRowIndex.create(nRows, row -> row % 7 != 0, row -> keys[row], true);
+        final int[] expected = IntStream.range(0, nRows).filter(row -> row % 7 != 0).boxed() //
+                                       .sorted(Comparator.comparingDouble(row -> keys[row])) // stable
+                                       .mapToInt(Integer::intValue)
+                                       .toArray();
+        assertEquals(expected.length, index.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], index.toDataRow(i));
+        }
+    }
+}
@@ -2,18 +2,27 @@ package io.fair_acc.chartfx.plugins;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static io.fair_acc.chartfx.plugins.TableViewer.BUTTON_BAR_STYLE_CLASS;
 import static io.fair_acc.chartfx.plugins.TableViewer.BUTTON_SWITCH_TABLE_VIEW_STYLE_CLASS;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
 
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Labeled;
+import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.FlowPane;
@@ -23,6 +32,7 @@ import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.testfx.api.FxAssert;
 import org.testfx.api.FxRobot;
 import org.testfx.framework.junit5.ApplicationExtension;
@@ -34,6 +44,7 @@ import org.testfx.util.WaitForAsyncUtils;
 import io.fair_acc.chartfx.XYChart;
 import io.fair_acc.chartfx.plugins.TableViewer.ColumnType;
 import io.fair_acc.chartfx.plugins.TableViewer.DataSetsRow;
+import io.fair_acc.chartfx.utils.FXUtils;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.testdata.spi.CosineFunction;
 
@@ -162,6 +173,49 @@ class TableViewerTest {
         assertNotEquals(firstRowItem, new Object());
     }
 
+    @Test
+    public void testThatExportIsFilteredAndSorted(@TempDir final Path tempDir) throws Exception {
+        fxRobot.interact(() -> chart.getPlugins().add(tableViewer));
+        final File file = tempDir.resolve("export.csv").toFile();
+
+        FXUtils.runAndWait(() -> tableViewer.exportToCSV(file)).get(5, TimeUnit.SECONDS);
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(dataset.getDataCount() + 1, lines.size());
+        assertTrue(lines.get(0).startsWith("#x1, y1"), lines.get(0));
+        assertTrue(lines.get(1).startsWith("0, "), lines.get(1));
+
+        // filter and sort by descending y-values, only the row indices are permuted
+        fxRobot.interact(() -> {
+            tableViewer.setRowFilter(row -> row % 2 == 0);
+            @SuppressWarnings("unchecked")
+            final TableView<DataSetsRow> tableView = (TableView<DataSetsRow>) tableViewer.getTable();
+            final TableColumn<DataSetsRow, ?> yColumn = tableView.getColumns().get(1).getColumns().stream().filter(col -> "y".equals(col.getText())).findFirst().orElseThrow();
+            yColumn.setSortType(TableColumn.SortType.DESCENDING);
+            tableView.getSortOrder().add(yColumn);
+        });
+        // the permutation is computed in the background, wait until the sorted rows are shown
+        final int maxEvenRow = IntStream.range(0, dataset.getDataCount()).filter(row -> row % 2 == 0).boxed() //
+                                       .max(Comparator.comparingDouble(row -> dataset.get(DataSet.DIM_Y, row))) //
+                                       .orElseThrow();
+        WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> {
+            final List<?> items = tableViewer.getTable().getItems();
+            return items.size() == dataset.getDataCount() / 2 && ((DataSetsRow) items.get(0)).getRow() == maxEvenRow;
+        });
+        FXUtils.runAndWait(() -> tableViewer.exportToCSV(file)).get(5, TimeUnit.SECONDS);
+        lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(dataset.getDataCount() / 2 + 1, lines.size());
+        double lastY = Double.POSITIVE_INFINITY;
+        for (final String line : lines.subList(1, lines.size())) {
+            final String[] fields = line.split(", ");
+            final int row = Integer.parseInt(fields[0]);
+            assertEquals(0, row % 2, line);
+            final double y = Double.parseDouble(fields[2]);
+            assertEquals(dataset.get(DataSet.DIM_Y, row), y, line);
+            assertTrue(y <= lastY, line);
+            lastY = y;
+        }
+    }
+
     private Button locateTableViewButton(final FlowPane toolbar) {
         return fxRobot.from(toolbar) //
                 .lookup("." + BUTTON_BAR_STYLE_CLASS + " > ." + BUTTON_SWITCH_TABLE_VIEW_STYLE_CLASS) //
@@ -0,0 +1,54 @@
+package io.fair_acc.chartfx.renderer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the default target offset handling of the {@link RendererDataReducer}
+ */
+class RendererDataReducerTests {
+    @Test
+    void testTargetIndexFallback() {
+        // keeps every second point and -- like most reducers -- writes the result to the front of the arrays
+        final RendererDataReducer reducer = (xValues, yValues, xPointErrorsPos, xPointErrorsNeg, yPointErrorsPos, yPointErrorsNeg, styles, pointSelected, indexMin, indexMax) -> {
+            int count = 0;
+            for (int i = indexMin; i < indexMax; i += 2) {
+                xValues[count] = xValues[i];
+                yValues[count] = yValues[i];
+                yPointErrorsPos[count] = yPointErrorsPos[i];
+                yPointErrorsNeg[count] = yPointErrorsNeg[i];
+                styles[count] = styles[i];
+                pointSelected[count] = pointSelected[i];
+                count++;
+            }
+            return count;
+        };
+
+        final double[] xValues = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        final double[] yValues = { 10, 11, 12, 13, 14, 15, 16, 17, 18, 19 };
+        final double[] yErrorsPos = { 20, 21, 22, 23, 24, 25, 26, 27, 28, 29 };
+        final double[] yErrorsNeg = { 30, 31, 32, 33, 34, 35, 36, 37, 38, 39 };
+        final String[] styles = { "s0", "s1", "s2", "s3", "s4", "s5", "s6", "s7", "s8", "s9" };
+        final boolean[] selected = new boolean[10];
+        selected[7] = true;
+
+        final int count = reducer.reducePoints(xValues, yValues, null, null, yErrorsPos, yErrorsNeg, styles, selected, 5, 10, 3);
+        assertEquals(3, count);
+        assertArrayEquals(new double[] { 0, 1, 2, 5, 7, 9, 6, 7, 8, 9 }, xValues);
+        assertArrayEquals(new double[] { 10, 11, 12, 15, 17, 19, 16, 17, 18, 19 }, yValues);
+        assertArrayEquals(new double[] { 25, 27, 29 }, Arrays.copyOfRange(yErrorsPos, 3, 6));
+        assertArrayEquals(new double[] { 35, 37, 39 }, Arrays.copyOfRange(yErrorsNeg, 3, 6));
+        assertArrayEquals(new String[] { "s5", "s7", "s9" }, Arrays.copyOfRange(styles, 3, 6));
+        assertArrayEquals(new boolean[] { false, true, false }, Arrays.copyOfRange(selected, 3, 6));
+
+        // zero offset delegates to the plain variant
+        final double[] xCopy = { 0, 1, 2, 3 };
+        final double[] yCopy = { 0, 1, 2, 3 };
+        assertEquals(2, reducer.reducePoints(xCopy, yCopy, null, null, new double[4], new double[4], new String[4], new boolean[4], 0, 4, 0));
+        assertArrayEquals(new double[] { 0, 2, 2, 3 }, xCopy);
+    }
+}
@@ -191,4 +191,28 @@ public class DefaultDataReducerTests {
         assertArrayEquals(new double[] { 0, 4, 8, 12, 18, 24, 28, 32 }, Arrays.copyOfRange(xValuesResult, 0, result2));
         assertArrayEquals(new double[] { 1, 2, Double.NaN, 4, 5, Double.NaN, Double.NaN, 9 }, Arrays.copyOfRange(yValuesResult, 0, result2));
     }
+
+    @Test
+    void testTargetIndex() {
+        final DefaultDataReducer dataReducer = new DefaultDataReducer();
+        assertTrue(dataReducer.isParallelisable());
+        final double[] xValues = { 0, 1, 2, 3, 4, 10, 11, 12, 20, 30 };
+        final double[] yValues = { 1, 1, 1, 1, 1, 2, 2, 2, 3, 4 };
+
+        // reference: reduce indices [2, 10[ to the array start
+        final double[] xReference = xValues.clone();
+        final double[] yReference = yValues.clone();
+        final int nReference = dataReducer.reducePoints(xReference, yReference, null, null, null, null, new String[10], new boolean[10], 2, 10);
+
+        // same range but stored starting at index 2 (ie. in-place within the chunk)
+        final double[] xResult = xValues.clone();
+        final double[] yResult = yValues.clone();
+        final int nResult = dataReducer.reducePoints(xResult, yResult, null, null, null, null, new String[10], new boolean[10], 2, 10, 2);
+        assertEquals(nReference, nResult);
+        assertArrayEquals(Arrays.copyOfRange(xReference, 0, nReference), Arrays.copyOfRange(xResult, 2, 2 + nResult));
+        assertArrayEquals(Arrays.copyOfRange(yReference, 0, nReference), Arrays.copyOfRange(yResult, 2, 2 + nResult));
+        assertArrayEquals(Arrays.copyOfRange(xValues, 0, 2), Arrays.copyOfRange(xResult, 0, 2), "data before target index untouched");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> dataReducer.reducePoints(xResult, yResult, null, null, null, null, new String[10], new boolean[10], 2, 10, 3));
+    }
 }
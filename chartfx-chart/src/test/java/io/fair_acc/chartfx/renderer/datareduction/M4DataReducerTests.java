@@ -0,0 +1,53 @@
+package io.fair_acc.chartfx.renderer.datareduction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the screen-space M4 (first/min/max/last per pixel column) data reduction
+ */
+class M4DataReducerTests {
+    @Test
+    void testNoReductionForSparsePoints() {
+        final M4DataReducer dataReducer = new M4DataReducer();
+        final double[] xValues = { 0, 4, 8, 12, 16 };
+        final double[] yValues = { 1, 2, 3, 4, 5 };
+        final double[] xValuesResult = xValues.clone();
+        final double[] yValuesResult = yValues.clone();
+        final int result = dataReducer.reducePoints(xValuesResult, yValuesResult, null, null, null, null, new String[5], new boolean[5], 0, 5);
+        assertEquals(xValues.length, result);
+        assertArrayEquals(xValues, xValuesResult);
+        assertArrayEquals(yValues, yValuesResult);
+    }
+
+    @Test
+    void testFirstMinMaxLastPerColumn() {
+        final M4DataReducer dataReducer = new M4DataReducer();
+        // pixel column 0: 6 points, column 1: 1 point, column 2: 3 points
+        final double[] xValues = { 0.0, 0.1, 0.2, 0.3, 0.4, 0.5, 1.5, 2.0, 2.5, 2.9 };
+        final double[] yValues = { 5, 9, 1, 7, 3, 4, 8, 2, 2, 6 };
+        final double[] yErrorNeg = yValues.clone();
+        final double[] yErrorPos = yValues.clone();
+        final String[] styles = { "a", "b", "c", "d", "e", "f", "g", "h", "i", "j" };
+        final boolean[] selected = new boolean[xValues.length];
+        final int result = new M4DataReducer().reducePoints(xValues, yValues, null, null, yErrorPos, yErrorNeg, styles, selected, 0, xValues.length);
+        assertEquals(7, result);
+        assertArrayEquals(new double[] { 0.0, 0.1, 0.2, 0.5, 1.5, 2.0, 2.9 }, Arrays.copyOfRange(xValues, 0, 7));
+        assertArrayEquals(new double[] { 5, 9, 1, 4, 8, 2, 6 }, Arrays.copyOfRange(yValues, 0, 7));
+        assertArrayEquals(new String[] { "a", "b", "c", "f", "g", "h", "j" }, Arrays.copyOfRange(styles, 0, 7));
+        assertArrayEquals(Arrays.copyOfRange(yValues, 0, result), Arrays.copyOfRange(yErrorNeg, 0, result));
+        assertNotNull(dataReducer.getReducedIndices());
+    }
+
+    @Test
+    void testNaNsArePreserved() {
+        final double[] xValues = { 0.0, 0.1, 0.2, 0.3, 0.4 };
+        final double[] yValues = { 1, 3, Double.NaN, 2, 4 };
+        final int result = new M4DataReducer().reducePoints(xValues, yValues, null, null, null, null, new String[5], new boolean[5], 0, 5);
+        assertEquals(5, result);
+        assertArrayEquals(new double[] { 1, 3, Double.NaN, 2, 4 }, yValues);
+    }
+}
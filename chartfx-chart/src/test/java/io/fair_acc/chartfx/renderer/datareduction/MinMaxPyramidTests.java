@@ -0,0 +1,116 @@
+package io.fair_acc.chartfx.renderer.datareduction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+
+/**
+ * Tests the min/max pyramid queries against a brute-force reference
+ */
+class MinMaxPyramidTests {
+    @Test
+    void testQueriesAgainstBruteForce() {
+        final int nSamples = 1000;
+        final Random rnd = new Random(42);
+        final DoubleDataSet dataSet = new DoubleDataSet("test", nSamples);
+        for (int i = 0; i < nSamples; i++) {
+            dataSet.add(i, i % 97 == 0 ? Double.NaN : rnd.nextInt(50)); // N.B. many duplicates to test first-occurrence semantic
+        }
+        final MinMaxPyramid pyramid = MinMaxPyramid.get(dataSet);
+        assertEquals(nSamples, pyramid.getDataCount());
+        assertTrue(pyramid.getLevelCount() > 1);
+
+        for (int iter = 0; iter < 2000; iter++) {
+            final int from = rnd.nextInt(nSamples);
+            final int to = from + 1 + rnd.nextInt(nSamples - from);
+            assertEquals(bruteForce(dataSet, from, to, true), pyramid.getMinIndex(from, to), "min [" + from + ", " + to + "[");
+            assertEquals(bruteForce(dataSet, from, to, false), pyramid.getMaxIndex(from, to), "max [" + from + ", " + to + "[");
+        }
+        assertEquals(-1, pyramid.getMinIndex(97, 98));
+        assertEquals(-1, pyramid.getMaxIndex(10, 10));
+        assertThrows(IndexOutOfBoundsException.class, () -> pyramid.getMinIndex(0, nSamples + 1));
+    }
+
+    @Test
+    void testInvalidation() {
+        final DoubleDataSet dataSet = new DoubleDataSet("test", new double[] { 0, 1, 2, 3 }, new double[] { 1, 5, 3, 2 }, 4, true);
+        final MinMaxPyramid pyramid = MinMaxPyramid.get(dataSet);
+        assertSame(pyramid, MinMaxPyramid.get(dataSet));
+        assertFalse(pyramid.isDirty());
+        assertEquals(1, pyramid.getMaxIndex(0, 4));
+
+        dataSet.set(3, 3, 10); // fires DataSetData
+        assertTrue(pyramid.isDirty());
+        assertEquals(3, MinMaxPyramid.get(dataSet).getMaxIndex(0, 4));
+
+        dataSet.add(4, -1);
+        assertEquals(4, MinMaxPyramid.get(dataSet).getMinIndex(0, 5));
+        assertSame(pyramid, MinMaxPyramid.get(dataSet), "cached by identity, ie. independent of the content");
+
+        // data sets with equal content have their own, individually invalidated pyramids
+        final DoubleDataSet copy = new DoubleDataSet(dataSet);
+        final MinMaxPyramid copyPyramid = MinMaxPyramid.get(copy);
+        assertNotSame(pyramid, copyPyramid);
+        copy.set(0, 0, 100);
+        assertEquals(0, MinMaxPyramid.get(copy).getMaxIndex(0, 5));
+        assertEquals(3, MinMaxPyramid.get(dataSet).getMaxIndex(0, 5));
+
+        MinMaxPyramid.evict(dataSet);
+        assertNotSame(pyramid, MinMaxPyramid.get(dataSet));
+        assertThrows(IllegalArgumentException.class, () -> new MinMaxPyramid(-1));
+    }
+
+    @Test
+    void testIncrementalUpdate() {
+        final Random rnd = new Random(42);
+        final DoubleDataSet dataSet = new DoubleDataSet("test", 16);
+        final MinMaxPyramid pyramid = new MinMaxPyramid(DataSet.DIM_Y);
+        for (int nSamples = 1; nSamples <= 600; nSamples++) {
+            dataSet.add(nSamples, rnd.nextInt(100));
+            // appended samples are detected without invalidation
+            assertEquals(nSamples == 1, pyramid.isDirty());
+            pyramid.update(dataSet);
+            if (nSamples % 7 == 0) {
+                // partial modification
+                final int index = rnd.nextInt(nSamples);
+                dataSet.set(index, index, rnd.nextInt(100));
+                pyramid.invalidate(index);
+                assertTrue(pyramid.isDirty());
+                pyramid.update(dataSet);
+            }
+            assertEquals(nSamples, pyramid.getDataCount());
+            for (int iter = 0; iter < 20; iter++) {
+                final int from = rnd.nextInt(nSamples);
+                final int to = from + 1 + rnd.nextInt(nSamples - from);
+                assertEquals(bruteForce(dataSet, from, to, true), pyramid.getMinIndex(from, to), "min [" + from + ", " + to + "[ of " + nSamples);
+                assertEquals(bruteForce(dataSet, from, to, false), pyramid.getMaxIndex(from, to), "max [" + from + ", " + to + "[ of " + nSamples);
+            }
+        }
+
+        // removed samples
+        dataSet.remove(100, 600);
+        pyramid.update(dataSet);
+        assertEquals(100, pyramid.getDataCount());
+        assertEquals(bruteForce(dataSet, 0, 100, false), pyramid.getMaxIndex(0, 100));
+        assertThrows(IllegalArgumentException.class, () -> pyramid.invalidate(-1));
+    }
+
+    private static int bruteForce(final DataSet dataSet, final int from, final int to, final boolean min) {
+        int result = -1;
+        for (int i = from; i < to; i++) {
+            final double value = dataSet.get(DataSet.DIM_Y, i);
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            if (result < 0 || (min ? value < dataSet.get(DataSet.DIM_Y, result) : value > dataSet.get(DataSet.DIM_Y, result))) {
+                result = i;
+            }
+        }
+        return result;
+    }
+}
@@ -64,6 +64,10 @@ public class AbstractContourDataSetRendererParameterTests {
         assertTrue(renderer.isSmooth());
         renderer.setSmooth(false);
         assertFalse(renderer.isSmooth());
+
+        assertTrue(renderer.isTiledHeatMap());
+        renderer.setTiledHeatMap(false);
+        assertFalse(renderer.isTiledHeatMap());
     }
 
     /**
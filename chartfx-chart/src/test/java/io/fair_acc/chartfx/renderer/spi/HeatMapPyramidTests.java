@@ -0,0 +1,220 @@
+package io.fair_acc.chartfx.renderer.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+import static io.fair_acc.dataset.DataSet.DIM_Z;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.chartfx.renderer.datareduction.ReductionType;
+import io.fair_acc.dataset.GridDataSet;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.spi.DataSetBuilder;
+import io.fair_acc.dataset.spi.DoubleGridDataSet;
+
+/**
+ * Tests {@link HeatMapPyramid}
+ */
+class HeatMapPyramidTests {
+    private static final int NX = 600;
+    private static final int NY = 300;
+
+    @Test
+    void basicTests() {
+        assertThrows(IllegalArgumentException.class, () -> new HeatMapPyramid(null));
+        final HeatMapPyramid pyramid = new HeatMapPyramid(getTestDataSet());
+        pyramid.update();
+        // 600x300 -> 300x150 -> 150x75 (fits into a single tile)
+        assertEquals(3, pyramid.getLevelCount());
+        assertEquals(NX, pyramid.getSize(0, DIM_X));
+        assertEquals(150, pyramid.getSize(2, DIM_X));
+        assertEquals(75, pyramid.getSize(2, DIM_Y));
+
+        assertEquals(0, pyramid.selectLevel(Double.NaN));
+        assertEquals(0, pyramid.selectLevel(0.5));
+        assertEquals(0, pyramid.selectLevel(1.9));
+        assertEquals(1, pyramid.selectLevel(2.0));
+        assertEquals(1, pyramid.selectLevel(3.9));
+        assertEquals(2, pyramid.selectLevel(4.0));
+        assertEquals(2, pyramid.selectLevel(1e6)); // limited to the top level
+
+        assertThrows(IllegalArgumentException.class, () -> pyramid.invalidateRows(-1, 2));
+        assertThrows(IllegalArgumentException.class, () -> pyramid.invalidateRows(2, 2));
+        assertThrows(IllegalArgumentException.class, () -> pyramid.setMaxTiles(0));
+    }
+
+    @Test
+    void testAggregation() {
+        final GridDataSet dataSet = getTestDataSet();
+        final HeatMapPyramid pyramid = new HeatMapPyramid(dataSet);
+        pyramid.update();
+
+        final HeatMapPyramid.Tile base = pyramid.getTile(0, 2, 1);
+        assertEquals(NX - 2 * HeatMapPyramid.TILE_SIZE, base.width);
+        assertEquals(NY - HeatMapPyramid.TILE_SIZE, base.height);
+        assertEquals(dataSet.get(DIM_Z, 2 * HeatMapPyramid.TILE_SIZE + 3, HeatMapPyramid.TILE_SIZE + 5), base.mean[5 * base.width + 3]);
+
+        for (int level = 1; level < pyramid.getLevelCount(); level++) {
+            final int nCells = 1 << level;
+            final HeatMapPyramid.Tile tile = pyramid.getTile(level, 0, 0);
+            assertEquals(Math.min(HeatMapPyramid.TILE_SIZE, pyramid.getSize(level, DIM_X)), tile.width);
+            for (int y = 0; y < tile.height; y++) {
+                for (int x = 0; x < tile.width; x++) {
+                    // brute-force reference over the (possibly truncated) block of level 0 cells
+                    double min = Double.POSITIVE_INFINITY;
+                    double max = Double.NEGATIVE_INFINITY;
+                    double sum = 0.0;
+                    int count = 0;
+                    for (int iy = y * nCells; iy < Math.min(NY, (y + 1) * nCells); iy++) {
+                        for (int ix = x * nCells; ix < Math.min(NX, (x + 1) * nCells); ix++) {
+                            final double value = dataSet.get(DIM_Z, ix, iy);
+                            min = Math.min(min, value);
+                            max = Math.max(max, value);
+                            sum += value;
+                            count++;
+                        }
+                    }
+                    final int index = y * tile.width + x;
+                    assertEquals(min, tile.getValues(ReductionType.MIN)[index], "min(" + x + ", " + y + ")");
+                    assertEquals(max, tile.getValues(ReductionType.MAX)[index], "max(" + x + ", " + y + ")");
+                    assertEquals(sum / count, tile.getValues(ReductionType.AVERAGE)[index], 1e-9, "mean(" + x + ", " + y + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCache() {
+        final HeatMapPyramid pyramid = new HeatMapPyramid(getTestDataSet());
+        pyramid.update();
+        final HeatMapPyramid.Tile[] tiles = pyramid.getTiles(0, 0, 2, 0, 1, true);
+        assertEquals(6, tiles.length);
+        assertEquals(6, pyramid.getBuildCount());
+        assertArrayEquals(tiles, pyramid.getTiles(0, 0, 2, 0, 1, false));
+        assertEquals(6, pyramid.getBuildCount(), "cached tiles are not rebuilt");
+        assertSame(tiles[4], pyramid.getTile(0, 1, 1));
+
+        // least-recently used tiles are evicted first, except for the ones of the last getTiles request
+        pyramid.getTiles(0, 0, 0, 0, 0, false);
+        pyramid.setMaxTiles(2);
+        assertEquals(2, pyramid.getTileCount());
+        assertSame(tiles[4], pyramid.getTile(0, 1, 1));
+        pyramid.getTile(0, 2, 0);
+        assertEquals(7, pyramid.getBuildCount());
+        pyramid.getTile(0, 1, 1);
+        assertEquals(8, pyramid.getBuildCount());
+        assertSame(tiles[0], pyramid.getTile(0, 0, 0));
+        assertEquals(8, pyramid.getBuildCount());
+
+        pyramid.invalidate();
+        assertEquals(0, pyramid.getTileCount());
+        pyramid.dispose();
+    }
+
+    @Test
+    void testIncrementalUpdate() {
+        final GridDataSet dataSet = getTestDataSet();
+        final HeatMapPyramid pyramid = new HeatMapPyramid(dataSet);
+        pyramid.update();
+        pyramid.getTiles(0, 0, 2, 0, 1, false);
+        pyramid.getTile(1, 0, 0);
+        pyramid.getTile(1, 1, 0);
+        pyramid.getTile(2, 0, 0);
+        assertEquals(9, pyramid.getTileCount());
+
+        // unmodified data set -> nothing is invalidated
+        pyramid.update();
+        assertEquals(9, pyramid.getTileCount());
+
+        // rows 260..269 (upper level 0 tiles) and 0..9 (lower level 0 tiles) are re-computed in place
+        final long builds = pyramid.getBuildCount();
+        pyramid.invalidateRows(260, 270);
+        pyramid.invalidateRows(0, 10);
+        dataSet.fireInvalidated(ChartBits.DataSetData);
+        pyramid.update();
+        assertEquals(9, pyramid.getTileCount());
+        pyramid.getTiles(0, 0, 2, 0, 1, false);
+        pyramid.getTile(2, 0, 0);
+        assertEquals(builds, pyramid.getBuildCount(), "tiles are refreshed rather than rebuilt");
+
+        // any other data change invalidates everything
+        pyramid.getTiles(0, 0, 2, 0, 1, false);
+        dataSet.fireInvalidated(ChartBits.DataSetData);
+        pyramid.update();
+        assertEquals(0, pyramid.getTileCount());
+
+        // detached pyramids ignore further notifications
+        pyramid.getTile(0, 0, 0);
+        pyramid.dispose();
+        pyramid.getTile(0, 0, 0);
+        dataSet.fireInvalidated(ChartBits.DataSetData);
+        pyramid.update();
+        assertEquals(1, pyramid.getTileCount());
+    }
+
+    @Test
+    void testRowRefreshReads() {
+        final AtomicLong reads = new AtomicLong();
+        final DoubleGridDataSet dataSet = new DoubleGridDataSet(getTestDataSet()) {
+            @Override
+            public double get(final int dimIndex, final int... indices) {
+                reads.incrementAndGet();
+                return super.get(dimIndex, indices);
+            }
+        };
+        final HeatMapPyramid pyramid = new HeatMapPyramid(dataSet);
+        pyramid.update();
+        final HeatMapPyramid.Tile visible = pyramid.getTiles(2, 0, 0, 0, 0, false)[0];
+        assertEquals((long) NX * NY, reads.get());
+
+        // visible tiles are not evicted, even if the cache is too small for the intermediate lower-level tiles
+        pyramid.setMaxTiles(1);
+        pyramid.getTile(0, 0, 0);
+        assertEquals(1, pyramid.getTileCount());
+        assertSame(visible, pyramid.getTile(2, 0, 0));
+
+        // refresh of rows 260..269 only reads the affected rows (rounded to the 4x4 cells of level 2)
+        pyramid.invalidateRows(260, 270);
+        for (int iy = 260; iy < 270; iy++) {
+            for (int ix = 0; ix < NX; ix++) {
+                dataSet.set(DIM_Z, new int[] { iy, ix }, -ix); // N.B. row-major storage indices
+            }
+        }
+        reads.set(0);
+        final long builds = pyramid.getBuildCount();
+        pyramid.update();
+        assertSame(visible, pyramid.getTiles(2, 0, 0, 0, 0, false)[0]);
+        assertEquals(builds, pyramid.getBuildCount());
+        assertEquals(12L * NX, reads.get(), "re-reads rows 260..271 instead of the full level 2 tile");
+
+        final HeatMapPyramid reference = new HeatMapPyramid(dataSet);
+        reference.update();
+        final HeatMapPyramid.Tile expected = reference.getTile(2, 0, 0);
+        assertArrayEquals(expected.min, visible.min);
+        assertArrayEquals(expected.max, visible.max);
+        assertArrayEquals(expected.mean, visible.mean, 1e-9);
+    }
+
+    private static GridDataSet getTestDataSet() {
+        final double[] x = new double[NX];
+        final double[] y = new double[NY];
+        final double[] z = new double[NX * NY];
+        for (int ix = 0; ix < NX; ix++) {
+            x[ix] = ix;
+        }
+        for (int iy = 0; iy < NY; iy++) {
+            y[iy] = iy;
+            for (int ix = 0; ix < NX; ix++) {
+                z[iy * NX + ix] = Math.sin(0.01 * ix) * Math.cos(0.03 * iy) + 1e-3 * ix * iy;
+            }
+        }
+        return new DataSetBuilder().setValues(DIM_X, x).setValues(DIM_Y, y).setValues(DIM_Z, z).build(GridDataSet.class);
+    }
+}
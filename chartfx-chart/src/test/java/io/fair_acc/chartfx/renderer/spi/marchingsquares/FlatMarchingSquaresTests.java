@@ -0,0 +1,137 @@
+package io.fair_acc.chartfx.renderer.spi.marchingsquares;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link FlatMarchingSquares} and {@link IsoLines}
+ */
+class FlatMarchingSquaresTests {
+    private static final int NX = 300;
+    private static final int NY = 200;
+    private static final double SIGMA = 30.0;
+
+    @Test
+    void basicTests() {
+        final FlatMarchingSquares marchingSquares = new FlatMarchingSquares();
+        final double[] levels = { 0.5 };
+        assertThrows(IllegalArgumentException.class, () -> marchingSquares.buildContours(null, 2, 2, levels, false));
+        assertThrows(IllegalArgumentException.class, () -> marchingSquares.buildContours(new double[4], 2, 2, null, false));
+        assertThrows(IllegalArgumentException.class, () -> marchingSquares.buildContours(new double[4], 0, 2, levels, false));
+        assertThrows(IllegalArgumentException.class, () -> marchingSquares.buildContours(new double[3], 2, 2, levels, false));
+
+        // constant field -> no lines
+        final IsoLines[] lines = marchingSquares.buildContours(new double[4], 2, 2, levels, false);
+        assertEquals(1, lines.length);
+        assertEquals(0, lines[0].size());
+        assertEquals(0, lines[0].getLoopCount());
+
+        // single peak -> one diamond around the centre
+        final double[] peak = new double[9];
+        peak[4] = 1.0;
+        final IsoLines diamond = marchingSquares.buildContours(peak, 3, 3, levels, false)[0];
+        assertEquals(0.5, diamond.getLevel());
+        assertEquals(1, diamond.getLoopCount());
+        assertEquals(4, diamond.getLoopSize(0));
+        for (int i = 0; i < diamond.size(); i++) {
+            assertEquals(0.5, Math.abs(diamond.getX(i) - 1) + Math.abs(diamond.getY(i) - 1), 1e-6);
+        }
+    }
+
+    @Test
+    void testIsoLines() {
+        final double[] data = getTestData(false);
+        final double[] levels = { 0.25, 0.5, 0.75 };
+        final IsoLines[] lines = new FlatMarchingSquares().buildContours(data, NX, NY, levels, true);
+        assertEquals(levels.length, lines.length);
+        for (final IsoLines line : lines) {
+            assertEquals(1, line.getLoopCount());
+            assertEquals(0, line.getLoopOffset(0));
+            assertEquals(line.size(), line.getLoopSize(0));
+            // all points are located on the circle with f(r) = level
+            final double radius = SIGMA * Math.sqrt(-Math.log(line.getLevel()));
+            for (int i = 0; i < line.size(); i++) {
+                assertEquals(radius, Math.hypot(line.getX(i) - NX / 2.0, line.getY(i) - NY / 2.0), 0.1);
+            }
+        }
+
+        // grid values coinciding with the level and a second peak
+        final double[] exact = { 0, 0, 0, 0, 0, 1, 0.5, 1, 0, 0, 0, 0 };
+        final IsoLines[] twoPeaks = new FlatMarchingSquares().buildContours(exact, 4, 3, new double[] { 0.5 }, false);
+        assertEquals(2, twoPeaks[0].getLoopCount());
+    }
+
+    @Test
+    void testParallelAndBandCache() {
+        final double[] data = getTestData(true);
+        final double[] levels = { 0.1, 0.3, 0.5, 0.7, 0.9 };
+        final FlatMarchingSquares marchingSquares = new FlatMarchingSquares();
+        final IsoLines[] lines = marchingSquares.buildContours(data, NX, NY, levels, true);
+        assertEquals(4, marchingSquares.getBandCount());
+        assertEquals(4, marchingSquares.getRecomputedBandCount());
+        assertEquals(2, lines[2].getLoopCount());
+        assertSameLines(lines, new FlatMarchingSquares().buildContours(data, NX, NY, levels, false));
+
+        // unmodified grid -> all lines are re-used
+        final IsoLines[] cached = marchingSquares.buildContours(data, NX, NY, levels, false);
+        assertEquals(0, marchingSquares.getRecomputedBandCount());
+        for (int i = 0; i < levels.length; i++) {
+            assertSame(lines[i], cached[i]);
+        }
+
+        // local modification -> only the affected bands are recomputed
+        final int rowsPerBand = (1 << 14) / (NX + 1);
+        data[10 * NX + 42] += 0.2;
+        assertEquals(lines.length, marchingSquares.buildContours(data, NX, NY, levels, true).length);
+        assertEquals(1, marchingSquares.getRecomputedBandCount());
+        // N.B. the last row of a band is also read by the first cells of the next band
+        data[(rowsPerBand - 1) * NX + 42] += 0.2;
+        final IsoLines[] modified = marchingSquares.buildContours(data, NX, NY, levels, true);
+        assertEquals(2, marchingSquares.getRecomputedBandCount());
+        assertSameLines(modified, new FlatMarchingSquares().buildContours(data, NX, NY, levels, true));
+
+        // different levels -> full recomputation
+        marchingSquares.buildContours(data, NX, NY, new double[] { 0.5 }, true);
+        assertEquals(4, marchingSquares.getRecomputedBandCount());
+        marchingSquares.invalidate();
+        marchingSquares.buildContours(data, NX, NY, new double[] { 0.5 }, true);
+        assertEquals(4, marchingSquares.getRecomputedBandCount());
+    }
+
+    private static void assertSameLines(final IsoLines[] expected, final IsoLines[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getLoopCount(), actual[i].getLoopCount());
+            assertEquals(expected[i].size(), actual[i].size());
+            for (int loop = 0; loop < expected[i].getLoopCount(); loop++) {
+                assertEquals(expected[i].getLoopOffset(loop), actual[i].getLoopOffset(loop));
+            }
+            for (int point = 0; point < expected[i].size(); point++) {
+                assertEquals(expected[i].getX(point), actual[i].getX(point));
+                assertEquals(expected[i].getY(point), actual[i].getY(point));
+            }
+        }
+    }
+
+    private static double[] getTestData(final boolean twoPeaks) {
+        final double[] data = new double[NX * NY];
+        for (int y = 0; y < NY; y++) {
+            for (int x = 0; x < NX; x++) {
+                final double x0 = twoPeaks ? NX / 4.0 : NX / 2.0;
+                double value = Math.exp(-(sq(x - x0) + sq(y - NY / 2.0)) / sq(SIGMA));
+                if (twoPeaks) {
+                    value += Math.exp(-(sq(x - 3 * NX / 4.0) + sq(y - NY / 2.0)) / sq(SIGMA));
+                }
+                data[y * NX + x] = value;
+            }
+        }
+        return data;
+    }
+
+    private static double sq(final double value) {
+        return value * value;
+    }
+}
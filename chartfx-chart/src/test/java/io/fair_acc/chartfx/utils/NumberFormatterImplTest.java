@@ -110,6 +110,94 @@ class NumberFormatterImplTest {
         assertEquals("0.00", formatter.apply(0.001000000000000004));
     }
 
+    @Test
+    void engineeringFormat() {
+        Locale.setDefault(Locale.US);
+        var formatter = new NumberFormatterImpl().setEngineeringForm(true);
+        assertEquals("0E0", formatter.toString(0));
+        assertEquals("2.1E0", formatter.toString(2.1));
+        assertEquals("12.5E3", formatter.toString(12.5E3));
+        assertEquals("123.456789E0", formatter.toString(123.456789));
+        assertEquals("-1E-3", formatter.toString(-1E-3));
+        assertEquals("100E-12", formatter.toString(1E-10));
+
+        formatter.setDecimalPlaces(2);
+        assertEquals("12.50E3", formatter.toString(12.5E3));
+        assertEquals("1.00E3", formatter.toString(999.999), "rounding into the next exponent");
+        assertEquals("999.99E0", formatter.toString(999.99));
+
+        formatter.setMetricPrefix(true).setTrimTrailingZeros(true);
+        assertEquals("0", formatter.toString(0));
+        assertEquals("12.5k", formatter.toString(12.5E3));
+        assertEquals("1.5", formatter.toString(1.5));
+        assertEquals("-250n", formatter.toString(-250E-9));
+        assertEquals("2\u03BC", formatter.toString(2E-6));
+        assertEquals("10E33", formatter.toString(1E34), "beyond the metric prefixes");
+    }
+
+    @Test
+    void trimTrailingZeros() {
+        Locale.setDefault(Locale.US);
+        var formatter = new NumberFormatterImpl(3, false).setTrimTrailingZeros(true);
+        assertEquals("0", formatter.toString(0));
+        assertEquals("2", formatter.toString(2.0));
+        assertEquals("2.5", formatter.toString(2.5));
+        assertEquals("0.3", formatter.toString(0.1 + 0.2));
+        assertEquals("0.001", formatter.toString(0.001));
+        assertEquals("0", formatter.toString(0.0001));
+        assertEquals("1.5E14", formatter.toString(1.5E14));
+    }
+
+    @Test
+    void appendToBuffers() {
+        Locale.setDefault(Locale.US);
+        var formatter = new NumberFormatterImpl();
+        final StringBuilder sb = new StringBuilder();
+        formatter.appendTo(sb, 1.5).append(',');
+        formatter.appendTo(sb, Double.NaN).append(',');
+        formatter.appendTo(sb, Double.NEGATIVE_INFINITY);
+        assertEquals("1.5,NaN,-Infinity", sb.toString());
+
+        final char[] buffer = new char[NumberFormatterImpl.MAX_CHARS + 1];
+        buffer[0] = '#';
+        final int length = formatter.getChars(-123.456789E-12, buffer, 1);
+        assertEquals("#-0.000000000123456789", new String(buffer, 0, length + 1));
+    }
+
+    @Test
+    void extremeValues() {
+        Locale.setDefault(Locale.US);
+        var formatter = createFormatter(false, ALL_DIGITS);
+        assertEquals("6.62607015E-34", formatter.apply(6.62607015e-34));
+        assertEquals("1E-100", formatter.apply(1e-100));
+        assertEquals("1E100", formatter.apply(1e100));
+        assertEquals("1.7976931348623157E308", formatter.apply(Double.MAX_VALUE));
+        assertEquals("4.9E-324", formatter.apply(Double.MIN_VALUE));
+        assertEquals("Infinity", formatter.apply(Double.POSITIVE_INFINITY));
+        assertEquals("-Infinity", formatter.apply(Double.NEGATIVE_INFINITY));
+
+        var engineering = new NumberFormatterImpl().setEngineeringForm(true);
+        assertEquals("4.9E-324", engineering.toString(Double.MIN_VALUE));
+        assertEquals("179.76931348623157E306", engineering.toString(Double.MAX_VALUE));
+        assertEquals("-100E-102", engineering.toString(-1e-100));
+    }
+
+    @Test
+    void roundTrip() {
+        Locale.setDefault(Locale.US);
+        final double[] values = { 0.0, 1.0, -2.5, 0.1 + 0.2, 123.456789E-12, 6.62607015e-34, 1e-100, 1e-300, 1e100, -1e300, //
+            Double.MIN_VALUE, -Double.MIN_VALUE, Double.MIN_NORMAL, Double.MAX_VALUE, -Double.MAX_VALUE, //
+            Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN };
+        final NumberFormatter[] formatters = { new NumberFormatterImpl(), new NumberFormatterImpl().setExponentialForm(true),
+            new NumberFormatterImpl().setEngineeringForm(true) };
+        for (final NumberFormatter formatter : formatters) {
+            for (final double value : values) {
+                final String text = formatter.toString(value);
+                assertEquals(value, Double.parseDouble(text), "round-trip of '" + text + "'");
+            }
+        }
+    }
+
     private static DoubleFunction<String> createFormatter(boolean exponentialForm, int decimalPlaces) {
         var formatter = new NumberFormatterImpl();
         formatter.setExponentialForm(exponentialForm);
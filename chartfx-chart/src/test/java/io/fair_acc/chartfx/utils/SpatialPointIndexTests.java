@@ -0,0 +1,85 @@
+package io.fair_acc.chartfx.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the {@link SpatialPointIndex}
+ */
+class SpatialPointIndexTests {
+    @Test
+    void basicTests() {
+        final SpatialPointIndex index = new SpatialPointIndex();
+        assertEquals(-1, index.findNearest(0, 0, 10));
+        assertEquals(0, index.forEachInRectangle(0, 0, 10, 10, i -> {}));
+        assertThrows(IllegalArgumentException.class, () -> index.build(-1, i -> 0, i -> 0, 0, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.build(1, null, i -> 0, 0, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.build(1, i -> 0, i -> 0, 1, 0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.forEachInRectangle(0, 0, 1, 1, null));
+
+        // unsorted points incl. invisible and non-finite ones
+        final double[] x = { 50, 10, Double.NaN, 10, 500, 20, 11 };
+        final double[] y = { 50, 10, 10, 10, 10, Double.POSITIVE_INFINITY, 12 };
+        index.build(x.length, i -> x[i], i -> y[i], 0, 0, 100, 100);
+        assertEquals(4, index.size());
+
+        assertEquals(1, index.findNearest(10, 10, 5), "lowest index on ties");
+        assertEquals(6, index.findNearest(11.5, 12, 5));
+        assertEquals(0, index.findNearest(53, 54, 5), "distance limit is inclusive");
+        assertEquals(-1, index.findNearest(53, 54.1, 5));
+        assertEquals(-1, index.findNearest(500, 10, 5), "outside the clip rectangle");
+        assertEquals(-1, index.findNearest(10, 10, Double.NaN));
+
+        final List<Integer> found = new ArrayList<>();
+        assertEquals(3, index.forEachInRectangle(5, 5, 15, 15, found::add));
+        found.sort(null);
+        assertEquals(List.of(1, 3, 6), found);
+        assertEquals(0, index.forEachInRectangle(15, 15, 5, 5, found::add));
+
+        // re-build with fewer points
+        index.build(1, i -> 99, i -> 1, 0, 0, 100, 100);
+        assertEquals(1, index.size());
+        assertEquals(0, index.findNearest(100, 0, 2));
+    }
+
+    @Test
+    void testAgainstBruteForce() {
+        final Random random = new Random(42);
+        final int nPoints = 100_000;
+        final double[] x = new double[nPoints];
+        final double[] y = new double[nPoints];
+        for (int i = 0; i < nPoints; i++) {
+            // clustered scatter data incl. points outside of the screen
+            x[i] = random.nextBoolean() ? 400 + 20 * random.nextGaussian() : -100 + 1000 * random.nextDouble();
+            y[i] = 300 + 200 * random.nextGaussian();
+        }
+        final SpatialPointIndex index = new SpatialPointIndex().build(nPoints, i -> x[i], i -> y[i], -5, -5, 805, 605);
+
+        for (int query = 0; query < 200; query++) {
+            final double qx = 20 + 760 * random.nextDouble(); // N.B. query range within the clip rectangle
+            final double qy = 20 + 560 * random.nextDouble();
+            final double distance = 1 + 10 * random.nextDouble();
+            int expected = -1;
+            double expectedDistance = distance;
+            int expectedCount = 0;
+            for (int i = 0; i < nPoints; i++) {
+                final double d = Math.hypot(x[i] - qx, y[i] - qy);
+                if (d < expectedDistance || (d == expectedDistance && expected < 0)) { // NOPMD
+                    expected = i;
+                    expectedDistance = d;
+                }
+                if (Math.abs(x[i] - qx) <= distance && Math.abs(y[i] - qy) <= distance) {
+                    expectedCount++;
+                }
+            }
+            assertEquals(expected, index.findNearest(qx, qy, distance));
+            assertEquals(expectedCount, index.forEachInRectangle(qx - distance, qy - distance, qx + distance, qy + distance, i -> {}));
+        }
+    }
+}
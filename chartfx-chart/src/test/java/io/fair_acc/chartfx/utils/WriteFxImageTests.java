@@ -36,7 +36,7 @@ import org.slf4j.LoggerFactory;
 import org.testfx.framework.junit5.ApplicationExtension;
 import org.testfx.framework.junit5.Start;
 
-import io.fair_acc.dataset.utils.ArrayCache;
+import io.fair_acc.dataset.utils.ArrayPool;
 
 import ar.com.hjg.pngj.FilterType;
 
@@ -50,7 +50,6 @@ import ar.com.hjg.pngj.FilterType;
 public class WriteFxImageTests {
     private static final Logger LOGGER = LoggerFactory.getLogger(WriteFxImageBenchmark.class);
     private static final int DEFAULT_PALETTE_COLOR_COUNT = 256;
-    private static final String INTERNAL_ARRAY_CACHE_NAME = "WriteFxImage-internalArray";
     private Image imageOvals;
     private Image imageRandom;
     private Image image1x1;
@@ -162,10 +161,10 @@ public class WriteFxImageTests {
         int h = (int) imageOvals.getHeight();
         // Initialize cached array so implementation cannot rely on zero initialization
         final int rawDataSize = w * h * 4 + h; // image dimensions times bytesPerPixel + line filtering flag
-        final byte[] byteArray = ArrayCache.getCachedByteArray(INTERNAL_ARRAY_CACHE_NAME, rawDataSize);
+        final byte[] byteArray = ArrayPool.BYTE.allocateExact(rawDataSize);
         final byte fillByte = (byte) 0x03; // important to use a valid line filtering value (1-4) here, other values will be ignored
         Arrays.fill(byteArray, fillByte);
-        ArrayCache.release(INTERNAL_ARRAY_CACHE_NAME, byteArray); // allow WriteFxImage to use the buffer
+        ArrayPool.BYTE.release(byteArray); // allow WriteFxImage to use the buffer
         // convert to png
         final ByteBuffer pngOutput = ByteBuffer.allocate(w * h * 4 + 100);
         final Map<String, Object> metaInfo = new HashMap<>();
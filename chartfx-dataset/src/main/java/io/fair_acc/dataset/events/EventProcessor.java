@@ -2,4 +2,14 @@ package io.fair_acc.dataset.events;
 
 public interface EventProcessor {
     void addAction(BitState obj, Runnable action);
+
+    /**
+     * @param obj the state whose invalidation triggers the action
+     * @param action the action to be executed
+     * @param minUpdatePeriod minimum time between consecutive executions in milliseconds (N.B. hint that may be
+     *            ignored by implementations without rate limiting)
+     */
+    default void addAction(BitState obj, Runnable action, long minUpdatePeriod) {
+        addAction(obj, action);
+    }
 }
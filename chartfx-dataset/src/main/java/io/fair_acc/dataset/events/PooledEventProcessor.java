@@ -0,0 +1,198 @@
+package io.fair_acc.dataset.events;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.ComputePool;
+
+/**
+ * An event processor that executes the actions of independent invalidated objects (e.g. derived
+ * {@code MathDataSet}s) concurrently on a bounded worker pool. By default, each processor uses its own pool of daemon
+ * threads so that long-running actions neither compete with nor stall the parallel render stages executed on the
+ * shared {@link ComputePool}.
+ * <p>
+ * Contrary to the {@link ThreadEventProcessor}, which runs all actions sequentially on a single thread, each action is
+ * an individual task with the following properties:
+ * <ul>
+ * <li>an action is never executed concurrently with itself,</li>
+ * <li>invalidations received while the action is pending are coalesced into a single execution, invalidations
+ * received while it is running trigger exactly one re-execution, i.e. the last execution always sees the latest
+ * state,</li>
+ * <li>consecutive executions are started at least {@code minUpdatePeriod} milliseconds apart (rate limiting) -
+ * deferred executions are re-submitted by a timer rather than blocking a worker.</li>
+ * </ul>
+ * The processor can be set as the default for new derived data sets via
+ * {@link ThreadEventProcessor#setUserInstance(EventProcessor)}.
+ */
+public class PooledEventProcessor implements EventProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PooledEventProcessor.class);
+    private static final AtomicReference<PooledEventProcessor> INSTANCE = new AtomicReference<>();
+    private static final AtomicInteger TIMER_COUNTER = new AtomicInteger();
+    private static final AtomicInteger WORKER_COUNTER = new AtomicInteger();
+    private static final int DEFAULT_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 30;
+    private static final int IDLE = 0;
+    private static final int SCHEDULED = 1;
+    private static final int RUNNING = 2;
+    private static final int RUNNING_DIRTY = 3;
+    private final Executor executor;
+    private final ScheduledExecutorService timer;
+    private final LongAdder executionCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+
+    /**
+     * event processor using a dedicated pool with half as many (but at least two) threads as there are processors
+     */
+    public PooledEventProcessor() {
+        this(DEFAULT_THREADS);
+    }
+
+    /**
+     * @param nThreads number of threads of the dedicated worker pool (N.B. idle threads are released after a while)
+     */
+    public PooledEventProcessor(final int nThreads) {
+        this(newWorkerPool(nThreads));
+    }
+
+    /**
+     * @param executor the (bounded) worker pool the actions are executed on
+     */
+    public PooledEventProcessor(final Executor executor) {
+        AssertUtils.notNull("executor", executor);
+        this.executor = executor;
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "ChartFx event timer #" + TIMER_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.timer = scheduler;
+    }
+
+    @Override
+    public void addAction(final BitState obj, final Runnable action) {
+        addAction(obj, action, 0);
+    }
+
+    @Override
+    public void addAction(final BitState obj, final Runnable action, final long minUpdatePeriod) {
+        AssertUtils.notNull("obj", obj);
+        AssertUtils.notNull("action", action);
+        final CoalescingTask task = new CoalescingTask(obj, action, minUpdatePeriod);
+        obj.addInvalidateListener(ChartBits.DataSetMask, (src, bits) -> task.trigger());
+        if (obj.isDirty(ChartBits.DataSetMask)) {
+            task.trigger();
+        }
+    }
+
+    /**
+     * @return number of invalidations that have been merged into an already pending execution
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * @return number of executed actions
+     */
+    public long getExecutionCount() {
+        return executionCount.sum();
+    }
+
+    /**
+     * @return lazily initialised instance using a dedicated default worker pool
+     */
+    public static PooledEventProcessor getInstance() {
+        final PooledEventProcessor result = INSTANCE.get();
+        if (result != null) {
+            return result;
+        }
+        INSTANCE.compareAndSet(null, new PooledEventProcessor());
+        return INSTANCE.get();
+    }
+
+    private static ThreadPoolExecutor newWorkerPool(final int nThreads) {
+        AssertUtils.gtThanZero("nThreads", nThreads);
+        // N.B. the unbounded queue holds at most one pending execution per action
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(nThreads, nThreads, WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "ChartFx event worker #" + WORKER_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private class CoalescingTask implements Runnable {
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+        private final BitState obj;
+        private final Runnable action;
+        private final long minUpdatePeriodNanos;
+        private volatile long lastStart; // only written while RUNNING, read by the thread that re-schedules
+        private volatile boolean executed;
+
+        private CoalescingTask(final BitState obj, final Runnable action, final long minUpdatePeriod) {
+            this.obj = obj;
+            this.action = action;
+            this.minUpdatePeriodNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, minUpdatePeriod));
+        }
+
+        @Override
+        public void run() {
+            state.set(RUNNING);
+            lastStart = System.nanoTime();
+            executed = true;
+            obj.clear(); // N.B. before the action so that concurrent invalidations are not lost
+            try {
+                action.run();
+            } catch (Exception e) { // NOPMD -- keep the task alive
+                LOGGER.atError().setCause(e).addArgument(action).log("uncaught exception in action {}");
+            }
+            executionCount.increment();
+            if (!state.compareAndSet(RUNNING, IDLE)) {
+                // invalidated while running
+                state.set(SCHEDULED);
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            final long delay = executed ? lastStart + minUpdatePeriodNanos - System.nanoTime() : 0;
+            if (delay <= 0) {
+                executor.execute(this);
+            } else {
+                timer.schedule(() -> executor.execute(this), delay, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void trigger() {
+            while (true) {
+                final int current = state.get();
+                if (current == IDLE) {
+                    if (state.compareAndSet(IDLE, SCHEDULED)) {
+                        schedule();
+                        return;
+                    }
+                } else if (current == RUNNING) {
+                    if (state.compareAndSet(RUNNING, RUNNING_DIRTY)) {
+                        return;
+                    }
+                } else {
+                    coalescedCount.increment();
+                    return; // SCHEDULED or RUNNING_DIRTY: merged with the pending execution
+                }
+            }
+        }
+    }
+}
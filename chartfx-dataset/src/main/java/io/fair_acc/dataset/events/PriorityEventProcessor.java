@@ -0,0 +1,335 @@
+package io.fair_acc.dataset.events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * An event processor that dispatches the actions of invalidated objects from a bounded, priority-ordered queue to a
+ * fixed number of worker threads (either platform or, if supported by the JVM, virtual threads).
+ * <p>
+ * Each registered action is a single queue entry with the following properties:
+ * <ul>
+ * <li>coalescing: invalidations received while the action is queued are merged into the pending execution,
+ * invalidations received while it is running trigger exactly one re-execution, i.e. the last execution always sees
+ * the latest state. An action is never executed concurrently with itself,</li>
+ * <li>priority: the priority supplier is evaluated whenever the action is queued and higher priorities are dispatched
+ * first, e.g. {@code () -> chart.isVisible() ? 1 : 0} updates visible charts before hidden ones. Actions of the same
+ * priority are dispatched in invalidation order,</li>
+ * <li>back-pressure: if the queue is full, the oldest entry of the lowest priority is dropped in favour of the latest
+ * one (drop-to-latest). A dropped object stays dirty and is queued again on its next invalidation. An entry with a
+ * lower priority than all queued entries is dropped itself.</li>
+ * </ul>
+ * The queue depth, number of dispatched, coalesced and dropped executions and the dispatch latency (time from queueing
+ * to the start of the execution) are exposed as metrics.
+ * <p>
+ * N.B. the {@code minUpdatePeriod} hint of {@link #addAction(BitState, Runnable, long)} is ignored, see
+ * {@link PooledEventProcessor} for a rate-limited implementation.
+ */
+public class PriorityEventProcessor implements EventProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PriorityEventProcessor.class);
+    private static final AtomicInteger WORKER_COUNTER = new AtomicInteger();
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt((Entry entry) -> -entry.queuedPriority).thenComparingLong(entry -> entry.sequence);
+    private static final int IDLE = 0;
+    private static final int QUEUED = 1;
+    private static final int RUNNING = 2;
+    private static final int RUNNING_DIRTY = 3;
+    /**
+     * default priority of actions registered without priority supplier
+     */
+    public static final int DEFAULT_PRIORITY = 0;
+    /**
+     * default maximum number of queued actions
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final Condition notEmpty = queueLock.newCondition();
+    private final TreeSet<Entry> queue = new TreeSet<>(ORDER); // guarded by queueLock
+    private final Entry probe = new Entry(null, null, null); // guarded by queueLock
+    private final int capacity;
+    private final List<Thread> workers;
+    private final LongAdder dispatchCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder dispatchLatencySum = new LongAdder();
+    private final AtomicLong maxDispatchLatency = new AtomicLong();
+    private long sequence; // guarded by queueLock
+    private int maxQueueDepth; // guarded by queueLock
+    private volatile boolean shutdown;
+
+    /**
+     * event processor with one platform worker thread per available processor and the default capacity
+     */
+    public PriorityEventProcessor() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * @param nWorkers number of worker threads, ie. maximum number of concurrently executed actions
+     * @param capacity maximum number of queued actions
+     * @param virtualThreads {@code true}: use virtual worker threads if supported by the JVM (see
+     *            {@link #isVirtualThreadSupported()}), otherwise falls back to platform threads
+     */
+    public PriorityEventProcessor(final int nWorkers, final int capacity, final boolean virtualThreads) {
+        this(nWorkers, capacity, virtualThreads && isVirtualThreadSupported() ? VIRTUAL_THREAD_FACTORY : runnable -> {
+            final Thread thread = new Thread(runnable, "ChartFx event dispatcher #" + WORKER_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param nWorkers number of worker threads, ie. maximum number of concurrently executed actions
+     * @param capacity maximum number of queued actions
+     * @param threadFactory factory for the worker threads
+     */
+    public PriorityEventProcessor(final int nWorkers, final int capacity, final ThreadFactory threadFactory) {
+        AssertUtils.gtThanZero("nWorkers", nWorkers);
+        AssertUtils.gtThanZero("capacity", capacity);
+        AssertUtils.notNull("threadFactory", threadFactory);
+        this.capacity = capacity;
+        final List<Thread> threads = new ArrayList<>(nWorkers);
+        for (int i = 0; i < nWorkers; i++) {
+            final Thread thread = threadFactory.newThread(this::dispatch);
+            threads.add(thread);
+            thread.start();
+        }
+        this.workers = Collections.unmodifiableList(threads);
+    }
+
+    @Override
+    public void addAction(final BitState obj, final Runnable action) {
+        addAction(obj, action, () -> DEFAULT_PRIORITY);
+    }
+
+    /**
+     * @param obj the state whose invalidation triggers the action
+     * @param action the action to be executed
+     * @param priority evaluated whenever the action is queued, higher priorities are dispatched first
+     */
+    public void addAction(final BitState obj, final Runnable action, final IntSupplier priority) {
+        AssertUtils.notNull("obj", obj);
+        AssertUtils.notNull("action", action);
+        AssertUtils.notNull("priority", priority);
+        final Entry entry = new Entry(obj, action, priority);
+        obj.addInvalidateListener(ChartBits.DataSetMask, (src, bits) -> entry.trigger());
+        if (obj.isDirty(ChartBits.DataSetMask)) {
+            entry.trigger();
+        }
+    }
+
+    /**
+     * @return maximum number of queued actions
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return number of invalidations that have been merged into an already pending execution
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    /**
+     * @return average time between queueing and the start of the execution in nanoseconds
+     */
+    public double getAverageDispatchLatency() {
+        final long count = dispatchCount.sum();
+        return count == 0 ? 0.0 : (double) dispatchLatencySum.sum() / count;
+    }
+
+    /**
+     * @return number of executed actions
+     */
+    public long getDispatchCount() {
+        return dispatchCount.sum();
+    }
+
+    /**
+     * @return number of queued executions that have been dropped because the queue was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * @return maximum time between queueing and the start of the execution in nanoseconds
+     */
+    public long getMaxDispatchLatency() {
+        return maxDispatchLatency.get();
+    }
+
+    /**
+     * @return maximum number of simultaneously queued actions
+     */
+    public int getMaxQueueDepth() {
+        queueLock.lock();
+        try {
+            return maxQueueDepth;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * @return number of currently queued actions
+     */
+    public int getQueueDepth() {
+        queueLock.lock();
+        try {
+            return queue.size();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * @return the worker threads
+     */
+    public List<Thread> getWorkers() {
+        return workers;
+    }
+
+    /**
+     * stops the worker threads after their current execution, pending actions are discarded
+     */
+    public void shutdown() {
+        shutdown = true;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * @return {@code true} if the JVM supports virtual threads (Java 21 and later)
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            // N.B. reflective access since the code base targets Java 17
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) { // NOPMD NOSONAR -- not available or preview only
+            return null;
+        }
+    }
+
+    private void dispatch() {
+        while (!shutdown) {
+            final Entry entry;
+            queueLock.lock();
+            try {
+                while (queue.isEmpty()) {
+                    notEmpty.await();
+                }
+                entry = queue.pollFirst();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                queueLock.unlock();
+            }
+            entry.run();
+        }
+    }
+
+    private void enqueue(final Entry entry) {
+        final int priority = entry.priority.getAsInt();
+        queueLock.lock();
+        try {
+            entry.queuedPriority = priority;
+            entry.sequence = sequence++;
+            entry.queuedNanos = System.nanoTime();
+            if (queue.size() >= capacity) {
+                // drop the oldest entry of the lowest priority
+                probe.queuedPriority = queue.last().queuedPriority;
+                probe.sequence = Long.MIN_VALUE;
+                final Entry victim = priority < probe.queuedPriority ? entry : queue.ceiling(probe);
+                queue.remove(victim);
+                victim.state.set(IDLE);
+                droppedCount.increment();
+                if (victim == entry) {
+                    return;
+                }
+            }
+            queue.add(entry);
+            maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+            notEmpty.signal();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    private class Entry implements Runnable {
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+        private final BitState obj;
+        private final Runnable action;
+        private final IntSupplier priority;
+        private int queuedPriority; // guarded by queueLock
+        private long sequence; // guarded by queueLock
+        private long queuedNanos; // guarded by queueLock
+
+        private Entry(final BitState obj, final Runnable action, final IntSupplier priority) {
+            this.obj = obj;
+            this.action = action;
+            this.priority = priority;
+        }
+
+        @Override
+        public void run() {
+            state.set(RUNNING);
+            final long latency = System.nanoTime() - queuedNanos; // N.B. visible via the queueLock hand-over
+            dispatchLatencySum.add(latency);
+            maxDispatchLatency.accumulateAndGet(latency, Math::max);
+            obj.clear(); // N.B. before the action so that concurrent invalidations are not lost
+            try {
+                action.run();
+            } catch (Exception e) { // NOPMD -- keep the worker alive
+                LOGGER.atError().setCause(e).addArgument(action).log("uncaught exception in action {}");
+            }
+            dispatchCount.increment();
+            if (!state.compareAndSet(RUNNING, IDLE)) {
+                // invalidated while running
+                state.set(QUEUED);
+                enqueue(this);
+            }
+        }
+
+        private void trigger() {
+            while (true) {
+                final int current = state.get();
+                if (current == IDLE) {
+                    if (state.compareAndSet(IDLE, QUEUED)) {
+                        enqueue(this);
+                        return;
+                    }
+                } else if (current == RUNNING) {
+                    if (state.compareAndSet(RUNNING, RUNNING_DIRTY)) {
+                        return;
+                    }
+                } else {
+                    coalescedCount.increment();
+                    return; // QUEUED or RUNNING_DIRTY: merged with the pending execution
+                }
+            }
+        }
+    }
+}
@@ -13,9 +13,11 @@ import org.apache.commons.lang3.tuple.Pair;
  * Data processing can either be added to a separate EventProcessor or be handled inside the event processing of
  * the chartfx-chart package, eg as a member of a plugin which will perform the update during the plugin's preLayout phase.
  * <p>
+ * See {@link PooledEventProcessor} for a rate-limited implementation that distributes the work on a thread pool and
+ * {@link PriorityEventProcessor} for a bounded, priority-ordered dispatcher.
+ * <p>
  * TODO:
  * - implement rate limiting
- * - distribute work on multiple threads/thread-pool
  */
 public class ThreadEventProcessor implements EventProcessor, Runnable {
     private static final AtomicReference<ThreadEventProcessor> INSTANCE = new AtomicReference<>();
@@ -85,6 +85,24 @@ public interface DataSetLock<D extends DataSet> extends Serializable, Measurable
      */
     D readUnLock();
 
+    /**
+     * Acquires a consistent view of the data set for extended reads (e.g. the reduce/draw phase of renderers) that needs
+     * to be released via {@link #releaseSnapshot(DataSet)}. The default implementation returns the data set itself
+     * guarded by the read lock. See {@link SnapshotDataSetLock} for a snapshot read mode that does not block writers.
+     *
+     * @return the data set or a copy of its latest consistent state (N.B. not to be modified)
+     */
+    default DataSet acquireSnapshot() {
+        return readLock();
+    }
+
+    /**
+     * @param snapshot the view returned by the preceding {@link #acquireSnapshot()}
+     */
+    default void releaseSnapshot(final DataSet snapshot) {
+        readUnLock();
+    }
+
     /**
      * @return supporting DataSet (fluent design)
      */
@@ -5,8 +5,10 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.StampedLock;
 import java.util.function.Supplier;
 
-import io.fair_acc.bench.DurationMeasure;
+import io.fair_acc.bench.BenchLevel;
 import io.fair_acc.bench.MeasurementRecorder;
+import io.fair_acc.bench.Phase;
+import io.fair_acc.bench.PhaseMeasure;
 import io.fair_acc.dataset.DataSet;
 
 /**
@@ -113,7 +115,7 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
 
     @Override
     public D readLock() {
-        benchReadLock.start();
+        final long startTime = benchReadLock.start();
         if (lastReadStamp.get() == -1 && readerCount.get() == 0) {
             // first reader needs to acquire a lock to guard against writes
             final long stamp = stampedLock.readLock();
@@ -124,7 +126,7 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
         }
         // other readers just increment the reader lock
         readerCount.getAndIncrement();
-        benchReadLock.stop();
+        benchReadLock.record(Phase.LockWait, startTime);
         return dataSet;
     }
 
@@ -205,7 +207,7 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
 
     @Override
     public D writeLock() {
-        benchWriteLock.start();
+        final long startTime = benchWriteLock.start();
         final long callingThreadId = Thread.currentThread().getId();
         if (writerLockedByThreadId.get() != callingThreadId) {
             // new/not matching existing thread holding lock - need to acquire new lock
@@ -220,7 +222,7 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
         }
         // we acquired a new lock or are already owner of a previously acquired lock
         writerCount.incrementAndGet();
-        benchWriteLock.stop();
+        benchWriteLock.record(Phase.LockWait, startTime);
         return dataSet;
     }
 
@@ -264,10 +266,11 @@ public class DefaultDataSetLock<D extends DataSet> implements DataSetLock<D> {
 
     @Override
     public void setRecorder(MeasurementRecorder recorder) {
-        benchReadLock = recorder.newTraceDuration("lock-readLock");
-        benchWriteLock = recorder.newTraceDuration("lock-writeLock");
+        // N.B. time stamps are kept on the stack since the lock is acquired by many threads concurrently
+        benchReadLock = PhaseMeasure.create(recorder, "lock-read", BenchLevel.Trace, Phase.LockWait);
+        benchWriteLock = PhaseMeasure.create(recorder, "lock-write", BenchLevel.Trace, Phase.LockWait);
     }
 
-    private DurationMeasure benchReadLock = DurationMeasure.DISABLED;
-    private DurationMeasure benchWriteLock = DurationMeasure.DISABLED;
+    private PhaseMeasure benchReadLock = PhaseMeasure.DISABLED;
+    private PhaseMeasure benchWriteLock = PhaseMeasure.DISABLED;
 }
@@ -0,0 +1,218 @@
+package io.fair_acc.dataset.locks;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.DataSetError;
+import io.fair_acc.dataset.spi.AbstractDataSet;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+import io.fair_acc.dataset.spi.DoubleErrorDataSet;
+
+/**
+ * A {@link DefaultDataSetLock} with an additional snapshot (versioned) read mode for long reads, e.g. the reduce/draw
+ * phase of renderers, that must neither block nor be blocked by frequent writers.
+ * <p>
+ * Each outermost {@link #writeUnLock()} publishes a new data generation (see {@link #getVersion()}).
+ * {@link #acquireSnapshot()} returns a copy of the latest consistent generation that can be read without holding any
+ * lock:
+ * <ul>
+ * <li>the copy is created lazily, ie. at most once per generation and only if it is actually read, under a brief read
+ * lock,</li>
+ * <li>while a writer holds the lock, the previous generation is returned instead of waiting,</li>
+ * <li>two snapshot buffers are used alternately (double-buffering) so that the arrays of a released generation are
+ * recycled for the next one; a buffer that is still in use is never overwritten.</li>
+ * </ul>
+ * Snapshots are supported for two-dimensional data sets ({@link DoubleErrorDataSet} copies including the X errors for
+ * {@link DataSetError}s, {@link DoubleDataSet} copies otherwise), other data sets fall back to the read lock of the {@link DefaultDataSetLock}.
+ * <p>
+ * N.B. snapshots must be released via {@link #releaseSnapshot(DataSet)} and must not be modified.
+ *
+ * @param <D> generics reference, usually to <code>&lt;? extends DataSet&gt;</code>
+ */
+@SuppressWarnings({ "PMD.DoNotUseThreads", "PMD.CommentSize" }) // Runnable used as functional interface
+public class SnapshotDataSetLock<D extends DataSet> extends DefaultDataSetLock<D> {
+    private static final long serialVersionUID = 1L;
+    private final transient D dataSet;
+    private final transient Object snapshotLock = new Object();
+    private final AtomicLong version = new AtomicLong();
+    private transient Generation front; // guarded by snapshotLock
+    private transient Generation back; // guarded by snapshotLock
+    private long copyCount; // guarded by snapshotLock
+
+    /**
+     * @param dataSet the guarded data set
+     */
+    public SnapshotDataSetLock(final D dataSet) {
+        super(dataSet);
+        this.dataSet = dataSet;
+    }
+
+    @Override
+    public DataSet acquireSnapshot() {
+        if (dataSet.getDimension() != 2) {
+            return super.acquireSnapshot();
+        }
+        synchronized (snapshotLock) {
+            if (front == null || (front.version != version.get() && getWriterCount() == 0)) {
+                publish();
+            }
+            front.readers++;
+            return front.snapshot;
+        }
+    }
+
+    /**
+     * @return number of snapshot copies that have been created
+     */
+    public long getCopyCount() {
+        synchronized (snapshotLock) {
+            return copyCount;
+        }
+    }
+
+    /**
+     * @return data generation, incremented on every outermost {@link #writeUnLock()}
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public void releaseSnapshot(final DataSet snapshot) {
+        if (snapshot == dataSet) { // NOPMD NOSONAR - identity intended
+            super.releaseSnapshot(snapshot);
+            return;
+        }
+        synchronized (snapshotLock) {
+            if (front != null && front.snapshot == snapshot) {
+                front.release();
+            } else if (back != null && back.snapshot == snapshot) {
+                back.release();
+            }
+            // N.B. other snapshots belong to discarded generations
+        }
+    }
+
+    @Override
+    public D writeUnLock() {
+        if (getWriterCount() == 1) {
+            // N.B. publish while still holding the write lock so that snapshots never see a stale version
+            version.incrementAndGet();
+        }
+        return super.writeUnLock();
+    }
+
+    private void publish() {
+        // recycle the back buffer unless a reader still uses it
+        final Generation target = back != null && back.readers == 0 ? back : new Generation(createSnapshot());
+        readLockGuard(() -> {
+            target.version = version.get();
+            copy(target.snapshot);
+        });
+        copyCount++;
+        back = front;
+        front = target;
+    }
+
+    private DataSet createSnapshot() {
+        return dataSet instanceof DataSetError ? new ErrorSnapshot(dataSet.getName()) : new DoubleDataSet(dataSet.getName());
+    }
+
+    private void copy(final DataSet snapshot) {
+        final int count = dataSet.getDataCount();
+        if (snapshot instanceof ErrorSnapshot) {
+            final DataSetError errorDataSet = (DataSetError) dataSet;
+            final ErrorSnapshot errorSnapshot = (ErrorSnapshot) snapshot;
+            errorSnapshot.set(dataSet.getValues(DataSet.DIM_X), dataSet.getValues(DataSet.DIM_Y), errorDataSet.getErrorsNegative(DataSet.DIM_Y), errorDataSet.getErrorsPositive(DataSet.DIM_Y), count, true);
+            errorSnapshot.setErrorsX(errorDataSet, count);
+        } else {
+            ((DoubleDataSet) snapshot).set(dataSet.getValues(DataSet.DIM_X), dataSet.getValues(DataSet.DIM_Y), count, true);
+        }
+        final AbstractDataSet<?> target = (AbstractDataSet<?>) snapshot;
+        if (dataSet instanceof AbstractDataSet) {
+            final AbstractDataSet<?> source = (AbstractDataSet<?>) dataSet;
+            // N.B. recycled generations may still hold the labels and styles of an older one
+            target.getDataLabelMap().clear();
+            target.getDataStyleMap().clear();
+            target.getDataLabelMap().putAll(source.getDataLabelMap());
+            target.getDataStyleMap().putAll(source.getDataStyleMap());
+        }
+        target.setName(dataSet.getName());
+        for (int dim = 0; dim < 2; dim++) {
+            // N.B. valid ranges are taken over, undefined ones are recomputed by the reader
+            target.getAxisDescription(dim).set(dataSet.getAxisDescription(dim));
+        }
+    }
+
+    /**
+     * {@link DoubleErrorDataSet} that additionally keeps the X errors of the guarded data set
+     */
+    private static class ErrorSnapshot extends DoubleErrorDataSet {
+        private static final long serialVersionUID = 1L;
+        private ErrorType xErrorType = ErrorType.NO_ERROR;
+        private double[] xErrorsNeg = new double[0];
+        private double[] xErrorsPos = new double[0];
+
+        private ErrorSnapshot(final String name) {
+            super(name);
+        }
+
+        @Override
+        public double getErrorNegative(final int dimIndex, final int index) {
+            return dimIndex == DIM_X ? xErrorsNeg[index] : super.getErrorNegative(dimIndex, index);
+        }
+
+        @Override
+        public double getErrorPositive(final int dimIndex, final int index) {
+            return dimIndex == DIM_X ? xErrorsPos[index] : super.getErrorPositive(dimIndex, index);
+        }
+
+        @Override
+        public double[] getErrorsNegative(final int dimIndex) {
+            return dimIndex == DIM_X ? xErrorsNeg : super.getErrorsNegative(dimIndex);
+        }
+
+        @Override
+        public double[] getErrorsPositive(final int dimIndex) {
+            return dimIndex == DIM_X ? xErrorsPos : super.getErrorsPositive(dimIndex);
+        }
+
+        @Override
+        public ErrorType getErrorType(final int dimIndex) {
+            return dimIndex == DIM_X ? xErrorType : super.getErrorType(dimIndex);
+        }
+
+        private void setErrorsX(final DataSetError source, final int count) {
+            xErrorType = source.getErrorType(DIM_X);
+            if (xErrorsNeg.length < count) {
+                xErrorsNeg = new double[count];
+                xErrorsPos = new double[count];
+            }
+            if (xErrorType == ErrorType.NO_ERROR) {
+                Arrays.fill(xErrorsNeg, 0, count, 0.0);
+                Arrays.fill(xErrorsPos, 0, count, 0.0);
+            } else {
+                System.arraycopy(source.getErrorsNegative(DIM_X), 0, xErrorsNeg, 0, count);
+                System.arraycopy(source.getErrorsPositive(DIM_X), 0, xErrorsPos, 0, count);
+            }
+        }
+    }
+
+    private static class Generation {
+        private final DataSet snapshot;
+        private long version;
+        private int readers;
+
+        private Generation(final DataSet snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        private void release() {
+            if (readers <= 0) {
+                throw new IllegalStateException("snapshot acquire/release mismatch - already released");
+            }
+            readers--;
+        }
+    }
+}
@@ -14,6 +14,7 @@ import io.fair_acc.dataset.events.BitState;
 import io.fair_acc.dataset.events.ChartBits;
 import io.fair_acc.dataset.locks.DataSetLock;
 import io.fair_acc.dataset.locks.DefaultDataSetLock;
+import io.fair_acc.dataset.locks.SnapshotDataSetLock;
 import io.fair_acc.dataset.spi.utils.MathUtils;
 import io.fair_acc.dataset.spi.utils.StringHashMapList;
 import io.fair_acc.dataset.utils.AssertUtils;
@@ -41,7 +42,7 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
     protected final int dimension;
     private final List<AxisDescription> axesDescriptions = new ArrayList<>();
     private final transient BitState state = BitState.initDirty(this);
-    private final transient DataSetLock<? extends DataSet> lock = new DefaultDataSetLock<>(this);
+    private transient volatile DataSetLock<? extends DataSet> lock = new DefaultDataSetLock<>(this);
     private final StringHashMapList dataLabels = new StringHashMapList();
     private final StringHashMapList dataStyles = new StringHashMapList();
     private final List<String> styleClasses = new ArrayList<>();
@@ -524,6 +525,13 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
         return lock;
     }
 
+    /**
+     * @return {@code true}: long reads (e.g. by renderers) use snapshots of the data, see {@link SnapshotDataSetLock}
+     */
+    public boolean isSnapshotReadMode() {
+        return lock instanceof SnapshotDataSetLock;
+    }
+
     /**
      * remove a custom data label for a point The label can be used as a category name if CategoryStepsDefinition is
      * used or for annotations displayed for data points.
@@ -568,6 +576,26 @@ public abstract class AbstractDataSet<D extends AbstractStylable<D>> extends Abs
         return getThis();
     }
 
+    /**
+     * Enables or disables the snapshot read mode: renderers and other long readers work on a copy of the latest
+     * consistent data generation and thus neither block nor get blocked by writers (see {@link SnapshotDataSetLock}).
+     * N.B. to be set before the data set is shared between threads.
+     *
+     * @param state {@code true}: use a {@link SnapshotDataSetLock}, {@code false}: use a {@link DefaultDataSetLock}
+     * @return itself (fluent design)
+     */
+    public D setSnapshotReadMode(final boolean state) {
+        if (state == isSnapshotReadMode()) {
+            return getThis();
+        }
+        final DefaultDataSetLock<?> current = (DefaultDataSetLock<?>) lock;
+        if (current.getReaderCount() != 0 || current.getWriterCount() != 0) {
+            throw new IllegalStateException("cannot change the lock of a locked data set");
+        }
+        lock = state ? new SnapshotDataSetLock<>(this) : new DefaultDataSetLock<>(this);
+        return getThis();
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
@@ -10,6 +10,11 @@ import io.fair_acc.dataset.utils.CircularBuffer;
 import io.fair_acc.dataset.utils.DoubleCircularBuffer;
 
 /**
+ * Fixed-capacity rolling data set: once the capacity is reached, each new sample replaces the oldest one.
+ * <p>
+ * The data limits are tracked incrementally (see {@link SlidingWindowRange}), ie. appending samples and
+ * {@link #recomputeLimits(int)} do not require a full O(N) scan of the samples.
+ *
  * @author rstein
  */
 public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDoubleErrorDataSet> implements DataSetError, DataSet2D {
@@ -20,6 +25,8 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
     protected DoubleCircularBuffer yErrorsNeg;
     protected CircularBuffer<String> dataLabels;
     protected CircularBuffer<String> dataStyles;
+    protected final transient SlidingWindowRange xRange = new SlidingWindowRange();
+    protected final transient SlidingWindowRange yRange = new SlidingWindowRange();
 
     /**
      * Creates a new instance of <code>CircularDoubleErrorDataSet</code>.
@@ -86,10 +93,9 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
             dataLabels.put(label);
             dataStyles.put(style);
 
-            // assumes in X sorted data range
-            getAxisDescription(DIM_X).setMin(xValues.get(0));
-            getAxisDescription(DIM_X).setMax(xValues.get(xValues.available() - 1));
-            getAxisDescription(DIM_Y).clear();
+            xRange.add(x);
+            yRange.add(y - yErrorNeg, y + yErrorPos);
+            updateLimits();
         });
 
         fireInvalidated(ChartBits.DataSetDataAdded);
@@ -148,10 +154,12 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
             dataLabels.put(new String[yVals.length], dataCount);
             dataStyles.put(new String[yVals.length], dataCount);
 
-            // assumes in X sorted data range
-            getAxisDescription(DIM_X).setMin(xValues.get(0));
-            getAxisDescription(DIM_X).setMax(xValues.get(xValues.available() - 1));
-            getAxisDescription(DIM_Y).clear();
+            // only the last 'capacity' samples are retained by the circular buffers
+            for (int i = Math.max(0, dataCount - xValues.capacity()); i < dataCount; i++) {
+                xRange.add(xVals[i]);
+                yRange.add(yVals[i] - yErrNeg[i], yVals[i] + yErrPos[i]);
+            }
+            updateLimits();
         });
 
         fireInvalidated(ChartBits.DataSetDataAdded);
@@ -208,6 +216,15 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
         throw new UnsupportedOperationException("Removing data labels is not supported for this type of DataSet");
     }
 
+    /**
+     * Publishes the incrementally tracked limits, ie. does not require a full O(N) scan of the samples.
+     */
+    @Override
+    public CircularDoubleErrorDataSet recomputeLimits(final int dimIndex) {
+        (dimIndex == DIM_X ? xRange : yRange).update(getAxisDescription(dimIndex));
+        return getThis();
+    }
+
     /**
      * resets all data
      *
@@ -221,6 +238,8 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
             yErrorsPos.reset();
             dataLabels.reset();
             dataStyles.reset();
+            xRange.clear();
+            yRange.clear();
             getAxisDescriptions().forEach(AxisDescription::clear);
         });
 
@@ -228,6 +247,17 @@ public class CircularDoubleErrorDataSet extends AbstractErrorDataSet<CircularDou
         return getThis();
     }
 
+    /**
+     * evicts the overwritten samples from the incremental range trackers and publishes the new limits
+     */
+    protected void updateLimits() {
+        final int nSamples = xValues.available();
+        xRange.retainLast(nSamples);
+        yRange.retainLast(nSamples);
+        xRange.update(getAxisDescription(DIM_X));
+        yRange.update(getAxisDescription(DIM_Y));
+    }
+
     @Override
     public DataSet set(final DataSet other, final boolean copy) {
         lock().writeLockGuard(() -> other.lock().writeLockGuard(() -> {
@@ -0,0 +1,146 @@
+package io.fair_acc.dataset.spi;
+
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * One dimensional binned histogram that can be filled concurrently from multiple (acquisition) threads without taking
+ * the data set write lock.
+ * <p>
+ * Fills are accumulated lock-free in per-thread stripes that are merged into the bin contents visible via
+ * {@link #getBinContent(int)} and {@link #get(int, int)} -- and announced via {@link ChartBits#DataSetData} -- at
+ * most once per {@link #getMinPublishPeriod()} on a background timer, or immediately via {@link #publish()}.
+ */
+public class ConcurrentHistogram extends Histogram {
+    private static final long serialVersionUID = -3216588251312860431L;
+    /**
+     * default minimum period between two publications in milliseconds (N.B. 25 Hz)
+     */
+    public static final long DEFAULT_MIN_PUBLISH_PERIOD = 40;
+    private final transient StripedBinAccumulator accumulator = new StripedBinAccumulator(data.length, DEFAULT_MIN_PUBLISH_PERIOD, this::publish);
+
+    /**
+     * Creates histogram with name and range [minX, maxX]
+     *
+     * @param name of the data sets
+     * @param xBins the initial bin array (defines [minX, maxX] and nBins)
+     */
+    public ConcurrentHistogram(final String name, final double[] xBins) {
+        super(name, xBins);
+    }
+
+    /**
+     * Creates histogram with name and range [minX, maxX]
+     *
+     * @param name of the data sets
+     * @param xBins the initial bin array (defines [minX, maxX] and nBins)
+     * @param horizontal whether binning is performed in X
+     */
+    public ConcurrentHistogram(final String name, final double[] xBins, final boolean horizontal) {
+        super(name, xBins, horizontal);
+    }
+
+    /**
+     * Creates histogram with name and range [minX, maxX]
+     *
+     * @param name of the data sets
+     * @param nBins number of bins
+     * @param minX minimum of range
+     * @param maxX maximum of range
+     * @param boundsType How the min and max value should be interpreted
+     */
+    public ConcurrentHistogram(final String name, final int nBins, final double minX, final double maxX, final HistogramOuterBounds boundsType) {
+        super(name, nBins, minX, maxX, boundsType);
+    }
+
+    /**
+     * Creates histogram with name and range [minX, maxX]
+     *
+     * @param name of the data sets
+     * @param nBins number of bins
+     * @param minX minimum of range
+     * @param maxX maximum of range
+     * @param horizontal whether binning is performed in X
+     * @param boundsType How the min and max value should be interpreted
+     */
+    public ConcurrentHistogram(final String name, final int nBins, final double minX, final double maxX, final boolean horizontal, final HistogramOuterBounds boundsType) {
+        super(name, nBins, minX, maxX, horizontal, boundsType);
+    }
+
+    /**
+     * Adds the weight to the bin. Thread-safe and lock-free, the new content becomes visible with the next publication.
+     *
+     * @param bin the bin index
+     * @param w the weight
+     */
+    @Override
+    public void addBinContent(final int bin, final double w) {
+        accumulator.add(bin, w);
+    }
+
+    /**
+     * Fills the weight into the bin containing x. Thread-safe and lock-free, the new content becomes visible with the
+     * next publication.
+     *
+     * @param x the value to be filled
+     * @param w the weight
+     * @return the bin index
+     */
+    @Override
+    public int fill(final double x, final double w) {
+        final int bin = findBin(isHorizontal ? DIM_X : DIM_Y, x);
+        accumulator.add(bin, w);
+        return bin;
+    }
+
+    @Override
+    public void fillN(final double[] x, final double[] w, final int stepSize) {
+        AssertUtils.gtThanZero("stepSize", stepSize);
+        for (int i = 0; i < x.length; i += stepSize) {
+            fill(x[i], w[i]);
+        }
+    }
+
+    /**
+     * @return minimum period between two automatic publications in milliseconds
+     */
+    public long getMinPublishPeriod() {
+        return accumulator.getMinPublishPeriod();
+    }
+
+    /**
+     * Merges all pending fills into the published bin contents and -- if changed -- notifies listeners with
+     * {@link ChartBits#DataSetData}.
+     */
+    public void publish() {
+        final boolean changed = lock().writeLockGuard(() -> accumulator.drain(this::addPublished));
+        if (changed) {
+            fireInvalidated(ChartBits.DataSetData);
+        }
+    }
+
+    @Override
+    public void reset() {
+        lock().writeLockGuard(() -> {
+            accumulator.clear();
+            super.reset();
+        });
+    }
+
+    /**
+     * @param minPublishPeriod minimum period between two automatic publications in milliseconds
+     * @return itself (fluent design)
+     */
+    public ConcurrentHistogram setMinPublishPeriod(final long minPublishPeriod) {
+        accumulator.setMinPublishPeriod(minPublishPeriod);
+        return this;
+    }
+
+    private void addPublished(final int bin, final double value) {
+        data[bin] += value;
+        if (bin == 0 || bin == data.length - 1) {
+            return;
+        }
+        getAxisDescription(isHorizontal ? DIM_Y : DIM_X).add(data[bin]);
+    }
+}
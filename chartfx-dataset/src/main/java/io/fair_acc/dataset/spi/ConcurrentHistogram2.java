@@ -0,0 +1,112 @@
+package io.fair_acc.dataset.spi;
+
+import io.fair_acc.dataset.events.ChartBits;
+
+/**
+ * Two dimensional binned histogram (including its x- and y-projections) that can be filled concurrently from multiple
+ * (acquisition) threads without taking the data set write lock.
+ * <p>
+ * Fills are accumulated lock-free in per-thread stripes that are merged into the bin contents visible via
+ * {@link #getBinContent(int)}, {@link #get(int, int...)} and the projections -- and announced via
+ * {@link ChartBits#DataSetData} -- at most once per {@link #getMinPublishPeriod()} on a background timer, or
+ * immediately via {@link #publish()}.
+ */
+public class ConcurrentHistogram2 extends Histogram2 {
+    private static final long serialVersionUID = 4468521497032612301L;
+    private final transient StripedBinAccumulator accumulator = new StripedBinAccumulator(data.length, ConcurrentHistogram.DEFAULT_MIN_PUBLISH_PERIOD, this::publish);
+    private final transient StripedBinAccumulator xAccumulator = new StripedBinAccumulator(xProjection.getBinCount(DIM_X), 0, null);
+    private final transient StripedBinAccumulator yAccumulator = new StripedBinAccumulator(yProjection.getBinCount(DIM_Y), 0, null);
+
+    /**
+     * Creates 2D histogram with name and ranges [minX, maxX] and [minY, maxY]
+     *
+     * @param name of the data sets
+     * @param nBinsX number of horizontal bins
+     * @param minX minimum of horizontal range
+     * @param maxX maximum of horizontal range
+     * @param nBinsY number of vertical bins
+     * @param minY minimum of vertical range
+     * @param maxY maximum of vertical range
+     * @param boundsType How the min and max value should be interpreted
+     */
+    public ConcurrentHistogram2(final String name, final int nBinsX, final double minX, final double maxX, final int nBinsY, final double minY, final double maxY, final HistogramOuterBounds boundsType) {
+        super(name, nBinsX, minX, maxX, nBinsY, minY, maxY, boundsType);
+    }
+
+    /**
+     * Adds the weight to the bin. Thread-safe and lock-free, the new content becomes visible with the next publication.
+     * N.B. the projections are not updated.
+     *
+     * @param bin the bin index
+     * @param w the weight
+     */
+    @Override
+    public void addBinContent(final int bin, final double w) {
+        accumulator.add(bin, w);
+    }
+
+    /**
+     * Fills the weight into the bin containing (x, y) and its projections. Thread-safe and lock-free, the new content
+     * becomes visible with the next publication.
+     *
+     * @param x horizontal value to be filled
+     * @param y vertical value to be filled
+     * @param w the weight
+     * @return the bin index
+     */
+    @Override
+    public int fill(final double x, final double y, final double w) {
+        // N.B. projections first -> always drained together with (or before) the 2D bin that schedules the publication
+        xAccumulator.add(xProjection.findBin(DIM_X, x), w);
+        yAccumulator.add(yProjection.findBin(DIM_Y, y), w);
+        final int bin = findBin(x, y);
+        accumulator.add(bin, w);
+        return bin;
+    }
+
+    /**
+     * @return minimum period between two automatic publications in milliseconds
+     */
+    public long getMinPublishPeriod() {
+        return accumulator.getMinPublishPeriod();
+    }
+
+    /**
+     * Merges all pending fills into the published bin contents and projections and -- if changed -- notifies listeners
+     * with {@link ChartBits#DataSetData}.
+     */
+    public void publish() {
+        final boolean changed = lock().writeLockGuard(() -> {
+            xAccumulator.drain(xProjection::addBinContent);
+            yAccumulator.drain(yProjection::addBinContent);
+            return accumulator.drain(this::addPublished);
+        });
+        if (changed) {
+            fireInvalidated(ChartBits.DataSetData);
+        }
+    }
+
+    @Override
+    public void reset() {
+        lock().writeLockGuard(() -> {
+            accumulator.clear();
+            xAccumulator.clear();
+            yAccumulator.clear();
+            super.reset();
+        });
+    }
+
+    /**
+     * @param minPublishPeriod minimum period between two automatic publications in milliseconds
+     * @return itself (fluent design)
+     */
+    public ConcurrentHistogram2 setMinPublishPeriod(final long minPublishPeriod) {
+        accumulator.setMinPublishPeriod(minPublishPeriod);
+        return this;
+    }
+
+    private void addPublished(final int bin, final double value) {
+        data[bin] += value;
+        getAxisDescription(DIM_Z).add(data[bin]);
+    }
+}
@@ -1,9 +1,9 @@
 package io.fair_acc.dataset.spi;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
-import io.fair_acc.dataset.AxisDescription;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.DataSet2D;
 import io.fair_acc.dataset.DataSetError;
@@ -14,14 +14,23 @@ import io.fair_acc.dataset.utils.LimitedQueue;
 
 /**
  * Limited Fifo DoubleErrorDataSet.
- * Maximum number of samples and maximum horizontal span are configurable
+ * Maximum number of samples and maximum horizontal span are configurable.
+ * <p>
+ * The data limits are tracked incrementally (see {@link SlidingWindowRange}): for samples appended in ascending x-order
+ * (the typical time-series use-case) the expiry of old samples and the limit update are amortised O(1) per sample. Out
+ * of order samples fall back to a full scan of the queue on expiry. {@link #recomputeLimits(int)} publishes the tracked
+ * limits and does not scan the samples.
+ *
  * @author rstein
  */
-public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorDataSet> implements DataSetError, DataSet2D {
+public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<FifoDoubleErrorDataSet> implements DataSetError, DataSet2D {
     private static final int SAFE_BET = 1;
     private static final long serialVersionUID = -7153702141838930486L;
     protected final transient LimitedQueue<DataBlob> data;
     protected double maxDistance;
+    protected final transient SlidingWindowRange xRange = new SlidingWindowRange();
+    protected final transient SlidingWindowRange yRange = new SlidingWindowRange();
+    protected boolean sortedX = true;
 
     /**
      * Creates a new instance of <code>FifoDoubleErrorDataSet</code>.
@@ -96,13 +105,24 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
     public FifoDoubleErrorDataSet add(final double x, final double y, final double yErrorNeg, final double yErrorPos,
             final String tag, final String style) {
         lock().writeLockGuard(() -> {
+            if (!Double.isFinite(x)) {
+                // would be dropped immediately by 'expire(..)'
+                return;
+            }
+            if (!data.isEmpty() && x < data.getLast().getX()) {
+                sortedX = false;
+            }
             data.add(new DataBlob(x, y, yErrorNeg, yErrorPos, tag, style));
-            this.getAxisDescription(DIM_X).add(x);
-            this.getAxisDescription(DIM_Y).add(y - yErrorNeg);
-            this.getAxisDescription(DIM_Y).add(y + yErrorPos);
+            xRange.add(x);
+            yRange.add(y - yErrorNeg, y + yErrorPos);
+            // samples dropped by the queue's size limit
+            xRange.retainLast(data.size());
+            yRange.retainLast(data.size());
 
             // remove old fields if necessary
-            expire(x);
+            if (expireSamples(x) == 0) {
+                updateLimits();
+            }
         });
         fireInvalidated(ChartBits.DataSetDataAdded);
         return this;
@@ -160,39 +180,60 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
      * @return number of items that have been removed
      */
     public int expire(final double now) {
-        final int dataPointsToRemove = lock().writeLockGuard(() -> {
-            final List<DataBlob> toRemoveList = new ArrayList<>(SAFE_BET);
-            for (final DataBlob blob : data) {
-                final double x = blob.getX();
-
-                if (!Double.isFinite(x) || Math.abs(now - x) > maxDistance) {
-                    toRemoveList.add(blob);
-                }
-            }
-
-            if (!toRemoveList.isEmpty()) {
-                // remove elements and invalidate ranges if necessary
-                data.removeAll(toRemoveList);
-                getAxisDescriptions().forEach(AxisDescription::clear);
-            }
-            return toRemoveList.size();
-        });
+        final int dataPointsToRemove = lock().writeLockGuard(() -> expireSamples(now));
         if (dataPointsToRemove != 0) {
             fireInvalidated(ChartBits.DataSetDataRemoved);
         }
         return dataPointsToRemove;
     }
 
+    protected int expireSamples(final double now) {
+        if (data.isEmpty()) {
+            return 0;
+        }
+        if (sortedX && Double.isFinite(now) && !isExpired(data.getLast().getX(), now)) {
+            // in x-sorted data, the expired samples are a prefix of the queue
+            int nRemoved = 0;
+            while (isExpired(data.getFirst().getX(), now)) {
+                data.removeFirst();
+                nRemoved++;
+            }
+            if (nRemoved != 0) {
+                xRange.removeFirst(nRemoved);
+                yRange.removeFirst(nRemoved);
+                updateLimits();
+            }
+            return nRemoved;
+        }
+
+        // generic case: full scan
+        final List<DataBlob> toRemoveList = new ArrayList<>(SAFE_BET);
+        for (final DataBlob blob : data) {
+            final double x = blob.getX();
+
+            if (!Double.isFinite(x) || isExpired(x, now)) {
+                toRemoveList.add(blob);
+            }
+        }
+
+        if (!toRemoveList.isEmpty()) {
+            // remove elements and update ranges
+            data.removeAll(toRemoveList);
+            rebuildLimits();
+        }
+        return toRemoveList.size();
+    }
+
     @Override
     public final double get(final int dimIndex, final int index) {
         return dimIndex == DataSet.DIM_X ? data.get(index).getX() : data.get(index).getY();
     }
 
     /**
-     * @return the internal data container (N.B. this is not thread-safe)
+     * @return read-only view of the internal data container (N.B. this is not thread-safe)
      */
-    public LimitedQueue<DataBlob> getData() {
-        return data;
+    public List<DataBlob> getData() {
+        return Collections.unmodifiableList(data);
     }
 
     @Override
@@ -227,11 +268,23 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
         return data.get(index).getStyle();
     }
 
+    /**
+     * Publishes the incrementally tracked limits, ie. does not require a full O(N) scan of the samples.
+     */
+    @Override
+    public FifoDoubleErrorDataSet recomputeLimits(final int dimIndex) {
+        (dimIndex == DIM_X ? xRange : yRange).update(getAxisDescription(dimIndex));
+        return getThis();
+    }
+
     /**
      * remove all data points
      */
     public void reset() {
-        data.clear();
+        lock().writeLockGuard(() -> {
+            data.clear();
+            rebuildLimits();
+        });
         fireInvalidated(ChartBits.DataSetDataRemoved);
     }
 
@@ -242,6 +295,33 @@ public class FifoDoubleErrorDataSet extends AbstractErrorDataSet<DoubleErrorData
         this.maxDistance = maxDistance;
     }
 
+    /**
+     * re-initialises the incremental range trackers from the queue content, e.g. after an out-of-order removal
+     */
+    protected void rebuildLimits() {
+        xRange.clear();
+        yRange.clear();
+        sortedX = true;
+        double lastX = Double.NEGATIVE_INFINITY;
+        for (final DataBlob blob : data) {
+            final double x = blob.getX();
+            sortedX &= x >= lastX;
+            lastX = x;
+            xRange.add(x);
+            yRange.add(blob.getY() - blob.getErrorX(), blob.getY() + blob.getErrorY());
+        }
+        updateLimits();
+    }
+
+    protected void updateLimits() {
+        xRange.update(getAxisDescription(DIM_X));
+        yRange.update(getAxisDescription(DIM_Y));
+    }
+
+    private boolean isExpired(final double x, final double now) {
+        return Math.abs(now - x) > maxDistance;
+    }
+
     protected static class DataBlob extends DoublePointError {
         protected String style;
         protected String tag;
@@ -0,0 +1,906 @@
+package io.fair_acc.dataset.spi;
+
+import java.util.Arrays;
+
+import io.fair_acc.dataset.AxisDescription;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.DataSet2D;
+import io.fair_acc.dataset.DataSetError;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Sorted, size- and range-limited DataSet backed by primitive arrays -- a drop-in alternative to the
+ * {@link LimitedIndexedTreeDataSet} for large (e.g. trending) buffers.
+ * <p>
+ * The samples are stored in parallel {@code double[]} arrays (x, y, and their symmetric errors) sorted by x (or y, see
+ * {@link #setSortedByX(boolean)}), with free capacity kept at both ends of the arrays. This provides:
+ * <ul>
+ * <li>O(1) indexed access via {@link #get(int, int)} (no tree walk, no per-sample objects),</li>
+ * <li>amortised O(1) appends at the end and O(1) expiry of the oldest samples at the front, and</li>
+ * <li>out-of-order inserts via an O(log N) binary search followed by a (memmove) shift of the shorter side of the
+ * array, ie. O(1)-ish for samples arriving slightly late.</li>
+ * <li>bulk inserts/{@code set(..)} that append all samples first and sort them once in O(N log N).</li>
+ * </ul>
+ * Like the tree implementation, samples are dropped from the front if the buffer exceeds {@link #getMaxQueueSize()}
+ * samples or if it spans more than {@link #getMaxLength()} in x. N.B. contrary to the tree set, samples with identical
+ * sort keys are all retained (inserted after the existing ones).
+ *
+ * @see LimitedIndexedTreeDataSet
+ */
+public class LimitedSortedDataSet extends AbstractErrorDataSet<LimitedSortedDataSet> implements DataSet2D {
+    private static final long serialVersionUID = 3920875591346012795L;
+    private static final int MIN_CAPACITY = 16;
+    protected double[] xValues = new double[MIN_CAPACITY];
+    protected double[] yValues = new double[MIN_CAPACITY];
+    protected double[] xErrors = new double[MIN_CAPACITY];
+    protected double[] yErrors = new double[MIN_CAPACITY];
+    protected String[] labels; // lazily allocated
+    protected String[] styles; // lazily allocated
+    protected int head; // physical index of the first sample
+    protected int size;
+    protected int maxQueueSize;
+    protected double maxLength = Double.MAX_VALUE;
+    protected boolean subtractOffset;
+    protected boolean isSortedByX = true;
+
+    /**
+     * Creates a new instance of <code>LimitedSortedDataSet</code>.
+     *
+     * @param name name of this DataSet. max queue size default to 1000
+     * @throws IllegalArgumentException if <code>name</code> is <code>null</code>
+     */
+    public LimitedSortedDataSet(final String name) {
+        this(name, 1000);
+    }
+
+    /**
+     * Creates a new instance of <code>LimitedSortedDataSet</code>.
+     *
+     * @param name name of this DataSet.
+     * @param maxQueueSize maximum number of samples that is being stored
+     * @throws IllegalArgumentException if <code>name</code> is <code>null</code>
+     */
+    public LimitedSortedDataSet(final String name, final int maxQueueSize) {
+        this(name, maxQueueSize, Double.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new instance of <code>LimitedSortedDataSet</code>.
+     *
+     * @param name name of this DataSet.
+     * @param maxQueueSize maximum number of samples that is being stored
+     * @param maxLength maximum length between first and last sample
+     * @throws IllegalArgumentException if <code>name</code> is <code>null</code>
+     */
+    public LimitedSortedDataSet(final String name, final int maxQueueSize, final double maxLength) {
+        super(name, 2, ErrorType.SYMMETRIC, ErrorType.SYMMETRIC);
+        this.maxQueueSize = maxQueueSize;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @param x coordinate
+     * @param y coordinate
+     * @return itself
+     */
+    public LimitedSortedDataSet add(final double x, final double y) {
+        return add(x, y, 0, 0);
+    }
+
+    /**
+     * add new point
+     *
+     * @param x horizontal point coordinate
+     * @param y vertical point coordinate
+     * @param ex horizontal point error
+     * @param ey vertical point error Note: point errors are expected to be positive
+     * @param labelStyle optional varadic argument containing the data label (first index) and data style (second index)
+     * @return itself
+     */
+    public LimitedSortedDataSet add(final double x, final double y, final double ex, final double ey, final String... labelStyle) {
+        lock().writeLockGuard(() -> {
+            insert(x, y, ex, ey, labelStyle);
+            expire();
+        });
+        fireInvalidated(ChartBits.DataSetDataAdded);
+        return getThis();
+    }
+
+    /**
+     * Adds data points to this data set.
+     *
+     * @param xValues X coordinates
+     * @param yValues Y coordinates
+     * @return itself
+     */
+    public LimitedSortedDataSet add(final double[] xValues, final double[] yValues) {
+        return this.add(xValues, yValues, new double[yValues.length], new double[yValues.length]);
+    }
+
+    /**
+     * Adds data points to this data set.
+     *
+     * @param xValues X coordinates
+     * @param yValues Y coordinates
+     * @param xErrors horizontal errors
+     * @param yErrors vertical errors
+     * @param labelStyle optional varadic argument containing the data label (first index) and data style (second index)
+     * @return itself
+     */
+    public LimitedSortedDataSet add(final double[] xValues, final double[] yValues, final double[] xErrors, final double[] yErrors, final String... labelStyle) {
+        AssertUtils.notNull("X data", xValues);
+        AssertUtils.notNull("X error data", xErrors);
+        AssertUtils.notNull("Y data", yValues);
+        AssertUtils.notNull("Y error data", yErrors);
+        lock().writeLockGuard(() -> {
+            insertAll(xValues, yValues, xErrors, yErrors, xValues.length, labelStyle);
+            expire();
+        });
+        fireInvalidated(ChartBits.DataSetDataAdded);
+        return getThis();
+    }
+
+    /**
+     * adds a custom new data label for a point The label can be used as a category name if CategoryStepsDefinition is
+     * used or for annotations displayed for data points.
+     *
+     * @param index of the data point
+     * @param label for the data point specified by the index
+     * @return the previously set label or <code>null</code> if no label has been specified
+     */
+    @Override
+    public String addDataLabel(final int index, final String label) {
+        checkIndex(index);
+        if (labels == null) {
+            labels = new String[xValues.length];
+        }
+        final String old = labels[head + index];
+        labels[head + index] = label;
+        return old;
+    }
+
+    /**
+     * A string representation of the CSS style associated with this specific {@code DataSet} data point. @see
+     * #getStyle()
+     *
+     * @param index the index of the specific data point
+     * @param style data point CSS-style
+     * @return the previously set style or <code>null</code> if no label has been specified
+     */
+    @Override
+    public String addDataStyle(final int index, final String style) {
+        checkIndex(index);
+        if (styles == null) {
+            styles = new String[xValues.length];
+        }
+        final String old = styles[head + index];
+        styles[head + index] = style;
+        return old;
+    }
+
+    /**
+     * remove all data points
+     *
+     * @return itself (fluent design)
+     */
+    public LimitedSortedDataSet clearData() {
+        lock().writeLockGuard(() -> {
+            clearSamples();
+            getAxisDescriptions().forEach(AxisDescription::clear);
+        });
+        fireInvalidated(ChartBits.DataSetDataRemoved);
+        return getThis();
+    }
+
+    /**
+     * checks X data range and removes old data points if they exceed the maximum data range
+     *
+     * @see #setMaxLength
+     */
+    public void expire() {
+        lock().writeLockGuard(() -> {
+            if (size > 0) {
+                expire(xValues[head + size - 1]);
+            }
+        });
+    }
+
+    /**
+     * checks X data range and removes old data points if they exceed the maximum data range
+     *
+     * @see #setMaxLength
+     * @param now actual time stamp to be taken as a 't0' reference
+     */
+    public void expire(final double now) {
+        lock().writeLockGuard(() -> {
+            int nExpired = 0;
+            while (size - nExpired > 0 && (size - nExpired > maxQueueSize || now - xValues[head + nExpired] > maxLength)) {
+                nExpired++;
+            }
+            if (nExpired == 0) {
+                return;
+            }
+            removeRange(0, nExpired);
+            // invalidate ranges
+            getAxisDescriptions().forEach(AxisDescription::clear);
+        });
+    }
+
+    @Override
+    public double get(final int dimIndex, final int i) {
+        switch (dimIndex) {
+        case DIM_X:
+            return subtractOffset ? xValues[head + i] - xValues[head + size - 1] : xValues[head + i];
+        case DIM_Y:
+            return yValues[head + i];
+        default:
+            throw new IndexOutOfBoundsException("dimIndex out of bound 2");
+        }
+    }
+
+    @Override
+    public int getDataCount() {
+        return size;
+    }
+
+    /**
+     * Returns label of a data point specified by the index. The label can be used as a category name if
+     * CategoryStepsDefinition is used or for annotations displayed for data points.
+     *
+     * @param index of the data label
+     * @return data point label specified by the index or <code>null</code> if no label has been specified
+     */
+    @Override
+    public String getDataLabel(final int index) {
+        if (labels != null && labels[head + index] != null) {
+            return labels[head + index];
+        }
+        return super.getDataLabel(index);
+    }
+
+    @Override
+    public double getErrorNegative(final int dimIndex, final int index) {
+        return dimIndex == DIM_X ? xErrors[head + index] : yErrors[head + index];
+    }
+
+    @Override
+    public double getErrorPositive(final int dimIndex, final int index) {
+        return dimIndex == DIM_X ? xErrors[head + index] : yErrors[head + index];
+    }
+
+    /**
+     * @return maximum X range before points are getting dropped
+     */
+    public double getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * @return maximum number of data points before points are getting dropped
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    /**
+     * A string representation of the CSS style associated with this specific {@code DataSet} data point. @see
+     * #getStyle()
+     *
+     * @param index the index of the specific data point
+     * @return user-specific data set style description (ie. may be set by user)
+     */
+    @Override
+    public String getStyle(final int index) {
+        return styles == null ? null : styles[head + index];
+    }
+
+    public boolean isSortedByX() {
+        return isSortedByX;
+    }
+
+    /**
+     *
+     * @return {@code true}: normalise x-Axis to last value
+     */
+    public boolean isSubtractOffset() {
+        return subtractOffset;
+    }
+
+    /**
+     * remove sub-range of data points
+     *
+     * @param fromIndex starting index
+     * @param toIndex stopping index
+     * @return itself (fluent design)
+     */
+    public LimitedSortedDataSet remove(final int fromIndex, final int toIndex) {
+        lock().writeLockGuard(() -> {
+            AssertUtils.indexInBounds(fromIndex, getDataCount(), "fromIndex");
+            AssertUtils.indexInBounds(toIndex, getDataCount(), "toIndex");
+            AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
+            removeRange(fromIndex, toIndex);
+
+            getAxisDescription(DIM_X).setMax(Double.NaN);
+            getAxisDescription(DIM_Y).setMax(Double.NaN);
+        });
+        fireInvalidated(ChartBits.DataSetDataRemoved);
+        return getThis();
+    }
+
+    /**
+     * Removes from this data set points with specified indices.
+     *
+     * @param indices array of indicices to be removed
+     * @return itself
+     */
+    public LimitedSortedDataSet remove(final int[] indices) {
+        AssertUtils.notNull("Indices array", indices);
+        if (indices.length == 0) {
+            return this;
+        }
+
+        lock().writeLockGuard(() -> {
+            final int[] sorted = indices.clone();
+            Arrays.sort(sorted);
+            // single compaction pass over the retained samples
+            int write = sorted[0];
+            int next = 0;
+            for (int read = sorted[0]; read < size; read++) {
+                if (next < sorted.length && sorted[next] == read) {
+                    while (next < sorted.length && sorted[next] == read) {
+                        next++; // N.B. skips duplicate indices
+                    }
+                    continue;
+                }
+                move(head + read, head + write, 1);
+                write++;
+            }
+            clearSlots(head + write, head + size);
+            size = write;
+
+            // invalidate ranges
+            getAxisDescriptions().forEach(AxisDescription::clear);
+        });
+        fireInvalidated(ChartBits.DataSetDataRemoved);
+        return getThis();
+    }
+
+    /**
+     * remove a custom data label for a point The label can be used as a category name if CategoryStepsDefinition is
+     * used or for annotations displayed for data points.
+     *
+     * @param index of the data point
+     * @return the previously set label or <code>null</code> if no label has been specified
+     */
+    @Override
+    public String removeDataLabel(final int index) {
+        return addDataLabel(index, "");
+    }
+
+    /**
+     * A string representation of the CSS style associated with this specific {@code DataSet} data point. @see
+     * #getStyle()
+     *
+     * @param index the index of the specific data point
+     * @return the previously set style or <code>null</code> if no label has been specified
+     */
+    @Override
+    public String removeStyle(final int index) {
+        return addDataStyle(index, "");
+    }
+
+    /**
+     * removes all data points
+     *
+     * @return itself (fluent design)
+     */
+    public LimitedSortedDataSet reset() {
+        lock().writeLockGuard(this::clearSamples);
+        return this;
+    }
+
+    /**
+     * <p>
+     * Initialises the data set with specified data.
+     * </p>
+     * Note: The method copies values from specified double arrays.
+     *
+     * @param xValues X coordinates
+     * @param yValues Y coordinates
+     * @return itself
+     */
+    public LimitedSortedDataSet set(final double[] xValues, final double[] yValues) {
+        final int ndim = xValues.length;
+        return this.set(xValues, yValues, new double[ndim], new double[ndim], ndim);
+    }
+
+    /**
+     * <p>
+     * Initialises the data set with specified data.
+     * </p>
+     * Note: The method copies values from specified double arrays.
+     *
+     * @param xValues X coordinates
+     * @param yValues Y coordinates
+     * @param xErrors symmetric X coordinate errors
+     * @param yErrors symmetric Y coordinate errors
+     * @param count number of points to be taken from specified arrays.
+     * @return itself
+     */
+    public LimitedSortedDataSet set(final double[] xValues, final double[] yValues, final double[] xErrors, final double[] yErrors, final int count) {
+        AssertUtils.notNull("X coordinates", xValues);
+        AssertUtils.notNull("Y coordinates", yValues);
+        if (xValues.length < count || yValues.length < count || xErrors.length < count || yErrors.length < count) {
+            throw new IllegalArgumentException("Arrays with coordinates must have length >= count!");
+        }
+
+        lock().writeLockGuard(() -> {
+            insertAll(xValues, yValues, xErrors, yErrors, count);
+            expire();
+        });
+        fireInvalidated(ChartBits.DataSetData);
+        return getThis();
+    }
+
+    /**
+     * <p>
+     * Initialises the data set with specified data.
+     * </p>
+     * Note: The method copies values from specified double arrays.
+     *
+     * @param xValues X coordinates
+     * @param yValues Y coordinates
+     * @param yErrors symmetric Y coordinate errors
+     * @param count number of points to be taken from specified arrays.
+     * @return itself
+     */
+    public LimitedSortedDataSet set(final double[] xValues, final double[] yValues, final double[] yErrors, final int count) {
+        return this.set(xValues, yValues, new double[count], yErrors, count);
+    }
+
+    /**
+     * <p>
+     * Initialises the data set with specified data.
+     * </p>
+     * Note: The method copies values from specified double arrays.
+     *
+     * @param xValues X coordinates
+     * @param yValues Y coordinates
+     * @param count number of points to be taken from specified arrays.
+     * @return itself
+     */
+    public LimitedSortedDataSet set(final double[] xValues, final double[] yValues, final int count) {
+        return this.set(xValues, yValues, new double[count], new double[count], count);
+    }
+
+    /**
+     * Sets the point with index to the new coordinate
+     *
+     * @param index the point index of the data set
+     * @param x the horizontal coordinate of the data point
+     * @param y the vertical coordinate of the data point
+     * @return itself
+     */
+    public LimitedSortedDataSet set(final int index, final double x, final double y) {
+        return set(index, x, y, 0, 0);
+    }
+
+    /**
+     * Sets the point with index to the new coordinate. N.B. the point is moved to its new sorted position, ie. its
+     * index may change.
+     *
+     * @param index the point index of the data set
+     * @param x the horizontal coordinate of the data point
+     * @param y the vertical coordinate of the data point
+     * @param dx the horizontal error
+     * @param dy the vertical error N.B. assumes symmetric errors
+     * @return itself
+     */
+    public LimitedSortedDataSet set(final int index, final double x, final double y, final double dx, final double dy) {
+        lock().writeLockGuard(() -> {
+            checkIndex(index);
+            final String label = labels == null ? null : labels[head + index];
+            final String style = styles == null ? null : styles[head + index];
+            removeRange(index, index + 1);
+            insert(x, y, dx, dy, label, style);
+            expire();
+        });
+        fireInvalidated(ChartBits.DataSetData);
+        return getThis();
+    }
+
+    @Override
+    public DataSet set(final DataSet other, final boolean copy) {
+        if (other == null) {
+            throw new IllegalArgumentException("other must not be null");
+        }
+
+        this.lock().writeLockGuard(() -> other.lock().readLockGuard(() -> {
+            clearSamples();
+            getAxisDescriptions().forEach(AxisDescription::clear);
+            final int count = other.getDataCount();
+            final int start = reserveAtEnd(count);
+            if (other instanceof DataSetError) {
+                final DataSetError oEds = (DataSetError) other;
+                for (int i = 0; i < count; i++) {
+                    xValues[start + i] = oEds.get(DIM_X, i);
+                    yValues[start + i] = oEds.get(DIM_Y, i);
+                    xErrors[start + i] = Math.abs(Math.max(oEds.getErrorNegative(DIM_X, i), oEds.getErrorPositive(DIM_X, i)));
+                    yErrors[start + i] = Math.abs(Math.max(oEds.getErrorNegative(DIM_Y, i), oEds.getErrorPositive(DIM_Y, i)));
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    xValues[start + i] = other.get(DIM_X, i);
+                    yValues[start + i] = other.get(DIM_Y, i);
+                }
+                Arrays.fill(xErrors, start, start + count, 0.0);
+                Arrays.fill(yErrors, start, start + count, 0.0);
+            }
+            appended(count);
+            expire();
+            super.copyDataLabelsAndStyles(other, copy);
+            super.copyMetaData(other);
+            super.copyAxisDescription(other);
+        }));
+        fireInvalidated(ChartBits.DataSetData);
+        return getThis();
+    }
+
+    /**
+     * @param maxLength maximum X range before points are getting dropped
+     * @return itself (fluent design)
+     */
+    public LimitedSortedDataSet setMaxLength(final double maxLength) {
+        this.maxLength = maxLength;
+        return this;
+    }
+
+    /**
+     * @param maxQueueSize maximum number of data points before points are getting dropped
+     * @return itself (fluent design)
+     */
+    public LimitedSortedDataSet setMaxQueueSize(final int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+        return this;
+    }
+
+    /**
+     * @param sortedByX {@code true}: samples are sorted by x, {@code false}: by y. N.B. existing samples are re-sorted
+     */
+    public void setSortedByX(final boolean sortedByX) {
+        lock().writeLockGuard(() -> {
+            if (isSortedByX == sortedByX) {
+                return;
+            }
+            isSortedByX = sortedByX;
+            reorder(sortedOrder(getKeys(), head, head + size));
+        });
+        fireInvalidated(ChartBits.DataSetData);
+    }
+
+    /**
+     *
+     * @param subtractOffset {@code true}: normalise x-Axis to last value
+     */
+    public void setSubtractOffset(boolean subtractOffset) {
+        this.subtractOffset = subtractOffset;
+    }
+
+    /**
+     * @return current capacity of the backing arrays
+     */
+    protected int getCapacity() {
+        return xValues.length;
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of range [0, " + size + ")");
+        }
+    }
+
+    private void clearSamples() {
+        clearSlots(head, head + size);
+        head = 0;
+        size = 0;
+    }
+
+    private void clearSlots(final int from, final int to) {
+        if (labels != null) {
+            Arrays.fill(labels, from, to, null);
+        }
+        if (styles != null) {
+            Arrays.fill(styles, from, to, null);
+        }
+    }
+
+    /**
+     * updates the axis ranges for the {@code count} samples that have been written after the current last sample and
+     * merges them into the sorted sequence
+     */
+    private void appended(final int count) {
+        final int start = head + size;
+        final int end = start + count;
+        for (int i = start; i < end; i++) {
+            getAxisDescription(DIM_X).add(xValues[i] - xErrors[i]);
+            getAxisDescription(DIM_X).add(xValues[i] + xErrors[i]);
+            getAxisDescription(DIM_Y).add(yValues[i] - yErrors[i]);
+            getAxisDescription(DIM_Y).add(yValues[i] + yErrors[i]);
+        }
+        size += count;
+
+        // fast path: in-order appends
+        final double[] keys = getKeys();
+        boolean isSorted = true;
+        for (int i = Math.max(head + 1, start); isSorted && i < end; i++) {
+            isSorted = Double.compare(keys[i - 1], keys[i]) <= 0;
+        }
+        if (isSorted) {
+            return;
+        }
+
+        // sort the new samples and merge them after existing samples with identical keys
+        final int[] newOrder = sortedOrder(keys, start, end);
+        final int[] order = new int[size];
+        int oldIndex = head;
+        int newIndex = 0;
+        for (int i = 0; i < size; i++) {
+            if (newIndex >= count || (oldIndex < start && Double.compare(keys[oldIndex], keys[newOrder[newIndex]]) <= 0)) {
+                order[i] = oldIndex++;
+            } else {
+                order[i] = newOrder[newIndex++];
+            }
+        }
+        reorder(order);
+    }
+
+    private double[] getKeys() {
+        return isSortedByX ? xValues : yValues;
+    }
+
+    private void insert(final double x, final double y, final double ex, final double ey, final String... labelStyle) {
+        // binary search for the first sample with a larger key (N.B. NaN keys are sorted last)
+        final double[] keys = getKeys();
+        final double key = isSortedByX ? x : y;
+        int low = head;
+        int high = head + size;
+        if (size > 0 && Double.compare(keys[high - 1], key) <= 0) {
+            low = high; // fast path: in-order append
+        }
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (Double.compare(keys[mid], key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int pos = low - head;
+
+        // make room on the shorter side
+        if (pos >= size / 2) {
+            if (head + size == xValues.length) {
+                relocate(1, true);
+            }
+            move(head + pos, head + pos + 1, size - pos);
+        } else {
+            if (head == 0) {
+                relocate(1, false);
+            }
+            move(head, head - 1, pos);
+            head--;
+        }
+        pos += head;
+        size++;
+
+        xValues[pos] = x;
+        yValues[pos] = y;
+        xErrors[pos] = ex;
+        yErrors[pos] = ey;
+        final String label = labelStyle != null && labelStyle.length > 0 ? labelStyle[0] : null;
+        final String style = labelStyle != null && labelStyle.length > 1 ? labelStyle[1] : null;
+        if (labels != null || label != null) {
+            if (labels == null) {
+                labels = new String[xValues.length];
+            }
+            labels[pos] = label;
+        }
+        if (styles != null || style != null) {
+            if (styles == null) {
+                styles = new String[xValues.length];
+            }
+            styles[pos] = style;
+        }
+
+        getAxisDescription(DIM_X).add(x - ex);
+        getAxisDescription(DIM_X).add(x + ex);
+        getAxisDescription(DIM_Y).add(y - ey);
+        getAxisDescription(DIM_Y).add(y + ey);
+    }
+
+    /**
+     * inserts multiple samples at once: the samples are appended and -- if needed -- sorted once in O(N log N) rather
+     * than being inserted one-by-one
+     */
+    private void insertAll(final double[] x, final double[] y, final double[] ex, final double[] ey, final int count, final String... labelStyle) {
+        if (count <= 0) {
+            return;
+        }
+        final int start = reserveAtEnd(count);
+        System.arraycopy(x, 0, xValues, start, count);
+        System.arraycopy(y, 0, yValues, start, count);
+        System.arraycopy(ex, 0, xErrors, start, count);
+        System.arraycopy(ey, 0, yErrors, start, count);
+        final String label = labelStyle != null && labelStyle.length > 0 ? labelStyle[0] : null;
+        final String style = labelStyle != null && labelStyle.length > 1 ? labelStyle[1] : null;
+        if (labels != null || label != null) {
+            if (labels == null) {
+                labels = new String[xValues.length];
+            }
+            Arrays.fill(labels, start, start + count, label);
+        }
+        if (styles != null || style != null) {
+            if (styles == null) {
+                styles = new String[xValues.length];
+            }
+            Arrays.fill(styles, start, start + count, style);
+        }
+        appended(count);
+    }
+
+    private void move(final int from, final int to, final int length) {
+        if (length <= 0) {
+            return;
+        }
+        System.arraycopy(xValues, from, xValues, to, length);
+        System.arraycopy(yValues, from, yValues, to, length);
+        System.arraycopy(xErrors, from, xErrors, to, length);
+        System.arraycopy(yErrors, from, yErrors, to, length);
+        if (labels != null) {
+            System.arraycopy(labels, from, labels, to, length);
+        }
+        if (styles != null) {
+            System.arraycopy(styles, from, styles, to, length);
+        }
+    }
+
+    /**
+     * (re-)distributes the free capacity, growing the arrays if necessary, so that at least {@code nFree} slots are
+     * available at the requested end
+     */
+    private void relocate(final int nFree, final boolean atEnd) {
+        final int capacity = xValues.length;
+        // grow if less than 1/4 of the capacity would remain free
+        final int required = size + Math.max(nFree, 1);
+        final int newCapacity = required > capacity - capacity / 4 ? Math.max(MIN_CAPACITY, Math.max(2 * capacity, required + required / 2)) : capacity;
+        final int free = newCapacity - size;
+        // N.B. keep most of the free space on the requested side -- e.g. at the end for (mostly) appending time-series
+        final int newHead = atEnd ? Math.min(free / 4, free - nFree) : Math.max(free - free / 4, nFree);
+        if (newCapacity == capacity) {
+            move(head, newHead, size);
+            if (newHead > head) {
+                clearSlots(head, Math.min(newHead, head + size));
+            } else {
+                clearSlots(Math.max(newHead + size, head), head + size);
+            }
+        } else {
+            xValues = relocated(xValues, newCapacity, newHead);
+            yValues = relocated(yValues, newCapacity, newHead);
+            xErrors = relocated(xErrors, newCapacity, newHead);
+            yErrors = relocated(yErrors, newCapacity, newHead);
+            if (labels != null) {
+                final String[] newLabels = new String[newCapacity];
+                System.arraycopy(labels, head, newLabels, newHead, size);
+                labels = newLabels;
+            }
+            if (styles != null) {
+                final String[] newStyles = new String[newCapacity];
+                System.arraycopy(styles, head, newStyles, newHead, size);
+                styles = newStyles;
+            }
+        }
+        head = newHead;
+    }
+
+    /**
+     * rearranges the samples according to the given physical indices
+     */
+    private void reorder(final int[] order) {
+        xValues = permute(xValues, order);
+        yValues = permute(yValues, order);
+        xErrors = permute(xErrors, order);
+        yErrors = permute(yErrors, order);
+        labels = permute(labels, order);
+        styles = permute(styles, order);
+        head = 0;
+    }
+
+    private double[] relocated(final double[] array, final int newCapacity, final int newHead) {
+        final double[] newArray = new double[newCapacity];
+        System.arraycopy(array, head, newArray, newHead, size);
+        return newArray;
+    }
+
+    /**
+     * @param count number of samples to be appended
+     * @return physical index after the last sample with at least {@code count} free slots
+     */
+    private int reserveAtEnd(final int count) {
+        if (head + size + count > xValues.length) {
+            relocate(count, true);
+        }
+        return head + size;
+    }
+
+    private void removeRange(final int fromIndex, final int toIndex) {
+        final int nRemoved = toIndex - fromIndex;
+        if (nRemoved <= 0) {
+            return;
+        }
+        // close the gap from the shorter side
+        if (fromIndex < size - toIndex) {
+            move(head, head + nRemoved, fromIndex);
+            clearSlots(head, head + nRemoved);
+            head += nRemoved;
+        } else {
+            move(head + toIndex, head + fromIndex, size - toIndex);
+            clearSlots(head + size - nRemoved, head + size);
+        }
+        size -= nRemoved;
+        if (size == 0) {
+            head = 0;
+        }
+    }
+
+    private static double[] permute(final double[] array, final int[] order) {
+        final double[] result = new double[array.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = array[order[i]];
+        }
+        return result;
+    }
+
+    private static String[] permute(final String[] array, final int[] order) {
+        if (array == null) {
+            return null; // NOPMD - lazily allocated
+        }
+        final String[] result = new String[array.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = array[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * @return the physical indices within [from, to) in the (stable) order of their keys, NaN keys sorted last
+     */
+    private static int[] sortedOrder(final double[] keys, final int from, final int to) {
+        final int length = to - from;
+        int[] order = new int[length];
+        int[] buffer = new int[length];
+        for (int i = 0; i < length; i++) {
+            order[i] = from + i;
+        }
+        // bottom-up merge sort on primitive indices
+        for (int width = 1; width < length; width <<= 1) {
+            for (int low = 0; low < length; low += 2 * width) {
+                final int mid = Math.min(low + width, length);
+                final int high = Math.min(low + 2 * width, length);
+                int left = low;
+                int right = mid;
+                for (int i = low; i < high; i++) {
+                    if (right >= high || (left < mid && Double.compare(keys[order[left]], keys[order[right]]) <= 0)) {
+                        buffer[i] = order[left++];
+                    } else {
+                        buffer[i] = order[right++];
+                    }
+                }
+            }
+            final int[] tmp = order;
+            order = buffer;
+            buffer = tmp;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,666 @@
+package io.fair_acc.dataset.spi;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.fair_acc.dataset.AxisDescription;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.DataSetError;
+import io.fair_acc.dataset.DataSetMetaData;
+import io.fair_acc.dataset.GridDataSet;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.LzBlockCodec;
+
+/**
+ * Read-only {@code DataSetError} view of a binary columnar data set file that is memory-mapped rather than parsed.
+ * <p>
+ * File format (version {@value #VERSION}, little-endian):
+ * <ul>
+ * <li>a {@value #HEADER_SIZE}-byte header: magic, version, dimension, data count, chunk size, number of columns and the
+ * offsets of the column directory and meta data sections;</li>
+ * <li>the column data: each dimension's values and -- if present -- its negative and positive errors are stored as
+ * separate columns of consecutive, 8-byte aligned chunks of {@link #getChunkSize()} samples. Chunks are either stored
+ * as raw doubles or, optionally, byte-shuffled and {@link LzBlockCodec LZ}-compressed if this saves space;</li>
+ * <li>the column directory: per column the dimension index and kind, and per chunk its file offset, stored length,
+ * encoding and min/max values;</li>
+ * <li>the meta data ({@link java.io.DataOutput} encoding): data set name and style, axis names, units and limits
+ * (including errors), info/warning/error lists, meta info map, data labels and styles.</li>
+ * </ul>
+ * <p>
+ * Opening a file only reads the header, directory and meta data. Raw chunks are exposed as {@link DoubleBuffer} views of
+ * the mapped file without copying (see {@link #getChunkView(int, int)}), i.e. the OS pages in only the data that is
+ * actually accessed. Compressed chunks are decoded lazily on first access. Since the content is immutable, the
+ * embedded axis limits remain valid and {@link #recomputeLimits(int)} does not scan the data.
+ * <p>
+ * Files are written using {@link #write(DataSet, Path, boolean)}. N.B. grid data sets are not supported by the format.
+ *
+ * @see MappedDoubleErrorDataSet for a writable, append-only memory-mapped data set
+ */
+@SuppressWarnings("PMD.TooManyMethods") // part of the flexible class nature
+public class MappedColumnarDataSet extends AbstractErrorDataSet<MappedColumnarDataSet> implements DataSetError {
+    private static final long serialVersionUID = 6338571034611327426L;
+    /**
+     * size of the file header in bytes
+     */
+    public static final int HEADER_SIZE = 64;
+    /**
+     * format version written by this implementation
+     */
+    public static final int VERSION = 1;
+    /**
+     * default number of samples per chunk (512 kB per raw chunk)
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+    /**
+     * maximum number of samples per chunk
+     */
+    public static final int MAX_CHUNK_SIZE = 1 << 24;
+    public static final int KIND_VALUES = 0;
+    public static final int KIND_ERROR_NEGATIVE = 1;
+    public static final int KIND_ERROR_POSITIVE = 2;
+    private static final long MAGIC = 0x534C_4F43_5846_4843L; // "CHFXCOLS" in little-endian byte order
+    private static final int DIRECTORY_ENTRY_SIZE = Long.BYTES + 2 * Integer.BYTES + 2 * Double.BYTES;
+    private static final int ENCODING_RAW = 0;
+    private static final int ENCODING_SHUFFLE_LZ = 1;
+    private static final long MAX_SEGMENT_SIZE = 1L << 30; // N.B. a mapped buffer is limited to 2 GB
+    private final transient Path file;
+    private final int dataCount;
+    private final int chunkSize;
+    private final int chunkShift;
+    private final int chunkMask;
+    private final transient Column[][] columns; // [dimIndex][kind], kinds without data are 'null'
+    private final double[][] axisLimits; // [dimIndex][min, max]
+    private final boolean compressed;
+
+    /**
+     * Opens and memory-maps an existing binary columnar data set file.
+     *
+     * @param file the file to be opened
+     * @throws IOException in case the file could not be read or is not a valid columnar data set file
+     */
+    public MappedColumnarDataSet(final Path file) throws IOException {
+        this(Layout.read(file));
+    }
+
+    private MappedColumnarDataSet(final Layout layout) {
+        super(layout.name, layout.dimension, layout.errorTypes());
+        file = layout.file;
+        dataCount = layout.dataCount;
+        chunkSize = layout.chunkSize;
+        chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+        chunkMask = chunkSize - 1;
+        columns = layout.columns;
+        axisLimits = layout.axisLimits;
+        boolean anyCompressed = false;
+        for (final Column[] dimColumns : columns) {
+            for (final Column column : dimColumns) {
+                anyCompressed |= column != null && column.isCompressed();
+            }
+        }
+        compressed = anyCompressed;
+
+        setStyle(layout.style);
+        for (int dim = 0; dim < layout.dimension; dim++) {
+            getAxisDescription(dim).set(layout.axisNames[dim], layout.axisUnits[dim], axisLimits[dim][0], axisLimits[dim][1]);
+        }
+        getInfoList().addAll(layout.infoList);
+        getWarningList().addAll(layout.warningList);
+        getErrorList().addAll(layout.errorList);
+        getMetaInfo().putAll(layout.metaInfo);
+        getDataLabelMap().putAll(layout.dataLabels);
+        getDataStyleMap().putAll(layout.dataStyles);
+    }
+
+    @Override
+    public final double get(final int dimIndex, final int index) {
+        return columns[dimIndex][KIND_VALUES].chunk(index >>> chunkShift).get(index & chunkMask);
+    }
+
+    /**
+     * @return number of chunks per column
+     */
+    public int getChunkCount() {
+        return (int) ((dataCount + (long) chunkSize - 1) >>> chunkShift);
+    }
+
+    /**
+     * @param dimIndex dimension index
+     * @param chunkIndex chunk index
+     * @return maximum finite value of the given chunk or NaN if undefined
+     */
+    public double getChunkMax(final int dimIndex, final int chunkIndex) {
+        return columns[dimIndex][KIND_VALUES].chunkMax[chunkIndex];
+    }
+
+    /**
+     * @param dimIndex dimension index
+     * @param chunkIndex chunk index
+     * @return minimum finite value of the given chunk or NaN if undefined
+     */
+    public double getChunkMin(final int dimIndex, final int chunkIndex) {
+        return columns[dimIndex][KIND_VALUES].chunkMin[chunkIndex];
+    }
+
+    /**
+     * @return number of samples per chunk (the last chunk may be shorter)
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Zero-copy access to the stored values. For raw chunks the view is backed by the memory-mapped file, for compressed
+     * chunks by the decoded (cached) chunk.
+     *
+     * @param dimIndex dimension index
+     * @param chunkIndex chunk index
+     * @return read-only view of the chunk's values, starting with sample {@code chunkIndex * getChunkSize()}
+     */
+    public DoubleBuffer getChunkView(final int dimIndex, final int chunkIndex) {
+        AssertUtils.indexInBounds(chunkIndex, getChunkCount(), "chunkIndex out of bounds");
+        return columns[dimIndex][KIND_VALUES].chunk(chunkIndex).duplicate();
+    }
+
+    @Override
+    public int getDataCount() {
+        return dataCount;
+    }
+
+    @Override
+    public double getErrorNegative(final int dimIndex, final int index) {
+        final Column column = columns[dimIndex][KIND_ERROR_NEGATIVE];
+        return column == null ? 0.0 : column.chunk(index >>> chunkShift).get(index & chunkMask);
+    }
+
+    @Override
+    public double getErrorPositive(final int dimIndex, final int index) {
+        final Column column = columns[dimIndex][KIND_ERROR_POSITIVE];
+        return column == null ? 0.0 : column.chunk(index >>> chunkShift).get(index & chunkMask);
+    }
+
+    @Override
+    public double[] getErrorsNegative(final int dimIndex) {
+        return copyColumn(columns[dimIndex][KIND_ERROR_NEGATIVE]);
+    }
+
+    @Override
+    public double[] getErrorsPositive(final int dimIndex) {
+        return copyColumn(columns[dimIndex][KIND_ERROR_POSITIVE]);
+    }
+
+    /**
+     * @return the backing file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * N.B. materialises the whole column on the heap, prefer {@link #getChunkView(int, int)} for large data sets.
+     */
+    @Override
+    public double[] getValues(final int dimIndex) {
+        return copyColumn(columns[dimIndex][KIND_VALUES]);
+    }
+
+    /**
+     * @return {@code true} if at least one chunk is stored compressed
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * The data is immutable, hence the limits embedded in the file remain valid and are restored without scanning the
+     * data.
+     */
+    @Override
+    public MappedColumnarDataSet recomputeLimits(final int dimIndex) {
+        getAxisDescription(dimIndex).set(axisLimits[dimIndex][0], axisLimits[dimIndex][1]);
+        return getThis();
+    }
+
+    @Override
+    public DataSet set(final DataSet other, final boolean copy) {
+        throw new UnsupportedOperationException("MappedColumnarDataSet is read-only");
+    }
+
+    private double[] copyColumn(final Column column) {
+        final double[] values = new double[dataCount];
+        if (column == null) {
+            return values;
+        }
+        for (int chunk = 0, nChunks = getChunkCount(); chunk < nChunks; chunk++) {
+            final DoubleBuffer view = column.chunk(chunk);
+            view.get(0, values, chunk << chunkShift, view.limit());
+        }
+        return values;
+    }
+
+    /**
+     * Writes the data set to a binary columnar file using the {@link #DEFAULT_CHUNK_SIZE}.
+     *
+     * @param dataSet the data set to be exported (N.B. read-locked during the export)
+     * @param file the target file (overwritten if it exists)
+     * @param compress {@code true}: compress chunks where this saves space
+     * @throws IOException in case the file could not be written
+     */
+    public static void write(final DataSet dataSet, final Path file, final boolean compress) throws IOException {
+        write(dataSet, file, compress, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Writes the data set to a binary columnar file.
+     *
+     * @param dataSet the data set to be exported (N.B. read-locked during the export)
+     * @param file the target file (overwritten if it exists)
+     * @param compress {@code true}: compress chunks where this saves space
+     * @param chunkSize number of samples per chunk (power of two, at most {@link #MAX_CHUNK_SIZE})
+     * @throws IOException in case the file could not be written
+     */
+    public static void write(final DataSet dataSet, final Path file, final boolean compress, final int chunkSize) throws IOException {
+        AssertUtils.notNull("dataSet", dataSet);
+        AssertUtils.notNull("file", file);
+        AssertUtils.gtThanZero("chunkSize", chunkSize);
+        if (Integer.bitCount(chunkSize) != 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize " + chunkSize + " must be a power of two and <= " + MAX_CHUNK_SIZE);
+        }
+        if (dataSet instanceof GridDataSet) {
+            throw new IllegalArgumentException("grid data sets are not supported by the columnar file format");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            dataSet.lock().readLockGuard(() -> {
+                try {
+                    new Writer(dataSet, channel, compress, chunkSize).write();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String readString(final DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * one stored column (values or errors of one dimension)
+     */
+    private static final class Column {
+        private final DoubleBuffer[] raw; // zero-copy views, 'null' for compressed chunks
+        private final ByteBuffer[] stored; // compressed chunk data, 'null' for raw chunks
+        private final int[] chunkLength;
+        private final double[] chunkMin;
+        private final double[] chunkMax;
+        private final AtomicReferenceArray<DoubleBuffer> decoded;
+
+        private Column(final int nChunks) {
+            raw = new DoubleBuffer[nChunks];
+            stored = new ByteBuffer[nChunks];
+            chunkLength = new int[nChunks];
+            chunkMin = new double[nChunks];
+            chunkMax = new double[nChunks];
+            decoded = new AtomicReferenceArray<>(nChunks);
+        }
+
+        private DoubleBuffer chunk(final int chunkIndex) {
+            final DoubleBuffer view = raw[chunkIndex];
+            return view == null ? decode(chunkIndex) : view;
+        }
+
+        private DoubleBuffer decode(final int chunkIndex) {
+            final DoubleBuffer cached = decoded.get(chunkIndex);
+            if (cached != null) {
+                return cached;
+            }
+            final ByteBuffer source = stored[chunkIndex];
+            final int nBytes = chunkLength[chunkIndex] * Double.BYTES;
+            final byte[] shuffled = new byte[nBytes];
+            final int nDecoded = LzBlockCodec.decompress(source, 0, source.limit(), shuffled, 0, nBytes);
+            if (nDecoded != nBytes) {
+                throw new IllegalStateException("corrupt compressed chunk #" + chunkIndex + ": decoded " + nDecoded + " of " + nBytes + " bytes");
+            }
+            final byte[] bytes = new byte[nBytes];
+            LzBlockCodec.unshuffle(shuffled, 0, chunkLength[chunkIndex], Double.BYTES, bytes, 0);
+            final DoubleBuffer view = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().asReadOnlyBuffer();
+            // N.B. concurrent first accesses may decode the chunk twice, but all threads use the same instance afterwards
+            return decoded.compareAndSet(chunkIndex, null, view) ? view : decoded.get(chunkIndex);
+        }
+
+        private boolean isCompressed() {
+            for (final ByteBuffer buffer : stored) {
+                if (buffer != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * parsed file header, column directory and meta data
+     */
+    private static final class Layout {
+        private Path file;
+        private String name;
+        private String style;
+        private int dimension;
+        private int dataCount;
+        private int chunkSize;
+        private Column[][] columns;
+        private String[] axisNames;
+        private String[] axisUnits;
+        private double[][] axisLimits;
+        private final List<String> infoList = new ArrayList<>();
+        private final List<String> warningList = new ArrayList<>();
+        private final List<String> errorList = new ArrayList<>();
+        private final Map<String, String> metaInfo = new HashMap<>();
+        private final Map<Integer, String> dataLabels = new HashMap<>();
+        private final Map<Integer, String> dataStyles = new HashMap<>();
+
+        private ErrorType[] errorTypes() {
+            final ErrorType[] types = new ErrorType[dimension];
+            for (int dim = 0; dim < dimension; dim++) {
+                types[dim] = columns[dim][KIND_ERROR_NEGATIVE] == null ? ErrorType.NO_ERROR : ErrorType.ASYMMETRIC;
+            }
+            return types;
+        }
+
+        private static Layout read(final Path file) throws IOException {
+            AssertUtils.notNull("file", file);
+            final Layout layout = new Layout();
+            layout.file = file;
+            // N.B. the mappings remain valid after the channel has been closed
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final long fileSize = channel.size();
+                if (fileSize < HEADER_SIZE) {
+                    throw new IOException("file '" + file + "' is too short for a columnar data set");
+                }
+                final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                if (header.getLong(0) != MAGIC) {
+                    throw new IOException("file '" + file + "' is not a columnar data set");
+                }
+                final int version = header.getInt(8);
+                if (version != VERSION) {
+                    throw new IOException("unsupported columnar data set version " + version + " in '" + file + "', expected " + VERSION);
+                }
+                layout.dimension = header.getInt(12);
+                layout.dataCount = header.getInt(16);
+                layout.chunkSize = header.getInt(20);
+                final int nColumns = header.getInt(24);
+                final long directoryOffset = header.getLong(32);
+                final long metaDataOffset = header.getLong(40);
+                final int metaDataLength = header.getInt(48);
+                if (layout.dimension <= 0 || layout.dataCount < 0 || Integer.bitCount(layout.chunkSize) != 1 || layout.chunkSize > MAX_CHUNK_SIZE //
+                        || directoryOffset < HEADER_SIZE || metaDataOffset < directoryOffset || metaDataOffset + metaDataLength > fileSize) {
+                    throw new IOException("corrupt columnar data set header in '" + file + "'");
+                }
+
+                final int nChunks = (int) ((layout.dataCount + (long) layout.chunkSize - 1) / layout.chunkSize);
+                layout.columns = new Column[layout.dimension][3];
+                final ByteBuffer directory = channel.map(FileChannel.MapMode.READ_ONLY, directoryOffset, metaDataOffset - directoryOffset).order(ByteOrder.LITTLE_ENDIAN);
+                ByteBuffer segment = null;
+                long segmentStart = 0;
+                long segmentEnd = 0;
+                for (int i = 0; i < nColumns; i++) {
+                    final int dim = directory.getInt();
+                    final int kind = directory.getInt();
+                    final Column column = new Column(nChunks);
+                    for (int chunk = 0; chunk < nChunks; chunk++) {
+                        final long offset = directory.getLong();
+                        final int storedLength = directory.getInt();
+                        final int encoding = directory.getInt();
+                        column.chunkMin[chunk] = directory.getDouble();
+                        column.chunkMax[chunk] = directory.getDouble();
+                        column.chunkLength[chunk] = Math.min(layout.chunkSize, layout.dataCount - chunk * layout.chunkSize);
+                        if (offset < HEADER_SIZE || offset + storedLength > directoryOffset) {
+                            throw new IOException("corrupt chunk directory in '" + file + "'");
+                        }
+                        if (offset + storedLength > segmentEnd || offset < segmentStart) {
+                            // map the data section in large segments rather than per chunk
+                            segmentStart = offset;
+                            segmentEnd = Math.min(directoryOffset, offset + MAX_SEGMENT_SIZE);
+                            segment = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, segmentEnd - segmentStart);
+                        }
+                        final ByteBuffer bytes = segment.slice((int) (offset - segmentStart), storedLength).order(ByteOrder.LITTLE_ENDIAN);
+                        if (encoding == ENCODING_RAW) {
+                            column.raw[chunk] = bytes.asDoubleBuffer();
+                        } else if (encoding == ENCODING_SHUFFLE_LZ) {
+                            column.stored[chunk] = bytes;
+                        } else {
+                            throw new IOException("unknown chunk encoding " + encoding + " in '" + file + "'");
+                        }
+                    }
+                    layout.columns[dim][kind] = column;
+                }
+                for (int dim = 0; dim < layout.dimension; dim++) {
+                    if (layout.columns[dim][KIND_VALUES] == null) {
+                        throw new IOException("missing values of dimension " + dim + " in '" + file + "'");
+                    }
+                }
+
+                final byte[] metaData = new byte[metaDataLength];
+                channel.read(ByteBuffer.wrap(metaData), metaDataOffset);
+                layout.readMetaData(new DataInputStream(new ByteArrayInputStream(metaData)));
+            }
+            return layout;
+        }
+
+        private void readMetaData(final DataInputStream input) throws IOException {
+            name = readString(input);
+            style = readString(input);
+            axisNames = new String[dimension];
+            axisUnits = new String[dimension];
+            axisLimits = new double[dimension][2];
+            for (int dim = 0; dim < dimension; dim++) {
+                axisNames[dim] = readString(input);
+                axisUnits[dim] = readString(input);
+                axisLimits[dim][0] = input.readDouble();
+                axisLimits[dim][1] = input.readDouble();
+            }
+            for (final List<String> list : List.of(infoList, warningList, errorList)) {
+                for (int i = input.readInt(); i > 0; i--) {
+                    list.add(readString(input));
+                }
+            }
+            for (int i = input.readInt(); i > 0; i--) {
+                metaInfo.put(readString(input), readString(input));
+            }
+            for (final Map<Integer, String> map : List.of(dataLabels, dataStyles)) {
+                for (int i = input.readInt(); i > 0; i--) {
+                    map.put(input.readInt(), readString(input));
+                }
+            }
+        }
+    }
+
+    /**
+     * writes the header, column data, directory and meta data to the given channel
+     */
+    private static final class Writer {
+        private final DataSet dataSet;
+        private final FileChannel channel;
+        private final boolean compress;
+        private final int chunkSize;
+        private final int dataCount;
+        private final int nChunks;
+        private final ByteBuffer directory;
+        private final ByteBuffer rawBytes;
+        private final byte[] shuffled;
+        private final byte[] compressed;
+        private final double[] chunkValues;
+        private long position = HEADER_SIZE;
+        private int nColumns;
+
+        private Writer(final DataSet dataSet, final FileChannel channel, final boolean compress, final int chunkSize) {
+            this.dataSet = dataSet;
+            this.channel = channel;
+            this.compress = compress;
+            this.dataCount = dataSet.getDataCount();
+            this.chunkSize = chunkSize;
+            this.nChunks = (int) ((dataCount + (long) chunkSize - 1) / chunkSize);
+            // at most three columns (values, negative and positive errors) per dimension
+            directory = ByteBuffer.allocate(3 * dataSet.getDimension() * (2 * Integer.BYTES + nChunks * DIRECTORY_ENTRY_SIZE)).order(ByteOrder.LITTLE_ENDIAN);
+            final int maxChunkBytes = Math.min(chunkSize, Math.max(1, dataCount)) * Double.BYTES;
+            rawBytes = ByteBuffer.allocate(maxChunkBytes).order(ByteOrder.LITTLE_ENDIAN);
+            shuffled = compress ? new byte[maxChunkBytes] : null;
+            compressed = compress ? new byte[LzBlockCodec.maxCompressedLength(maxChunkBytes)] : null;
+            chunkValues = new double[Math.min(chunkSize, Math.max(1, dataCount))];
+        }
+
+        private void write() throws IOException {
+            final int dimension = dataSet.getDimension();
+            final DataSetError errorDataSet = dataSet instanceof DataSetError ? (DataSetError) dataSet : null;
+            final double[][] axisLimits = new double[dimension][];
+            for (int dim = 0; dim < dimension; dim++) {
+                final boolean hasErrors = errorDataSet != null && errorDataSet.getErrorType(dim) != ErrorType.NO_ERROR;
+                writeColumn(dim, KIND_VALUES, dataSet.getValues(dim));
+                final DataRange limits = new DataRange();
+                if (hasErrors) {
+                    final double[] values = dataSet.getValues(dim);
+                    final double[] errorsNegative = errorDataSet.getErrorsNegative(dim);
+                    final double[] errorsPositive = errorDataSet.getErrorsPositive(dim);
+                    writeColumn(dim, KIND_ERROR_NEGATIVE, errorsNegative);
+                    writeColumn(dim, KIND_ERROR_POSITIVE, errorsPositive);
+                    for (int i = 0; i < dataCount; i++) {
+                        limits.add(values[i] - errorsNegative[i]);
+                        limits.add(values[i] + errorsPositive[i]);
+                    }
+                } else {
+                    for (int i = 0; i < dataCount; i++) {
+                        limits.add(dataSet.get(dim, i));
+                    }
+                }
+                axisLimits[dim] = new double[] { limits.getMin(), limits.getMax() };
+            }
+            final long directoryOffset = position;
+            directory.flip();
+            writeFully(directory);
+            final long metaDataOffset = position;
+            final byte[] metaData = metaData(axisLimits);
+            writeFully(ByteBuffer.wrap(metaData));
+
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(MAGIC).putInt(VERSION).putInt(dimension).putInt(dataCount).putInt(chunkSize).putInt(nColumns).putInt(0);
+            header.putLong(directoryOffset).putLong(metaDataOffset).putInt(metaData.length);
+            header.clear();
+            channel.write(header, 0);
+        }
+
+        private byte[] metaData(final double[][] axisLimits) throws IOException {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream output = new DataOutputStream(bytes);
+            writeString(output, dataSet.getName());
+            writeString(output, dataSet.getStyle());
+            for (int dim = 0; dim < axisLimits.length; dim++) {
+                final AxisDescription axis = dataSet.getAxisDescription(dim);
+                writeString(output, axis.getName());
+                writeString(output, axis.getUnit());
+                output.writeDouble(axisLimits[dim][0]);
+                output.writeDouble(axisLimits[dim][1]);
+            }
+            final DataSetMetaData meta = dataSet instanceof DataSetMetaData ? (DataSetMetaData) dataSet : null;
+            for (final List<String> list : meta == null ? List.<List<String>>of(List.of(), List.of(), List.of()) : List.of(meta.getInfoList(), meta.getWarningList(), meta.getErrorList())) {
+                output.writeInt(list.size());
+                for (final String entry : list) {
+                    writeString(output, entry);
+                }
+            }
+            final Map<String, String> metaInfo = meta == null ? Map.of() : meta.getMetaInfo();
+            output.writeInt(metaInfo.size());
+            for (final Map.Entry<String, String> entry : metaInfo.entrySet()) {
+                writeString(output, entry.getKey());
+                writeString(output, entry.getValue());
+            }
+            final boolean hasMaps = dataSet instanceof AbstractDataSet;
+            for (final Map<Integer, String> map : hasMaps ? List.<Map<Integer, String>>of(((AbstractDataSet<?>) dataSet).getDataLabelMap(), ((AbstractDataSet<?>) dataSet).getDataStyleMap()) : List.<Map<Integer, String>>of(Map.of(), Map.of())) {
+                output.writeInt(map.size());
+                for (final Map.Entry<Integer, String> entry : map.entrySet()) {
+                    output.writeInt(entry.getKey());
+                    writeString(output, entry.getValue());
+                }
+            }
+            output.flush();
+            return bytes.toByteArray();
+        }
+
+        private void writeColumn(final int dimIndex, final int kind, final double[] values) throws IOException {
+            directory.putInt(dimIndex);
+            directory.putInt(kind);
+            for (int chunk = 0; chunk < nChunks; chunk++) {
+                final int from = chunk * chunkSize;
+                final int length = Math.min(chunkSize, dataCount - from);
+                System.arraycopy(values, from, chunkValues, 0, length);
+                final DataRange range = new DataRange();
+                for (int i = 0; i < length; i++) {
+                    range.add(chunkValues[i]);
+                }
+                rawBytes.clear();
+                rawBytes.asDoubleBuffer().put(chunkValues, 0, length);
+                final int nBytes = length * Double.BYTES;
+
+                // align chunks to 8 bytes for the double views
+                position = (position + Double.BYTES - 1) & -Double.BYTES;
+                final long offset = position;
+                int encoding = ENCODING_RAW;
+                int storedLength = nBytes;
+                if (compress) {
+                    LzBlockCodec.shuffle(rawBytes.array(), 0, length, Double.BYTES, shuffled, 0);
+                    final int compressedLength = LzBlockCodec.compress(shuffled, 0, nBytes, compressed, 0);
+                    if (compressedLength < nBytes) {
+                        encoding = ENCODING_SHUFFLE_LZ;
+                        storedLength = compressedLength;
+                    }
+                }
+                writeFully(encoding == ENCODING_RAW ? ByteBuffer.wrap(rawBytes.array(), 0, nBytes) : ByteBuffer.wrap(compressed, 0, storedLength));
+
+                directory.putLong(offset);
+                directory.putInt(storedLength);
+                directory.putInt(encoding);
+                directory.putDouble(range.getMin());
+                directory.putDouble(range.getMax());
+            }
+            nColumns++;
+        }
+
+        private void writeFully(final ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+    }
+}
@@ -0,0 +1,488 @@
+package io.fair_acc.dataset.spi;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import io.fair_acc.dataset.AxisDescription;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.DataSet2D;
+import io.fair_acc.dataset.DataSetError;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Implementation of the {@code DataSetError} interface which stores x, y, -eyn and +eyp values off-heap in a
+ * memory-mapped file. Only the page table and a small header are kept on the Java heap, hence the data set may hold
+ * substantially more samples than the available heap (N.B. the indexable range is limited to {@code Integer.MAX_VALUE}
+ * samples by the {@link DataSet} interface), while the OS pages the data in and out as needed.
+ * <p>
+ * File layout: a {@value #HEADER_SIZE}-byte header (magic, version, data count and axis limits) followed by pages of
+ * {@link #getPageSize()} samples. Each page stores the x, y, -eyn and +eyp columns as contiguous blocks (column-major),
+ * which permits zero-copy {@link DoubleBuffer} views per page and column (see {@link #getPageView(int, int)}) and fast
+ * bulk copies (see {@link #getValues(int, int, int, double[], int)}).
+ * <p>
+ * The data set only supports appending (or clearing) data. Existing files are re-opened including their data count and
+ * axis limits. The header is updated on {@link #flush()} and {@link #close()}.
+ * <p>
+ * N.B. {@link #getValues(int)} and the error array getters need to materialise the full column on-heap and should be
+ * avoided for large data sets in favour of the bulk-copy or page-view methods.
+ *
+ * @see DoubleErrorDataSet for the on-heap equivalent
+ */
+@SuppressWarnings("PMD.TooManyMethods") // part of the flexible class nature
+public class MappedDoubleErrorDataSet extends AbstractErrorDataSet<MappedDoubleErrorDataSet> implements DataSet2D, DataSetError, Closeable {
+    private static final long serialVersionUID = -4563287415096512358L;
+    /**
+     * size of the file header in bytes (N.B. multiple of the typical OS page size to keep the data pages aligned)
+     */
+    public static final int HEADER_SIZE = 4096;
+    /**
+     * default number of samples per mapped page (i.e. 32 MB per page for the four columns)
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1 << 20;
+    /**
+     * maximum number of samples per mapped page (N.B. a page is limited to 2 GB by the {@link MappedByteBuffer} API)
+     */
+    public static final int MAX_PAGE_SIZE = 1 << 25;
+    public static final int COLUMN_X = 0;
+    public static final int COLUMN_Y = 1;
+    public static final int COLUMN_ERROR_NEGATIVE = 2;
+    public static final int COLUMN_ERROR_POSITIVE = 3;
+    private static final int N_COLUMNS = 4;
+    private static final long MAGIC = 0x4D41_5050_4544_4453L; // "MAPPEDDS"
+    private static final int VERSION = 1;
+    private static final int OFFSET_VERSION = 8;
+    private static final int OFFSET_PAGE_SIZE = 12;
+    private static final int OFFSET_COUNT = 16;
+    private static final int OFFSET_LIMITS = 24; // 4 doubles: xMin, xMax, yMin, yMax
+    private final transient Path file;
+    private final int pageSize;
+    private final int pageShift;
+    private final int pageMask;
+    private final transient FileChannel channel;
+    private final transient MappedByteBuffer header;
+    private transient MappedByteBuffer[] pages = new MappedByteBuffer[0];
+    private int dataCount;
+
+    /**
+     * Opens or creates a memory-mapped data set using the {@link #DEFAULT_PAGE_SIZE}.
+     *
+     * @param name name of this data set
+     * @param file backing file (re-opened if it exists and is non-empty)
+     * @throws IOException in case the file could not be opened or is not a valid data set file
+     */
+    public MappedDoubleErrorDataSet(final String name, final Path file) throws IOException {
+        this(name, file, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Opens or creates a memory-mapped data set.
+     *
+     * @param name name of this data set
+     * @param file backing file (re-opened if it exists and is non-empty)
+     * @param pageSize number of samples per mapped page (power of two, ignored for existing files)
+     * @throws IOException in case the file could not be opened or is not a valid data set file
+     */
+    public MappedDoubleErrorDataSet(final String name, final Path file, final int pageSize) throws IOException {
+        super(name, 2, ErrorType.NO_ERROR, ErrorType.ASYMMETRIC);
+        AssertUtils.notNull("file", file);
+        AssertUtils.gtThanZero("pageSize", pageSize);
+        if (Integer.bitCount(pageSize) != 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize " + pageSize + " must be a power of two and <= " + MAX_PAGE_SIZE);
+        }
+        this.file = file;
+        final boolean existing = Files.exists(file) && Files.size(file) >= HEADER_SIZE;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        header.order(ByteOrder.nativeOrder());
+        if (existing) {
+            if (header.getLong(0) != MAGIC || header.getInt(OFFSET_VERSION) != VERSION) {
+                channel.close();
+                throw new IOException("file '" + file + "' is not a valid memory-mapped data set (version " + VERSION + ")");
+            }
+            this.pageSize = header.getInt(OFFSET_PAGE_SIZE);
+            dataCount = (int) header.getLong(OFFSET_COUNT);
+        } else {
+            this.pageSize = pageSize;
+            dataCount = 0;
+        }
+        pageShift = Integer.numberOfTrailingZeros(this.pageSize);
+        pageMask = this.pageSize - 1;
+
+        ensureCapacity(dataCount);
+        if (existing && dataCount > 0) {
+            getAxisDescription(DIM_X).set(header.getDouble(OFFSET_LIMITS), header.getDouble(OFFSET_LIMITS + 8));
+            getAxisDescription(DIM_Y).set(header.getDouble(OFFSET_LIMITS + 16), header.getDouble(OFFSET_LIMITS + 24));
+        }
+        writeHeader();
+    }
+
+    /**
+     * add point to the data set
+     *
+     * @param x horizontal coordinate of the new data point
+     * @param y vertical coordinate of the new data point
+     * @return itself (fluent design)
+     */
+    public MappedDoubleErrorDataSet add(final double x, final double y) {
+        return add(x, y, 0.0, 0.0);
+    }
+
+    /**
+     * Add point to the data set.
+     *
+     * @param x the new x coordinate
+     * @param y the new y coordinate
+     * @param yErrorNeg the -dy error
+     * @param yErrorPos the +dy error
+     * @return itself (fluent design)
+     */
+    public MappedDoubleErrorDataSet add(final double x, final double y, final double yErrorNeg, final double yErrorPos) {
+        lock().writeLockGuard(() -> {
+            ensureCapacity(dataCount + 1);
+            final MappedByteBuffer page = pages[dataCount >>> pageShift];
+            final int offset = dataCount & pageMask;
+            page.putDouble(byteOffset(COLUMN_X, offset), x);
+            page.putDouble(byteOffset(COLUMN_Y, offset), y);
+            page.putDouble(byteOffset(COLUMN_ERROR_NEGATIVE, offset), yErrorNeg);
+            page.putDouble(byteOffset(COLUMN_ERROR_POSITIVE, offset), yErrorPos);
+            dataCount++;
+
+            getAxisDescription(DIM_X).add(x);
+            getAxisDescription(DIM_Y).add(y - yErrorNeg);
+            getAxisDescription(DIM_Y).add(y + yErrorPos);
+        });
+        fireInvalidated(ChartBits.DataSetDataAdded);
+        return getThis();
+    }
+
+    /**
+     * Add array vectors to data set.
+     *
+     * @param xValuesNew X coordinates
+     * @param yValuesNew Y coordinates
+     * @param yErrorsNegNew the -dy errors (may be {@code null})
+     * @param yErrorsPosNew the +dy errors (may be {@code null})
+     * @return itself (fluent design)
+     */
+    public MappedDoubleErrorDataSet add(final double[] xValuesNew, final double[] yValuesNew, final double[] yErrorsNegNew, final double[] yErrorsPosNew) {
+        AssertUtils.notNull("X coordinates", xValuesNew);
+        AssertUtils.notNull("Y coordinates", yValuesNew);
+        AssertUtils.equalDoubleArrays(xValuesNew, yValuesNew);
+        final int nNew = xValuesNew.length;
+        if (yErrorsNegNew != null) {
+            AssertUtils.checkArrayDimension("yErrorsNegNew", yErrorsNegNew, nNew);
+        }
+        if (yErrorsPosNew != null) {
+            AssertUtils.checkArrayDimension("yErrorsPosNew", yErrorsPosNew, nNew);
+        }
+
+        lock().writeLockGuard(() -> append(xValuesNew, yValuesNew, yErrorsNegNew, yErrorsPosNew));
+        fireInvalidated(ChartBits.DataSetDataAdded);
+        return getThis();
+    }
+
+    /**
+     * clears all data (N.B. the mapped file is not truncated and its pages are re-used by subsequent appends)
+     *
+     * @return itself (fluent design)
+     */
+    public MappedDoubleErrorDataSet clearData() {
+        lock().writeLockGuard(() -> {
+            dataCount = 0;
+            getDataLabelMap().clear();
+            getDataStyleMap().clear();
+            clearMetaInfo();
+
+            getAxisDescriptions().forEach(AxisDescription::clear);
+            writeHeader();
+        });
+        fireInvalidated(ChartBits.DataSetDataRemoved);
+        return getThis();
+    }
+
+    /**
+     * Writes the header and forces all pending changes to the storage device. The file channel is closed afterwards and
+     * the data set must no longer be used.
+     */
+    @Override
+    public void close() throws IOException {
+        lock().writeLockGuard(() -> {
+            force();
+            pages = new MappedByteBuffer[0];
+        });
+        channel.close();
+    }
+
+    /**
+     * writes the header (data count and limits) and forces all pending changes to the storage device
+     *
+     * @return itself (fluent design)
+     */
+    public MappedDoubleErrorDataSet flush() {
+        lock().writeLockGuard(this::force);
+        return getThis();
+    }
+
+    @Override
+    public final double get(final int dimIndex, final int index) {
+        return pages[index >>> pageShift].getDouble(byteOffset(dimIndex == DIM_X ? COLUMN_X : COLUMN_Y, index & pageMask));
+    }
+
+    @Override
+    public int getDataCount() {
+        return dataCount;
+    }
+
+    @Override
+    public double getErrorNegative(final int dimIndex, final int index) {
+        return dimIndex == DIM_X ? 0.0 : pages[index >>> pageShift].getDouble(byteOffset(COLUMN_ERROR_NEGATIVE, index & pageMask));
+    }
+
+    @Override
+    public double getErrorPositive(final int dimIndex, final int index) {
+        return dimIndex == DIM_X ? 0.0 : pages[index >>> pageShift].getDouble(byteOffset(COLUMN_ERROR_POSITIVE, index & pageMask));
+    }
+
+    @Override
+    public double[] getErrorsNegative(final int dimIndex) {
+        return dimIndex == DIM_X ? super.getErrorsNegative(dimIndex) : getColumn(COLUMN_ERROR_NEGATIVE);
+    }
+
+    @Override
+    public double[] getErrorsPositive(final int dimIndex) {
+        return dimIndex == DIM_X ? super.getErrorsPositive(dimIndex) : getColumn(COLUMN_ERROR_POSITIVE);
+    }
+
+    /**
+     * @return the backing file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * @return number of currently mapped pages
+     */
+    public int getPageCount() {
+        return pages.length;
+    }
+
+    /**
+     * @return number of samples per page
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Zero-copy read-only view of one column of a page. The view's limit is the number of valid samples within the page.
+     * N.B. the view is only valid while holding the read lock and until {@link #close()}.
+     *
+     * @param column one of {@link #COLUMN_X}, {@link #COLUMN_Y}, {@link #COLUMN_ERROR_NEGATIVE} or
+     *            {@link #COLUMN_ERROR_POSITIVE}
+     * @param pageIndex page index, ie. covers the samples [pageIndex * pageSize, (pageIndex + 1) * pageSize[
+     * @return read-only view of the valid samples of the given page and column
+     */
+    public DoubleBuffer getPageView(final int column, final int pageIndex) {
+        AssertUtils.indexInBounds(column, N_COLUMNS, "column out of bounds");
+        final int nPages = (dataCount + pageSize - 1) >>> pageShift;
+        AssertUtils.indexInBounds(pageIndex, nPages, "pageIndex out of bounds");
+        final int valid = Math.min(pageSize, dataCount - (pageIndex << pageShift));
+        return columnView(pages[pageIndex], column).limit(valid);
+    }
+
+    @Override
+    public double[] getValues(final int dimIndex) {
+        return getColumn(dimIndex == DIM_X ? COLUMN_X : COLUMN_Y);
+    }
+
+    /**
+     * bulk-copies a range of values into a user-supplied array
+     *
+     * @param dimIndex the dimension index (ie. {@link DataSet#DIM_X} or {@link DataSet#DIM_Y})
+     * @param fromIndex first sample index (inclusive)
+     * @param toIndex last sample index (exclusive)
+     * @param target the target array
+     * @param targetOffset first index in the target array
+     * @return the target array (fluent design)
+     */
+    public double[] getValues(final int dimIndex, final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        return copyColumn(dimIndex == DIM_X ? COLUMN_X : COLUMN_Y, fromIndex, toIndex, target, targetOffset);
+    }
+
+    /**
+     * Computes limits (ranges) of this DataSet including data point errors using page-wise bulk access.
+     */
+    @Override
+    public MappedDoubleErrorDataSet recomputeLimits(final int dimIndex) {
+        final DataRange newRange = new DataRange();
+        final int nPages = (dataCount + pageSize - 1) >>> pageShift;
+        for (int pageIndex = 0; pageIndex < nPages; pageIndex++) {
+            final int valid = Math.min(pageSize, dataCount - (pageIndex << pageShift));
+            final MappedByteBuffer page = pages[pageIndex];
+            if (dimIndex == DIM_X) {
+                final DoubleBuffer values = columnView(page, COLUMN_X);
+                for (int i = 0; i < valid; i++) {
+                    newRange.add(values.get(i));
+                }
+                continue;
+            }
+            final DoubleBuffer values = columnView(page, COLUMN_Y);
+            final DoubleBuffer errorsNeg = columnView(page, COLUMN_ERROR_NEGATIVE);
+            final DoubleBuffer errorsPos = columnView(page, COLUMN_ERROR_POSITIVE);
+            for (int i = 0; i < valid; i++) {
+                final double value = values.get(i);
+                newRange.add(value - errorsNeg.get(i));
+                newRange.add(value + errorsPos.get(i));
+            }
+        }
+        // set to new computed one and trigger notify event if different to old limits
+        getAxisDescription(dimIndex).set(newRange.getMin(), newRange.getMax());
+        return getThis();
+    }
+
+    /**
+     * clear old data and append the data from 'other' data set (N.B. always a deep copy into the mapped file)
+     *
+     * @param other the other data set
+     * @param copy ignored, the data is always copied
+     * @return itself (fluent design)
+     */
+    @Override
+    public MappedDoubleErrorDataSet set(final DataSet other, final boolean copy) {
+        AssertUtils.notNull("other", other);
+        lock().writeLockGuard(() -> other.lock().writeLockGuard(() -> {
+            dataCount = 0;
+            getAxisDescriptions().forEach(AxisDescription::clear);
+            final int nOther = other.getDataCount();
+            final double[] x = Arrays.copyOf(other.getValues(DIM_X), nOther);
+            final double[] y = Arrays.copyOf(other.getValues(DIM_Y), nOther);
+            if (other instanceof DataSetError) {
+                final DataSetError otherError = (DataSetError) other;
+                append(x, y, Arrays.copyOf(otherError.getErrorsNegative(DIM_Y), nOther), Arrays.copyOf(otherError.getErrorsPositive(DIM_Y), nOther));
+            } else {
+                append(x, y, null, null);
+            }
+            copyMetaData(other);
+            copyDataLabelsAndStyles(other, true);
+        }));
+        fireInvalidated(ChartBits.DataSetData);
+        return getThis();
+    }
+
+    private void append(final double[] xValuesNew, final double[] yValuesNew, final double[] yErrorsNegNew, final double[] yErrorsPosNew) {
+        final int nNew = xValuesNew.length;
+        ensureCapacity(dataCount + nNew);
+        int copied = 0;
+        while (copied < nNew) {
+            final int index = dataCount + copied;
+            final MappedByteBuffer page = pages[index >>> pageShift];
+            final int offset = index & pageMask;
+            final int length = Math.min(nNew - copied, pageSize - offset);
+            putColumn(page, COLUMN_X, offset, xValuesNew, copied, length);
+            putColumn(page, COLUMN_Y, offset, yValuesNew, copied, length);
+            putColumn(page, COLUMN_ERROR_NEGATIVE, offset, yErrorsNegNew, copied, length);
+            putColumn(page, COLUMN_ERROR_POSITIVE, offset, yErrorsPosNew, copied, length);
+            copied += length;
+        }
+
+        for (int i = 0; i < nNew; i++) {
+            final double eyn = yErrorsNegNew == null ? 0.0 : yErrorsNegNew[i];
+            final double eyp = yErrorsPosNew == null ? 0.0 : yErrorsPosNew[i];
+            getAxisDescription(DIM_Y).add(yValuesNew[i] - eyn);
+            getAxisDescription(DIM_Y).add(yValuesNew[i] + eyp);
+        }
+        getAxisDescription(DIM_X).add(xValuesNew);
+        dataCount += nNew;
+    }
+
+    private int byteOffset(final int column, final int offset) {
+        return (column * pageSize + offset) << 3;
+    }
+
+    private DoubleBuffer columnView(final MappedByteBuffer page, final int column) {
+        final ByteBuffer slice = page.duplicate().position(byteOffset(column, 0)).limit(byteOffset(column + 1, 0)).slice();
+        return slice.order(ByteOrder.nativeOrder()).asDoubleBuffer().asReadOnlyBuffer();
+    }
+
+    private double[] copyColumn(final int column, final int fromIndex, final int toIndex, final double[] target, final int targetOffset) {
+        AssertUtils.notNull("target", target);
+        AssertUtils.indexOrder(fromIndex, "fromIndex", toIndex, "toIndex");
+        AssertUtils.indexInBounds(toIndex, dataCount + 1, "toIndex out of bounds");
+        AssertUtils.indexInBounds(targetOffset + toIndex - fromIndex, target.length + 1, "target array too small");
+        int index = fromIndex;
+        int targetIndex = targetOffset;
+        while (index < toIndex) {
+            final int offset = index & pageMask;
+            final int length = Math.min(toIndex - index, pageSize - offset);
+            columnView(pages[index >>> pageShift], column).position(offset).get(target, targetIndex, length);
+            index += length;
+            targetIndex += length;
+        }
+        return target;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        final int nPages = (int) ((capacity + (long) pageSize - 1) >>> pageShift);
+        if (nPages <= pages.length) {
+            return;
+        }
+        final MappedByteBuffer[] newPages = Arrays.copyOf(pages, nPages);
+        final long pageBytes = (long) N_COLUMNS * pageSize * Double.BYTES;
+        try {
+            for (int i = pages.length; i < newPages.length; i++) {
+                newPages[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + i * pageBytes, pageBytes);
+                newPages[i].order(ByteOrder.nativeOrder());
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("could not map page of file '" + file + "'", e);
+        }
+        pages = newPages;
+    }
+
+    private void force() {
+        writeHeader();
+        for (final MappedByteBuffer page : pages) {
+            page.force();
+        }
+        header.force();
+    }
+
+    private double[] getColumn(final int column) {
+        return copyColumn(column, 0, dataCount, new double[dataCount], 0);
+    }
+
+    private void putColumn(final MappedByteBuffer page, final int column, final int offset, final double[] source, final int sourceOffset, final int length) {
+        final int byteOffset = byteOffset(column, offset);
+        final DoubleBuffer view = page.duplicate().position(byteOffset).slice().order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        if (source == null) {
+            for (int i = 0; i < length; i++) {
+                view.put(i, 0.0);
+            }
+            return;
+        }
+        view.put(source, sourceOffset, length);
+    }
+
+    private void writeHeader() {
+        header.putLong(0, MAGIC);
+        header.putInt(OFFSET_VERSION, VERSION);
+        header.putInt(OFFSET_PAGE_SIZE, pageSize);
+        header.putLong(OFFSET_COUNT, dataCount);
+        header.putDouble(OFFSET_LIMITS, getAxisDescription(DIM_X).getMin());
+        header.putDouble(OFFSET_LIMITS + 8, getAxisDescription(DIM_X).getMax());
+        header.putDouble(OFFSET_LIMITS + 16, getAxisDescription(DIM_Y).getMin());
+        header.putDouble(OFFSET_LIMITS + 24, getAxisDescription(DIM_Y).getMax());
+    }
+}
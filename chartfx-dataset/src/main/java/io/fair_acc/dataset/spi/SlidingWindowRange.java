@@ -0,0 +1,198 @@
+package io.fair_acc.dataset.spi;
+
+import io.fair_acc.dataset.AxisDescription;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Incrementally maintained min/max range of a first-in-first-out sample window.
+ * <p>
+ * Samples are appended at the tail and evicted from the head, as is the case for rolling data sets (e.g.
+ * {@link CircularDoubleErrorDataSet}, {@link FifoDoubleErrorDataSet}). The range is tracked using two monotonic deques
+ * (ascending minima, descending maxima) such that {@link #add(double, double)} and the evictions are amortised O(1)
+ * and {@link #getMin()}/{@link #getMax()} are O(1), compared to the O(N) scan of a full
+ * {@link io.fair_acc.dataset.DataSet#recomputeLimits(int) recomputeLimits(..)} after each update.
+ * <p>
+ * Non-finite values are ignored, consistent with {@link DataRange#add(double)}, but still occupy a slot of the window.
+ * The class is not thread-safe, the owning data set is expected to guard it by its write lock.
+ */
+public class SlidingWindowRange {
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private final MonotonicDeque minima = new MonotonicDeque(true);
+    private final MonotonicDeque maxima = new MonotonicDeque(false);
+    private long head; // sequence number of the oldest sample in the window
+    private long tail; // sequence number of the next sample to be added
+
+    /**
+     * adds a sample to the tail of the window
+     *
+     * @param value new sample value
+     */
+    public void add(final double value) {
+        add(value, value);
+    }
+
+    /**
+     * adds a sample with an extended (e.g. error bar) lower and upper bound to the tail of the window
+     *
+     * @param min lower bound of the new sample
+     * @param max upper bound of the new sample
+     */
+    public void add(final double min, final double max) {
+        minima.push(tail, min);
+        maxima.push(tail, max);
+        tail++;
+    }
+
+    /**
+     * removes all samples
+     */
+    public void clear() {
+        minima.clear();
+        maxima.clear();
+        head = 0;
+        tail = 0;
+    }
+
+    /**
+     * @return maximum of the samples within the window or NaN if none is defined
+     */
+    public double getMax() {
+        return maxima.first();
+    }
+
+    /**
+     * @return minimum of the samples within the window or NaN if none is defined
+     */
+    public double getMin() {
+        return minima.first();
+    }
+
+    /**
+     * @return {@code true} if the window contains finite lower and upper sample bounds
+     */
+    public boolean isDefined() {
+        return !minima.isEmpty() && !maxima.isEmpty();
+    }
+
+    /**
+     * removes the given number of samples from the head of the window
+     *
+     * @param nSamples number of oldest samples to be removed
+     */
+    public void removeFirst(final int nSamples) {
+        AssertUtils.gtEqThanZero("nSamples", nSamples);
+        head = Math.min(tail, head + nSamples);
+        minima.evict(head);
+        maxima.evict(head);
+    }
+
+    /**
+     * removes the oldest samples such that at most the given number of samples remain in the window
+     *
+     * @param nSamples number of newest samples to be retained
+     */
+    public void retainLast(final int nSamples) {
+        AssertUtils.gtEqThanZero("nSamples", nSamples);
+        final int size = size();
+        if (size > nSamples) {
+            removeFirst(size - nSamples);
+        }
+    }
+
+    /**
+     * @return number of samples in the window (including non-finite samples)
+     */
+    public int size() {
+        return (int) (tail - head);
+    }
+
+    /**
+     * Copies the extremes of this window to the given range (e.g. a data set's axis description), or clears it in
+     * case the window does not contain any finite sample. Listeners are only notified if the range changed.
+     *
+     * @param range the range to be updated
+     * @return {@code true} if the range has been modified
+     */
+    public boolean update(final AxisDescription range) {
+        return isDefined() ? range.set(getMin(), getMax()) : range.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "SlidingWindowRange[size=" + size() + ", min=" + getMin() + ", max=" + getMax() + ']';
+    }
+
+    /**
+     * ring buffer based deque of (sequence, value) pairs whose values are kept sorted such that the extreme of the
+     * window is always at its head
+     */
+    private static final class MonotonicDeque {
+        private final boolean ascending;
+        private long[] sequences = new long[DEFAULT_INITIAL_CAPACITY];
+        private double[] values = new double[DEFAULT_INITIAL_CAPACITY];
+        private int first; // index of the head element
+        private int count;
+
+        private MonotonicDeque(final boolean ascending) {
+            this.ascending = ascending;
+        }
+
+        private void clear() {
+            first = 0;
+            count = 0;
+        }
+
+        private void evict(final long headSequence) {
+            final int mask = values.length - 1;
+            while (count > 0 && sequences[first] < headSequence) {
+                first = (first + 1) & mask;
+                count--;
+            }
+        }
+
+        private double first() {
+            return count == 0 ? Double.NaN : values[first];
+        }
+
+        private boolean isEmpty() {
+            return count == 0;
+        }
+
+        private void push(final long sequence, final double value) {
+            if (!Double.isFinite(value)) {
+                return;
+            }
+            int mask = values.length - 1;
+            // drop all trailing values that can never become the extreme while the new value is in the window
+            while (count > 0) {
+                final double last = values[(first + count - 1) & mask];
+                if (ascending ? last < value : last > value) {
+                    break;
+                }
+                count--;
+            }
+            if (count == values.length) {
+                grow();
+                mask = values.length - 1;
+            }
+            final int index = (first + count) & mask;
+            sequences[index] = sequence;
+            values[index] = value;
+            count++;
+        }
+
+        private void grow() {
+            // N.B. capacity is kept a power of two for the index masking
+            final long[] newSequences = new long[values.length << 1];
+            final double[] newValues = new double[values.length << 1];
+            for (int i = 0; i < count; i++) {
+                final int index = (first + i) & (values.length - 1);
+                newSequences[i] = sequences[index];
+                newValues[i] = values[index];
+            }
+            sequences = newSequences;
+            values = newValues;
+            first = 0;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package io.fair_acc.dataset.spi;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Lock-free accumulator of histogram bin contents for concurrent producers.
+ * <p>
+ * Each producer thread adds to one of several lazily allocated stripes (bin arrays) selected by its thread id, so that
+ * producers on different threads (mostly) neither contend for the same memory nor for a lock. The stripes are drained,
+ * ie. merged, by a single consumer via {@link #drain(BinConsumer)}. If a publisher action is given, the first addition
+ * after a drain schedules it on a shared daemon timer, at most once per {@link #getMinPublishPeriod()}.
+ */
+final class StripedBinAccumulator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StripedBinAccumulator.class);
+    private static final VarHandle BINS = MethodHandles.arrayElementVarHandle(double[].class);
+    private static final ScheduledExecutorService TIMER = createTimer();
+    private final int nBins;
+    private final int stripeMask;
+    private final AtomicReferenceArray<double[]> stripes;
+    private final double[] sum; // N.B. drain buffer, all zero outside of drain(..)
+    private final Runnable publisher;
+    private final AtomicBoolean publishScheduled = new AtomicBoolean();
+    private volatile long lastPublish = System.nanoTime() - Long.MAX_VALUE / 2; // NOPMD - initially 'long ago'
+    private volatile long minPublishPeriod;
+
+    /**
+     * @param nBins number of bins (including under- and overflow bins)
+     * @param minPublishPeriod minimum period between two publications in milliseconds
+     * @param publisher action merging the bins via {@link #drain(BinConsumer)} (N.B. {@code null}: no automatic
+     *        publication)
+     */
+    StripedBinAccumulator(final int nBins, final long minPublishPeriod, final Runnable publisher) {
+        AssertUtils.gtThanZero("nBins", nBins);
+        this.nBins = nBins;
+        // N.B. power of two >= 2 x number of cores to keep the probability of stripe collisions low
+        final int nStripes = Integer.highestOneBit(Math.max(1, 2 * Runtime.getRuntime().availableProcessors() - 1)) << 1;
+        this.stripeMask = nStripes - 1;
+        this.stripes = new AtomicReferenceArray<>(nStripes);
+        this.sum = new double[nBins];
+        this.publisher = publisher;
+        setMinPublishPeriod(minPublishPeriod);
+    }
+
+    /**
+     * adds the weight to the bin. Thread-safe and lock-free.
+     *
+     * @param bin the bin index
+     * @param w the weight
+     */
+    void add(final int bin, final double w) {
+        if (bin < 0 || bin >= nBins) {
+            throw new IndexOutOfBoundsException("bin index " + bin + " out of range [0, " + nBins + ")");
+        }
+        BINS.getAndAdd(getStripe(), bin, w);
+        if (publisher != null && !publishScheduled.get() && publishScheduled.compareAndSet(false, true)) {
+            final long delay = Math.max(0, lastPublish + minPublishPeriod - System.nanoTime());
+            TIMER.schedule(this::publish, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * resets all stripes. N.B. additions concurrent to this call may be lost.
+     */
+    void clear() {
+        for (int i = 0; i < stripes.length(); i++) {
+            final double[] stripe = stripes.get(i);
+            if (stripe == null) {
+                continue;
+            }
+            for (int bin = 0; bin < nBins; bin++) {
+                BINS.setVolatile(stripe, bin, 0.0);
+            }
+        }
+    }
+
+    /**
+     * Atomically removes the accumulated contents from all stripes and passes the non-zero sums to the consumer. N.B. not
+     * to be called concurrently, ie. by a single consumer or under the consumer's write lock.
+     *
+     * @param consumer receiving the merged bin contents (in ascending bin order)
+     * @return true if any non-zero content has been drained
+     */
+    boolean drain(final BinConsumer consumer) {
+        boolean changed = false;
+        for (int i = 0; i < stripes.length(); i++) {
+            final double[] stripe = stripes.get(i);
+            if (stripe == null) {
+                continue;
+            }
+            for (int bin = 0; bin < nBins; bin++) {
+                // N.B. cheap volatile read first to avoid an atomic write for untouched bins
+                if ((double) BINS.getVolatile(stripe, bin) != 0.0) {
+                    sum[bin] += (double) BINS.getAndSet(stripe, bin, 0.0);
+                    changed = true;
+                }
+            }
+        }
+        if (!changed) {
+            return false;
+        }
+        for (int bin = 0; bin < nBins; bin++) {
+            if (sum[bin] != 0.0) {
+                final double value = sum[bin];
+                sum[bin] = 0.0;
+                consumer.accept(bin, value);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return minimum period between two publications in milliseconds
+     */
+    long getMinPublishPeriod() {
+        return TimeUnit.NANOSECONDS.toMillis(minPublishPeriod);
+    }
+
+    /**
+     * @param minPublishPeriod minimum period between two publications in milliseconds
+     */
+    void setMinPublishPeriod(final long minPublishPeriod) {
+        AssertUtils.gtEqThanZero("minPublishPeriod", minPublishPeriod);
+        this.minPublishPeriod = TimeUnit.MILLISECONDS.toNanos(minPublishPeriod);
+    }
+
+    private double[] getStripe() {
+        // N.B. thread ids are sequential -> consecutively created producers use distinct stripes
+        final int index = (int) Thread.currentThread().getId() & stripeMask; // NOPMD - getId() for Java 17 compatibility
+        final double[] stripe = stripes.get(index);
+        if (stripe != null) {
+            return stripe;
+        }
+        stripes.compareAndSet(index, null, new double[nBins]);
+        return stripes.get(index);
+    }
+
+    private void publish() {
+        // N.B. reset flag first -> additions during the publication schedule a new one
+        publishScheduled.set(false);
+        lastPublish = System.nanoTime();
+        try {
+            publisher.run();
+        } catch (final RuntimeException e) { // NOPMD - keep the shared timer alive
+            LOGGER.atError().setCause(e).log("could not publish histogram bins");
+        }
+    }
+
+    private static ScheduledExecutorService createTimer() {
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, StripedBinAccumulator.class.getSimpleName() + "-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * receives merged bin contents
+     */
+    @FunctionalInterface
+    interface BinConsumer {
+        void accept(int bin, double value);
+    }
+}
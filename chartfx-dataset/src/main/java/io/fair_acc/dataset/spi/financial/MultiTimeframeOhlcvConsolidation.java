@@ -0,0 +1,235 @@
+package io.fair_acc.dataset.spi.financial;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.fair_acc.dataset.AxisDescription;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Incremental consolidation of a single tick stream into OHLCV bars of several timeframes (e.g. 1s, 1m, 5m, 1h, 1d).
+ * <p>
+ * Each timeframe is kept in an {@link OhlcvColumnStore} and exposed as a live {@link OhlcvDataSet} that can be attached
+ * to one or more chart panes. Every tick updates the current (last) bar of each timeframe in O(1), ie. no
+ * re-aggregation of past bars or lower timeframes is needed. Bars are aligned to multiples of their period from the
+ * epoch shifted by the given zone offset (e.g. daily bars starting at local midnight) and time-stamped with their start.
+ * <p>
+ * Ticks are expected in (mostly) ascending time order. Late ticks update the high, low and volume -- but not the open
+ * and close -- of the bar they belong to, in O(1) for the current and O(log N) for earlier bars. Late ticks for which no bar exists (ie. before the first bar or
+ * in a period without any earlier tick) are dropped and counted. The open interest column is not tracked (zero).
+ * <p>
+ * The bars are modified under the write lock of the respective data set, listeners are notified via
+ * {@link ChartBits#DataSetData}. Defined axis descriptions are widened by the modified bars so that auto-ranging follows
+ * new bars (N.B. ranges never shrink, {@link #reset()} clears them). Use {@link #onTicks(long[], double[], double[], int, int)} to consolidate blocks of ticks
+ * with a single lock acquisition and notification per timeframe.
+ */
+public class MultiTimeframeOhlcvConsolidation {
+    private final long[] periods;
+    private final long alignmentOffset;
+    private final long[] barStarts;
+    private final long[] lastTickTimeStamps;
+    private final OhlcvColumnStore[] stores;
+    private final List<OhlcvDataSet> dataSets = new ArrayList<>();
+    private final List<Duration> timeframes = new ArrayList<>();
+    private long droppedTickCount;
+
+    /**
+     * @param name base name of the timeframe data sets
+     * @param timeframes the bar periods (N.B. positive, millisecond resolution)
+     */
+    public MultiTimeframeOhlcvConsolidation(final String name, final Duration... timeframes) {
+        this(name, ZoneOffset.UTC, timeframes);
+    }
+
+    /**
+     * @param name base name of the timeframe data sets
+     * @param alignment zone offset the bars are aligned to (e.g. local midnight for daily bars)
+     * @param timeframes the bar periods (N.B. positive, millisecond resolution)
+     */
+    public MultiTimeframeOhlcvConsolidation(final String name, final ZoneOffset alignment, final Duration... timeframes) {
+        AssertUtils.notNull("name", name);
+        AssertUtils.notNull("alignment", alignment);
+        AssertUtils.nonEmptyArray("timeframes", timeframes);
+        alignmentOffset = -1000L * alignment.getTotalSeconds();
+        periods = new long[timeframes.length];
+        barStarts = new long[timeframes.length];
+        lastTickTimeStamps = new long[timeframes.length];
+        stores = new OhlcvColumnStore[timeframes.length];
+        for (int i = 0; i < timeframes.length; i++) {
+            final Duration timeframe = AssertUtils.notNull("timeframe", timeframes[i]);
+            periods[i] = timeframe.toMillis();
+            AssertUtils.gtThanZero("timeframe (ms)", periods[i]);
+            if (!Duration.ofMillis(periods[i]).equals(timeframe)) {
+                throw new IllegalArgumentException("timeframe must have millisecond resolution: " + timeframe);
+            }
+            stores[i] = new OhlcvColumnStore();
+            final OhlcvDataSet dataSet = new OhlcvDataSet(name + " " + toLabel(timeframe));
+            dataSet.setData(stores[i]);
+            dataSets.add(dataSet);
+            this.timeframes.add(timeframe);
+        }
+    }
+
+    /**
+     * @param timeframe the bar period
+     * @return live data set of the given timeframe
+     * @throws IllegalArgumentException if the timeframe is not consolidated
+     */
+    public OhlcvDataSet getDataSet(final Duration timeframe) {
+        final int index = timeframes.indexOf(timeframe);
+        if (index < 0) {
+            throw new IllegalArgumentException("timeframe not consolidated: " + timeframe);
+        }
+        return dataSets.get(index);
+    }
+
+    /**
+     * @return live data sets in the order of {@link #getTimeframes()}
+     */
+    public List<OhlcvDataSet> getDataSets() {
+        return Collections.unmodifiableList(dataSets);
+    }
+
+    /**
+     * @return number of late ticks (summed over all timeframes) for which no bar existed and that have been dropped
+     */
+    public long getDroppedTickCount() {
+        return droppedTickCount;
+    }
+
+    /**
+     * @return the consolidated bar periods
+     */
+    public List<Duration> getTimeframes() {
+        return Collections.unmodifiableList(timeframes);
+    }
+
+    /**
+     * @param timeStamp tick time stamp in milliseconds since the epoch
+     * @param price traded price
+     * @param volume traded volume
+     */
+    public void onTick(final long timeStamp, final double price, final double volume) {
+        for (int i = 0; i < stores.length; i++) {
+            final int timeframe = i;
+            dataSets.get(i).lock().writeLockGuard(() -> consolidate(timeframe, timeStamp, price, volume));
+            dataSets.get(i).fireInvalidated(ChartBits.DataSetData);
+        }
+    }
+
+    /**
+     * @param timeStamps tick time stamps in milliseconds since the epoch
+     * @param prices traded prices
+     * @param volumes traded volumes
+     * @param count number of ticks to be taken from the arrays
+     */
+    public void onTicks(final long[] timeStamps, final double[] prices, final double[] volumes, final int count) {
+        onTicks(timeStamps, prices, volumes, 0, count);
+    }
+
+    /**
+     * @param timeStamps tick time stamps in milliseconds since the epoch
+     * @param prices traded prices
+     * @param volumes traded volumes
+     * @param offset index of the first tick to be taken from the arrays
+     * @param count number of ticks to be taken from the arrays
+     */
+    public void onTicks(final long[] timeStamps, final double[] prices, final double[] volumes, final int offset, final int count) {
+        AssertUtils.gtEqThanZero("offset", offset);
+        AssertUtils.gtOrEqual("timeStamps", offset + count, timeStamps.length);
+        AssertUtils.gtOrEqual("prices", offset + count, prices.length);
+        AssertUtils.gtOrEqual("volumes", offset + count, volumes.length);
+        if (count == 0) {
+            return;
+        }
+        for (int i = 0; i < stores.length; i++) {
+            final int timeframe = i;
+            dataSets.get(i).lock().writeLockGuard(() -> {
+                for (int tick = offset; tick < offset + count; tick++) {
+                    consolidate(timeframe, timeStamps[tick], prices[tick], volumes[tick]);
+                }
+            });
+            dataSets.get(i).fireInvalidated(ChartBits.DataSetData);
+        }
+    }
+
+    /**
+     * removes all bars of all timeframes
+     */
+    public void reset() {
+        for (int i = 0; i < stores.length; i++) {
+            final OhlcvColumnStore store = stores[i];
+            final OhlcvDataSet dataSet = dataSets.get(i);
+            dataSet.lock().writeLockGuard(() -> {
+                store.clear();
+                dataSet.getAxisDescriptions().forEach(AxisDescription::clear);
+            });
+            dataSets.get(i).fireInvalidated(ChartBits.DataSetData);
+        }
+        droppedTickCount = 0;
+    }
+
+    private void consolidate(final int timeframe, final long timeStamp, final double price, final double volume) {
+        final OhlcvColumnStore store = stores[timeframe];
+        final long period = periods[timeframe];
+        final long barStart = Math.floorDiv(timeStamp - alignmentOffset, period) * period + alignmentOffset;
+        final int size = store.size();
+        if (size == 0 || barStart > barStarts[timeframe]) {
+            // new bar
+            store.add(barStart, price, price, price, price, volume, 0.0);
+            barStarts[timeframe] = barStart;
+            lastTickTimeStamps[timeframe] = timeStamp;
+            updateLimits(timeframe, size);
+            return;
+        }
+        int index = size - 1;
+        if (barStart < barStarts[timeframe]) {
+            // late tick
+            index = store.getTimeStampIndex(barStart);
+            if (store.getTimeStampMillis(index) != barStart) {
+                // N.B. no (earlier) bar to merge into -- the store is append-only
+                droppedTickCount++;
+                return;
+            }
+            store.set(index, store.getOpen(index), Math.max(store.getHigh(index), price), Math.min(store.getLow(index), price), store.getClose(index), store.getVolume(index) + volume, store.getOpenInterest(index));
+            updateLimits(timeframe, index);
+            return;
+        }
+        // N.B. late ticks within the current bar do not affect the close
+        final boolean inOrder = timeStamp >= lastTickTimeStamps[timeframe];
+        lastTickTimeStamps[timeframe] = Math.max(lastTickTimeStamps[timeframe], timeStamp);
+        store.set(index, store.getOpen(index), Math.max(store.getHigh(index), price), Math.min(store.getLow(index), price), inOrder ? price : store.getClose(index), store.getVolume(index) + volume, store.getOpenInterest(index));
+        updateLimits(timeframe, index);
+    }
+
+    private void updateLimits(final int timeframe, final int index) {
+        final OhlcvDataSet dataSet = dataSets.get(timeframe);
+        for (final AxisDescription range : dataSet.getAxisDescriptions()) {
+            // N.B. undefined ranges are (re-)computed on demand, widening them would publish a partial range
+            if (range.isDefined()) {
+                range.add(dataSet.get(range.getDimIndex(), index));
+            }
+        }
+    }
+
+    private static String toLabel(final Duration timeframe) {
+        final long millis = timeframe.toMillis();
+        if (millis % 86_400_000L == 0) {
+            return millis / 86_400_000L + "d";
+        }
+        if (millis % 3_600_000L == 0) {
+            return millis / 3_600_000L + "h";
+        }
+        if (millis % 60_000L == 0) {
+            return millis / 60_000L + "m";
+        }
+        if (millis % 1000L == 0) {
+            return millis / 1000L + "s";
+        }
+        return millis + "ms";
+    }
+}
@@ -0,0 +1,415 @@
+package io.fair_acc.dataset.spi.financial;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import io.fair_acc.dataset.spi.financial.api.attrs.AttributeModel;
+import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcv;
+import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvColumns;
+import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItem;
+
+/**
+ * Columnar OHLCV store with primitive {@code long} time stamps and {@code double} open/high/low/close/volume/OI
+ * columns.
+ * <p>
+ * Bars are appended in ascending time order via {@link #add(long, double, double, double, double, double, double)},
+ * the last (live) bar can be updated in place via {@link #setLast(double, double, double, double, double)}.
+ * {@link #getOhlcvItem(int)} returns lightweight views on the columns for compatibility with the {@link IOhlcvItem}
+ * based API (e.g. renderer extension points). Item addons are kept sparsely, ie. only for bars that have one.
+ * <p>
+ * N.B. the store itself is not synchronised, modify it under the write lock of the {@link OhlcvDataSet} it is shown
+ * with.
+ */
+public class OhlcvColumnStore implements IOhlcvColumns {
+    private static final int DEFAULT_CAPACITY = 256;
+    private long[] timeStamps;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private double[] volume;
+    private double[] openInterest;
+    private int size;
+    private final Map<Integer, AttributeModel> itemAddons = new HashMap<>();
+    private AttributeModel addon;
+
+    public OhlcvColumnStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity initial number of bars that can be stored without re-allocation
+     */
+    public OhlcvColumnStore(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative: " + initialCapacity);
+        }
+        timeStamps = new long[initialCapacity];
+        open = new double[initialCapacity];
+        high = new double[initialCapacity];
+        low = new double[initialCapacity];
+        close = new double[initialCapacity];
+        volume = new double[initialCapacity];
+        openInterest = new double[initialCapacity];
+    }
+
+    /**
+     * Copies the bar values of an object based OHLCV domain object. N.B. addons are not copied.
+     *
+     * @param ohlcv source domain object
+     */
+    public OhlcvColumnStore(final IOhlcv ohlcv) {
+        this(ohlcv.size());
+        addAll(ohlcv);
+    }
+
+    /**
+     * Appends a new bar.
+     *
+     * @param timeStampMillis time stamp in milliseconds since the epoch, must not be before the last bar
+     * @param open open value
+     * @param high high value
+     * @param low low value
+     * @param close close value
+     * @param volume volume
+     * @param openInterest open interest
+     * @return itself (fluent design)
+     */
+    public OhlcvColumnStore add(final long timeStampMillis, final double open, final double high, final double low, final double close, final double volume, final double openInterest) {
+        if (size > 0 && timeStampMillis < timeStamps[size - 1]) {
+            throw new IllegalArgumentException("bars must be added in ascending time order: " + timeStampMillis + " < " + timeStamps[size - 1]);
+        }
+        ensureCapacity(size + 1);
+        timeStamps[size] = timeStampMillis;
+        this.open[size] = open;
+        this.high[size] = high;
+        this.low[size] = low;
+        this.close[size] = close;
+        this.volume[size] = volume;
+        this.openInterest[size] = openInterest;
+        size++;
+        return this;
+    }
+
+    /**
+     * Appends a copy of the given bar's values. N.B. its addon is not copied.
+     *
+     * @param item the bar to be copied
+     * @return itself (fluent design)
+     */
+    public OhlcvColumnStore add(final IOhlcvItem item) {
+        return add(item.getTimeStamp().getTime(), item.getOpen(), item.getHigh(), item.getLow(), item.getClose(), item.getVolume(), item.getOpenInterest());
+    }
+
+    /**
+     * Appends copies of the values of all bars of the given domain object.
+     *
+     * @param ohlcv source domain object
+     * @return itself (fluent design)
+     */
+    public OhlcvColumnStore addAll(final IOhlcv ohlcv) {
+        ensureCapacity(size + ohlcv.size());
+        for (int i = 0; i < ohlcv.size(); i++) {
+            add(ohlcv.getOhlcvItem(i));
+        }
+        return this;
+    }
+
+    /**
+     * removes all bars and item addons
+     *
+     * @return itself (fluent design)
+     */
+    public OhlcvColumnStore clear() {
+        size = 0;
+        itemAddons.clear();
+        return this;
+    }
+
+    /**
+     * @param minCapacity minimum number of bars that can be stored without re-allocation
+     */
+    public void ensureCapacity(final int minCapacity) {
+        if (minCapacity <= timeStamps.length) {
+            return;
+        }
+        final int capacity = Math.max(minCapacity, timeStamps.length + (timeStamps.length >> 1) + 1);
+        timeStamps = Arrays.copyOf(timeStamps, capacity);
+        open = Arrays.copyOf(open, capacity);
+        high = Arrays.copyOf(high, capacity);
+        low = Arrays.copyOf(low, capacity);
+        close = Arrays.copyOf(close, capacity);
+        volume = Arrays.copyOf(volume, capacity);
+        openInterest = Arrays.copyOf(openInterest, capacity);
+    }
+
+    @Override
+    public AttributeModel getAddon() {
+        return addon;
+    }
+
+    @Override
+    public AttributeModel getAddonOrCreate() {
+        if (addon == null) {
+            addon = new AttributeModel();
+        }
+        return addon;
+    }
+
+    @Override
+    public double getClose(final int index) {
+        return close[checkIndex(index)];
+    }
+
+    @Override
+    public double[] getCloseColumn() {
+        return close;
+    }
+
+    @Override
+    public double getHigh(final int index) {
+        return high[checkIndex(index)];
+    }
+
+    @Override
+    public double[] getHighColumn() {
+        return high;
+    }
+
+    @Override
+    public double getLow(final int index) {
+        return low[checkIndex(index)];
+    }
+
+    @Override
+    public double[] getLowColumn() {
+        return low;
+    }
+
+    @Override
+    public IOhlcvItem getOhlcvItem(final int index) {
+        return new ItemView(checkIndex(index));
+    }
+
+    @Override
+    public double getOpen(final int index) {
+        return open[checkIndex(index)];
+    }
+
+    @Override
+    public double[] getOpenColumn() {
+        return open;
+    }
+
+    @Override
+    public double getOpenInterest(final int index) {
+        return openInterest[checkIndex(index)];
+    }
+
+    @Override
+    public double[] getOpenInterestColumn() {
+        return openInterest;
+    }
+
+    @Override
+    public long[] getTimeStampColumn() {
+        return timeStamps;
+    }
+
+    @Override
+    public int getTimeStampIndex(final double timeStampMillis) {
+        if (size == 0 || !(timeStampMillis > timeStamps[0])) { // NOPMD NOSONAR - also catches NaN
+            return 0;
+        }
+        if (timeStampMillis >= timeStamps[size - 1]) {
+            return size - 1;
+        }
+        // binary search for the first bar at or after the time stamp
+        int lowIndex = 0;
+        int highIndex = size - 1;
+        while (lowIndex < highIndex) {
+            final int mid = (lowIndex + highIndex) >>> 1;
+            if (timeStamps[mid] < timeStampMillis) {
+                lowIndex = mid + 1;
+            } else {
+                highIndex = mid;
+            }
+        }
+        // closest of the two neighbours (N.B. the earlier one on ties)
+        return timeStampMillis - timeStamps[lowIndex - 1] <= timeStamps[lowIndex] - timeStampMillis ? lowIndex - 1 : lowIndex;
+    }
+
+    @Override
+    public long getTimeStampMillis(final int index) {
+        return timeStamps[checkIndex(index)];
+    }
+
+    @Override
+    public double getVolume(final int index) {
+        return volume[checkIndex(index)];
+    }
+
+    @Override
+    public double[] getVolumeColumn() {
+        return volume;
+    }
+
+    @Override
+    public Iterator<IOhlcvItem> iterator() {
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public IOhlcvItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return new ItemView(index++);
+            }
+        };
+    }
+
+    /**
+     * Updates a bar in place, e.g. on a late tick. The time stamp of the bar is retained.
+     *
+     * @param index index of the ohlcv bar
+     * @param open open value
+     * @param high high value
+     * @param low low value
+     * @param close close value
+     * @param volume volume
+     * @param openInterest open interest
+     * @return itself (fluent design)
+     */
+    public OhlcvColumnStore set(final int index, final double open, final double high, final double low, final double close, final double volume, final double openInterest) {
+        checkIndex(index);
+        this.open[index] = open;
+        this.high[index] = high;
+        this.low[index] = low;
+        this.close[index] = close;
+        this.volume[index] = volume;
+        this.openInterest[index] = openInterest;
+        return this;
+    }
+
+    /**
+     * Updates the last (live) bar in place, e.g. on a new tick.
+     *
+     * @param open open value
+     * @param high high value
+     * @param low low value
+     * @param close close value
+     * @param volume volume
+     * @return itself (fluent design)
+     */
+    public OhlcvColumnStore setLast(final double open, final double high, final double low, final double close, final double volume) {
+        if (size == 0) {
+            throw new IllegalStateException("no bar to update");
+        }
+        return set(size - 1, open, high, low, close, volume, openInterest[size - 1]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private int checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of range [0, " + size + ")");
+        }
+        return index;
+    }
+
+    /**
+     * Lightweight {@link IOhlcvItem} view on a bar of the columns. Equal views refer to the same bar of the same store.
+     */
+    private final class ItemView implements IOhlcvItem {
+        private final int index;
+
+        private ItemView(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ItemView)) {
+                return false;
+            }
+            final ItemView other = (ItemView) obj;
+            return index == other.index && getStore() == other.getStore();
+        }
+
+        @Override
+        public AttributeModel getAddon() {
+            return itemAddons.get(index);
+        }
+
+        @Override
+        public AttributeModel getAddonOrCreate() {
+            return itemAddons.computeIfAbsent(index, k -> new AttributeModel());
+        }
+
+        @Override
+        public double getClose() {
+            return close[index];
+        }
+
+        @Override
+        public double getHigh() {
+            return high[index];
+        }
+
+        @Override
+        public double getLow() {
+            return low[index];
+        }
+
+        @Override
+        public double getOpen() {
+            return open[index];
+        }
+
+        @Override
+        public double getOpenInterest() {
+            return openInterest[index];
+        }
+
+        @Override
+        public Date getTimeStamp() {
+            return new Date(timeStamps[index]);
+        }
+
+        @Override
+        public double getVolume() {
+            return volume[index];
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(getStore()), index);
+        }
+
+        @Override
+        public String toString() {
+            return "OhlcvItem[" + getTimeStamp() + ", O=" + getOpen() + ", H=" + getHigh() + ", L=" + getLow() + ", C=" + getClose() + ", V=" + getVolume() + ", OI=" + getOpenInterest() + "]";
+        }
+
+        private OhlcvColumnStore getStore() {
+            return OhlcvColumnStore.this;
+        }
+    }
+}
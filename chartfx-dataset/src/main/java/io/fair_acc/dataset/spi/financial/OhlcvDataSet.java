@@ -1,5 +1,6 @@
 package io.fair_acc.dataset.spi.financial;
 
+import java.util.Arrays;
 import java.util.Iterator;
 
 import io.fair_acc.dataset.DataSet;
@@ -7,13 +8,18 @@ import io.fair_acc.dataset.spi.AbstractDataSet;
 import io.fair_acc.dataset.spi.financial.api.attrs.AttributeModel;
 import io.fair_acc.dataset.spi.financial.api.attrs.AttributeModelAware;
 import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcv;
+import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvColumns;
 import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItem;
 import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItemAware;
 
 /**
  * Dataset Domain Object for encapsulation of IOhlcv API structure.
  *
+ * The values of columnar domain objects (e.g. {@link OhlcvColumnStore}) are read directly from their primitive columns,
+ * ie. without creating an {@link IOhlcvItem} per bar and access.
+ *
  * @see IOhlcv API provides OHLCV domain object access.
+ * @see IOhlcvColumns API provides column oriented OHLCV domain object access.
  * @see IOhlcvItem API provides OHLCV item domain object access.
  */
 public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Iterable<IOhlcvItem>, IOhlcvItemAware, AttributeModelAware {
@@ -25,6 +31,7 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
     public static final int DIM_Y_OI = 6;
 
     private IOhlcv ohlcv;
+    private IOhlcvColumns columns; // non-null if ohlcv provides columnar access
 
     private boolean isCategoryBased = false;
 
@@ -39,6 +46,7 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
      */
     public void setData(IOhlcv ohlcv) {
         this.ohlcv = ohlcv;
+        this.columns = ohlcv instanceof IOhlcvColumns ? (IOhlcvColumns) ohlcv : null;
     }
 
     /**
@@ -48,6 +56,13 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
         return ohlcv;
     }
 
+    /**
+     * @return columnar view on the domain object or {@code null} if it does not support column oriented access
+     */
+    public IOhlcvColumns getColumns() {
+        return columns;
+    }
+
     /**
      * @return is true for a category axis support
      */
@@ -66,6 +81,9 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
 
     @Override
     public double get(int dimIndex, int index) {
+        if (columns != null) {
+            return getColumnValue(dimIndex, index);
+        }
         IOhlcvItem ohlcvItem = ohlcv.getOhlcvItem(index);
         switch (dimIndex) {
         case DIM_X:
@@ -87,6 +105,22 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
         }
     }
 
+    @Override
+    public int getIndex(int dimIndex, double... x) {
+        if (columns == null || dimIndex != DIM_X || isCategoryBased || x.length == 0) {
+            return super.getIndex(dimIndex, x);
+        }
+        return columns.getTimeStampIndex(x[0] * 1000.0);
+    }
+
+    @Override
+    public double[] getValues(int dimIndex) {
+        if (columns == null || dimIndex == DIM_X) {
+            return super.getValues(dimIndex);
+        }
+        return Arrays.copyOf(getColumn(dimIndex), columns.size());
+    }
+
     @Override
     public Iterator<IOhlcvItem> iterator() {
         return ohlcv.iterator();
@@ -99,7 +133,7 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
 
     @Override
     public DataSet set(DataSet other, boolean copy) {
-        this.ohlcv = ((OhlcvDataSet) other).ohlcv;
+        setData(((OhlcvDataSet) other).ohlcv);
         return this;
     }
 
@@ -137,4 +171,44 @@ public class OhlcvDataSet extends AbstractDataSet<OhlcvDataSet> implements Itera
         }
         return ohlcv.getOhlcvItem(size - 1);
     }
+
+    private double[] getColumn(int dimIndex) {
+        switch (dimIndex) {
+        case DIM_Y_OPEN:
+            return columns.getOpenColumn();
+        case DIM_Y_HIGH:
+            return columns.getHighColumn();
+        case DIM_Y_LOW:
+            return columns.getLowColumn();
+        case DIM_Y_CLOSE:
+            return columns.getCloseColumn();
+        case DIM_Y_VOLUME:
+            return columns.getVolumeColumn();
+        case DIM_Y_OI:
+            return columns.getOpenInterestColumn();
+        default:
+            throw new IllegalArgumentException("Dimension not allowed! dimIndex=" + dimIndex);
+        }
+    }
+
+    private double getColumnValue(int dimIndex, int index) {
+        switch (dimIndex) {
+        case DIM_X:
+            return isCategoryBased ? index : columns.getTimeStampMillis(index) / 1000.0;
+        case DIM_Y_OPEN:
+            return columns.getOpen(index);
+        case DIM_Y_HIGH:
+            return columns.getHigh(index);
+        case DIM_Y_LOW:
+            return columns.getLow(index);
+        case DIM_Y_CLOSE:
+            return columns.getClose(index);
+        case DIM_Y_VOLUME:
+            return columns.getVolume(index);
+        case DIM_Y_OI:
+            return columns.getOpenInterest(index);
+        default:
+            throw new IllegalArgumentException("Dimension not allowed! dimIndex=" + dimIndex);
+        }
+    }
 }
@@ -0,0 +1,116 @@
+package io.fair_acc.dataset.spi.financial;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Re-usable, fixed capacity block of ticks stored in primitive columns. Used for batched, allocation-free tick decoding
+ * (see {@link TickStoreReader#read(long, TickBuffer)}) and encoding (see {@link TickStoreWriter#append(TickBuffer)}).
+ */
+public class TickBuffer {
+    private final long[] timeStamps;
+    private final double[] prices;
+    private final double[] volumes;
+    private final double[] bidVolumes;
+    private final double[] askVolumes;
+    private int size;
+
+    /**
+     * @param capacity maximum number of ticks in the buffer
+     */
+    public TickBuffer(final int capacity) {
+        AssertUtils.gtThanZero("capacity", capacity);
+        timeStamps = new long[capacity];
+        prices = new double[capacity];
+        volumes = new double[capacity];
+        bidVolumes = new double[capacity];
+        askVolumes = new double[capacity];
+    }
+
+    /**
+     * appends a tick
+     *
+     * @param timeStamp time stamp in milliseconds since the epoch
+     * @param price traded price
+     * @param volume total traded volume
+     * @param bidVolume volume traded at the bid
+     * @param askVolume volume traded at the ask
+     * @return itself (fluent design)
+     * @throws IllegalStateException if the buffer is full
+     */
+    public TickBuffer add(final long timeStamp, final double price, final double volume, final double bidVolume, final double askVolume) {
+        if (size == timeStamps.length) {
+            throw new IllegalStateException("tick buffer is full: " + size);
+        }
+        timeStamps[size] = timeStamp;
+        prices[size] = price;
+        volumes[size] = volume;
+        bidVolumes[size] = bidVolume;
+        askVolumes[size] = askVolume;
+        size++;
+        return this;
+    }
+
+    /**
+     * @return itself (fluent design)
+     */
+    public TickBuffer clear() {
+        size = 0;
+        return this;
+    }
+
+    /**
+     * @return volumes traded at the ask, valid up to {@link #size()}
+     */
+    public double[] getAskVolumes() {
+        return askVolumes;
+    }
+
+    /**
+     * @return volumes traded at the bid, valid up to {@link #size()}
+     */
+    public double[] getBidVolumes() {
+        return bidVolumes;
+    }
+
+    /**
+     * @return maximum number of ticks in the buffer
+     */
+    public int getCapacity() {
+        return timeStamps.length;
+    }
+
+    /**
+     * @return traded prices, valid up to {@link #size()}
+     */
+    public double[] getPrices() {
+        return prices;
+    }
+
+    /**
+     * @return time stamps in milliseconds since the epoch, valid up to {@link #size()}
+     */
+    public long[] getTimeStamps() {
+        return timeStamps;
+    }
+
+    /**
+     * @return total traded volumes, valid up to {@link #size()}
+     */
+    public double[] getVolumes() {
+        return volumes;
+    }
+
+    /**
+     * @return number of valid ticks
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param size number of valid ticks
+     */
+    void setSize(final int size) {
+        this.size = size;
+    }
+}
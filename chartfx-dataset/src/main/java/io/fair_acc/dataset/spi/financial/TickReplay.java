@@ -0,0 +1,202 @@
+package io.fair_acc.dataset.spi.financial;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.fair_acc.dataset.utils.AssertUtils;
+
+/**
+ * Replays the ticks of a {@link TickStoreReader} into a {@link MultiTimeframeOhlcvConsolidation} (and thus into its live
+ * {@link OhlcvDataSet}s) at a configurable multiple of the recorded speed.
+ * <p>
+ * Ticks are decoded in blocks into a re-usable {@link TickBuffer} and handed to the consolidation in batches of all
+ * ticks that are due, ie. a speed of {@link Double#POSITIVE_INFINITY} replays as fast as the store can be read (e.g.
+ * for back-tests). The speed can be changed while the replay is running. In 'follow' mode the replay waits for new
+ * ticks appended to the store instead of finishing at its end.
+ * <p>
+ * The replay runs on the thread calling {@link #run()} until the end of the store or range, or until {@link #stop()}.
+ */
+public class TickReplay implements Runnable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TickReplay.class);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(25); // N.B. reaction time to stop/speed changes
+    /**
+     * default number of ticks decoded per block
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+    private final TickStoreReader reader;
+    private final MultiTimeframeOhlcvConsolidation consolidation;
+    private final TickBuffer buffer;
+    private long fromTimeStamp = Long.MIN_VALUE;
+    private long toTimeStamp = Long.MAX_VALUE;
+    private volatile double speed = 1.0;
+    private volatile boolean follow;
+    private volatile boolean running;
+    private volatile long replayedTickCount;
+
+    /**
+     * @param reader tick source
+     * @param consolidation tick sink
+     */
+    public TickReplay(final TickStoreReader reader, final MultiTimeframeOhlcvConsolidation consolidation) {
+        this(reader, consolidation, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param reader tick source
+     * @param consolidation tick sink
+     * @param blockSize number of ticks decoded per block
+     */
+    public TickReplay(final TickStoreReader reader, final MultiTimeframeOhlcvConsolidation consolidation, final int blockSize) {
+        this.reader = AssertUtils.notNull("reader", reader);
+        this.consolidation = AssertUtils.notNull("consolidation", consolidation);
+        this.buffer = new TickBuffer(blockSize);
+    }
+
+    /**
+     * @return number of ticks handed to the consolidation since the last start
+     */
+    public long getReplayedTickCount() {
+        return replayedTickCount;
+    }
+
+    /**
+     * @return replay speed as multiple of the recorded speed
+     */
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * @return {@code true}: wait for new ticks at the end of the store
+     */
+    public boolean isFollow() {
+        return follow;
+    }
+
+    /**
+     * @return {@code true} while the replay is running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void run() {
+        running = true;
+        replayedTickCount = 0;
+        final long[] timeStamps = buffer.getTimeStamps();
+        long record = reader.seek(fromTimeStamp);
+        long anchorTimeStamp = 0;
+        long anchorNanos = 0;
+        double anchorSpeed = Double.NaN;
+        try {
+            while (running) {
+                final int count = reader.read(record, buffer);
+                if (count == 0) {
+                    if (!follow) {
+                        break;
+                    }
+                    if (!reader.refresh()) {
+                        LockSupport.parkNanos(MAX_PARK_NANOS);
+                    }
+                    continue;
+                }
+                int end = count;
+                while (end > 0 && timeStamps[end - 1] > toTimeStamp) {
+                    end--;
+                }
+
+                int start = 0;
+                while (start < end && running) {
+                    final double currentSpeed = speed;
+                    if (Double.isInfinite(currentSpeed)) {
+                        deliver(start, end);
+                        start = end;
+                        continue;
+                    }
+                    if (currentSpeed != anchorSpeed) { // NOPMD NOSONAR - exact comparison intended
+                        // (re-)synchronise tick and wall-clock time
+                        anchorTimeStamp = timeStamps[start];
+                        anchorNanos = System.nanoTime();
+                        anchorSpeed = currentSpeed;
+                    }
+                    final long now = System.nanoTime();
+                    int due = start;
+                    while (due < end && anchorNanos + toNanos(timeStamps[due] - anchorTimeStamp, currentSpeed) <= now) {
+                        due++;
+                    }
+                    if (due > start) {
+                        deliver(start, due);
+                        start = due;
+                    } else {
+                        final long wait = anchorNanos + toNanos(timeStamps[start] - anchorTimeStamp, currentSpeed) - now;
+                        LockSupport.parkNanos(Math.min(wait, MAX_PARK_NANOS));
+                    }
+                }
+                if (end < count) {
+                    break; // reached the end of the range
+                }
+                record += count;
+            }
+        } catch (IOException e) {
+            LOGGER.atError().setCause(e).log("could not refresh tick store");
+        } finally {
+            running = false;
+        }
+    }
+
+    /**
+     * @param follow {@code true}: wait for new ticks at the end of the store
+     * @return itself (fluent design)
+     */
+    public TickReplay setFollow(final boolean follow) {
+        this.follow = follow;
+        return this;
+    }
+
+    /**
+     * @param from first time stamp to be replayed in milliseconds since the epoch (inclusive)
+     * @param to last time stamp to be replayed in milliseconds since the epoch (inclusive)
+     * @return itself (fluent design)
+     */
+    public TickReplay setRange(final long from, final long to) {
+        if (to < from) {
+            throw new IllegalArgumentException("range end " + to + " before start " + from);
+        }
+        this.fromTimeStamp = from;
+        this.toTimeStamp = to;
+        return this;
+    }
+
+    /**
+     * @param speed replay speed as multiple of the recorded speed, {@link Double#POSITIVE_INFINITY}: as fast as possible
+     * @return itself (fluent design)
+     */
+    public TickReplay setSpeed(final double speed) {
+        if (!(speed > 0)) { // NOPMD NOSONAR - also catches NaN
+            throw new IllegalArgumentException("speed must be positive: " + speed);
+        }
+        this.speed = speed;
+        return this;
+    }
+
+    /**
+     * stops the replay (N.B. asynchronously, at the latest after the block being delivered)
+     */
+    public void stop() {
+        running = false;
+    }
+
+    private void deliver(final int start, final int end) {
+        consolidation.onTicks(buffer.getTimeStamps(), buffer.getPrices(), buffer.getVolumes(), start, end - start);
+        replayedTickCount += end - start; // NOPMD NOSONAR - single writer
+    }
+
+    private static long toNanos(final long millis, final double speed) {
+        return (long) (TimeUnit.MILLISECONDS.toNanos(millis) / speed);
+    }
+}
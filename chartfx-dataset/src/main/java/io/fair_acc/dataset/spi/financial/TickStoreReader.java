@@ -0,0 +1,205 @@
+package io.fair_acc.dataset.spi.financial;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Memory-mapped reader of tick stores, ie. append-only files of fixed-size tick records in the Sierra Chart intraday
+ * (SCID) layout: a 56 byte header followed by little-endian 40 byte records (OLE date-time as double days since
+ * 1899-12-30 UTC, open/high/low/close as float, number of trades/total/bid/ask volume as unsigned int). The tick price is
+ * taken from the close field.
+ * <p>
+ * On opening, a sparse index holding the time stamp of every {@value #INDEX_STRIDE}th record is built so that
+ * {@link #seek(long)} finds a time stamp in O(log N) with only a few page accesses. {@link #read(long, TickBuffer)}
+ * decodes blocks of records into a re-usable {@link TickBuffer} without allocating. Files that are still being written
+ * (e.g. by a {@link TickStoreWriter} or a live feed) can be followed via {@link #refresh()}.
+ * <p>
+ * N.B. instances are not thread-safe.
+ */
+public class TickStoreReader implements AutoCloseable {
+    static final int HEADER_SIZE = 56;
+    static final int RECORD_SIZE = 40;
+    static final int MAGIC = 'S' | 'C' << 8 | 'I' << 16 | 'D' << 24; // "SCID" little-endian
+    static final double OLE_EPOCH_DAYS = 25569.0; // 1899-12-30 -> 1970-01-01
+    static final double MILLIS_PER_DAY = 86_400_000.0;
+    /**
+     * number of records per sparse time stamp index entry
+     */
+    public static final int INDEX_STRIDE = 1024;
+    private static final long SEGMENT_RECORDS = (1L << 30) / RECORD_SIZE; // N.B. records never straddle two segments
+    private final FileChannel channel;
+    private final int headerSize;
+    private MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private long recordCount;
+    private long[] sparseIndex = new long[0];
+
+    /**
+     * @param path tick store file
+     * @throws IOException if the file cannot be opened or is not a tick store
+     */
+    public TickStoreReader(final Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_SIZE));
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.limit() < 12 || header.getInt(0) != MAGIC) {
+                throw new IOException("not a tick store file: " + path);
+            }
+            headerSize = header.getInt(4);
+            if (header.getInt(8) != RECORD_SIZE || headerSize < 12) {
+                throw new IOException("unsupported tick store header: header size = " + headerSize + " record size = " + header.getInt(8));
+            }
+            refresh();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        segments = new MappedByteBuffer[0];
+        channel.close();
+    }
+
+    /**
+     * @return size of the file header in bytes
+     */
+    int getHeaderSize() {
+        return headerSize;
+    }
+
+    /**
+     * @return number of tick records
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @param record record index
+     * @return time stamp of the record in milliseconds since the epoch
+     */
+    public long getTimeStamp(final long record) {
+        if (record < 0 || record >= recordCount) {
+            throw new IndexOutOfBoundsException("record " + record + " out of range [0, " + recordCount + ")");
+        }
+        return toMillis(segments[(int) (record / SEGMENT_RECORDS)].getDouble((int) (record % SEGMENT_RECORDS) * RECORD_SIZE));
+    }
+
+    /**
+     * Decodes the block of records starting at {@code fromRecord} into the buffer (replacing its content).
+     *
+     * @param fromRecord index of the first record to be decoded
+     * @param buffer receiving the ticks, filled up to its capacity or the end of the store
+     * @return number of decoded ticks (N.B. 0 at the end of the store)
+     */
+    public int read(final long fromRecord, final TickBuffer buffer) {
+        if (fromRecord < 0 || fromRecord > recordCount) {
+            throw new IndexOutOfBoundsException("record " + fromRecord + " out of range [0, " + recordCount + "]");
+        }
+        final int count = (int) Math.min(buffer.getCapacity(), recordCount - fromRecord);
+        final long[] timeStamps = buffer.getTimeStamps();
+        final double[] prices = buffer.getPrices();
+        final double[] volumes = buffer.getVolumes();
+        final double[] bidVolumes = buffer.getBidVolumes();
+        final double[] askVolumes = buffer.getAskVolumes();
+        int index = 0;
+        while (index < count) {
+            // contiguous run of records within one segment
+            final long record = fromRecord + index;
+            final MappedByteBuffer segment = segments[(int) (record / SEGMENT_RECORDS)];
+            final int first = (int) (record % SEGMENT_RECORDS);
+            final int end = index + (int) Math.min(count - index, SEGMENT_RECORDS - first);
+            for (int offset = first * RECORD_SIZE; index < end; index++, offset += RECORD_SIZE) {
+                timeStamps[index] = toMillis(segment.getDouble(offset));
+                prices[index] = segment.getFloat(offset + 20);
+                volumes[index] = Integer.toUnsignedLong(segment.getInt(offset + 28));
+                bidVolumes[index] = Integer.toUnsignedLong(segment.getInt(offset + 32));
+                askVolumes[index] = Integer.toUnsignedLong(segment.getInt(offset + 36));
+            }
+        }
+        buffer.setSize(count);
+        return count;
+    }
+
+    /**
+     * Picks up records that have been appended since opening or the last refresh.
+     *
+     * @return {@code true} if new records are available
+     * @throws IOException if the file cannot be mapped
+     */
+    public boolean refresh() throws IOException {
+        final long newCount = Math.max(0, (channel.size() - headerSize) / RECORD_SIZE);
+        if (newCount == recordCount) {
+            return false;
+        }
+        // N.B. re-index the whole file if it has been truncated
+        final long oldCount = newCount < recordCount ? 0 : recordCount;
+        final int nSegments = (int) ((newCount + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS);
+        final MappedByteBuffer[] newSegments = Arrays.copyOf(segments, nSegments);
+        // N.B. (re-)map the previously last, possibly partial, and all new segments
+        for (int i = oldCount == 0 ? 0 : segments.length - 1; i < nSegments; i++) {
+            final long records = Math.min(SEGMENT_RECORDS, newCount - i * SEGMENT_RECORDS);
+            newSegments[i] = channel.map(FileChannel.MapMode.READ_ONLY, headerSize + i * SEGMENT_RECORDS * RECORD_SIZE, records * RECORD_SIZE);
+            newSegments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        segments = newSegments;
+        recordCount = newCount;
+
+        // extend sparse time stamp index
+        final int nIndex = (int) ((newCount + INDEX_STRIDE - 1) / INDEX_STRIDE);
+        final int firstNew = (int) ((oldCount + INDEX_STRIDE - 1) / INDEX_STRIDE);
+        sparseIndex = Arrays.copyOf(sparseIndex, nIndex);
+        for (int i = firstNew; i < nIndex; i++) {
+            sparseIndex[i] = getTimeStamp((long) i * INDEX_STRIDE);
+        }
+        return true;
+    }
+
+    /**
+     * @param timeStamp time stamp in milliseconds since the epoch
+     * @return index of the first record at or after the time stamp ({@link #getRecordCount()} if there is none)
+     */
+    public long seek(final long timeStamp) {
+        if (recordCount == 0 || sparseIndex[0] >= timeStamp) {
+            return 0;
+        }
+        // last index block starting before the time stamp
+        int lowBlock = 0;
+        int highBlock = sparseIndex.length - 1;
+        while (lowBlock < highBlock) {
+            final int mid = (lowBlock + highBlock + 1) >>> 1;
+            if (sparseIndex[mid] < timeStamp) {
+                lowBlock = mid;
+            } else {
+                highBlock = mid - 1;
+            }
+        }
+        // first record within the block at or after the time stamp
+        long low = (long) lowBlock * INDEX_STRIDE + 1;
+        long high = Math.min((long) (lowBlock + 1) * INDEX_STRIDE, recordCount);
+        while (low < high) {
+            final long mid = (low + high) >>> 1;
+            if (getTimeStamp(mid) < timeStamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static double toOleDays(final long timeStamp) {
+        return timeStamp / MILLIS_PER_DAY + OLE_EPOCH_DAYS;
+    }
+
+    private static long toMillis(final double oleDays) {
+        return Math.round((oleDays - OLE_EPOCH_DAYS) * MILLIS_PER_DAY);
+    }
+}
@@ -0,0 +1,151 @@
+package io.fair_acc.dataset.spi.financial;
+
+import static io.fair_acc.dataset.spi.financial.TickStoreReader.HEADER_SIZE;
+import static io.fair_acc.dataset.spi.financial.TickStoreReader.MAGIC;
+import static io.fair_acc.dataset.spi.financial.TickStoreReader.RECORD_SIZE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only writer of tick stores in the layout read by {@link TickStoreReader}. Ticks are encoded into a direct
+ * buffer and written in blocks. Appending to an existing store continues after its last record.
+ * <p>
+ * N.B. ticks must be appended in ascending time order, volumes are stored as unsigned 32-bit integers and prices as
+ * 32-bit floats. Instances are not thread-safe.
+ */
+public class TickStoreWriter implements AutoCloseable {
+    private static final int BLOCK_RECORDS = 4096;
+    private static final long MAX_VOLUME = 0xFFFF_FFFFL;
+    private final FileChannel channel;
+    private final ByteBuffer block = ByteBuffer.allocateDirect(BLOCK_RECORDS * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final long headerSize;
+    private long lastTimeStamp = Long.MIN_VALUE;
+    private long recordCount;
+    private long writtenCount;
+
+    /**
+     * Opens the tick store for appending or creates a new one.
+     *
+     * @param path tick store file
+     * @throws IOException if the file cannot be opened or is not a tick store
+     */
+    public TickStoreWriter(final Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(HEADER_SIZE).putInt(RECORD_SIZE).putShort((short) 1);
+                header.clear();
+                writeFully(header, 0);
+                headerSize = HEADER_SIZE;
+            } else {
+                try (TickStoreReader reader = new TickStoreReader(path)) {
+                    headerSize = reader.getHeaderSize();
+                    recordCount = reader.getRecordCount();
+                    writtenCount = recordCount;
+                    if (recordCount > 0) {
+                        lastTimeStamp = reader.getTimeStamp(recordCount - 1);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param timeStamp time stamp in milliseconds since the epoch (N.B. not before the previously appended tick)
+     * @param price traded price
+     * @param volume total traded volume
+     * @param bidVolume volume traded at the bid
+     * @param askVolume volume traded at the ask
+     * @return itself (fluent design)
+     * @throws IOException if the block cannot be written
+     */
+    public TickStoreWriter append(final long timeStamp, final double price, final double volume, final double bidVolume, final double askVolume) throws IOException {
+        if (timeStamp < lastTimeStamp) {
+            throw new IllegalArgumentException("ticks must be appended in ascending time order: " + timeStamp + " < " + lastTimeStamp);
+        }
+        final int totalVolume = toUnsignedInt("volume", volume);
+        final int bid = toUnsignedInt("bidVolume", bidVolume);
+        final int ask = toUnsignedInt("askVolume", askVolume);
+        final float value = (float) price;
+        block.putDouble(TickStoreReader.toOleDays(timeStamp)) //
+                .putFloat(0.0f) // N.B. SCID convention for single trade records
+                .putFloat(value)
+                .putFloat(value)
+                .putFloat(value)
+                .putInt(1) // number of trades
+                .putInt(totalVolume)
+                .putInt(bid)
+                .putInt(ask);
+        lastTimeStamp = timeStamp;
+        recordCount++;
+        if (!block.hasRemaining()) {
+            flush();
+        }
+        return this;
+    }
+
+    /**
+     * @param ticks block of ticks to be appended
+     * @return itself (fluent design)
+     * @throws IOException if the block cannot be written
+     */
+    public TickStoreWriter append(final TickBuffer ticks) throws IOException {
+        for (int i = 0; i < ticks.size(); i++) {
+            append(ticks.getTimeStamps()[i], ticks.getPrices()[i], ticks.getVolumes()[i], ticks.getBidVolumes()[i], ticks.getAskVolumes()[i]);
+        }
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * writes the pending ticks to the file
+     *
+     * @throws IOException if the block cannot be written
+     */
+    public void flush() throws IOException {
+        block.flip();
+        // N.B. overwrites a possibly incomplete trailing record
+        writeFully(block, headerSize + writtenCount * RECORD_SIZE);
+        block.clear();
+        writtenCount = recordCount;
+    }
+
+    /**
+     * @return number of tick records including pending ones
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    private void writeFully(final ByteBuffer buffer, final long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private static int toUnsignedInt(final String name, final double value) {
+        final long rounded = Math.round(value);
+        if (rounded < 0 || rounded > MAX_VOLUME) {
+            throw new IllegalArgumentException(name + " out of unsigned 32-bit range: " + value);
+        }
+        return (int) rounded;
+    }
+}
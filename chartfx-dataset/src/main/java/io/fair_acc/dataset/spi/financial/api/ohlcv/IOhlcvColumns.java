@@ -0,0 +1,93 @@
+package io.fair_acc.dataset.spi.financial.api.ohlcv;
+
+/**
+ * Column oriented (primitive) access to OHLCV data. Domain objects implementing this API can be read per bar and in
+ * bulk without creating an {@link IOhlcvItem} instance per bar.
+ * <p>
+ * The bulk getters return the backing arrays which may be longer than {@link #size()}. Only the first {@link #size()}
+ * elements are valid, sorted by ascending time stamp.
+ */
+public interface IOhlcvColumns extends IOhlcv {
+    /**
+     * @param index index of the ohlcv bar
+     * @return time stamp in milliseconds since the epoch
+     */
+    long getTimeStampMillis(int index);
+
+    /**
+     * @param index index of the ohlcv bar
+     * @return instrument open value
+     */
+    double getOpen(int index);
+
+    /**
+     * @param index index of the ohlcv bar
+     * @return instrument high value
+     */
+    double getHigh(int index);
+
+    /**
+     * @param index index of the ohlcv bar
+     * @return instrument low value
+     */
+    double getLow(int index);
+
+    /**
+     * @param index index of the ohlcv bar
+     * @return instrument close value
+     */
+    double getClose(int index);
+
+    /**
+     * @param index index of the ohlcv bar
+     * @return instrument volume information (Up/Down Tick together)
+     */
+    double getVolume(int index);
+
+    /**
+     * @param index index of the ohlcv bar
+     * @return instrument OI (Open interest)
+     */
+    double getOpenInterest(int index);
+
+    /**
+     * @return backing time stamp column (milliseconds since the epoch)
+     */
+    long[] getTimeStampColumn();
+
+    /**
+     * @return backing open column
+     */
+    double[] getOpenColumn();
+
+    /**
+     * @return backing high column
+     */
+    double[] getHighColumn();
+
+    /**
+     * @return backing low column
+     */
+    double[] getLowColumn();
+
+    /**
+     * @return backing close column
+     */
+    double[] getCloseColumn();
+
+    /**
+     * @return backing volume column
+     */
+    double[] getVolumeColumn();
+
+    /**
+     * @return backing open interest column
+     */
+    double[] getOpenInterestColumn();
+
+    /**
+     * @param timeStampMillis time stamp in milliseconds since the epoch
+     * @return index of the bar closest to the given time stamp (first/last bar if outside the range, 0 if empty)
+     */
+    int getTimeStampIndex(double timeStampMillis);
+}
@@ -23,8 +23,9 @@ import java.util.concurrent.ConcurrentHashMap;
  * N.B. for other simple caching needs see @see Cache
  *
  * @author rstein
- *
+ * @deprecated use the size-class based {@link ArrayPool} instead
  */
+@Deprecated
 public final class ArrayCache { // NOPMD nomen est omen
     /**
      * Simple object wrapping an int similar to Integer but without interning to allow cache entries to be evicted.
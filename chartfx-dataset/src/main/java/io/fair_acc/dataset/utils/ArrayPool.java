@@ -0,0 +1,410 @@
+package io.fair_acc.dataset.utils;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool for large recurring temporary primitive arrays, e.g. the working buffers of transforms, renderers and reducers.
+ * Unifies and replaces the name-keyed {@link ArrayCache} and the soft-reference based {@link DoubleArrayCache} and
+ * {@link ByteArrayCache}.
+ * <p>
+ * usage example:
+ *
+ * <pre>
+ * final double[] buffer = ArrayPool.DOUBLE.allocate(2 * n); // N.B. buffer.length &gt;= 2 * n
+ * try {
+ *     [..] user code [..]
+ * } finally {
+ *     ArrayPool.DOUBLE.release(buffer);
+ * }
+ * </pre>
+ * <p>
+ * Arrays are organised in power-of-two size classes (class {@code k} holds arrays with lengths in
+ * [2<sup>k</sup>, 2<sup>k+1</sup>)). {@link #allocate(int)} returns an array of at least the requested length (new
+ * arrays are rounded up to the next power of two), {@link #allocateExact(int)} one of exactly the requested length.
+ * Released arrays are kept in a small per-thread magazine that is accessed without any synchronisation and overflow
+ * into a bounded, lock-free global depot shared by all threads. The total retained memory is bounded (see
+ * {@link #setMaxRetainedBytes(long)}), further released arrays are left to the garbage collector.
+ * <p>
+ * In debug mode (see {@link #setLeakDetection(boolean)} or the system property {@value #LEAK_DETECTION_PROPERTY}),
+ * arrays that are garbage collected without being released as well as arrays that are released twice are logged
+ * together with their allocation site.
+ * <p>
+ * N.B. pooled arrays are not cleared, ie. may contain values from their previous use.
+ *
+ * @param <T> primitive array type
+ */
+public final class ArrayPool<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArrayPool.class);
+    /**
+     * system property enabling the leak detection of all pools by default
+     */
+    public static final String LEAK_DETECTION_PROPERTY = "chartfx.arraypool.debug";
+    /**
+     * default upper bound of the memory retained per pool
+     */
+    public static final long DEFAULT_MAX_RETAINED_BYTES = 64L << 20;
+    private static final int N_CLASSES = 31; // N.B. Java arrays are limited to 2^31 - 1 elements
+    private static final int MAGAZINE_SIZE = 4;
+    private static final int DEPOT_SIZE = 16;
+    // shared pools per primitive type
+    public static final ArrayPool<boolean[]> BOOLEAN = new ArrayPool<>("boolean", boolean[]::new, array -> array.length, 1);
+    public static final ArrayPool<byte[]> BYTE = new ArrayPool<>("byte", byte[]::new, array -> array.length, Byte.BYTES);
+    public static final ArrayPool<short[]> SHORT = new ArrayPool<>("short", short[]::new, array -> array.length, Short.BYTES); // NOPMD
+    public static final ArrayPool<int[]> INT = new ArrayPool<>("int", int[]::new, array -> array.length, Integer.BYTES);
+    public static final ArrayPool<long[]> LONG = new ArrayPool<>("long", long[]::new, array -> array.length, Long.BYTES);
+    public static final ArrayPool<float[]> FLOAT = new ArrayPool<>("float", float[]::new, array -> array.length, Float.BYTES);
+    public static final ArrayPool<double[]> DOUBLE = new ArrayPool<>("double", double[]::new, array -> array.length, Double.BYTES);
+
+    private final String name;
+    private final IntFunction<T> factory;
+    private final ToIntFunction<T> lengthFunction;
+    private final int elementBytes;
+    private final ThreadLocal<Magazine> magazine = ThreadLocal.withInitial(this::createMagazine);
+    private final Set<Magazine> magazines = ConcurrentHashMap.newKeySet();
+    private final AtomicReferenceArray<Object> depot = new AtomicReferenceArray<>(N_CLASSES * DEPOT_SIZE);
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    private final Map<Object, Allocation> outstanding = Collections.synchronizedMap(new WeakHashMap<>()); // N.B. arrays use identity equality
+    private final Set<Allocation> allocations = ConcurrentHashMap.newKeySet();
+    private volatile long maxRetainedBytes = DEFAULT_MAX_RETAINED_BYTES;
+    private volatile boolean leakDetection = Boolean.getBoolean(LEAK_DETECTION_PROPERTY);
+
+    private ArrayPool(final String name, final IntFunction<T> factory, final ToIntFunction<T> lengthFunction, final int elementBytes) {
+        this.name = name;
+        this.factory = factory;
+        this.lengthFunction = lengthFunction;
+        this.elementBytes = elementBytes;
+    }
+
+    /**
+     * @param minSize minimum required array length
+     * @return pooled or new array with a length of at least {@code minSize}
+     */
+    public T allocate(final int minSize) {
+        AssertUtils.gtEqThanZero("minSize", minSize);
+        final int sizeClass = ceilLog2(minSize);
+        if (sizeClass >= N_CLASSES) {
+            return track(factory.apply(minSize));
+        }
+        return track(take(sizeClass, -1, 1 << sizeClass));
+    }
+
+    /**
+     * @param size required array length
+     * @return pooled or new array with a length of exactly {@code size}
+     */
+    public T allocateExact(final int size) {
+        AssertUtils.gtEqThanZero("size", size);
+        return track(take(floorLog2(size), size, size));
+    }
+
+    /**
+     * drops all arrays retained by the depot, the calling thread and terminated threads
+     */
+    public void clear() {
+        for (int i = 0; i < depot.length(); i++) {
+            final Object array = depot.getAndSet(i, null);
+            if (array != null) {
+                retainedBytes.addAndGet(-bytes(array));
+            }
+        }
+        magazine.get().clear();
+        purgeTerminatedThreads();
+    }
+
+    /**
+     * @return number of garbage collected arrays that have not been released (leak detection only)
+     */
+    public long getLeakCount() {
+        pollLeaks();
+        return leakCount.sum();
+    }
+
+    /**
+     * @return number of released arrays that have not been retained because the pool was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * @return fraction of allocations that have been served from the pool
+     */
+    public double getHitRate() {
+        final long requests = requestCount.sum();
+        return requests == 0 ? 0.0 : (double) hitCount.sum() / requests;
+    }
+
+    /**
+     * @return number of allocations that have been served from the pool
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return upper bound of the memory retained by the pool
+     */
+    public long getMaxRetainedBytes() {
+        return maxRetainedBytes;
+    }
+
+    /**
+     * @return pool name, ie. element type
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return number of allocations
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * @return memory currently retained by the pool
+     */
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    /**
+     * @return {@code true}: leaked and twice released arrays are logged
+     */
+    public boolean isLeakDetection() {
+        return leakDetection;
+    }
+
+    /**
+     * Returns ownership of the array to the pool. N.B. the array must not be used afterwards.
+     *
+     * @param array the array to be released, {@code null} is ignored
+     */
+    public void release(final T array) {
+        if (array == null) {
+            return;
+        }
+        if (leakDetection && untrack(array)) {
+            return;
+        }
+        final int length = lengthFunction.applyAsInt(array);
+        if (length == 0) {
+            return;
+        }
+        final long bytes = (long) length * elementBytes;
+        if (retainedBytes.addAndGet(bytes) > maxRetainedBytes) {
+            retainedBytes.addAndGet(-bytes);
+            droppedCount.increment();
+            return;
+        }
+        final int sizeClass = floorLog2(length);
+        if (magazine.get().offer(sizeClass, array)) {
+            return;
+        }
+        final int offset = sizeClass * DEPOT_SIZE;
+        for (int i = offset; i < offset + DEPOT_SIZE; i++) {
+            if (depot.get(i) == null && depot.compareAndSet(i, null, array)) {
+                return;
+            }
+        }
+        retainedBytes.addAndGet(-bytes);
+        droppedCount.increment();
+    }
+
+    /**
+     * @param state {@code true}: log leaked and twice released arrays including their allocation site (N.B. costly,
+     *            for debugging only)
+     */
+    public void setLeakDetection(final boolean state) {
+        leakDetection = state;
+        if (!state) {
+            outstanding.clear();
+            allocations.clear();
+        }
+    }
+
+    /**
+     * @param maxRetainedBytes upper bound of the memory retained by the pool
+     */
+    public void setMaxRetainedBytes(final long maxRetainedBytes) {
+        AssertUtils.gtEqThanZero("maxRetainedBytes", maxRetainedBytes);
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayPool[" + name + ", retained = " + getRetainedBytes() + " bytes, hit rate = " + getHitRate() + ']';
+    }
+
+    private long bytes(final Object array) {
+        @SuppressWarnings("unchecked")
+        final int length = lengthFunction.applyAsInt((T) array);
+        return (long) length * elementBytes;
+    }
+
+    private Magazine createMagazine() {
+        purgeTerminatedThreads();
+        final Magazine newMagazine = new Magazine(Thread.currentThread());
+        magazines.add(newMagazine);
+        return newMagazine;
+    }
+
+    private void pollLeaks() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+            final Allocation allocation = (Allocation) reference;
+            if (allocations.remove(allocation)) {
+                leakCount.increment();
+                LOGGER.atWarn().setCause(allocation.site).addArgument(name).addArgument(allocation.length).log("{}[{}] array has not been released to the pool - allocated at:");
+            }
+        }
+    }
+
+    private void purgeTerminatedThreads() {
+        // N.B. a terminated thread's magazine is no longer accessed concurrently
+        synchronized (magazines) {
+            magazines.removeIf(candidate -> {
+                final Thread owner = candidate.owner.get();
+                if (owner == null || !owner.isAlive()) {
+                    candidate.clear();
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T take(final int sizeClass, final int exactLength, final int newLength) {
+        requestCount.increment();
+        T array = (T) magazine.get().poll(sizeClass, exactLength);
+        if (array == null) {
+            final int offset = sizeClass * DEPOT_SIZE;
+            for (int i = offset; i < offset + DEPOT_SIZE && array == null; i++) {
+                final Object candidate = depot.get(i);
+                if (candidate != null && (exactLength < 0 || lengthFunction.applyAsInt((T) candidate) == exactLength) && depot.compareAndSet(i, candidate, null)) {
+                    array = (T) candidate;
+                }
+            }
+        }
+        if (array == null) {
+            return factory.apply(newLength);
+        }
+        retainedBytes.addAndGet(-bytes(array));
+        hitCount.increment();
+        return array;
+    }
+
+    private T track(final T array) {
+        if (leakDetection) {
+            pollLeaks();
+            final Allocation allocation = new Allocation(array, lengthFunction.applyAsInt(array), collected);
+            allocations.add(allocation);
+            outstanding.put(array, allocation);
+        }
+        return array;
+    }
+
+    /**
+     * @return {@code true} if the array must not be pooled
+     */
+    private boolean untrack(final T array) {
+        final Allocation allocation = outstanding.remove(array);
+        if (allocation == null) {
+            LOGGER.atWarn().setCause(new IllegalStateException("released at")).addArgument(name).addArgument(lengthFunction.applyAsInt(array)).log("{}[{}] array has been released twice or has not been allocated from the pool");
+            return true;
+        }
+        allocations.remove(allocation);
+        allocation.clear();
+        return false;
+    }
+
+    private static int ceilLog2(final int value) {
+        return value <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(value - 1);
+    }
+
+    private static int floorLog2(final int value) {
+        return value <= 1 ? 0 : 31 - Integer.numberOfLeadingZeros(value);
+    }
+
+    private static class Allocation extends WeakReference<Object> {
+        private final Throwable site = new Throwable("allocation site");
+        private final int length;
+
+        private Allocation(final Object array, final int length, final ReferenceQueue<Object> queue) {
+            super(array, queue);
+            this.length = length;
+        }
+    }
+
+    /**
+     * per-thread cache, only accessed by its owner (or after its owner has terminated)
+     */
+    private class Magazine {
+        private final WeakReference<Thread> owner;
+        private final Object[][] slots = new Object[N_CLASSES][];
+        private final int[] counts = new int[N_CLASSES];
+
+        private Magazine(final Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        private void clear() {
+            for (int sizeClass = 0; sizeClass < N_CLASSES; sizeClass++) {
+                for (int i = 0; i < counts[sizeClass]; i++) {
+                    retainedBytes.addAndGet(-bytes(slots[sizeClass][i]));
+                    slots[sizeClass][i] = null;
+                }
+                counts[sizeClass] = 0;
+            }
+        }
+
+        private boolean offer(final int sizeClass, final Object array) {
+            if (counts[sizeClass] == MAGAZINE_SIZE) {
+                return false;
+            }
+            if (slots[sizeClass] == null) {
+                slots[sizeClass] = new Object[MAGAZINE_SIZE];
+            }
+            slots[sizeClass][counts[sizeClass]++] = array;
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object poll(final int sizeClass, final int exactLength) {
+            final Object[] stack = slots[sizeClass];
+            // most recently released first
+            for (int i = counts[sizeClass] - 1; i >= 0; i--) {
+                if (exactLength < 0 || lengthFunction.applyAsInt((T) stack[i]) == exactLength) {
+                    final Object array = stack[i];
+                    final int last = --counts[sizeClass];
+                    stack[i] = stack[last];
+                    stack[last] = null;
+                    return array;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -32,8 +32,9 @@ import java.lang.ref.Reference;
  * </pre>
  *
  * @author rstein
- *
+ * @deprecated use the size-class based {@link ArrayPool} instead
  */
+@Deprecated
 public class ByteArrayCache extends CacheCollection<byte[]> {
     private static final ByteArrayCache SELF = new ByteArrayCache();
 
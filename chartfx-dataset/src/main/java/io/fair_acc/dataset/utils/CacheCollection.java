@@ -12,7 +12,7 @@ import java.util.List;
  * Implements collection of cache-able objects that can be used to store recurring storage container.
  * <p>
  * N.B. this implements only the backing cache of adding, removing, etc. elements. The cache object retrieval should be implemented in the derived class.
- * See for example {@link ByteArrayCache}.
+ * N.B. new code should use the size-class based {@link ArrayPool} instead.
  *
  * @author rstein
  *
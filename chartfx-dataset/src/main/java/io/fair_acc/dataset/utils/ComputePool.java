@@ -0,0 +1,239 @@
+package io.fair_acc.dataset.utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chart-wide work-stealing compute service used by the parallel data transform, reduction and rendering stages.
+ * <p>
+ * All parallel stages share one daemonised {@link ForkJoinPool} to avoid over-subscription when multiple renderers,
+ * math operations or contour computations run concurrently. Idle workers steal work from busy workers, hence unevenly
+ * expensive chunks (e.g. NaN-rich or clipped regions) are balanced automatically. Fine-grained work should be submitted
+ * via {@link ParallelLoop} which adapts its chunk size to the measured per-item cost and re-uses its task objects.
+ * <p>
+ * The service keeps basic utilisation metrics (busy time, executed chunks, serial fall-backs) that can be queried and
+ * reset at run-time, e.g. for benchmarking or tuning the parallel thresholds.
+ */
+public final class ComputePool {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final int PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final ForkJoinPool POOL = new ForkJoinPool(PARALLELISM, ComputePool::newWorkerThread, null, false);
+    private static final LongAdder BUSY_NANOS = new LongAdder();
+    private static final LongAdder CHUNK_COUNT = new LongAdder();
+    private static final LongAdder PARALLEL_COUNT = new LongAdder();
+    private static final LongAdder SERIAL_COUNT = new LongAdder();
+    private static volatile long resetTimeStamp = System.nanoTime();
+
+    private ComputePool() {
+        // static helper class
+    }
+
+    /**
+     * @return the shared fork-join pool
+     */
+    public static ForkJoinPool getPool() {
+        return POOL;
+    }
+
+    /**
+     * @return number of worker threads of the shared pool
+     */
+    public static int getParallelism() {
+        return POOL.getParallelism();
+    }
+
+    /**
+     * @return number of worker threads that are currently executing tasks
+     */
+    public static int getActiveThreadCount() {
+        return POOL.getActiveThreadCount();
+    }
+
+    /**
+     * @return accumulated time spent in executing chunks (serial and parallel) since the last {@link #resetStatistics()}
+     */
+    public static long getBusyNanos() {
+        return BUSY_NANOS.sum();
+    }
+
+    /**
+     * @return number of chunks executed since the last {@link #resetStatistics()}
+     */
+    public static long getChunkCount() {
+        return CHUNK_COUNT.sum();
+    }
+
+    /**
+     * @return number of loops that have been split into parallel chunks since the last {@link #resetStatistics()}
+     */
+    public static long getParallelInvocationCount() {
+        return PARALLEL_COUNT.sum();
+    }
+
+    /**
+     * @return number of loops that were executed in the calling thread because they were too small to benefit from
+     *         parallelisation since the last {@link #resetStatistics()}
+     */
+    public static long getSerialInvocationCount() {
+        return SERIAL_COUNT.sum();
+    }
+
+    /**
+     * @return estimate of the number of tasks stolen by one worker from another (N.B. not affected by
+     *         {@link #resetStatistics()})
+     */
+    public static long getStealCount() {
+        return POOL.getStealCount();
+    }
+
+    /**
+     * @return fraction [0, 1] of the available worker time that was spent executing chunks since the last
+     *         {@link #resetStatistics()}
+     */
+    public static double getUtilisation() {
+        final long elapsed = System.nanoTime() - resetTimeStamp;
+        if (elapsed <= 0) {
+            return 0.0;
+        }
+        return Math.min(1.0, getBusyNanos() / ((double) elapsed * getParallelism()));
+    }
+
+    /**
+     * Executes the given task in the shared pool and waits for its completion. If called from within a worker thread
+     * the task is executed directly (work-stealing fork/join semantic).
+     *
+     * @param task the task to be executed
+     * @param <T> the task's result type
+     * @return the task's result
+     */
+    public static <T> T invoke(final ForkJoinTask<T> task) {
+        AssertUtils.notNull("task", task);
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == POOL) {
+            return task.invoke();
+        }
+        return POOL.invoke(task);
+    }
+
+    /**
+     * Executes a coarse-grained index range computation using recursive splitting into at most
+     * {@code ceil((to - from) / minChunkSize)} chunks. Ranges that result in a single chunk are executed in the calling
+     * thread. For fine-grained, repeatedly executed loops prefer {@link ParallelLoop}.
+     *
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @param minChunkSize minimum number of indices per chunk
+     * @param body the loop body
+     */
+    public static void parallelFor(final int from, final int to, final int minChunkSize, final IndexRangeConsumer body) {
+        AssertUtils.notNull("body", body);
+        AssertUtils.gtThanZero("minChunkSize", minChunkSize);
+        final int length = to - from;
+        if (length <= 0) {
+            return;
+        }
+        final int nChunks = (int) Math.min(getMaxChunkCount(), (length + (long) minChunkSize - 1) / minChunkSize);
+        if (nChunks <= 1) {
+            recordInvocation(false);
+            final long start = System.nanoTime();
+            body.accept(0, from, to);
+            recordChunk(System.nanoTime() - start);
+            return;
+        }
+        recordInvocation(true);
+        invoke(new RangeSplitter(body, from, length, nChunks, 0, nChunks));
+    }
+
+    /**
+     * resets the utilisation metrics
+     */
+    public static void resetStatistics() {
+        BUSY_NANOS.reset();
+        CHUNK_COUNT.reset();
+        PARALLEL_COUNT.reset();
+        SERIAL_COUNT.reset();
+        resetTimeStamp = System.nanoTime();
+    }
+
+    /**
+     * @return human-readable summary of the utilisation metrics
+     */
+    public static String statistics() {
+        return String.format("ComputePool[threads=%d, active=%d, utilisation=%.1f%%, chunks=%d, parallel=%d, serial=%d, steals=%d]", //
+                getParallelism(), getActiveThreadCount(), 100.0 * getUtilisation(), getChunkCount(), //
+                getParallelInvocationCount(), getSerialInvocationCount(), getStealCount());
+    }
+
+    /**
+     * @return upper limit of the number of chunks a loop is split into (ie. a few chunks per worker to permit work-stealing)
+     */
+    public static int getMaxChunkCount() {
+        return 4 * getParallelism();
+    }
+
+    /**
+     * @param from first index of the whole range
+     * @param length length of the whole range
+     * @param nChunks number of chunks
+     * @param chunkIndex chunk index
+     * @return first index of the given chunk of an evenly partitioned range
+     */
+    /* package private */ static int chunkStart(final int from, final int length, final int nChunks, final int chunkIndex) {
+        return from + (int) ((long) length * chunkIndex / nChunks);
+    }
+
+    /* package private */ static void recordChunk(final long busyNanos) {
+        BUSY_NANOS.add(busyNanos);
+        CHUNK_COUNT.increment();
+    }
+
+    /* package private */ static void recordInvocation(final boolean parallel) {
+        if (parallel) {
+            PARALLEL_COUNT.increment();
+        } else {
+            SERIAL_COUNT.increment();
+        }
+    }
+
+    private static ForkJoinWorkerThread newWorkerThread(final ForkJoinPool pool) {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("chartfx_compute_thread_#" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static final class RangeSplitter extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient IndexRangeConsumer body;
+        private final int from;
+        private final int length;
+        private final int nChunks;
+        private final int chunkMin;
+        private final int chunkMax;
+
+        RangeSplitter(final IndexRangeConsumer body, final int from, final int length, final int nChunks, final int chunkMin, final int chunkMax) {
+            super();
+            this.body = body;
+            this.from = from;
+            this.length = length;
+            this.nChunks = nChunks;
+            this.chunkMin = chunkMin;
+            this.chunkMax = chunkMax;
+        }
+
+        @Override
+        protected void compute() {
+            if (chunkMax - chunkMin > 1) {
+                final int mid = (chunkMin + chunkMax) >>> 1;
+                invokeAll(new RangeSplitter(body, from, length, nChunks, chunkMin, mid), new RangeSplitter(body, from, length, nChunks, mid, chunkMax));
+                return;
+            }
+            final long start = System.nanoTime();
+            body.accept(chunkMin, chunkStart(from, length, nChunks, chunkMin), chunkStart(from, length, nChunks, chunkMin + 1));
+            recordChunk(System.nanoTime() - start);
+        }
+    }
+}
@@ -55,6 +55,7 @@ import io.fair_acc.dataset.spi.DataSetBuilder;
 import io.fair_acc.dataset.spi.DefaultAxisDescription;
 import io.fair_acc.dataset.spi.DefaultDataSet;
 import io.fair_acc.dataset.spi.DoubleErrorDataSet;
+import io.fair_acc.dataset.spi.MappedColumnarDataSet;
 
 /**
  * @author braeun
@@ -64,6 +65,7 @@ import io.fair_acc.dataset.spi.DoubleErrorDataSet;
 public class DataSetUtils extends DataSetUtilsHelper {
     private static final String CACHED_META_DATA_STRING_BUILDER = "metaDataCacheBuilder";
     private static final String CACHED_STRING_BUILDER = "numericDataCacheBuilder";
+    private static final int ASCII_CHUNK_SIZE = 1 << 16;
     private static final String CACHED_WRITE_BYTE_BUFFER = "writeByteBuffer";
     public static final String NO_DATASET = "noDataset";
     private static final int SWITCH_TO_BINARY_KEY = 0xFE;
@@ -432,6 +434,24 @@ public class DataSetUtils extends DataSetUtilsHelper {
         return dataSet;
     }
 
+    /**
+     * Opens a Dataset stored in the binary columnar file format (see {@link MappedColumnarDataSet}).<br>
+     * The file is memory-mapped and the returned read-only data set accesses the stored columns without copying or
+     * parsing, ie. also very large files open in milliseconds and only the accessed data is paged in.
+     *
+     * @param file Path of the columnar data set file
+     * @return DataSet view of the file content or null in case of errors
+     */
+    public static MappedColumnarDataSet readDataSetFromColumnarFile(final Path file) {
+        AssertUtils.notNull("file", file);
+        try {
+            return new MappedColumnarDataSet(file);
+        } catch (final IOException e) {
+            LOGGER.atError().setCause(e).addArgument(file).log("could not open/parse columnar file: '{}'");
+        }
+        return null;
+    }
+
     /**
      * Read a Dataset from a file containing comma separated values.<br>
      * Automatically determines compression from the file extension.<br>
@@ -787,6 +807,29 @@ public class DataSetUtils extends DataSetUtilsHelper {
         });
     }
 
+    /**
+     * Export the contents of the supplied dataSet to a versioned binary columnar file (see
+     * {@link MappedColumnarDataSet}) that stores each dimension's values and errors as separate, optionally
+     * block-compressed chunks together with the data limits and meta data.
+     *
+     * @param dataSet The DataSet to export
+     * @param file Path of the file to be written (overwritten if it exists)
+     * @param compress true: compress chunks where this saves space (N.B. compressed chunks are decoded on access)
+     * @return true if the file has been written successfully
+     */
+    public static boolean writeDataSetToColumnarFile(final DataSet dataSet, final Path file, final boolean compress) {
+        AssertUtils.notNull("dataSet", dataSet);
+        AssertUtils.notNull("file", file);
+        try {
+            MappedColumnarDataSet.write(dataSet, file, compress);
+            LOGGER.atDebug().addArgument(dataSet.getName()).addArgument(file).log("write data set '{}' to {}");
+            return true;
+        } catch (final IOException e) {
+            LOGGER.atError().setCause(e).addArgument(file).log("could not write to columnar file: '{}'");
+            return false;
+        }
+    }
+
     /**
      * Export the contents of the supplied dataSet to file as comma separated values with an additional comment header
      * containing metaData if existent.<br>
@@ -1131,7 +1174,8 @@ public class DataSetUtils extends DataSetUtilsHelper {
                         buffer.append('\n');
                     }
                 }
-                outputFile.write(buffer.toString().getBytes());
+                writeAscii(outputFile, buffer);
+                release(CACHED_STRING_BUILDER, buffer);
             } else {
                 final int nSamples = dataSet.getDataCount();
                 final StringBuilder buffer = getCachedStringBuilder(CACHED_STRING_BUILDER,
@@ -1153,8 +1197,7 @@ public class DataSetUtils extends DataSetUtilsHelper {
                     buffer.append(error(dataSet, EYP, i)); // positive error in y
                     buffer.append('\n');
                 }
-                outputFile.write(buffer.toString().getBytes());
-
+                writeAscii(outputFile, buffer);
                 release(CACHED_STRING_BUILDER, buffer);
             }
         } catch (final IOException e) {
@@ -1162,6 +1205,30 @@ public class DataSetUtils extends DataSetUtilsHelper {
         }
     }
 
+    /**
+     * writes the (ASCII-only, e.g. numeric) text in chunks, avoiding the intermediate String and byte[] copies of the
+     * whole text
+     *
+     * @param outputStream the stream to write to
+     * @param text the ASCII text
+     * @throws IOException in case of write errors
+     */
+    private static void writeAscii(final OutputStream outputStream, final CharSequence text) throws IOException {
+        final int length = text.length();
+        final byte[] chunk = ArrayPool.BYTE.allocate(Math.min(length, ASCII_CHUNK_SIZE));
+        try {
+            for (int start = 0; start < length; start += chunk.length) {
+                final int n = Math.min(chunk.length, length - start);
+                for (int i = 0; i < n; i++) {
+                    chunk[i] = (byte) text.charAt(start + i);
+                }
+                outputStream.write(chunk, 0, n);
+            }
+        } finally {
+            ArrayPool.BYTE.release(chunk);
+        }
+    }
+
     /**
      * Supported Compression Types
      */
@@ -0,0 +1,14 @@
+package io.fair_acc.dataset.utils;
+
+/**
+ * Loop body of a (possibly parallel) index range computation.
+ */
+@FunctionalInterface
+public interface IndexRangeConsumer {
+    /**
+     * @param chunkIndex index of the chunk (0-based, chunks are numbered in ascending order of their index ranges)
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     */
+    void accept(int chunkIndex, int from, int to);
+}
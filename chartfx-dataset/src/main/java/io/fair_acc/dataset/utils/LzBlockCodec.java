@@ -0,0 +1,216 @@
+package io.fair_acc.dataset.utils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Minimal, dependency-free LZ77 block codec following the LZ4 block format design: a sequence of (token, literals,
+ * 16-bit match offset, match length) tuples where the last sequence only contains literals. The codec favours
+ * decompression speed over compression ratio and is used for the optional block compression of binary data set files.
+ * <p>
+ * Floating-point data compresses poorly as is. Applying the byte-plane transposition {@link #shuffle(byte[], int, int,
+ * int, byte[], int)} first groups the (typically slowly varying) sign/exponent and high-order mantissa bytes of
+ * consecutive samples, which substantially improves the compression ratio of smooth or quantised signals.
+ */
+public final class LzBlockCodec {
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5; // never start a match within the last bytes of a block
+    private static final int HASH_LOG = 14;
+    private static final int MAX_OFFSET = 0xFFFF;
+    private static final int RUN_MASK = 0xF;
+
+    private LzBlockCodec() {
+        // static helper class
+    }
+
+    /**
+     * Compresses a block of bytes.
+     *
+     * @param src source array
+     * @param srcOffset first byte to be compressed
+     * @param srcLength number of bytes to be compressed
+     * @param dst destination array with at least {@link #maxCompressedLength(int)} bytes after {@code dstOffset}
+     * @param dstOffset first destination byte
+     * @return number of compressed bytes written to {@code dst}
+     */
+    public static int compress(final byte[] src, final int srcOffset, final int srcLength, final byte[] dst, final int dstOffset) {
+        AssertUtils.notNull("src", src);
+        AssertUtils.notNull("dst", dst);
+        AssertUtils.gtOrEqual("src", srcOffset + srcLength, src.length);
+        AssertUtils.gtOrEqual("dst", dstOffset + maxCompressedLength(srcLength), dst.length);
+        final int[] hashTable = new int[1 << HASH_LOG];
+        final int srcEnd = srcOffset + srcLength;
+        final int matchLimit = srcEnd - LAST_LITERALS;
+        int anchor = srcOffset;
+        int ip = srcOffset;
+        int op = dstOffset;
+
+        while (ip + MIN_MATCH <= matchLimit) {
+            final int sequence = readInt(src, ip);
+            final int hash = hash(sequence);
+            final int ref = hashTable[hash] - 1; // N.B. '0' marks an empty slot
+            hashTable[hash] = ip + 1;
+            if (ref < srcOffset || ip - ref > MAX_OFFSET || readInt(src, ref) != sequence) {
+                ip++;
+                continue;
+            }
+            int matchLength = MIN_MATCH;
+            while (ip + matchLength < matchLimit && src[ref + matchLength] == src[ip + matchLength]) {
+                matchLength++;
+            }
+            op = writeSequence(src, anchor, ip - anchor, dst, op, ip - ref, matchLength);
+            ip += matchLength;
+            anchor = ip;
+        }
+        // last sequence: literals only
+        op = writeSequence(src, anchor, srcEnd - anchor, dst, op, 0, 0);
+        return op - dstOffset;
+    }
+
+    /**
+     * Decompresses a block of bytes.
+     *
+     * @param src buffer containing the compressed block (absolute access, the buffer's position is not modified)
+     * @param srcOffset first byte of the compressed block
+     * @param srcLength length of the compressed block
+     * @param dst destination array
+     * @param dstOffset first destination byte
+     * @param dstLength maximum number of bytes to be decompressed
+     * @return number of decompressed bytes
+     * @throws IllegalArgumentException in case the block is malformed or exceeds {@code dstLength}
+     */
+    public static int decompress(final ByteBuffer src, final int srcOffset, final int srcLength, final byte[] dst, final int dstOffset, final int dstLength) {
+        AssertUtils.notNull("src", src);
+        AssertUtils.notNull("dst", dst);
+        AssertUtils.gtOrEqual("dst", dstOffset + dstLength, dst.length);
+        final int srcEnd = srcOffset + srcLength;
+        final int dstEnd = dstOffset + dstLength;
+        int ip = srcOffset;
+        int op = dstOffset;
+        while (ip < srcEnd) {
+            final int token = src.get(ip++) & 0xFF;
+            int literalLength = token >>> 4;
+            if (literalLength == RUN_MASK) {
+                int value;
+                do {
+                    value = src.get(ip++) & 0xFF;
+                    literalLength += value;
+                } while (value == 0xFF);
+            }
+            if (ip + literalLength > srcEnd || op + literalLength > dstEnd) {
+                throw new IllegalArgumentException("malformed compressed block: literals exceed block boundaries at " + (ip - srcOffset));
+            }
+            src.get(ip, dst, op, literalLength);
+            ip += literalLength;
+            op += literalLength;
+            if (ip >= srcEnd) {
+                break; // last sequence
+            }
+
+            final int offset = (src.get(ip) & 0xFF) | (src.get(ip + 1) & 0xFF) << 8;
+            ip += 2;
+            int matchLength = token & RUN_MASK;
+            if (matchLength == RUN_MASK) {
+                int value;
+                do {
+                    value = src.get(ip++) & 0xFF;
+                    matchLength += value;
+                } while (value == 0xFF);
+            }
+            matchLength += MIN_MATCH;
+            if (offset == 0 || op - offset < dstOffset || op + matchLength > dstEnd) {
+                throw new IllegalArgumentException("malformed compressed block: invalid match at " + (ip - srcOffset));
+            }
+            // N.B. byte-wise copy since source and destination may overlap (run-length encoding)
+            for (int i = 0; i < matchLength; i++) {
+                dst[op + i] = dst[op - offset + i];
+            }
+            op += matchLength;
+        }
+        return op - dstOffset;
+    }
+
+    /**
+     * @param length uncompressed block length
+     * @return upper bound of the compressed block length (incompressible input)
+     */
+    public static int maxCompressedLength(final int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Byte-plane transposition: byte {@code b} of element {@code i} is stored at {@code dst[dstOffset + b * nElements + i]}.
+     *
+     * @param src source array
+     * @param srcOffset first byte of the first element
+     * @param nElements number of elements
+     * @param elementSize size of one element in bytes (e.g. 8 for doubles)
+     * @param dst destination array
+     * @param dstOffset first destination byte
+     */
+    public static void shuffle(final byte[] src, final int srcOffset, final int nElements, final int elementSize, final byte[] dst, final int dstOffset) {
+        for (int i = 0; i < nElements; i++) {
+            final int element = srcOffset + i * elementSize;
+            for (int b = 0; b < elementSize; b++) {
+                dst[dstOffset + b * nElements + i] = src[element + b];
+            }
+        }
+    }
+
+    /**
+     * Inverse of {@link #shuffle(byte[], int, int, int, byte[], int)}.
+     *
+     * @param src source array (byte planes)
+     * @param srcOffset first byte of the first plane
+     * @param nElements number of elements
+     * @param elementSize size of one element in bytes (e.g. 8 for doubles)
+     * @param dst destination array
+     * @param dstOffset first destination byte
+     */
+    public static void unshuffle(final byte[] src, final int srcOffset, final int nElements, final int elementSize, final byte[] dst, final int dstOffset) {
+        for (int b = 0; b < elementSize; b++) {
+            final int plane = srcOffset + b * nElements;
+            for (int i = 0; i < nElements; i++) {
+                dst[dstOffset + i * elementSize + b] = src[plane + i];
+            }
+        }
+    }
+
+    private static int hash(final int sequence) {
+        return (sequence * -1640531535) >>> (Integer.SIZE - HASH_LOG); // Knuth's multiplicative hash
+    }
+
+    private static int readInt(final byte[] buffer, final int index) {
+        return (buffer[index] & 0xFF) | (buffer[index + 1] & 0xFF) << 8 | (buffer[index + 2] & 0xFF) << 16 | (buffer[index + 3] & 0xFF) << 24;
+    }
+
+    private static int writeLength(final byte[] dst, final int dstIndex, final int length) {
+        int op = dstIndex;
+        int remaining = length - RUN_MASK;
+        while (remaining >= 0xFF) {
+            dst[op++] = (byte) 0xFF;
+            remaining -= 0xFF;
+        }
+        dst[op++] = (byte) remaining;
+        return op;
+    }
+
+    private static int writeSequence(final byte[] src, final int literalStart, final int literalLength, final byte[] dst, final int dstIndex, final int offset, final int matchLength) {
+        int op = dstIndex;
+        final int matchCode = matchLength == 0 ? 0 : matchLength - MIN_MATCH;
+        dst[op++] = (byte) (Math.min(literalLength, RUN_MASK) << 4 | Math.min(matchCode, RUN_MASK));
+        if (literalLength >= RUN_MASK) {
+            op = writeLength(dst, op, literalLength);
+        }
+        System.arraycopy(src, literalStart, dst, op, literalLength);
+        op += literalLength;
+        if (matchLength == 0) {
+            return op;
+        }
+        dst[op++] = (byte) offset;
+        dst[op++] = (byte) (offset >>> 8);
+        if (matchCode >= RUN_MASK) {
+            op = writeLength(dst, op, matchCode);
+        }
+        return op;
+    }
+}
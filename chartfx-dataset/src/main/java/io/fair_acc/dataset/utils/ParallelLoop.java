@@ -0,0 +1,219 @@
+package io.fair_acc.dataset.utils;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Re-usable, self-tuning parallel index range loop executed on the shared {@link ComputePool}.
+ * <p>
+ * The number of chunks is derived from the per-item cost measured during the previous invocations (exponentially
+ * smoothed), such that each chunk takes about {@link #getTargetChunkNanos()}. Loops whose total estimated cost is below
+ * this target are executed directly in the calling thread, larger loops are split into at most
+ * {@link ComputePool#getMaxChunkCount()} evenly sized chunks. The fork-join task objects are allocated once and
+ * re-initialised for every invocation, ie. a loop that is executed for every frame does not generate garbage.
+ * <p>
+ * The chunk partition of the last invocation can be queried via {@link #getChunkCount()}, {@link #getChunkFrom(int)}
+ * and {@link #getChunkTo(int)}, e.g. to merge per-chunk partial results.
+ * <p>
+ * N.B. an instance is meant to be owned by one component (e.g. a renderer's data point cache); concurrent invocations of
+ * {@link #run(int, int)} on the same instance are serialised.
+ */
+public class ParallelLoop {
+    /**
+     * default minimum number of items per chunk (prevents false-sharing and excessive splitting of trivial loops)
+     */
+    public static final int DEFAULT_MIN_CHUNK_SIZE = 256;
+    /**
+     * default target execution time per chunk [ns], ie. about 100 x the fork/join overhead
+     */
+    public static final long DEFAULT_TARGET_CHUNK_NANOS = 100_000L;
+    private static final double SMOOTHING = 0.25;
+    private final IndexRangeConsumer body;
+    private final int minChunkSize;
+    private final long targetChunkNanos;
+    private final Chunk[] chunks;
+    private final Root root = new Root();
+    private double nanosPerItem = Double.NaN; // unknown until the first invocation
+    private int from;
+    private int length;
+    private int nChunks;
+
+    /**
+     * @param body the loop body (N.B. should be stored and re-used by the caller to avoid re-allocation)
+     */
+    public ParallelLoop(final IndexRangeConsumer body) {
+        this(body, DEFAULT_MIN_CHUNK_SIZE, DEFAULT_TARGET_CHUNK_NANOS);
+    }
+
+    /**
+     * @param body the loop body (N.B. should be stored and re-used by the caller to avoid re-allocation)
+     * @param minChunkSize minimum number of items per chunk
+     * @param targetChunkNanos target execution time per chunk [ns]
+     */
+    public ParallelLoop(final IndexRangeConsumer body, final int minChunkSize, final long targetChunkNanos) {
+        AssertUtils.notNull("body", body);
+        AssertUtils.gtThanZero("minChunkSize", minChunkSize);
+        AssertUtils.gtThanZero("targetChunkNanos", targetChunkNanos);
+        this.body = body;
+        this.minChunkSize = minChunkSize;
+        this.targetChunkNanos = targetChunkNanos;
+        this.chunks = new Chunk[ComputePool.getMaxChunkCount()];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = new Chunk(i);
+        }
+    }
+
+    /**
+     * @return number of chunks used during the last invocation
+     */
+    public int getChunkCount() {
+        return nChunks;
+    }
+
+    /**
+     * @param chunkIndex chunk index
+     * @return first index (inclusive) of the given chunk during the last invocation
+     */
+    public int getChunkFrom(final int chunkIndex) {
+        AssertUtils.indexInBounds(chunkIndex, nChunks, "chunkIndex out of bounds");
+        return ComputePool.chunkStart(from, length, nChunks, chunkIndex);
+    }
+
+    /**
+     * @param chunkIndex chunk index
+     * @return last index (exclusive) of the given chunk during the last invocation
+     */
+    public int getChunkTo(final int chunkIndex) {
+        AssertUtils.indexInBounds(chunkIndex, nChunks, "chunkIndex out of bounds");
+        return ComputePool.chunkStart(from, length, nChunks, chunkIndex + 1);
+    }
+
+    /**
+     * @return upper limit for the number of chunks returned by {@link #getChunkCount()}
+     */
+    public int getMaxChunkCount() {
+        return chunks.length;
+    }
+
+    /**
+     * @return minimum number of items per chunk
+     */
+    public int getMinChunkSize() {
+        return minChunkSize;
+    }
+
+    /**
+     * @return smoothed per-item cost [ns] measured during the previous invocations or NaN if not yet known
+     */
+    public double getNanosPerItem() {
+        return nanosPerItem;
+    }
+
+    /**
+     * @return target execution time per chunk [ns]
+     */
+    public long getTargetChunkNanos() {
+        return targetChunkNanos;
+    }
+
+    /**
+     * Executes the loop body for the index range [from, to[ and waits for its completion.
+     *
+     * @param from first index (inclusive)
+     * @param to last index (exclusive)
+     * @return number of chunks the range has been split into
+     */
+    public synchronized int run(final int from, final int to) {
+        this.from = from;
+        this.length = Math.max(0, to - from);
+        if (length == 0) {
+            nChunks = 0;
+            return 0;
+        }
+        nChunks = computeChunkCount(length);
+
+        if (nChunks == 1) {
+            ComputePool.recordInvocation(false);
+            final long start = System.nanoTime();
+            body.accept(0, from, to);
+            final long busy = System.nanoTime() - start;
+            ComputePool.recordChunk(busy);
+            updateCost(busy);
+            return nChunks;
+        }
+
+        ComputePool.recordInvocation(true);
+        for (int i = 0; i < nChunks; i++) {
+            chunks[i].reinitialize();
+        }
+        root.reinitialize();
+        ComputePool.invoke(root);
+        long busy = 0;
+        for (int i = 0; i < nChunks; i++) {
+            busy += chunks[i].busyNanos;
+        }
+        updateCost(busy);
+        return nChunks;
+    }
+
+    protected int computeChunkCount(final int nItems) {
+        final int maxBySize = Math.max(1, nItems / minChunkSize);
+        if (Double.isNaN(nanosPerItem)) {
+            // no cost estimate yet: one chunk per worker
+            return Math.min(Math.min(maxBySize, ComputePool.getParallelism()), chunks.length);
+        }
+        final double estimatedNanos = nanosPerItem * nItems;
+        final int byCost = (int) Math.min(Integer.MAX_VALUE, Math.ceil(estimatedNanos / targetChunkNanos));
+        return Math.max(1, Math.min(Math.min(byCost, maxBySize), chunks.length));
+    }
+
+    private void updateCost(final long busyNanos) {
+        final double measured = busyNanos / (double) length;
+        nanosPerItem = Double.isNaN(nanosPerItem) ? measured : (1.0 - SMOOTHING) * nanosPerItem + SMOOTHING * measured;
+    }
+
+    private final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int chunkIndex;
+        private long busyNanos;
+
+        private Chunk(final int chunkIndex) {
+            super();
+            this.chunkIndex = chunkIndex;
+        }
+
+        @Override
+        protected void compute() {
+            final long start = System.nanoTime();
+            body.accept(chunkIndex, getChunkFrom(chunkIndex), getChunkTo(chunkIndex));
+            busyNanos = System.nanoTime() - start;
+            ComputePool.recordChunk(busyNanos);
+        }
+    }
+
+    private final class Root extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void compute() {
+            // fork all but the first chunk, execute the first chunk in this thread, then join (help) the others
+            for (int i = nChunks - 1; i > 0; i--) {
+                chunks[i].fork();
+            }
+            chunks[0].quietlyInvoke();
+            for (int i = 1; i < nChunks; i++) {
+                chunks[i].quietlyJoin();
+            }
+            // N.B. re-throw only after all chunks finished, since the tasks are re-used by the next invocation
+            for (int i = 0; i < nChunks; i++) {
+                final Throwable exception = chunks[i].getException();
+                if (exception instanceof RuntimeException) {
+                    throw (RuntimeException) exception;
+                } else if (exception instanceof Error) {
+                    throw (Error) exception;
+                } else if (exception != null) {
+                    throw new IllegalStateException("parallel loop chunk #" + i + " finished execution with error", exception);
+                }
+            }
+        }
+    }
+}
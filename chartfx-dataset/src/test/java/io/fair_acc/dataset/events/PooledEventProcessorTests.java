@@ -0,0 +1,128 @@
+package io.fair_acc.dataset.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks for the {@link PooledEventProcessor}.
+ */
+class PooledEventProcessorTests {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void basicTests() {
+        assertThrows(IllegalArgumentException.class, () -> new PooledEventProcessor(null));
+        assertSame(PooledEventProcessor.getInstance(), PooledEventProcessor.getInstance());
+        assertThrows(IllegalArgumentException.class, () -> new PooledEventProcessor(0));
+        final PooledEventProcessor processor = new PooledEventProcessor();
+        assertThrows(IllegalArgumentException.class, () -> processor.addAction(null, () -> {}));
+        assertThrows(IllegalArgumentException.class, () -> processor.addAction(BitState.initClean(this), null));
+
+        // initially dirty states are processed right away, clean states on the first invalidation
+        final AtomicInteger counter = new AtomicInteger();
+        final List<String> threadNames = new CopyOnWriteArrayList<>();
+        final BitState dirty = BitState.initDirtyMultiThreaded(this, ChartBits.DataSetMask);
+        processor.addAction(dirty, () -> {
+            threadNames.add(Thread.currentThread().getName());
+            counter.incrementAndGet();
+        });
+        Awaitility.await().atMost(TIMEOUT).until(() -> counter.get() == 1);
+        assertTrue(dirty.isClean());
+        assertTrue(threadNames.get(0).startsWith("ChartFx event worker"), "dedicated worker pool instead of the ComputePool");
+
+        final BitState clean = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+        processor.addAction(clean, counter::incrementAndGet);
+        clean.setDirty(ChartBits.AxisRange); // not a data set bit
+        clean.setDirty(ChartBits.DataSetData);
+        Awaitility.await().atMost(TIMEOUT).until(() -> counter.get() == 2);
+        Awaitility.await().atMost(TIMEOUT).until(() -> processor.getExecutionCount() == 2);
+    }
+
+    @Test
+    void testCoalescing() throws InterruptedException {
+        final PooledEventProcessor processor = new PooledEventProcessor(Executors.newFixedThreadPool(2));
+        final BitState state = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger counter = new AtomicInteger();
+        processor.addAction(state, () -> {
+            if (counter.incrementAndGet() == 1) {
+                started.countDown();
+                try {
+                    assertTrue(release.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        state.setDirty(ChartBits.DataSetData);
+        assertTrue(started.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+        // update storm while the first execution is running
+        for (int i = 0; i < 100; i++) {
+            state.setDirty(ChartBits.DataSetData);
+        }
+        release.countDown();
+        Awaitility.await().atMost(TIMEOUT).until(() -> processor.getExecutionCount() == 2);
+        Thread.sleep(100); // NOPMD -- make sure that no further executions follow
+        assertEquals(2, counter.get(), "storm is coalesced into a single re-execution");
+        assertEquals(99, processor.getCoalescedCount());
+    }
+
+    @Test
+    void testConcurrentExecution() {
+        final PooledEventProcessor processor = new PooledEventProcessor(Executors.newFixedThreadPool(2));
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final AtomicInteger passed = new AtomicInteger();
+        final Runnable action = () -> {
+            try {
+                // N.B. only passes if both actions are executed concurrently
+                barrier.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                passed.incrementAndGet();
+            } catch (Exception e) { // NOPMD
+                // barrier timeout
+            }
+        };
+        final BitState state1 = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+        final BitState state2 = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+        processor.addAction(state1, action);
+        processor.addAction(state2, action);
+        state1.setDirty(ChartBits.DataSetData);
+        state2.setDirty(ChartBits.DataSetData);
+        Awaitility.await().atMost(TIMEOUT).until(() -> passed.get() == 2);
+    }
+
+    @Test
+    void testRateLimiting() {
+        final long minUpdatePeriod = 100;
+        final PooledEventProcessor processor = new PooledEventProcessor();
+        final BitState state = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+        final List<Long> timeStamps = new CopyOnWriteArrayList<>();
+        processor.addAction(state, () -> timeStamps.add(System.nanoTime()), minUpdatePeriod);
+
+        state.setDirty(ChartBits.DataSetData);
+        Awaitility.await().atMost(TIMEOUT).until(() -> timeStamps.size() == 1);
+        state.setDirty(ChartBits.DataSetData);
+        state.setDirty(ChartBits.DataSetData);
+        // N.B. depending on timing, the second invalidation may arrive while the re-execution is running -> >= 2
+        Awaitility.await().atMost(TIMEOUT).until(() -> timeStamps.size() >= 2);
+        for (int i = 1; i < timeStamps.size(); i++) {
+            final long period = TimeUnit.NANOSECONDS.toMillis(timeStamps.get(i) - timeStamps.get(i - 1));
+            assertTrue(period >= minUpdatePeriod, "update period " + period + " ms");
+        }
+    }
+}
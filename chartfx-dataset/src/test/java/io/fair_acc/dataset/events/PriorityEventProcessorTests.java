@@ -0,0 +1,109 @@
+package io.fair_acc.dataset.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks for the {@link PriorityEventProcessor}.
+ */
+class PriorityEventProcessorTests {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void basicTests() {
+        assertThrows(IllegalArgumentException.class, () -> new PriorityEventProcessor(0, 10, false));
+        assertThrows(IllegalArgumentException.class, () -> new PriorityEventProcessor(1, 0, false));
+        // N.B. falls back to platform threads on JVMs without virtual thread support
+        final PriorityEventProcessor processor = new PriorityEventProcessor(2, 10, true);
+        assertEquals(2, processor.getWorkers().size());
+        assertEquals(10, processor.getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> processor.addAction(null, () -> {}));
+        assertThrows(IllegalArgumentException.class, () -> processor.addAction(BitState.initClean(this), null));
+        assertThrows(IllegalArgumentException.class, () -> processor.addAction(BitState.initClean(this), () -> {}, null));
+
+        // initially dirty states are processed right away, clean states on the first invalidation
+        final AtomicInteger counter = new AtomicInteger();
+        final BitState dirty = BitState.initDirtyMultiThreaded(this, ChartBits.DataSetMask);
+        processor.addAction(dirty, counter::incrementAndGet);
+        Awaitility.await().atMost(TIMEOUT).until(() -> counter.get() == 1);
+        assertTrue(dirty.isClean());
+
+        final BitState clean = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+        processor.addAction(clean, counter::incrementAndGet);
+        clean.setDirty(ChartBits.AxisRange); // not a data set bit
+        clean.setDirty(ChartBits.DataSetData);
+        Awaitility.await().atMost(TIMEOUT).until(() -> processor.getDispatchCount() == 2);
+        assertEquals(2, counter.get());
+        assertTrue(processor.getMaxDispatchLatency() >= processor.getAverageDispatchLatency());
+        processor.shutdown();
+    }
+
+    @Test
+    void testPriorityCoalescingAndDropping() throws InterruptedException {
+        final PriorityEventProcessor processor = new PriorityEventProcessor(1, 3, false);
+        final List<String> executed = new CopyOnWriteArrayList<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        // occupy the single worker
+        final BitState blocker = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+        processor.addAction(blocker, () -> {
+            started.countDown();
+            try {
+                assertTrue(release.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        blocker.setDirty(ChartBits.DataSetData);
+        assertTrue(started.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+        final BitState hidden1 = register(processor, "hidden1", 0, executed);
+        final BitState hidden2 = register(processor, "hidden2", 0, executed);
+        final BitState visible = register(processor, "visible", 1, executed);
+        final BitState ignored = register(processor, "ignored", -1, executed);
+        final BitState latest = register(processor, "latest", 0, executed);
+        hidden1.setDirty(ChartBits.DataSetData);
+        hidden2.setDirty(ChartBits.DataSetData);
+        for (int i = 0; i < 10; i++) {
+            visible.setDirty(ChartBits.DataSetData); // coalesced into one execution
+        }
+        assertEquals(9, processor.getCoalescedCount());
+        assertEquals(3, processor.getQueueDepth());
+
+        ignored.setDirty(ChartBits.DataSetData); // full: lower priority than all queued entries -> dropped itself
+        latest.setDirty(ChartBits.DataSetData); // full: oldest entry of the lowest priority (hidden1) is dropped
+        assertEquals(2, processor.getDroppedCount());
+        assertEquals(3, processor.getMaxQueueDepth());
+
+        release.countDown();
+        Awaitility.await().atMost(TIMEOUT).until(() -> executed.size() == 3);
+        assertEquals(List.of("visible", "hidden2", "latest"), executed);
+        assertTrue(hidden1.isDirty(), "dropped state stays dirty");
+        assertTrue(ignored.isDirty(), "dropped state stays dirty");
+
+        // dropped entries are queued again on their next invalidation
+        hidden1.setDirty(ChartBits.DataSetData);
+        Awaitility.await().atMost(TIMEOUT).until(() -> executed.size() == 4);
+        assertEquals("hidden1", executed.get(3));
+        assertEquals(0, processor.getQueueDepth());
+        processor.shutdown();
+    }
+
+    private BitState register(final PriorityEventProcessor processor, final String name, final int priority, final List<String> executed) {
+        final BitState state = BitState.initCleanMultiThreaded(this, ChartBits.DataSetMask);
+        processor.addAction(state, () -> executed.add(name), () -> priority);
+        return state;
+    }
+}
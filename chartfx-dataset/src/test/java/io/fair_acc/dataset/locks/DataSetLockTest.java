@@ -5,6 +5,10 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 import org.awaitility.Awaitility;
@@ -17,6 +21,7 @@ import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.fair_acc.bench.TimeMeasure;
 import io.fair_acc.dataset.spi.DefaultDataSet;
 
 /**
@@ -374,6 +379,35 @@ public class DataSetLockTest {
         }
     }
 
+    @Test
+    @DisplayName("Tests the lock wait recording of DefaultDataSetLock")
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    public void testLockWaitRecording() throws InterruptedException {
+        final Map<String, List<Long>> measurements = new ConcurrentHashMap<>();
+        DefaultDataSet dataSet = new DefaultDataSet("test");
+        DefaultDataSetLock<DefaultDataSet> myLock = new DefaultDataSetLock<>(dataSet);
+        myLock.setRecorder((tag, level) -> {
+            final List<Long> values = measurements.computeIfAbsent(tag, key -> new CopyOnWriteArrayList<>());
+            return (TimeMeasure) (unit, time) -> values.add(unit.toMillis(time));
+        });
+        assertEquals(2, measurements.size());
+
+        myLock.readLock();
+        Thread writer = new Thread(() -> {
+            myLock.writeLock();
+            myLock.writeUnLock();
+        });
+        writer.start();
+        sleep(200);
+        myLock.readUnLock();
+        writer.join();
+
+        assertEquals(1, measurements.get("lock-read-lockWait").size());
+        final List<Long> writeWait = measurements.get("lock-write-lockWait");
+        assertEquals(1, writeWait.size());
+        assertTrue(writeWait.get(0) >= 100, "write lock wait = " + writeWait.get(0) + " ms");
+    }
+
     private static void sleep(int millis) {
         try {
             Thread.sleep(millis);
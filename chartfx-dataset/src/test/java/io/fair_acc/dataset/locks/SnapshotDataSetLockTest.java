@@ -0,0 +1,166 @@
+package io.fair_acc.dataset.locks;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.DataSetError;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+import io.fair_acc.dataset.spi.DoubleErrorDataSet;
+import io.fair_acc.dataset.spi.LimitedSortedDataSet;
+
+/**
+ * Tests the snapshot read mode of the {@link SnapshotDataSetLock}
+ */
+class SnapshotDataSetLockTest {
+    @Test
+    void testDefaultFallback() {
+        final DoubleDataSet dataSet = new DoubleDataSet("default");
+        assertFalse(dataSet.isSnapshotReadMode());
+        final DefaultDataSetLock<?> lock = (DefaultDataSetLock<?>) dataSet.lock();
+        final DataSet snapshot = lock.acquireSnapshot();
+        assertSame(dataSet, snapshot, "default locks return the read-locked data set");
+        assertEquals(1, lock.getReaderCount());
+        assertThrows(IllegalStateException.class, () -> dataSet.setSnapshotReadMode(true));
+        lock.releaseSnapshot(snapshot);
+        assertEquals(0, lock.getReaderCount());
+
+        assertTrue(dataSet.setSnapshotReadMode(true).isSnapshotReadMode());
+        assertInstanceOf(SnapshotDataSetLock.class, dataSet.lock());
+        assertFalse(dataSet.setSnapshotReadMode(false).isSnapshotReadMode());
+    }
+
+    @Test
+    void testGenerations() {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test").setSnapshotReadMode(true);
+        dataSet.set(new double[] { 1, 2, 3 }, new double[] { 4, 5, 6 }, new double[] { 0.1, 0.2, 0.3 }, new double[] { 0.4, 0.5, 0.6 });
+        dataSet.addDataLabel(1, "label");
+        final SnapshotDataSetLock<?> lock = (SnapshotDataSetLock<?>) dataSet.lock();
+
+        final DataSet first = lock.acquireSnapshot();
+        assertNotSame(dataSet, first);
+        assertInstanceOf(DataSetError.class, first);
+        assertEquals(0, lock.getReaderCount(), "no lock is held while reading the snapshot");
+        assertArrayEquals(new double[] { 1, 2, 3 }, first.getValues(DataSet.DIM_X));
+        assertArrayEquals(new double[] { 0.4, 0.5, 0.6 }, ((DataSetError) first).getErrorsPositive(DataSet.DIM_Y));
+        assertEquals("label", first.getDataLabel(1));
+        assertEquals(1, first.recomputeLimits(DataSet.DIM_X).getAxisDescription(DataSet.DIM_X).getMin());
+        assertEquals(6.6, first.recomputeLimits(DataSet.DIM_Y).getAxisDescription(DataSet.DIM_Y).getMax(), 1e-9);
+
+        // unchanged data -> same generation, no copy
+        assertSame(first, lock.acquireSnapshot());
+        assertEquals(1, lock.getCopyCount());
+
+        // new generation while the first one is still read: the first one stays untouched
+        final long version = lock.getVersion();
+        dataSet.add(4, 7, 0.7, 0.8);
+        assertEquals(version + 1, lock.getVersion());
+        final DataSet second = lock.acquireSnapshot();
+        assertNotSame(first, second);
+        assertEquals(3, first.getDataCount());
+        assertEquals(4, second.getDataCount());
+        assertEquals(7, second.get(DataSet.DIM_Y, 3));
+
+        // first generation is still in use -> not recycled
+        dataSet.add(5, 8, 0.9, 1.0);
+        final DataSet third = lock.acquireSnapshot();
+        assertNotSame(first, third);
+        assertNotSame(second, third);
+        assertEquals(3, first.getDataCount());
+
+        // released buffers are recycled (double-buffering)
+        lock.releaseSnapshot(second);
+        dataSet.add(6, 9, 1.1, 1.2);
+        assertSame(second, lock.acquireSnapshot());
+        assertEquals(6, second.getDataCount());
+        assertEquals(4, lock.getCopyCount());
+
+        lock.releaseSnapshot(second);
+        assertThrows(IllegalStateException.class, () -> lock.releaseSnapshot(second));
+        lock.releaseSnapshot(first); // discarded generation: ignored
+        lock.releaseSnapshot(third);
+    }
+
+    @Test
+    void testErrorsAndLabels() {
+        final LimitedSortedDataSet dataSet = new LimitedSortedDataSet("x errors", 10).setSnapshotReadMode(true);
+        dataSet.add(new double[] { 1, 2, 3 }, new double[] { 4, 5, 6 }, new double[] { 0.1, 0.2, 0.3 }, new double[] { 0.4, 0.5, 0.6 });
+        final SnapshotDataSetLock<?> lock = (SnapshotDataSetLock<?>) dataSet.lock();
+        final DataSetError snapshot = (DataSetError) lock.acquireSnapshot();
+        assertEquals(DataSetError.ErrorType.SYMMETRIC, snapshot.getErrorType(DataSet.DIM_X));
+        assertEquals(0.2, snapshot.getErrorNegative(DataSet.DIM_X, 1));
+        assertEquals(0.3, snapshot.getErrorPositive(DataSet.DIM_X, 2));
+        assertEquals(3.3, snapshot.recomputeLimits(DataSet.DIM_X).getAxisDescription(DataSet.DIM_X).getMax(), 1e-9);
+        lock.releaseSnapshot(snapshot);
+
+        // recycled generations must not keep the labels and styles of older ones
+        final DoubleErrorDataSet labelled = new DoubleErrorDataSet("labels").setSnapshotReadMode(true);
+        labelled.add(1, 2, 0, 0, "label");
+        labelled.addDataStyle(0, "style");
+        final SnapshotDataSetLock<?> labelLock = (SnapshotDataSetLock<?>) labelled.lock();
+        final DataSet first = labelLock.acquireSnapshot();
+        assertEquals("label", first.getDataLabel(0));
+        labelLock.releaseSnapshot(first);
+        labelled.lock().writeLockGuard(() -> {
+            labelled.removeDataLabel(0);
+            labelled.removeStyle(0);
+        });
+        labelLock.releaseSnapshot(labelLock.acquireSnapshot());
+        labelled.add(3, 4);
+        final DataSet recycled = labelLock.acquireSnapshot();
+        assertSame(first, recycled);
+        assertFalse(recycled.hasDataLabels());
+        assertFalse(recycled.hasStyles());
+        labelLock.releaseSnapshot(recycled);
+    }
+
+    @Test
+    @Timeout(10)
+    void testNonBlocking() throws Exception {
+        final DoubleDataSet dataSet = new DoubleDataSet("test").setSnapshotReadMode(true);
+        dataSet.set(new double[] { 1, 2 }, new double[] { 3, 4 });
+        final SnapshotDataSetLock<?> lock = (SnapshotDataSetLock<?>) dataSet.lock();
+
+        // writers are not blocked by snapshot readers
+        final DataSet snapshot = lock.acquireSnapshot();
+        CompletableFuture.runAsync(() -> dataSet.add(3, 5)).get(5, TimeUnit.SECONDS);
+        assertEquals(2, snapshot.getDataCount());
+
+        // snapshot readers are not blocked by writers but see the previous consistent generation
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> dataSet.lock().writeLockGuard(() -> {
+            dataSet.add(4, 6);
+            locked.countDown();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+        final DataSet whileWriting = lock.acquireSnapshot();
+        assertEquals(2, whileWriting.getDataCount(), "previous generation");
+        lock.releaseSnapshot(whileWriting);
+        release.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+
+        final DataSet latest = lock.acquireSnapshot();
+        assertEquals(4, latest.getDataCount());
+        lock.releaseSnapshot(latest);
+        lock.releaseSnapshot(snapshot);
+    }
+}
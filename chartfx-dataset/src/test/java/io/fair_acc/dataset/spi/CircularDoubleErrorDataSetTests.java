@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -175,6 +177,59 @@ class CircularDoubleErrorDataSetTests {
         assertEquals(2.1, yAxisDescription.getMax());
     }
 
+    @Test
+    void testIncrementalLimitsWithoutRecompute() {
+        CircularDoubleErrorDataSet dataSet = new CircularDoubleErrorDataSet("test", 3);
+        AxisDescription xAxisDescription = dataSet.getAxisDescription(DataSet.DIM_X);
+        AxisDescription yAxisDescription = dataSet.getAxisDescription(DataSet.DIM_Y);
+
+        dataSet.add(5., 100., 1., 1.);
+        dataSet.add(1., 2., 0., 0.);
+        dataSet.add(3., -1., 0., 0.);
+        assertAxisDescriptionRange(xAxisDescription, 1., 5.);
+        assertAxisDescriptionRange(yAxisDescription, -1., 101.);
+
+        // evicts the first sample
+        dataSet.add(2., 0., 0., 0.);
+        assertAxisDescriptionRange(xAxisDescription, 1., 3.);
+        assertAxisDescriptionRange(yAxisDescription, -1., 2.);
+
+        // bulk add exceeding the capacity
+        dataSet.add(new double[] { 10., 11., 12., 13. }, new double[] { -50., 1., 2., 3. }, new double[4], new double[4]);
+        assertAxisDescriptionRange(xAxisDescription, 11., 13.);
+        assertAxisDescriptionRange(yAxisDescription, 1., 3.);
+
+        dataSet.reset();
+        assertAxisDescriptionRange(xAxisDescription, Double.NaN, Double.NaN);
+    }
+
+    @Test
+    void testRecomputeLimitsWithoutScan() {
+        final AtomicInteger reads = new AtomicInteger();
+        final CircularDoubleErrorDataSet dataSet = new CircularDoubleErrorDataSet("test", 3) {
+            @Override
+            public int getDataCount() {
+                reads.incrementAndGet();
+                return super.getDataCount();
+            }
+
+            @Override
+            public double getErrorNegative(final int dimIndex, final int index) {
+                reads.incrementAndGet();
+                return super.getErrorNegative(dimIndex, index);
+            }
+        };
+        dataSet.add(new double[] { 1., 2., 3., 4. }, new double[] { 5., 6., 7., 8. }, new double[4], new double[4]);
+        dataSet.getAxisDescriptions().forEach(AxisDescription::clear);
+
+        reads.set(0);
+        dataSet.recomputeLimits(DataSet.DIM_X);
+        dataSet.recomputeLimits(DataSet.DIM_Y);
+        assertEquals(0, reads.get(), "no full scan of the samples");
+        assertAxisDescriptionRange(dataSet.getAxisDescription(DataSet.DIM_X), 2., 4.);
+        assertAxisDescriptionRange(dataSet.getAxisDescription(DataSet.DIM_Y), 6., 8.);
+    }
+
     private void assertAxisDescriptionRange(AxisDescription axisDescription, double min, double max) {
         assertEquals(min, axisDescription.getMin());
         assertEquals(max, axisDescription.getMax());
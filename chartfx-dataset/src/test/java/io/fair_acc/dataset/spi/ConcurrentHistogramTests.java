@@ -0,0 +1,140 @@
+package io.fair_acc.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+import static io.fair_acc.dataset.DataSet.DIM_Z;
+import static io.fair_acc.dataset.spi.AbstractHistogram.HistogramOuterBounds.BINS_ALIGNED_WITH_BOUNDARY;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.events.BitState;
+import io.fair_acc.dataset.events.ChartBits;
+
+/**
+ * Tests {@link ConcurrentHistogram} and {@link ConcurrentHistogram2}
+ */
+class ConcurrentHistogramTests {
+    private static final int N_BINS = 10;
+    private static final int N_PRODUCERS = 8;
+    private static final int N_FILLS = 120_000;
+
+    @Test
+    void testConcurrentFill() throws InterruptedException {
+        final ConcurrentHistogram histogram = new ConcurrentHistogram("test", N_BINS, 0.0, N_BINS, BINS_ALIGNED_WITH_BOUNDARY);
+        histogram.setMinPublishPeriod(1);
+        runProducers(producer -> {
+            for (int i = 0; i < N_FILLS; i++) {
+                histogram.fill(i % (N_BINS + 2) - 1.0 + 0.5); // N.B. includes under- and overflow
+            }
+        });
+        histogram.publish();
+
+        final int fillsPerBin = N_PRODUCERS * N_FILLS / (N_BINS + 2);
+        for (int bin = 0; bin < N_BINS + 2; bin++) {
+            assertEquals(fillsPerBin, histogram.getBinContent(bin), "bin " + bin);
+        }
+        assertEquals(fillsPerBin, histogram.get(DIM_Y, 3));
+        assertEquals(fillsPerBin, histogram.getAxisDescription(DIM_Y).getMax());
+        assertEquals(2, histogram.getWarningList().size(), "under- and overflow warnings");
+        assertThrows(IndexOutOfBoundsException.class, () -> histogram.addBinContent(N_BINS + 2, 1.0));
+
+        histogram.reset();
+        assertEquals(0.0, histogram.getBinContent(1));
+
+        // every second sample only
+        histogram.fillN(new double[] { 0.5, 1.5, 2.5, 3.5 }, new double[] { 1.0, 2.0, 3.0, 4.0 }, 2);
+        histogram.publish();
+        histogram.publish(); // N.B. nothing pending -> unchanged
+        assertEquals(1.0, histogram.getBinContent(1));
+        assertEquals(0.0, histogram.getBinContent(2));
+        assertEquals(3.0, histogram.getBinContent(3));
+        assertThrows(IllegalArgumentException.class, () -> histogram.fillN(new double[1], new double[1], 0));
+    }
+
+    @Test
+    void testPublication() throws InterruptedException {
+        final ConcurrentHistogram histogram = new ConcurrentHistogram("test", N_BINS, 0.0, N_BINS, BINS_ALIGNED_WITH_BOUNDARY);
+        assertEquals(ConcurrentHistogram.DEFAULT_MIN_PUBLISH_PERIOD, histogram.getMinPublishPeriod());
+        histogram.setMinPublishPeriod(10_000);
+        final CountDownLatch published = new CountDownLatch(1);
+        histogram.getBitState().clear();
+        histogram.getBitState().addChangeListener(BitState.mask(ChartBits.DataSetData), (src, bits) -> published.countDown());
+
+        // first fill is published right away by the background timer
+        histogram.fill(2.5);
+        assertTrue(published.await(10, TimeUnit.SECONDS), "automatic publication");
+        assertEquals(1.0, histogram.getBinContent(3));
+
+        // subsequent fills are held back until the minimum publication period has passed
+        histogram.fill(2.5, 2.0);
+        histogram.addBinContent(3);
+        Thread.sleep(100);
+        assertEquals(1.0, histogram.getBinContent(3));
+        histogram.publish();
+        assertEquals(4.0, histogram.getBinContent(3));
+    }
+
+    @Test
+    void testConcurrentFill2D() throws InterruptedException {
+        final ConcurrentHistogram2 histogram = new ConcurrentHistogram2("test", N_BINS, 0.0, N_BINS, N_BINS, 0.0, N_BINS, BINS_ALIGNED_WITH_BOUNDARY);
+        final Histogram2 reference = new Histogram2("reference", N_BINS, 0.0, N_BINS, N_BINS, 0.0, N_BINS, BINS_ALIGNED_WITH_BOUNDARY);
+        runProducers(producer -> {
+            for (int i = 0; i < N_FILLS / 10; i++) {
+                histogram.fill(i % N_BINS + 0.5, (i / N_BINS + producer) % N_BINS + 0.5);
+            }
+        });
+        for (int producer = 0; producer < N_PRODUCERS; producer++) {
+            for (int i = 0; i < N_FILLS / 10; i++) {
+                reference.fill(i % N_BINS + 0.5, (i / N_BINS + producer) % N_BINS + 0.5);
+            }
+        }
+        histogram.publish();
+
+        for (int x = 0; x < N_BINS; x++) {
+            assertEquals(reference.getProjectionX().get(DIM_Y, x), histogram.getProjectionX().get(DIM_Y, x));
+            assertEquals(reference.getProjectionY().get(DIM_X, x), histogram.getProjectionY().get(DIM_X, x));
+            for (int y = 0; y < N_BINS; y++) {
+                assertEquals(reference.get(DIM_Z, x, y), histogram.get(DIM_Z, x, y), "bin(" + x + ", " + y + ")");
+            }
+        }
+        assertEquals(reference.getAxisDescription(DIM_Z).getMax(), histogram.getAxisDescription(DIM_Z).getMax());
+        assertEquals(reference.getAxisDescription(DIM_X).getMax(), histogram.getAxisDescription(DIM_X).getMax());
+    }
+
+    private static void runProducers(final Producer producer) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < N_PRODUCERS; i++) {
+            final int index = i;
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                producer.run(index);
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Producer {
+        void run(int index);
+    }
+}
@@ -3,11 +3,16 @@ package io.fair_acc.dataset.spi;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
+import io.fair_acc.dataset.AxisDescription;
+
 import io.fair_acc.dataset.DataSet;
 
 /**
@@ -34,6 +39,7 @@ public class FifoDoubleErrorDataSetTests {
         assertEquals(10.0, testDataSet.getMaxDistance());
 
         assertNotNull(testDataSet.getData());
+        assertThrows(UnsupportedOperationException.class, () -> testDataSet.getData().clear(), "read-only view");
     }
 
     @Test
@@ -70,4 +76,77 @@ public class FifoDoubleErrorDataSetTests {
         testDataSet.expire(10.0001);
         assertEquals(0, testDataSet.getDataCount());
     }
+
+    @Test
+    public void testIncrementalLimits() {
+        FifoDoubleErrorDataSet testDataSet = new FifoDoubleErrorDataSet("test data set", 5, 3.0);
+        testDataSet.add(0, 10, 1, 2);
+        testDataSet.add(1, -5, 1, 2);
+        testDataSet.add(2, 3, 0, 0);
+        assertEquals(0.0, testDataSet.getAxisDescription(DataSet.DIM_X).getMin());
+        assertEquals(2.0, testDataSet.getAxisDescription(DataSet.DIM_X).getMax());
+        assertEquals(-6.0, testDataSet.getAxisDescription(DataSet.DIM_Y).getMin());
+        assertEquals(12.0, testDataSet.getAxisDescription(DataSet.DIM_Y).getMax());
+
+        // maximum distance: x = 0 expires
+        testDataSet.add(3.5, 4, 0, 0);
+        assertEquals(3, testDataSet.getDataCount());
+        assertEquals(1.0, testDataSet.getAxisDescription(DataSet.DIM_X).getMin());
+        assertEquals(3.5, testDataSet.getAxisDescription(DataSet.DIM_X).getMax());
+        assertEquals(-6.0, testDataSet.getAxisDescription(DataSet.DIM_Y).getMin());
+        assertEquals(4.0, testDataSet.getAxisDescription(DataSet.DIM_Y).getMax());
+
+        // out-of-order sample and maximum queue length
+        testDataSet.add(3.0, 1, 0, 0);
+        testDataSet.add(3.6, 2, 0, 0);
+        testDataSet.add(3.7, 2, 0, 0);
+        assertEquals(5, testDataSet.getDataCount());
+        assertEquals(2.0, testDataSet.getAxisDescription(DataSet.DIM_X).getMin());
+        assertEquals(1.0, testDataSet.getAxisDescription(DataSet.DIM_Y).getMin());
+        assertEquals(4.0, testDataSet.getAxisDescription(DataSet.DIM_Y).getMax());
+
+        testDataSet.expire(5.5);
+        assertEquals(4, testDataSet.getDataCount());
+        assertEquals(3.0, testDataSet.getAxisDescription(DataSet.DIM_X).getMin());
+        assertEquals(3.7, testDataSet.getAxisDescription(DataSet.DIM_X).getMax());
+
+        // incremental limits must match the full re-computation
+        final double yMin = testDataSet.getAxisDescription(DataSet.DIM_Y).getMin();
+        final double yMax = testDataSet.getAxisDescription(DataSet.DIM_Y).getMax();
+        testDataSet.recomputeLimits(DataSet.DIM_Y);
+        assertEquals(yMin, testDataSet.getAxisDescription(DataSet.DIM_Y).getMin());
+        assertEquals(yMax, testDataSet.getAxisDescription(DataSet.DIM_Y).getMax());
+
+        testDataSet.reset();
+        assertFalse(testDataSet.getAxisDescription(DataSet.DIM_X).isDefined());
+    }
+
+    @Test
+    public void testRecomputeLimitsWithoutScan() {
+        final AtomicInteger reads = new AtomicInteger();
+        final FifoDoubleErrorDataSet testDataSet = new FifoDoubleErrorDataSet("test data set", 3) {
+            @Override
+            public int getDataCount() {
+                reads.incrementAndGet();
+                return super.getDataCount();
+            }
+
+            @Override
+            public double getErrorPositive(final int dimIndex, final int index) {
+                reads.incrementAndGet();
+                return super.getErrorPositive(dimIndex, index);
+            }
+        };
+        testDataSet.add(new double[] { 1., 2., 3., 4. }, new double[] { 5., 6., 7., 8. }, new double[4], new double[4]);
+        testDataSet.getAxisDescriptions().forEach(AxisDescription::clear);
+
+        reads.set(0);
+        testDataSet.recomputeLimits(DataSet.DIM_X);
+        testDataSet.recomputeLimits(DataSet.DIM_Y);
+        assertEquals(0, reads.get(), "no full scan of the samples");
+        assertEquals(2.0, testDataSet.getAxisDescription(DataSet.DIM_X).getMin());
+        assertEquals(4.0, testDataSet.getAxisDescription(DataSet.DIM_X).getMax());
+        assertEquals(6.0, testDataSet.getAxisDescription(DataSet.DIM_Y).getMin());
+        assertEquals(8.0, testDataSet.getAxisDescription(DataSet.DIM_Y).getMax());
+    }
 }
@@ -34,7 +34,7 @@ class GenericDataSetTests {
                 CircularDoubleErrorDataSet.class,
                 DefaultDataSet.class, DefaultErrorDataSet.class, DoubleDataSet.class, DoubleErrorDataSet.class,
                 FifoDoubleErrorDataSet.class, FloatDataSet.class, FragmentedDataSet.class,
-                LimitedIndexedTreeDataSet.class,
+                LimitedIndexedTreeDataSet.class, LimitedSortedDataSet.class,
                 MultiDimDoubleDataSet.class,
                 // RollingDataSet.class,
                 WrappedDataSet.class);
@@ -0,0 +1,153 @@
+package io.fair_acc.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link LimitedSortedDataSet}
+ */
+class LimitedSortedDataSetTests {
+    @Test
+    void testOutOfOrderInsert() {
+        final LimitedSortedDataSet dataSet = new LimitedSortedDataSet("test", Integer.MAX_VALUE);
+        final Random random = new Random(42);
+        final double[] reference = new double[5000];
+        for (int i = 0; i < reference.length; i++) {
+            // mostly increasing time-series with late arrivals and occasional far out-of-order samples
+            final double x = i % 97 == 0 ? random.nextDouble() * i : i - 10.0 * random.nextDouble();
+            reference[i] = x;
+            dataSet.add(x, -x, 0.1, 0.2);
+        }
+        Arrays.sort(reference);
+
+        assertEquals(reference.length, dataSet.getDataCount());
+        for (int i = 0; i < reference.length; i++) {
+            assertEquals(reference[i], dataSet.get(DIM_X, i));
+            assertEquals(-reference[i], dataSet.get(DIM_Y, i));
+            assertEquals(0.1, dataSet.getErrorNegative(DIM_X, i));
+            assertEquals(0.2, dataSet.getErrorPositive(DIM_Y, i));
+        }
+        assertEquals(reference[reference.length - 1] + 0.1, dataSet.getAxisDescription(DIM_X).getMax(), 1e-9);
+
+        // duplicates are retained
+        dataSet.add(reference[10], 1.0);
+        assertEquals(reference.length + 1, dataSet.getDataCount());
+        assertEquals(1.0, dataSet.get(DIM_Y, 11));
+    }
+
+    @Test
+    void testBulkInsert() {
+        final Random random = new Random(42);
+        final int nSamples = 10_000;
+        final double[] x = new double[nSamples];
+        final double[] y = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            x[i] = random.nextInt(1000); // N.B. many identical keys to check the insertion order
+            y[i] = i;
+        }
+        final LimitedSortedDataSet reference = new LimitedSortedDataSet("reference", Integer.MAX_VALUE);
+        final LimitedSortedDataSet bulk = new LimitedSortedDataSet("bulk", Integer.MAX_VALUE);
+        for (int i = 0; i < nSamples / 2; i++) {
+            reference.add(x[i], y[i]);
+        }
+        bulk.set(Arrays.copyOf(x, nSamples / 2), Arrays.copyOf(y, nSamples / 2));
+        for (int i = nSamples / 2; i < nSamples; i++) {
+            reference.add(x[i], y[i]);
+        }
+        bulk.add(Arrays.copyOfRange(x, nSamples / 2, nSamples), Arrays.copyOfRange(y, nSamples / 2, nSamples));
+
+        assertEquals(nSamples, bulk.getDataCount());
+        assertArrayEquals(Arrays.copyOf(reference.getValues(DIM_X), nSamples), Arrays.copyOf(bulk.getValues(DIM_X), nSamples));
+        assertArrayEquals(Arrays.copyOf(reference.getValues(DIM_Y), nSamples), Arrays.copyOf(bulk.getValues(DIM_Y), nSamples));
+        assertEquals(reference.getAxisDescription(DIM_X).getMax(), bulk.getAxisDescription(DIM_X).getMax());
+
+        final LimitedSortedDataSet copy = new LimitedSortedDataSet("copy", Integer.MAX_VALUE);
+        copy.set(new DoubleDataSet("unsorted", x, y, nSamples, true), true);
+        assertArrayEquals(Arrays.copyOf(reference.getValues(DIM_Y), nSamples), Arrays.copyOf(copy.getValues(DIM_Y), nSamples));
+    }
+
+    @Test
+    void testExpiry() {
+        final LimitedSortedDataSet dataSet = new LimitedSortedDataSet("test", 10);
+        assertEquals(10, dataSet.getMaxQueueSize());
+        for (int i = 0; i < 100; i++) {
+            dataSet.add(i, i);
+        }
+        assertEquals(10, dataSet.getDataCount());
+        assertArrayEquals(new double[] { 90, 91, 92, 93, 94, 95, 96, 97, 98, 99 }, Arrays.copyOf(dataSet.getValues(DIM_X), 10));
+
+        dataSet.setMaxQueueSize(100).setMaxLength(4.5);
+        dataSet.add(100, 100);
+        assertEquals(5, dataSet.getDataCount());
+        assertEquals(96, dataSet.get(DIM_X, 0));
+
+        dataSet.expire(102);
+        assertEquals(3, dataSet.getDataCount());
+        assertEquals(98, dataSet.get(DIM_X, 0));
+
+        dataSet.setSubtractOffset(true);
+        assertEquals(-2.0, dataSet.get(DIM_X, 0));
+        assertEquals(0.0, dataSet.get(DIM_X, 2));
+
+        dataSet.clearData();
+        assertEquals(0, dataSet.getDataCount());
+    }
+
+    @Test
+    void testLabelsAndRemove() {
+        final LimitedSortedDataSet dataSet = new LimitedSortedDataSet("test", 100);
+        dataSet.add(3, 3);
+        dataSet.add(1, 1, 0, 0, "label1", "style1");
+        dataSet.add(2, 2);
+        dataSet.add(0, 0);
+        assertEquals("label1", dataSet.getDataLabel(1));
+        assertEquals("style1", dataSet.getStyle(1));
+        assertNull(dataSet.getStyle(2));
+        assertEquals("label1", dataSet.removeDataLabel(1));
+        assertEquals("", dataSet.getDataLabel(1));
+        dataSet.addDataLabel(3, "label3");
+
+        // moves to its new sorted position together with its label
+        dataSet.set(3, -1, -1);
+        assertEquals(-1, dataSet.get(DIM_X, 0));
+        assertEquals("label3", dataSet.getDataLabel(0));
+
+        dataSet.remove(new int[] { 0, 2, 2 });
+        assertArrayEquals(new double[] { 0, 2 }, Arrays.copyOf(dataSet.getValues(DIM_X), 2));
+        assertEquals(2, dataSet.getDataCount());
+        assertNull(dataSet.getStyle(0));
+
+        dataSet.remove(0, 1);
+        assertEquals(1, dataSet.getDataCount());
+        assertEquals(2, dataSet.get(DIM_Y, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> dataSet.remove(1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> dataSet.addDataLabel(1, "invalid"));
+    }
+
+    @Test
+    void testSortedByY() {
+        final LimitedSortedDataSet dataSet = new LimitedSortedDataSet("test", 100);
+        dataSet.set(new double[] { 0, 1, 2, 3 }, new double[] { 3, 1, 2, 0 });
+        assertArrayEquals(new double[] { 0, 1, 2, 3 }, Arrays.copyOf(dataSet.getValues(DIM_X), 4));
+
+        dataSet.setSortedByX(false);
+        assertArrayEquals(new double[] { 3, 1, 2, 0 }, Arrays.copyOf(dataSet.getValues(DIM_X), 4));
+        assertArrayEquals(new double[] { 0, 1, 2, 3 }, Arrays.copyOf(dataSet.getValues(DIM_Y), 4));
+        dataSet.add(10, 1.5);
+        assertEquals(10, dataSet.get(DIM_X, 2));
+
+        final LimitedSortedDataSet copy = new LimitedSortedDataSet("copy", 100);
+        copy.set(dataSet, true);
+        assertArrayEquals(new double[] { 0, 1, 2, 3, 10 }, Arrays.copyOf(copy.getValues(DIM_X), 5));
+    }
+}
@@ -0,0 +1,131 @@
+package io.fair_acc.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.fair_acc.dataset.DataSetError.ErrorType;
+import io.fair_acc.dataset.utils.DataSetUtils;
+
+/**
+ * Checks for the binary columnar file format and its memory-mapped {@link MappedColumnarDataSet} reader.
+ */
+class MappedColumnarDataSetTests {
+    private static final int CHUNK_SIZE = 64;
+
+    @Test
+    void testRoundTrip(@TempDir Path tmpDir) throws IOException {
+        final DoubleErrorDataSet source = createTestDataSet(10 * CHUNK_SIZE + 7);
+        for (final boolean compress : new boolean[] { false, true }) {
+            final Path file = tmpDir.resolve("data" + compress + ".bin");
+            MappedColumnarDataSet.write(source, file, compress, CHUNK_SIZE);
+            final MappedColumnarDataSet dataSet = new MappedColumnarDataSet(file);
+            assertEquals(compress, dataSet.isCompressed());
+            assertEquals(file, dataSet.getFile());
+            assertEquals("test", dataSet.getName());
+            assertEquals("color:red", dataSet.getStyle());
+            assertEquals(source.getDataCount(), dataSet.getDataCount());
+            assertEquals(11, dataSet.getChunkCount());
+            assertEquals(CHUNK_SIZE, dataSet.getChunkSize());
+            assertEquals(ErrorType.NO_ERROR, dataSet.getErrorType(DIM_X));
+            assertEquals(ErrorType.ASYMMETRIC, dataSet.getErrorType(DIM_Y));
+
+            assertArrayEquals(source.getXValues(), dataSet.getValues(DIM_X));
+            assertArrayEquals(source.getYValues(), dataSet.getValues(DIM_Y));
+            assertArrayEquals(source.getErrorsNegative(DIM_Y), dataSet.getErrorsNegative(DIM_Y));
+            assertArrayEquals(source.getErrorsPositive(DIM_Y), dataSet.getErrorsPositive(DIM_Y));
+            assertArrayEquals(new double[source.getDataCount()], dataSet.getErrorsNegative(DIM_X));
+            for (int i = 0; i < source.getDataCount(); i += 13) {
+                assertEquals(source.get(DIM_Y, i), dataSet.get(DIM_Y, i));
+                assertEquals(source.getErrorPositive(DIM_Y, i), dataSet.getErrorPositive(DIM_Y, i));
+                assertEquals(0.0, dataSet.getErrorPositive(DIM_X, i));
+            }
+
+            // meta data and limits
+            assertEquals("time", dataSet.getAxisDescription(DIM_X).getName());
+            assertEquals("s", dataSet.getAxisDescription(DIM_X).getUnit());
+            assertEquals(0.0, dataSet.getAxisDescription(DIM_X).getMin());
+            assertEquals(source.getDataCount() - 1.0, dataSet.getAxisDescription(DIM_X).getMax());
+            source.recomputeLimits(DIM_Y);
+            assertEquals(source.getAxisDescription(DIM_Y).getMin(), dataSet.getAxisDescription(DIM_Y).getMin());
+            assertEquals(source.getAxisDescription(DIM_Y).getMax(), dataSet.getAxisDescription(DIM_Y).getMax());
+            dataSet.getAxisDescription(DIM_Y).clear();
+            dataSet.recomputeLimits(DIM_Y);
+            assertEquals(source.getAxisDescription(DIM_Y).getMax(), dataSet.getAxisDescription(DIM_Y).getMax());
+            assertEquals("value", dataSet.getMetaInfo().get("key"));
+            assertEquals("info", dataSet.getInfoList().get(0));
+            assertEquals("label", dataSet.getDataLabel(3));
+            assertNull(dataSet.getDataLabel(4));
+
+            // chunk views
+            final DoubleBuffer lastChunk = dataSet.getChunkView(DIM_X, 10);
+            assertEquals(7, lastChunk.remaining());
+            assertEquals(10.0 * CHUNK_SIZE, lastChunk.get(0));
+            assertTrue(lastChunk.isReadOnly());
+            assertEquals(CHUNK_SIZE, dataSet.getChunkMin(DIM_X, 1));
+            assertEquals(2 * CHUNK_SIZE - 1.0, dataSet.getChunkMax(DIM_X, 1));
+            assertThrows(IndexOutOfBoundsException.class, () -> dataSet.getChunkView(DIM_X, 11));
+            assertThrows(UnsupportedOperationException.class, () -> dataSet.set(source));
+        }
+        assertTrue(Files.size(tmpDir.resolve("datatrue.bin")) < Files.size(tmpDir.resolve("datafalse.bin")), "compressed file size");
+    }
+
+    @Test
+    void testEmptyAndInvalidFiles(@TempDir Path tmpDir) throws IOException {
+        final Path file = tmpDir.resolve("empty.bin");
+        MappedColumnarDataSet.write(new DoubleDataSet("empty"), file, true);
+        final MappedColumnarDataSet dataSet = new MappedColumnarDataSet(file);
+        assertEquals(0, dataSet.getDataCount());
+        assertEquals(0, dataSet.getChunkCount());
+        assertEquals(0, dataSet.getValues(DIM_X).length);
+        assertFalse(dataSet.getAxisDescription(DIM_X).isDefined());
+
+        assertThrows(IllegalArgumentException.class, () -> MappedColumnarDataSet.write(dataSet, file, false, 3));
+        assertThrows(IllegalArgumentException.class, () -> MappedColumnarDataSet.write(new DoubleGridDataSet("grid", 3, new int[] { 2, 2 }), file, false));
+
+        final Path invalid = tmpDir.resolve("invalid.bin");
+        Files.write(invalid, new byte[MappedColumnarDataSet.HEADER_SIZE]);
+        assertThrows(IOException.class, () -> new MappedColumnarDataSet(invalid));
+        Files.write(invalid, new byte[10]);
+        assertThrows(IOException.class, () -> new MappedColumnarDataSet(invalid));
+        assertNull(DataSetUtils.readDataSetFromColumnarFile(invalid));
+    }
+
+    @Test
+    void testDataSetUtils(@TempDir Path tmpDir) {
+        final DoubleErrorDataSet source = createTestDataSet(1000);
+        final Path file = tmpDir.resolve("utils.bin");
+        assertTrue(DataSetUtils.writeDataSetToColumnarFile(source, file, false));
+        final MappedColumnarDataSet dataSet = DataSetUtils.readDataSetFromColumnarFile(file);
+        assertArrayEquals(source.getYValues(), dataSet.getValues(DIM_Y));
+        assertFalse(DataSetUtils.writeDataSetToColumnarFile(source, tmpDir.resolve("missing/dir/utils.bin"), false));
+    }
+
+    private static DoubleErrorDataSet createTestDataSet(final int nSamples) {
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("test", nSamples);
+        for (int i = 0; i < nSamples; i++) {
+            // smooth, quantised signal that benefits from the byte-shuffle compression
+            dataSet.add(i, Math.round(1000.0 * Math.sin(0.01 * i)) / 1000.0, 0.1, 0.2);
+        }
+        dataSet.setStyle("color:red");
+        dataSet.getAxisDescription(DIM_X).set("time", "s");
+        dataSet.getMetaInfo().put("key", "value");
+        dataSet.getInfoList().add("info");
+        dataSet.addDataLabel(3, "label");
+        return dataSet;
+    }
+}
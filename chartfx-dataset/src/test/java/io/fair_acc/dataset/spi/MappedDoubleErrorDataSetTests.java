@@ -0,0 +1,121 @@
+package io.fair_acc.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.fair_acc.dataset.events.ChartBits;
+
+/**
+ * Checks for the memory-mapped {@link MappedDoubleErrorDataSet} implementation.
+ */
+class MappedDoubleErrorDataSetTests {
+    private static final int PAGE_SIZE = 16;
+
+    @Test
+    void testConstructors(@TempDir Path tmpDir) throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new MappedDoubleErrorDataSet("test", null));
+        assertThrows(IllegalArgumentException.class, () -> new MappedDoubleErrorDataSet("test", tmpDir.resolve("a.bin"), 0));
+        assertThrows(IllegalArgumentException.class, () -> new MappedDoubleErrorDataSet("test", tmpDir.resolve("a.bin"), 12));
+
+        final Path invalid = tmpDir.resolve("invalid.bin");
+        Files.write(invalid, new byte[MappedDoubleErrorDataSet.HEADER_SIZE]);
+        assertThrows(IOException.class, () -> new MappedDoubleErrorDataSet("test", invalid));
+
+        try (MappedDoubleErrorDataSet dataSet = new MappedDoubleErrorDataSet("test", tmpDir.resolve("b.bin"), PAGE_SIZE)) {
+            assertEquals("test", dataSet.getName());
+            assertEquals(0, dataSet.getDataCount());
+            assertEquals(PAGE_SIZE, dataSet.getPageSize());
+            assertEquals(tmpDir.resolve("b.bin"), dataSet.getFile());
+        }
+    }
+
+    @Test
+    void testAppendAndRead(@TempDir Path tmpDir) throws IOException {
+        try (MappedDoubleErrorDataSet dataSet = new MappedDoubleErrorDataSet("test", tmpDir.resolve("data.bin"), PAGE_SIZE)) {
+            final AtomicInteger counter = new AtomicInteger();
+            dataSet.getBitState().addInvalidateListener(ChartBits.DataSetDataAdded, (src, bits) -> counter.incrementAndGet());
+
+            final int nSamples = 5 * PAGE_SIZE + 3; // spans multiple pages
+            for (int i = 0; i < 10; i++) {
+                dataSet.add(i, 2.0 * i, 0.5, 1.0);
+            }
+            final double[] x = new double[nSamples - 10];
+            final double[] y = new double[nSamples - 10];
+            for (int i = 0; i < x.length; i++) {
+                x[i] = i + 10;
+                y[i] = 2.0 * (i + 10);
+            }
+            dataSet.add(x, y, null, null);
+            assertTrue(counter.get() >= 1, "DataSetDataAdded events");
+
+            assertEquals(nSamples, dataSet.getDataCount());
+            assertEquals(6, dataSet.getPageCount());
+            for (int i = 0; i < nSamples; i++) {
+                assertEquals(i, dataSet.get(DIM_X, i));
+                assertEquals(2.0 * i, dataSet.get(DIM_Y, i));
+                assertEquals(i < 10 ? 0.5 : 0.0, dataSet.getErrorNegative(DIM_Y, i));
+                assertEquals(i < 10 ? 1.0 : 0.0, dataSet.getErrorPositive(DIM_Y, i));
+                assertEquals(0.0, dataSet.getErrorNegative(DIM_X, i));
+            }
+
+            final double[] xValues = dataSet.getValues(DIM_X);
+            assertEquals(nSamples, xValues.length);
+            assertEquals(nSamples - 1.0, xValues[nSamples - 1]);
+            final double[] partial = dataSet.getValues(DIM_Y, PAGE_SIZE - 2, PAGE_SIZE + 2, new double[5], 1);
+            assertArrayEquals(new double[] { 0.0, 2.0 * (PAGE_SIZE - 2), 2.0 * (PAGE_SIZE - 1), 2.0 * PAGE_SIZE, 2.0 * (PAGE_SIZE + 1) }, partial);
+
+            final DoubleBuffer lastPage = dataSet.getPageView(MappedDoubleErrorDataSet.COLUMN_X, 5);
+            assertEquals(3, lastPage.limit());
+            assertEquals(5.0 * PAGE_SIZE, lastPage.get(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> dataSet.getPageView(MappedDoubleErrorDataSet.COLUMN_X, 6));
+
+            // limits: incremental and recomputed
+            assertEquals(0.0, dataSet.getAxisDescription(DIM_X).getMin());
+            assertEquals(nSamples - 1.0, dataSet.getAxisDescription(DIM_X).getMax());
+            assertEquals(-0.5, dataSet.getAxisDescription(DIM_Y).getMin());
+            dataSet.getAxisDescription(DIM_Y).clear();
+            dataSet.recomputeLimits(DIM_Y);
+            assertEquals(-0.5, dataSet.getAxisDescription(DIM_Y).getMin());
+            assertEquals(2.0 * (nSamples - 1), dataSet.getAxisDescription(DIM_Y).getMax());
+
+            dataSet.clearData();
+            assertEquals(0, dataSet.getDataCount());
+        }
+    }
+
+    @Test
+    void testReopen(@TempDir Path tmpDir) throws IOException {
+        final Path file = tmpDir.resolve("persistent.bin");
+        try (MappedDoubleErrorDataSet dataSet = new MappedDoubleErrorDataSet("test", file, PAGE_SIZE)) {
+            dataSet.set(new DoubleErrorDataSet("source", new double[] { 1, 2, 3 }, new double[] { 4, 5, 6 }, new double[] { 0.1, 0.1, 0.1 }, new double[] { 0.2, 0.2, 0.2 }, 3, true));
+            assertEquals(3, dataSet.getDataCount());
+        }
+
+        try (MappedDoubleErrorDataSet dataSet = new MappedDoubleErrorDataSet("reopened", file)) {
+            assertEquals(PAGE_SIZE, dataSet.getPageSize(), "page size is taken from the file");
+            assertEquals(3, dataSet.getDataCount());
+            assertArrayEquals(new double[] { 1, 2, 3 }, dataSet.getXValues());
+            assertArrayEquals(new double[] { 4, 5, 6 }, dataSet.getYValues());
+            assertArrayEquals(new double[] { 0.2, 0.2, 0.2 }, dataSet.getErrorsPositive(DIM_Y));
+            assertEquals(1.0, dataSet.getAxisDescription(DIM_X).getMin());
+            assertEquals(3.0, dataSet.getAxisDescription(DIM_X).getMax());
+            assertEquals(6.2, dataSet.getAxisDescription(DIM_Y).getMax(), 1e-12);
+            dataSet.add(4, 7);
+            assertEquals(4, dataSet.getDataCount());
+        }
+    }
+}
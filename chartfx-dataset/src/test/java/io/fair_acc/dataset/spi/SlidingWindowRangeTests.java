@@ -0,0 +1,99 @@
+package io.fair_acc.dataset.spi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.AxisDescription;
+
+/**
+ * Unit testing for {@link SlidingWindowRange} implementation.
+ */
+class SlidingWindowRangeTests {
+    @Test
+    void testBasicOperations() {
+        final SlidingWindowRange range = new SlidingWindowRange();
+        assertEquals(0, range.size());
+        assertFalse(range.isDefined());
+        assertTrue(Double.isNaN(range.getMin()));
+        assertTrue(Double.isNaN(range.getMax()));
+
+        range.add(3.0);
+        range.add(Double.NaN);
+        range.add(1.0, 5.0);
+        range.add(2.0);
+        assertEquals(4, range.size());
+        assertEquals(1.0, range.getMin());
+        assertEquals(5.0, range.getMax());
+
+        range.removeFirst(2);
+        assertEquals(2, range.size());
+        assertEquals(1.0, range.getMin());
+        assertEquals(5.0, range.getMax());
+
+        range.retainLast(1);
+        assertEquals(1, range.size());
+        assertEquals(2.0, range.getMin());
+        assertEquals(2.0, range.getMax());
+
+        range.removeFirst(10);
+        assertEquals(0, range.size());
+        assertFalse(range.isDefined());
+
+        range.add(Double.POSITIVE_INFINITY);
+        assertFalse(range.isDefined(), "non-finite samples are ignored");
+        range.clear();
+        assertEquals(0, range.size());
+
+        assertThrows(IllegalArgumentException.class, () -> range.removeFirst(-1));
+        assertThrows(IllegalArgumentException.class, () -> range.retainLast(-1));
+    }
+
+    @Test
+    void testAgainstFullScan() {
+        final Random rnd = new Random(42);
+        final SlidingWindowRange range = new SlidingWindowRange();
+        final ArrayDeque<Double> reference = new ArrayDeque<>();
+        for (int iteration = 0; iteration < 20_000; iteration++) {
+            if (rnd.nextInt(3) == 0 && !reference.isEmpty()) {
+                final int nRemove = 1 + rnd.nextInt(Math.min(5, reference.size()));
+                for (int i = 0; i < nRemove; i++) {
+                    reference.removeFirst();
+                }
+                range.removeFirst(nRemove);
+            } else {
+                final double value = rnd.nextInt(50) == 0 ? Double.NaN : rnd.nextGaussian();
+                reference.addLast(value);
+                range.add(value);
+            }
+            final DataRange expected = new DataRange();
+            reference.forEach(expected::add);
+            assertEquals(reference.size(), range.size());
+            assertEquals(expected.getMin(), range.getMin(), "iteration " + iteration);
+            assertEquals(expected.getMax(), range.getMax(), "iteration " + iteration);
+        }
+    }
+
+    @Test
+    void testUpdate() {
+        final SlidingWindowRange range = new SlidingWindowRange();
+        final AxisDescription axis = new DefaultAxisDescription(0, "x", "a.u.");
+        assertFalse(range.update(axis));
+
+        range.add(-1.0, 2.0);
+        assertTrue(range.update(axis));
+        assertEquals(-1.0, axis.getMin());
+        assertEquals(2.0, axis.getMax());
+        assertFalse(range.update(axis), "unchanged range");
+
+        range.removeFirst(1);
+        assertTrue(range.update(axis));
+        assertFalse(axis.isDefined());
+    }
+}
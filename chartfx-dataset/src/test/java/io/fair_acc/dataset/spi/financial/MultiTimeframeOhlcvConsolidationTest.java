@@ -0,0 +1,184 @@
+package io.fair_acc.dataset.spi.financial;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.events.ChartBits;
+
+public class MultiTimeframeOhlcvConsolidationTest {
+    private static final Duration[] TIMEFRAMES = { Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofDays(1) };
+    private static final int N_TICKS = 50_000;
+
+    @Test
+    public void testIncrementalConsolidation() {
+        final long[] timeStamps = new long[N_TICKS];
+        final double[] prices = new double[N_TICKS];
+        final double[] volumes = new double[N_TICKS];
+        createTicks(timeStamps, prices, volumes);
+
+        final MultiTimeframeOhlcvConsolidation consolidation = new MultiTimeframeOhlcvConsolidation("ES", TIMEFRAMES);
+        final MultiTimeframeOhlcvConsolidation blockConsolidation = new MultiTimeframeOhlcvConsolidation("ES", TIMEFRAMES);
+        assertEquals("ES 1s", consolidation.getDataSets().get(0).getName());
+        assertEquals("ES 5m", consolidation.getDataSet(Duration.ofMinutes(5)).getName());
+        assertEquals("ES 1d", consolidation.getDataSets().get(4).getName());
+
+        for (int i = 0; i < N_TICKS; i++) {
+            consolidation.onTick(timeStamps[i], prices[i], volumes[i]);
+        }
+        blockConsolidation.onTicks(timeStamps, prices, volumes, N_TICKS / 2);
+        blockConsolidation.onTicks(copyTail(timeStamps), copyTail(prices), copyTail(volumes), N_TICKS - N_TICKS / 2);
+
+        for (int tf = 0; tf < TIMEFRAMES.length; tf++) {
+            final TreeMap<Long, double[]> expected = aggregate(timeStamps, prices, volumes, TIMEFRAMES[tf].toMillis(), 0L);
+            assertBars(expected, consolidation.getDataSets().get(tf));
+            assertBars(expected, blockConsolidation.getDataSets().get(tf));
+        }
+        assertEquals(0, consolidation.getDroppedTickCount());
+
+        consolidation.getDataSets().get(0).getBitState().clear();
+        consolidation.reset();
+        assertEquals(0, consolidation.getDataSets().get(0).getDataCount());
+        assertTrue(consolidation.getDataSets().get(0).getBitState().isDirty(ChartBits.DataSetData));
+    }
+
+    @Test
+    public void testLateTicksAndAlignment() {
+        final ZoneOffset offset = ZoneOffset.ofHours(2);
+        final MultiTimeframeOhlcvConsolidation consolidation = new MultiTimeframeOhlcvConsolidation("test", offset, Duration.ofMinutes(1), Duration.ofDays(1));
+        final long midnight = Instant.parse("2023-03-01T00:00:00Z").toEpochMilli() - 2 * 3_600_000L; // local midnight
+        consolidation.onTick(midnight - 1, 10.0, 1.0);
+        consolidation.onTick(midnight + 10_000, 11.0, 1.0);
+        consolidation.onTick(midnight + 70_000, 12.0, 1.0);
+        consolidation.onTick(midnight + 50_000, 20.0, 2.0); // late tick -> 1st bar of the day
+        consolidation.onTick(midnight - 120_000, 5.0, 1.0); // late tick without bar -> dropped for 1m, merged for 1d
+
+        final OhlcvDataSet minutes = consolidation.getDataSet(Duration.ofMinutes(1));
+        assertEquals(3, minutes.getDataCount());
+        assertEquals((midnight - 60_000) / 1000.0, minutes.get(DataSet.DIM_X, 0));
+        assertEquals(midnight / 1000.0, minutes.get(DataSet.DIM_X, 1));
+        assertEquals(11.0, minutes.get(OhlcvDataSet.DIM_Y_OPEN, 1));
+        assertEquals(20.0, minutes.get(OhlcvDataSet.DIM_Y_HIGH, 1));
+        assertEquals(11.0, minutes.get(OhlcvDataSet.DIM_Y_CLOSE, 1));
+        assertEquals(3.0, minutes.get(OhlcvDataSet.DIM_Y_VOLUME, 1));
+        assertEquals(1, consolidation.getDroppedTickCount());
+
+        final OhlcvDataSet days = consolidation.getDataSet(Duration.ofDays(1));
+        assertEquals(2, days.getDataCount());
+        assertEquals(midnight / 1000.0, days.get(DataSet.DIM_X, 1));
+        assertEquals(5.0, days.get(OhlcvDataSet.DIM_Y_LOW, 0));
+        assertEquals(12.0, days.get(OhlcvDataSet.DIM_Y_CLOSE, 1));
+        assertEquals(4.0, days.get(OhlcvDataSet.DIM_Y_VOLUME, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> consolidation.getDataSet(Duration.ofHours(1)));
+        assertThrows(IllegalArgumentException.class, () -> new MultiTimeframeOhlcvConsolidation("test"));
+        assertThrows(IllegalArgumentException.class, () -> new MultiTimeframeOhlcvConsolidation("test", Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new MultiTimeframeOhlcvConsolidation("test", Duration.ofNanos(1500)));
+        assertThrows(IllegalArgumentException.class, () -> consolidation.onTicks(new long[1], new double[1], new double[1], 2));
+    }
+
+    @Test
+    public void testAxisRanges() {
+        final long[] timeStamps = new long[N_TICKS];
+        final double[] prices = new double[N_TICKS];
+        final double[] volumes = new double[N_TICKS];
+        createTicks(timeStamps, prices, volumes);
+
+        final MultiTimeframeOhlcvConsolidation consolidation = new MultiTimeframeOhlcvConsolidation("ES", TIMEFRAMES);
+        consolidation.onTicks(timeStamps, prices, volumes, N_TICKS / 2);
+        final OhlcvDataSet dataSet = consolidation.getDataSet(Duration.ofMinutes(1));
+        for (int dim = 0; dim < dataSet.getDimension(); dim++) {
+            dataSet.recomputeLimits(dim);
+        }
+
+        // the defined ranges follow the new bars without a full re-computation
+        consolidation.onTicks(copyTail(timeStamps), copyTail(prices), copyTail(volumes), N_TICKS - N_TICKS / 2);
+        final int last = dataSet.getDataCount() - 1;
+        assertEquals(dataSet.get(DataSet.DIM_X, 0), dataSet.getAxisDescription(DataSet.DIM_X).getMin());
+        assertEquals(dataSet.get(DataSet.DIM_X, last), dataSet.getAxisDescription(DataSet.DIM_X).getMax());
+        double high = Double.NEGATIVE_INFINITY;
+        double low = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < N_TICKS; i++) {
+            high = Math.max(high, prices[i]);
+            low = Math.min(low, prices[i]);
+        }
+        assertEquals(high, dataSet.getAxisDescription(OhlcvDataSet.DIM_Y_HIGH).getMax());
+        assertEquals(low, dataSet.getAxisDescription(OhlcvDataSet.DIM_Y_LOW).getMin());
+        // N.B. the widened ranges may include intermediate values of the bars, e.g. earlier closes or volumes
+        for (int dim = 0; dim < dataSet.getDimension(); dim++) {
+            final double min = dataSet.getAxisDescription(dim).getMin();
+            final double max = dataSet.getAxisDescription(dim).getMax();
+            dataSet.recomputeLimits(dim);
+            assertTrue(min <= dataSet.getAxisDescription(dim).getMin(), "min of dim " + dim);
+            assertTrue(max >= dataSet.getAxisDescription(dim).getMax(), "max of dim " + dim);
+        }
+
+        // undefined ranges are left to the on-demand re-computation
+        final OhlcvDataSet daily = consolidation.getDataSet(Duration.ofDays(1));
+        assertFalse(daily.getAxisDescription(DataSet.DIM_X).isDefined());
+
+        consolidation.reset();
+        assertFalse(dataSet.getAxisDescription(DataSet.DIM_X).isDefined());
+        assertFalse(dataSet.getAxisDescription(OhlcvDataSet.DIM_Y_HIGH).isDefined());
+    }
+
+    private static void assertBars(final TreeMap<Long, double[]> expected, final OhlcvDataSet dataSet) {
+        assertEquals(expected.size(), dataSet.getDataCount(), dataSet.getName());
+        int index = 0;
+        for (final var bar : expected.entrySet()) {
+            assertEquals(bar.getKey() / 1000.0, dataSet.get(DataSet.DIM_X, index), dataSet.getName());
+            assertEquals(bar.getValue()[0], dataSet.get(OhlcvDataSet.DIM_Y_OPEN, index));
+            assertEquals(bar.getValue()[1], dataSet.get(OhlcvDataSet.DIM_Y_HIGH, index));
+            assertEquals(bar.getValue()[2], dataSet.get(OhlcvDataSet.DIM_Y_LOW, index));
+            assertEquals(bar.getValue()[3], dataSet.get(OhlcvDataSet.DIM_Y_CLOSE, index));
+            assertEquals(bar.getValue()[4], dataSet.get(OhlcvDataSet.DIM_Y_VOLUME, index), 1e-9);
+            index++;
+        }
+    }
+
+    private static TreeMap<Long, double[]> aggregate(final long[] timeStamps, final double[] prices, final double[] volumes, final long period, final long offset) {
+        final TreeMap<Long, double[]> bars = new TreeMap<>();
+        for (int i = 0; i < timeStamps.length; i++) {
+            final long barStart = Math.floorDiv(timeStamps[i] - offset, period) * period + offset;
+            final double price = prices[i];
+            final double[] bar = bars.computeIfAbsent(barStart, k -> new double[] { price, price, price, price, 0.0 });
+            bar[1] = Math.max(bar[1], price);
+            bar[2] = Math.min(bar[2], price);
+            bar[3] = price;
+            bar[4] += volumes[i];
+        }
+        return bars;
+    }
+
+    private static void createTicks(final long[] timeStamps, final double[] prices, final double[] volumes) {
+        final Random random = new Random(42);
+        long timeStamp = Instant.parse("2023-03-01T22:00:00Z").toEpochMilli();
+        double price = 4000.0;
+        for (int i = 0; i < timeStamps.length; i++) {
+            timeStamp += random.nextInt(5000); // N.B. includes simultaneous ticks and ~1.5 days in total
+            price += 0.25 * (random.nextInt(5) - 2);
+            timeStamps[i] = timeStamp;
+            prices[i] = price;
+            volumes[i] = 1 + random.nextInt(10);
+        }
+    }
+
+    private static long[] copyTail(final long[] array) {
+        final long[] tail = new long[array.length - N_TICKS / 2];
+        System.arraycopy(array, N_TICKS / 2, tail, 0, tail.length);
+        return tail;
+    }
+
+    private static double[] copyTail(final double[] array) {
+        final double[] tail = new double[array.length - N_TICKS / 2];
+        System.arraycopy(array, N_TICKS / 2, tail, 0, tail.length);
+        return tail;
+    }
+}
@@ -0,0 +1,105 @@
+package io.fair_acc.dataset.spi.financial;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcv;
+import io.fair_acc.dataset.spi.financial.api.ohlcv.IOhlcvItem;
+import io.fair_acc.dataset.spi.financial.utils.FinancialTestUtils;
+
+public class OhlcvColumnStoreTest {
+    private IOhlcv ohlcv;
+    private OhlcvColumnStore store;
+    private OhlcvDataSet reference;
+    private OhlcvDataSet datasetTested;
+
+    @BeforeEach
+    public void setUp() {
+        ohlcv = FinancialTestUtils.createTestOhlcv();
+        store = new OhlcvColumnStore(ohlcv);
+        reference = new OhlcvDataSet("reference");
+        reference.setData(ohlcv);
+        datasetTested = new OhlcvDataSet("columns");
+        datasetTested.setData(store);
+    }
+
+    @Test
+    public void testSameValuesAsItems() {
+        assertNull(reference.getColumns());
+        assertSame(store, datasetTested.getColumns());
+        assertEquals(reference.getDataCount(), datasetTested.getDataCount());
+        for (int dim = DataSet.DIM_X; dim <= OhlcvDataSet.DIM_Y_OI; dim++) {
+            for (int i = 0; i < reference.getDataCount(); i++) {
+                assertEquals(reference.get(dim, i), datasetTested.get(dim, i), "dim=" + dim + " index=" + i);
+            }
+            assertArrayEquals(reference.getValues(dim), datasetTested.getValues(dim), "dim=" + dim);
+        }
+        datasetTested.setCategoryBased(true);
+        assertEquals(2, datasetTested.get(DataSet.DIM_X, 2));
+        assertThrows(IllegalArgumentException.class, () -> datasetTested.get(7, 0));
+    }
+
+    @Test
+    public void testGetXIndex() {
+        for (int i = 0; i < reference.getDataCount(); i++) {
+            final double x = reference.get(DataSet.DIM_X, i);
+            assertEquals(reference.getXIndex(x), datasetTested.getXIndex(x));
+            assertEquals(reference.getXIndex(x + 1.0), datasetTested.getXIndex(x + 1.0));
+            assertEquals(reference.getXIndex(x - 1.0), datasetTested.getXIndex(x - 1.0));
+        }
+        assertEquals(0, datasetTested.getXIndex(Double.NEGATIVE_INFINITY));
+        assertEquals(0, datasetTested.getXIndex(Double.NaN));
+        assertEquals(datasetTested.getDataCount() - 1, datasetTested.getXIndex(Double.MAX_VALUE));
+        assertEquals(0, new OhlcvColumnStore().getTimeStampIndex(42));
+    }
+
+    @Test
+    public void testLiveUpdates() {
+        final int size = store.size();
+        final long last = store.getTimeStampMillis(size - 1);
+        assertThrows(IllegalArgumentException.class, () -> store.add(last - 1, 1, 1, 1, 1, 1, 1));
+
+        for (int i = 1; i <= 1000; i++) {
+            store.add(last + i * 60_000L, i, i + 1, i - 1, i, 10 * i, 0);
+        }
+        assertEquals(size + 1000, datasetTested.getDataCount());
+        assertEquals(1000.0, datasetTested.get(OhlcvDataSet.DIM_Y_CLOSE, size + 999));
+
+        store.setLast(1000, 1005, 990, 1003, 12_000);
+        assertEquals(1003.0, datasetTested.getLastItem().getClose());
+        assertEquals(1005.0, store.getHighColumn()[size + 999]);
+        assertEquals((last + 500 * 60_000L) / 1000.0, datasetTested.get(DataSet.DIM_X, datasetTested.getXIndex((last + 500 * 60_000L + 20_000) / 1000.0)));
+
+        store.clear();
+        assertEquals(0, datasetTested.getDataCount());
+        assertNull(datasetTested.getLastItem());
+        assertThrows(IllegalStateException.class, () -> store.setLast(1, 1, 1, 1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getOpen(0));
+    }
+
+    @Test
+    public void testItemViews() {
+        final IOhlcvItem item = datasetTested.getItem(1);
+        final IOhlcvItem original = ohlcv.getOhlcvItem(1);
+        assertEquals(original.getTimeStamp(), item.getTimeStamp());
+        assertEquals(original.getOpen(), item.getOpen());
+        assertEquals(original.getOpenInterest(), item.getOpenInterest());
+        assertEquals(item, store.getOhlcvItem(1));
+        assertEquals(item.hashCode(), store.getOhlcvItem(1).hashCode());
+        assertNotEquals(item, store.getOhlcvItem(2));
+        assertNotEquals(item, new OhlcvColumnStore(ohlcv).getOhlcvItem(1));
+
+        assertNull(item.getAddon());
+        assertSame(item.getAddonOrCreate(), store.getOhlcvItem(1).getAddon());
+        assertNotNull(store.getAddonOrCreate());
+
+        int count = 0;
+        for (IOhlcvItem bar : datasetTested) {
+            assertEquals(store.getOhlcvItem(count++), bar);
+        }
+        assertEquals(store.size(), count);
+    }
+}
@@ -0,0 +1,148 @@
+package io.fair_acc.dataset.spi.financial;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.fair_acc.dataset.DataSet;
+
+/**
+ * Tests {@link TickStoreWriter}, {@link TickStoreReader} and {@link TickReplay}
+ */
+public class TickStoreTest {
+    private static final int N_TICKS = 10_000;
+    private static final long START = Instant.parse("2023-03-01T14:30:00Z").toEpochMilli();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testWriteSeekAndRead() throws IOException {
+        final Path file = tempDir.resolve("ticks.scid");
+        final TickBuffer reference = writeTicks(file, N_TICKS);
+
+        try (TickStoreReader reader = new TickStoreReader(file)) {
+            assertEquals(N_TICKS, reader.getRecordCount());
+            final TickBuffer buffer = new TickBuffer(3000);
+            long record = 0;
+            int count;
+            while ((count = reader.read(record, buffer)) > 0) {
+                for (int i = 0; i < count; i++) {
+                    final int index = (int) record + i;
+                    assertEquals(reference.getTimeStamps()[index], buffer.getTimeStamps()[i], "record " + index);
+                    assertEquals(reference.getPrices()[index], buffer.getPrices()[i]);
+                    assertEquals(reference.getVolumes()[index], buffer.getVolumes()[i]);
+                    assertEquals(reference.getBidVolumes()[index], buffer.getBidVolumes()[i]);
+                    assertEquals(reference.getAskVolumes()[index], buffer.getAskVolumes()[i]);
+                }
+                record += count;
+            }
+            assertEquals(N_TICKS, record);
+
+            // seek: first record at or after the time stamp
+            final long[] timeStamps = reference.getTimeStamps();
+            for (int i = 0; i < N_TICKS; i += 37) {
+                final long seek = reader.seek(timeStamps[i]);
+                assertEquals(timeStamps[i], reader.getTimeStamp(seek));
+                assertTrue(seek == 0 || reader.getTimeStamp(seek - 1) < timeStamps[i]);
+            }
+            assertEquals(0, reader.seek(Long.MIN_VALUE));
+            assertEquals(N_TICKS, reader.seek(timeStamps[N_TICKS - 1] + 1));
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.getTimeStamp(N_TICKS));
+        }
+    }
+
+    @Test
+    public void testAppendAndRefresh() throws IOException {
+        final Path file = tempDir.resolve("live.scid");
+        writeTicks(file, 100);
+        try (TickStoreReader reader = new TickStoreReader(file); TickStoreWriter writer = new TickStoreWriter(file)) {
+            assertEquals(100, writer.getRecordCount());
+            final long last = reader.getTimeStamp(99);
+            assertThrows(IllegalArgumentException.class, () -> writer.append(last - 1, 1.0, 1, 0, 1));
+            assertThrows(IllegalArgumentException.class, () -> writer.append(last, 1.0, -1, 0, 1));
+
+            writer.append(last + 1, 4100.25, 3, 1, 2);
+            assertFalse(reader.refresh(), "not yet flushed");
+            writer.flush();
+            assertTrue(reader.refresh());
+            assertEquals(101, reader.getRecordCount());
+            assertEquals(last + 1, reader.getTimeStamp(100));
+        }
+
+        Files.write(tempDir.resolve("invalid.scid"), new byte[] { 1, 2, 3 });
+        assertThrows(IOException.class, () -> new TickStoreReader(tempDir.resolve("invalid.scid")));
+    }
+
+    @Test
+    @Timeout(20)
+    public void testReplay() throws IOException {
+        final Path file = tempDir.resolve("replay.scid");
+        final TickBuffer reference = writeTicks(file, N_TICKS);
+        final Duration[] timeframes = { Duration.ofSeconds(1), Duration.ofMinutes(1) };
+        final MultiTimeframeOhlcvConsolidation expected = new MultiTimeframeOhlcvConsolidation("expected", timeframes);
+        expected.onTicks(reference.getTimeStamps(), reference.getPrices(), reference.getVolumes(), N_TICKS);
+
+        try (TickStoreReader reader = new TickStoreReader(file)) {
+            // back-test speed
+            final MultiTimeframeOhlcvConsolidation consolidation = new MultiTimeframeOhlcvConsolidation("replay", timeframes);
+            final TickReplay replay = new TickReplay(reader, consolidation, 1000).setSpeed(Double.POSITIVE_INFINITY);
+            replay.run();
+            assertFalse(replay.isRunning());
+            assertEquals(N_TICKS, replay.getReplayedTickCount());
+            for (int tf = 0; tf < timeframes.length; tf++) {
+                final OhlcvDataSet exp = expected.getDataSets().get(tf);
+                final OhlcvDataSet act = consolidation.getDataSets().get(tf);
+                assertEquals(exp.getDataCount(), act.getDataCount());
+                for (int dim = DataSet.DIM_X; dim <= OhlcvDataSet.DIM_Y_VOLUME; dim++) {
+                    assertArrayEquals(exp.getValues(dim), act.getValues(dim), "dim " + dim);
+                }
+            }
+
+            // paced replay of a 2 second range at 20x speed
+            final long[] timeStamps = reference.getTimeStamps();
+            final long from = timeStamps[N_TICKS / 2];
+            final MultiTimeframeOhlcvConsolidation paced = new MultiTimeframeOhlcvConsolidation("paced", timeframes);
+            final TickReplay pacedReplay = new TickReplay(reader, paced).setSpeed(20.0).setRange(from, from + 2000);
+            final long startNanos = System.nanoTime();
+            pacedReplay.run();
+            final long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            int expectedCount = 0;
+            for (final long timeStamp : timeStamps) {
+                expectedCount += timeStamp >= from && timeStamp <= from + 2000 ? 1 : 0;
+            }
+            assertEquals(expectedCount, pacedReplay.getReplayedTickCount());
+            final long span = reader.getTimeStamp(reader.seek(from) + expectedCount - 1) - from;
+            assertTrue(elapsedMillis >= span / 20 - 5, "elapsed " + elapsedMillis + " ms for tick span " + span + " ms");
+            assertThrows(IllegalArgumentException.class, () -> pacedReplay.setSpeed(0.0));
+            assertThrows(IllegalArgumentException.class, () -> pacedReplay.setRange(2, 1));
+        }
+    }
+
+    private static TickBuffer writeTicks(final Path file, final int nTicks) throws IOException {
+        final Random random = new Random(42);
+        final TickBuffer ticks = new TickBuffer(nTicks);
+        long timeStamp = START;
+        double price = 4000.0;
+        for (int i = 0; i < nTicks; i++) {
+            timeStamp += random.nextInt(400); // N.B. includes simultaneous ticks
+            price += 0.25 * (random.nextInt(5) - 2);
+            final int bid = random.nextInt(5);
+            final int ask = random.nextInt(5);
+            ticks.add(timeStamp, price, bid + ask, bid, ask);
+        }
+        try (TickStoreWriter writer = new TickStoreWriter(file)) {
+            writer.append(ticks);
+        }
+        return ticks;
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
  *
  * @author rstein
  */
+@SuppressWarnings("deprecation") // N.B. tests the deprecated legacy cache
 public class ArrayCacheTests {
     @Test
     public void doubleArrayTests() {
@@ -0,0 +1,120 @@
+package io.fair_acc.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the {@link ArrayPool}
+ */
+class ArrayPoolTests {
+    @Test
+    void testSizeClasses() {
+        final ArrayPool<long[]> pool = ArrayPool.LONG; // N.B. pool not used by the library itself
+        pool.clear();
+        assertThrows(IllegalArgumentException.class, () -> pool.allocate(-1));
+        assertThrows(IllegalArgumentException.class, () -> pool.allocateExact(-1));
+        assertEquals(0, pool.allocateExact(0).length);
+        assertEquals(1, pool.allocate(1).length);
+        assertEquals(128, pool.allocate(100).length, "rounded up to the next power of two");
+        assertEquals(128, pool.allocate(128).length);
+        assertEquals(100, pool.allocateExact(100).length);
+
+        final long[] array = pool.allocate(100);
+        pool.release(array);
+        assertEquals(128L * Long.BYTES, pool.getRetainedBytes());
+        assertSame(array, pool.allocate(65), "same size class");
+        assertEquals(0, pool.getRetainedBytes());
+
+        pool.release(array);
+        assertNotSame(array, pool.allocate(129), "larger size class");
+        assertNotSame(array, pool.allocateExact(100), "exact length does not match");
+        assertSame(array, pool.allocateExact(128));
+
+        final long hits = pool.getHitCount();
+        final long requests = pool.getRequestCount();
+        pool.release(array);
+        pool.allocate(128);
+        assertEquals(hits + 1, pool.getHitCount());
+        assertEquals(requests + 1, pool.getRequestCount());
+        assertTrue(pool.getHitRate() > 0.0 && pool.getHitRate() < 1.0);
+        pool.release(null); // ignored
+    }
+
+    @Test
+    void testMagazineAndDepot() throws Exception {
+        final ArrayPool<short[]> pool = ArrayPool.SHORT;
+        pool.clear();
+        final long dropped = pool.getDroppedCount();
+        final short[][] arrays = new short[25][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = pool.allocate(1000);
+        }
+        for (final short[] array : arrays) {
+            pool.release(array);
+        }
+        // 4 per thread + 16 shared
+        assertEquals(dropped + 5, pool.getDroppedCount());
+        assertEquals(20L * 1024 * Short.BYTES, pool.getRetainedBytes());
+
+        // another thread sees the shared depot but not the magazine of this thread
+        final int fromDepot = CompletableFuture.supplyAsync(() -> {
+            final long hits = pool.getHitCount();
+            for (int i = 0; i < 20; i++) {
+                pool.allocate(1000);
+            }
+            return (int) (pool.getHitCount() - hits);
+        }).get(5, TimeUnit.SECONDS);
+        assertEquals(16, fromDepot);
+        assertEquals(4L * 1024 * Short.BYTES, pool.getRetainedBytes());
+
+        pool.clear();
+        assertEquals(0, pool.getRetainedBytes());
+    }
+
+    @Test
+    void testRetainedBytesBound() {
+        final ArrayPool<float[]> pool = ArrayPool.FLOAT;
+        pool.clear();
+        final long dropped = pool.getDroppedCount();
+        pool.setMaxRetainedBytes(1000L * Float.BYTES);
+        assertThrows(IllegalArgumentException.class, () -> pool.setMaxRetainedBytes(-1));
+        try {
+            pool.release(new float[600]);
+            pool.release(new float[600]); // exceeds the bound
+            assertEquals(600L * Float.BYTES, pool.getRetainedBytes());
+            assertEquals(dropped + 1, pool.getDroppedCount());
+        } finally {
+            pool.setMaxRetainedBytes(ArrayPool.DEFAULT_MAX_RETAINED_BYTES);
+            pool.clear();
+        }
+    }
+
+    @Test
+    void testLeakDetection() {
+        final ArrayPool<boolean[]> pool = ArrayPool.BOOLEAN;
+        pool.clear();
+        pool.setLeakDetection(true);
+        try {
+            assertTrue(pool.isLeakDetection());
+            final boolean[] array = pool.allocate(100);
+            pool.release(array);
+            assertEquals(128, pool.getRetainedBytes());
+            pool.release(array); // twice released -> logged and not pooled
+            assertEquals(128, pool.getRetainedBytes());
+            pool.release(new boolean[64]); // not allocated from pool -> logged and not pooled
+            assertEquals(128, pool.getRetainedBytes());
+            assertEquals(0, pool.getLeakCount());
+        } finally {
+            pool.setLeakDetection(false);
+            pool.clear();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
  *         N.B. to run manually: javac ByteArrayCacheTests.java java -Xms256m
  *         -Xmx256m ByteArrayCacheTests
  */
+@SuppressWarnings("deprecation") // N.B. tests the deprecated legacy cache
 public class ByteArrayCacheTests {
     private static final Logger LOGGER = LoggerFactory.getLogger(ByteArrayCacheTests.class);
     private static final int N_ITERATIONS = 1000;
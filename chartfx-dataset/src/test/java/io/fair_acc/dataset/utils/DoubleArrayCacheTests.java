@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
  *         N.B. to run manually: javac DoubleArrayCacheTests.java java -Xms256m
  *         -Xmx256m DoubleArrayCacheTests
  */
+@SuppressWarnings("deprecation") // N.B. tests the deprecated legacy cache
 public class DoubleArrayCacheTests {
     private static final Logger LOGGER = LoggerFactory.getLogger(DoubleArrayCacheTests.class);
     private static final int N_ITERATIONS = 1000;
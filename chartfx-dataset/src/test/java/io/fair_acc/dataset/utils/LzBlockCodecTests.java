@@ -0,0 +1,78 @@
+package io.fair_acc.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit testing for {@link LzBlockCodec} implementation.
+ */
+class LzBlockCodecTests {
+    @Test
+    void testRoundTrip() {
+        final Random rnd = new Random(42);
+        for (final int length : new int[] { 0, 1, 5, 17, 300, 70_000 }) {
+            final byte[] random = new byte[length];
+            rnd.nextBytes(random);
+            assertRoundTrip(random);
+
+            final byte[] repetitive = new byte[length];
+            for (int i = 0; i < length; i++) {
+                repetitive[i] = (byte) (i % 7 == 0 ? rnd.nextInt(3) : i % 13);
+            }
+            assertRoundTrip(repetitive);
+
+            final byte[] constant = new byte[length];
+            Arrays.fill(constant, (byte) 42);
+            final int compressedLength = assertRoundTrip(constant);
+            if (length > 300) {
+                assertTrue(compressedLength < length / 100, "run-length like compression of constant data: " + compressedLength);
+            }
+        }
+    }
+
+    @Test
+    void testShuffle() {
+        final byte[] source = new byte[8 * 5 + 3];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = (byte) i;
+        }
+        final byte[] shuffled = new byte[source.length];
+        LzBlockCodec.shuffle(source, 3, 5, 8, shuffled, 0);
+        assertEquals(3, shuffled[0]);
+        assertEquals(11, shuffled[1]);
+        assertEquals(4, shuffled[5]);
+        final byte[] restored = new byte[source.length];
+        LzBlockCodec.unshuffle(shuffled, 0, 5, 8, restored, 3);
+        assertArrayEquals(Arrays.copyOfRange(source, 3, source.length), Arrays.copyOfRange(restored, 3, restored.length));
+    }
+
+    @Test
+    void testMalformedInput() {
+        final byte[] source = new byte[1000];
+        Arrays.fill(source, (byte) 1);
+        final byte[] compressed = new byte[LzBlockCodec.maxCompressedLength(source.length)];
+        final int length = LzBlockCodec.compress(source, 0, source.length, compressed, 0);
+        // destination too short
+        assertThrows(IllegalArgumentException.class, () -> LzBlockCodec.decompress(ByteBuffer.wrap(compressed), 0, length, new byte[100], 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> LzBlockCodec.compress(source, 0, source.length, new byte[10], 0));
+    }
+
+    private static int assertRoundTrip(final byte[] source) {
+        final byte[] compressed = new byte[LzBlockCodec.maxCompressedLength(source.length) + 2];
+        final int compressedLength = LzBlockCodec.compress(source, 0, source.length, compressed, 2);
+        assertTrue(compressedLength <= LzBlockCodec.maxCompressedLength(source.length));
+        final byte[] restored = new byte[source.length];
+        final int restoredLength = LzBlockCodec.decompress(ByteBuffer.wrap(compressed), 2, compressedLength, restored, 0, restored.length);
+        assertEquals(source.length, restoredLength);
+        assertArrayEquals(source, restored);
+        return compressedLength;
+    }
+}
@@ -0,0 +1,105 @@
+package io.fair_acc.dataset.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit testing for {@link ParallelLoop} and {@link ComputePool} implementation.
+ */
+public class ParallelLoopTests {
+    @Test
+    public void testConstructors() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelLoop(null));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelLoop((c, f, t) -> {}, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelLoop((c, f, t) -> {}, 1, 0));
+
+        final ParallelLoop loop = new ParallelLoop((c, f, t) -> {});
+        assertEquals(ParallelLoop.DEFAULT_MIN_CHUNK_SIZE, loop.getMinChunkSize());
+        assertEquals(ParallelLoop.DEFAULT_TARGET_CHUNK_NANOS, loop.getTargetChunkNanos());
+        assertEquals(ComputePool.getMaxChunkCount(), loop.getMaxChunkCount());
+        assertTrue(Double.isNaN(loop.getNanosPerItem()));
+        assertEquals(0, loop.run(10, 10));
+        assertEquals(0, loop.getChunkCount());
+    }
+
+    @Test
+    public void testFullCoverage() {
+        final int nSamples = 1_000_003;
+        final int[] hits = new int[nSamples];
+        final ParallelLoop loop = new ParallelLoop((chunk, from, to) -> {
+            for (int i = from; i < to; i++) {
+                hits[i]++;
+            }
+        }, 1000, 1000);
+
+        for (int iteration = 0; iteration < 3; iteration++) {
+            final int nChunks = loop.run(3, nSamples);
+            assertTrue(nChunks >= 1 && nChunks <= loop.getMaxChunkCount(), "chunk count = " + nChunks);
+            assertEquals(3, loop.getChunkFrom(0));
+            assertEquals(nSamples, loop.getChunkTo(nChunks - 1));
+            for (int chunk = 1; chunk < nChunks; chunk++) {
+                assertEquals(loop.getChunkTo(chunk - 1), loop.getChunkFrom(chunk), "contiguous chunks");
+            }
+        }
+        assertFalse(Double.isNaN(loop.getNanosPerItem()));
+        for (int i = 0; i < nSamples; i++) {
+            assertEquals(i < 3 ? 0 : 3, hits[i], "index " + i);
+        }
+    }
+
+    @Test
+    public void testAdaptiveSerialFallback() {
+        final AtomicInteger calls = new AtomicInteger();
+        // very large target chunk time -> cheap loops should be executed in a single chunk after the first run
+        final ParallelLoop loop = new ParallelLoop((chunk, from, to) -> calls.incrementAndGet(), 1, Long.MAX_VALUE / 4);
+        loop.run(0, 100_000);
+        calls.set(0);
+        assertEquals(1, loop.run(0, 100_000));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testExceptionPropagation() {
+        final AtomicBoolean fail = new AtomicBoolean(true);
+        final ParallelLoop loop = new ParallelLoop((chunk, from, to) -> {
+            if (chunk == 1 && fail.get()) {
+                throw new IllegalStateException("test");
+            }
+        }, 1, 1);
+        assertThrows(IllegalStateException.class, () -> loop.run(0, 1000));
+        // loop must be re-usable after an exception
+        fail.set(false);
+        assertTrue(loop.run(0, 1000) >= 1);
+    }
+
+    @Test
+    public void testParallelFor() {
+        assertThrows(IllegalArgumentException.class, () -> ComputePool.parallelFor(0, 10, 0, (c, f, t) -> {}));
+        assertThrows(IllegalArgumentException.class, () -> ComputePool.parallelFor(0, 10, 1, null));
+
+        ComputePool.resetStatistics();
+        final int nSamples = 12_345;
+        final int[] hits = new int[nSamples];
+        ComputePool.parallelFor(0, nSamples, 100, (chunk, from, to) -> {
+            for (int i = from; i < to; i++) {
+                hits[i]++;
+            }
+        });
+        for (int i = 0; i < nSamples; i++) {
+            assertEquals(1, hits[i], "index " + i);
+        }
+        ComputePool.parallelFor(0, 10, 100, (chunk, from, to) -> {});
+        assertEquals(1, ComputePool.getParallelInvocationCount());
+        assertEquals(1, ComputePool.getSerialInvocationCount());
+        assertTrue(ComputePool.getChunkCount() > 1);
+        assertTrue(ComputePool.getUtilisation() >= 0.0 && ComputePool.getUtilisation() <= 1.0);
+        assertTrue(ComputePool.statistics().startsWith("ComputePool["));
+    }
+}
@@ -0,0 +1,49 @@
+package io.fair_acc.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Entry point for the chart-fx JMH benchmark suite.
+ * <p>
+ * Without arguments the complete suite is executed with a fixed, reproducible configuration and the results are
+ * written as JSON to {@code target/jmh-result.json} (for comparison across versions, e.g. via jmh.morethan.io).
+ * If arguments are given, they are passed verbatim to the standard JMH command-line parser, e.g.
+ * {@code BenchmarkRunner DataReducerBenchmark -p nSamples=1000000 -prof gc}.
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+        // utility class
+    }
+
+    public static void main(final String[] args) throws Exception {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        runDefaultSuite();
+    }
+
+    private static void runDefaultSuite() throws RunnerException {
+        final Options options = new OptionsBuilder()
+                                        .include(BenchmarkRunner.class.getPackageName() + ".*")
+                                        .forks(1)
+                                        .warmupIterations(3)
+                                        .warmupTime(TimeValue.seconds(2))
+                                        .measurementIterations(5)
+                                        .measurementTime(TimeValue.seconds(2))
+                                        .timeout(TimeValue.minutes(10))
+                                        .timeUnit(TimeUnit.MICROSECONDS)
+                                        .jvmArgsAppend("-Xmx8g", "-Djava.awt.headless=true", "-Dprism.order=sw")
+                                        .resultFormat(ResultFormatType.JSON)
+                                        .result("target/jmh-result.json")
+                                        .build();
+        new Runner(options).run();
+    }
+}
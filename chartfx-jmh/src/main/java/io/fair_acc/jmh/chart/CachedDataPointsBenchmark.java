@@ -0,0 +1,95 @@
+package io.fair_acc.jmh.chart;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.fair_acc.chartfx.renderer.ErrorStyle;
+import io.fair_acc.chartfx.renderer.datareduction.DefaultDataReducer;
+import io.fair_acc.chartfx.renderer.spi.CachedDataPoints;
+import io.fair_acc.chartfx.ui.css.DataSetNode;
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.DoubleErrorDataSet;
+import io.fair_acc.jmh.dataset.BenchmarkData;
+
+/**
+ * Benchmarks the data-to-screen coordinate transform of {@link CachedDataPoints} (single-threaded and parallel) and the
+ * subsequent data reduction, i.e. the non-drawing part of {@code ErrorDataSetRenderer.render}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CachedDataPointsBenchmark {
+    @Param({ "1000", "100000", "10000000" })
+    private int nSamples;
+
+    @Param({ "false", "true" })
+    private boolean allowNaNs;
+
+    private DataSet dataSet;
+    private FxBenchmarkChart fixture;
+    private DataSetNode style;
+    private final BenchmarkPoints points = new BenchmarkPoints();
+    private final DefaultDataReducer reducer = new DefaultDataReducer();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final double[] errors = BenchmarkData.constant(nSamples, 0.1);
+        dataSet = new DoubleErrorDataSet("bench", BenchmarkData.linearX(nSamples), BenchmarkData.noisySine(nSamples, 42), errors, errors, nSamples, false);
+        fixture = FxBenchmarkChart.create(dataSet);
+        style = fixture.getRenderer().getStyleableNode(dataSet);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public CachedDataPoints computeScreenCoordinates() {
+        points.resizeMin(0, nSamples, nSamples, true);
+        points.compute(fixture, dataSet, style, nSamples, allowNaNs, false);
+        return points;
+    }
+
+    @Benchmark
+    public CachedDataPoints computeScreenCoordinatesInParallel() {
+        points.resizeMin(0, nSamples, nSamples, true);
+        points.compute(fixture, dataSet, style, nSamples, allowNaNs, true);
+        return points;
+    }
+
+    @Benchmark
+    public CachedDataPoints computeAndReduce() {
+        points.resizeMin(0, nSamples, nSamples, true);
+        points.compute(fixture, dataSet, style, nSamples, allowNaNs, false);
+        points.reduce(reducer);
+        return points;
+    }
+
+    /**
+     * exposes the protected {@link CachedDataPoints} processing steps to the benchmark
+     */
+    private static class BenchmarkPoints extends CachedDataPoints {
+        void compute(final FxBenchmarkChart chart, final DataSet dataSet, final DataSetNode style, final int max, final boolean doAllowForNaNs, final boolean parallel) {
+            if (parallel) {
+                computeScreenCoordinatesInParallel(chart.getXAxis(), chart.getYAxis(), dataSet, style, 0, max, ErrorStyle.ERRORCOMBO, false, doAllowForNaNs);
+            } else {
+                computeScreenCoordinates(chart.getXAxis(), chart.getYAxis(), dataSet, style, 0, max, ErrorStyle.ERRORCOMBO, false, doAllowForNaNs);
+            }
+        }
+
+        void reduce(final DefaultDataReducer reducer) {
+            reduce(reducer, true, 1000);
+        }
+    }
+}
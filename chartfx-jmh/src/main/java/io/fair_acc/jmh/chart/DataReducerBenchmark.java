@@ -0,0 +1,93 @@
+package io.fair_acc.jmh.chart;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.fair_acc.chartfx.renderer.RendererDataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.DefaultDataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.M4DataReducer;
+import io.fair_acc.chartfx.renderer.datareduction.MaxDataReducer;
+
+/**
+ * Benchmarks the {@link RendererDataReducer#reducePoints} step on pre-computed screen coordinates, i.e. excluding the
+ * data-to-screen transform. The x coordinates span a 1000 px wide canvas, as is the case for a fully zoomed-out chart.
+ * N.B. reducers work in-place, thus the input is restored before each invocation (this copy is part of the measurement
+ * and can be estimated via {@link #copyOnly()}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataReducerBenchmark {
+    private static final double CANVAS_WIDTH = 1000.0;
+    private static final double CANVAS_HEIGHT = 600.0;
+
+    @Param({ "1000", "100000", "10000000" })
+    private int nSamples;
+
+    @Param({ "DEFAULT", "MAX", "M4" })
+    private String reducerType;
+
+    private RendererDataReducer reducer;
+    private double[] xRef;
+    private double[] yRef;
+    private double[] xValues;
+    private double[] yValues;
+    private double[] yErrorNeg;
+    private double[] yErrorPos;
+    private String[] styles;
+    private boolean[] selected;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (reducerType) {
+        case "MAX":
+            reducer = new MaxDataReducer();
+            break;
+        case "M4":
+            reducer = new M4DataReducer();
+            break;
+        default:
+            reducer = new DefaultDataReducer();
+        }
+        xRef = new double[nSamples];
+        yRef = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            xRef[i] = CANVAS_WIDTH * i / nSamples;
+            yRef[i] = 0.5 * CANVAS_HEIGHT * (1.0 + Math.sin(2.0 * Math.PI * i / 1000.0));
+        }
+        xValues = new double[nSamples];
+        yValues = new double[nSamples];
+        yErrorNeg = new double[nSamples];
+        yErrorPos = new double[nSamples];
+        styles = new String[nSamples];
+        selected = new boolean[nSamples];
+    }
+
+    @Benchmark
+    public int copyOnly() {
+        restoreInput();
+        return xValues.length;
+    }
+
+    @Benchmark
+    public int reducePoints() {
+        restoreInput();
+        return reducer.reducePoints(xValues, yValues, null, null, yErrorPos, yErrorNeg, styles, selected, 0, nSamples);
+    }
+
+    private void restoreInput() {
+        System.arraycopy(xRef, 0, xValues, 0, nSamples);
+        System.arraycopy(yRef, 0, yValues, 0, nSamples);
+        System.arraycopy(yRef, 0, yErrorNeg, 0, nSamples);
+        System.arraycopy(yRef, 0, yErrorPos, 0, nSamples);
+    }
+}
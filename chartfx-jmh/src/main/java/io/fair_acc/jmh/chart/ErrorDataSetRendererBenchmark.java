@@ -0,0 +1,65 @@
+package io.fair_acc.jmh.chart;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.fair_acc.chartfx.renderer.ErrorStyle;
+import io.fair_acc.chartfx.renderer.spi.ErrorDataSetRenderer;
+import io.fair_acc.dataset.spi.DoubleErrorDataSet;
+import io.fair_acc.jmh.dataset.BenchmarkData;
+
+/**
+ * Headless end-to-end benchmark of {@link ErrorDataSetRenderer#render()} into the chart's canvas
+ * {@code GraphicsContext}, including screen-coordinate transform, data reduction and the issued drawing commands.
+ * N.B. the measured time includes the hand-over to the JavaFX application thread (typically a few micro-seconds).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ErrorDataSetRendererBenchmark {
+    @Param({ "1000", "100000", "10000000" })
+    private int nSamples;
+
+    @Param({ "NONE", "ERRORBARS", "ERRORCOMBO" })
+    private ErrorStyle errorStyle;
+
+    @Param({ "true", "false" })
+    private boolean reducePoints;
+
+    @Param({ "false", "true" })
+    private boolean parallel;
+
+    private FxBenchmarkChart fixture;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final double[] errors = BenchmarkData.constant(nSamples, 0.1);
+        final DoubleErrorDataSet dataSet = new DoubleErrorDataSet("bench", BenchmarkData.linearX(nSamples), BenchmarkData.noisySine(nSamples, 42), errors, errors, nSamples, false);
+        fixture = FxBenchmarkChart.create(dataSet);
+        final ErrorDataSetRenderer renderer = fixture.getRenderer();
+        renderer.setErrorStyle(errorStyle);
+        renderer.setPointReduction(reducePoints);
+        renderer.setParallelImplementation(parallel);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public FxBenchmarkChart render() throws Exception {
+        fixture.renderBlocking();
+        return fixture;
+    }
+}
@@ -0,0 +1,119 @@
+package io.fair_acc.jmh.chart;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import io.fair_acc.chartfx.XYChart;
+import io.fair_acc.chartfx.axes.spi.DefaultNumericAxis;
+import io.fair_acc.chartfx.renderer.spi.ErrorDataSetRenderer;
+import io.fair_acc.chartfx.utils.FXUtils;
+import io.fair_acc.dataset.DataSet;
+
+/**
+ * Minimal off-screen chart fixture for the renderer benchmarks: a single {@link XYChart} with fixed axis ranges and
+ * one {@link ErrorDataSetRenderer} that is laid out once so that axis transforms and the canvas are valid. N.B.
+ * requires a (possibly headless, e.g. {@code -Dprism.order=sw} with monocle) JavaFX platform.
+ */
+public final class FxBenchmarkChart {
+    public static final int WIDTH = 1000;
+    public static final int HEIGHT = 600;
+    private static final AtomicBoolean FX_STARTED = new AtomicBoolean(false);
+
+    private final XYChart chart;
+    private final ErrorDataSetRenderer renderer;
+    private final DefaultNumericAxis xAxis;
+    private final DefaultNumericAxis yAxis;
+    private Stage stage;
+
+    private FxBenchmarkChart(final DataSet dataSet) {
+        xAxis = new DefaultNumericAxis("x", 0, Math.max(1, dataSet.getDataCount() - 1.0), 10);
+        yAxis = new DefaultNumericAxis("y", -1.5, +1.5, 0.5);
+        xAxis.setAutoRanging(false);
+        yAxis.setAutoRanging(false);
+        chart = new XYChart(xAxis, yAxis);
+        chart.setAnimated(false);
+        chart.setLegendVisible(false);
+        renderer = new ErrorDataSetRenderer();
+        chart.getRenderers().setAll(renderer);
+        renderer.getDatasets().add(dataSet);
+    }
+
+    public XYChart getChart() {
+        return chart;
+    }
+
+    public ErrorDataSetRenderer getRenderer() {
+        return renderer;
+    }
+
+    public DefaultNumericAxis getXAxis() {
+        return xAxis;
+    }
+
+    public DefaultNumericAxis getYAxis() {
+        return yAxis;
+    }
+
+    /**
+     * Clears the chart canvas and re-renders all data sets on the JavaFX thread (N.B. clearing the full canvas also
+     * discards the canvas' pending command buffer, thus the memory footprint remains bounded across invocations).
+     *
+     * @throws Exception in case the rendering failed
+     */
+    public void renderBlocking() throws Exception {
+        FXUtils.runAndWait(() -> {
+            final var canvas = chart.getCanvas();
+            canvas.getGraphicsContext2D().clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            for (final DataSet ds : renderer.getDatasets()) {
+                ds.lock().readLock();
+            }
+            try {
+                renderer.render();
+            } finally {
+                for (final DataSet ds : renderer.getDatasets()) {
+                    ds.lock().readUnLock();
+                }
+            }
+        });
+    }
+
+    public void close() throws Exception {
+        FXUtils.runAndWait(() -> {
+            if (stage != null) {
+                stage.close();
+            }
+        });
+    }
+
+    /**
+     * @param dataSet the data set to be rendered
+     * @return fully laid-out chart fixture
+     * @throws Exception in case the JavaFX platform could not be started or the chart could not be shown
+     */
+    public static FxBenchmarkChart create(final DataSet dataSet) throws Exception {
+        startPlatform();
+        final FxBenchmarkChart fixture = FXUtils.runAndWait(() -> {
+            final FxBenchmarkChart retVal = new FxBenchmarkChart(dataSet);
+            retVal.stage = new Stage();
+            retVal.stage.setScene(new Scene(retVal.chart, WIDTH, HEIGHT));
+            retVal.stage.show();
+            return retVal;
+        });
+        FXUtils.waitForFxTicks(fixture.chart.getScene(), 3);
+        return fixture;
+    }
+
+    private static void startPlatform() {
+        if (FX_STARTED.getAndSet(true)) {
+            return;
+        }
+        try {
+            Platform.startup(() -> Platform.setImplicitExit(false));
+        } catch (IllegalStateException e) { // NOPMD -- toolkit has already been initialised elsewhere
+            Platform.setImplicitExit(false);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.fair_acc.jmh.dataset;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic test-data generators shared by the benchmarks so that results remain comparable across runs.
+ */
+public final class BenchmarkData {
+    private BenchmarkData() {
+        // utility class
+    }
+
+    /**
+     * @param nSamples number of samples
+     * @return monotonically increasing x coordinates {@code 0, 1, ..., nSamples - 1}
+     */
+    public static double[] linearX(final int nSamples) {
+        final double[] values = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+
+    /**
+     * @param nSamples number of samples
+     * @param seed random seed (N.B. fixed for reproducibility)
+     * @return sine with a period of 1000 samples and uniform noise of amplitude 0.1
+     */
+    public static double[] noisySine(final int nSamples, final long seed) {
+        final SplittableRandom rnd = new SplittableRandom(seed);
+        final double[] values = new double[nSamples];
+        for (int i = 0; i < nSamples; i++) {
+            values[i] = Math.sin(2.0 * Math.PI * i / 1000.0) + 0.1 * (rnd.nextDouble() - 0.5);
+        }
+        return values;
+    }
+
+    /**
+     * @param nSamples number of samples
+     * @param value constant value
+     * @return array filled with the given value
+     */
+    public static double[] constant(final int nSamples, final double value) {
+        final double[] values = new double[nSamples];
+        java.util.Arrays.fill(values, value);
+        return values;
+    }
+}
@@ -0,0 +1,71 @@
+package io.fair_acc.jmh.dataset;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.CircularDoubleErrorDataSet;
+
+/**
+ * Benchmarks the rolling-buffer use-case of {@link CircularDoubleErrorDataSet}: a completely filled buffer that is
+ * continuously updated either point-wise or with blocks of {@code blockSize} samples, optionally followed by the limit
+ * re-computation that is triggered by the next repaint.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CircularDoubleErrorDataSetBenchmark {
+    @Param({ "1000", "100000", "10000000" })
+    private int nSamples;
+
+    @Param({ "1", "1000" })
+    private int blockSize;
+
+    private double[] xBlock;
+    private double[] yBlock;
+    private double[] eBlock;
+    private CircularDoubleErrorDataSet dataSet;
+    private double xOffset;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dataSet = new CircularDoubleErrorDataSet("bench", nSamples);
+        dataSet.add(BenchmarkData.linearX(nSamples), BenchmarkData.noisySine(nSamples, 42), BenchmarkData.constant(nSamples, 0.1), BenchmarkData.constant(nSamples, 0.1));
+        xOffset = nSamples;
+        xBlock = BenchmarkData.linearX(blockSize);
+        yBlock = BenchmarkData.noisySine(blockSize, 7);
+        eBlock = BenchmarkData.constant(blockSize, 0.1);
+    }
+
+    @Benchmark
+    public CircularDoubleErrorDataSet appendPointWise() {
+        for (int i = 0; i < blockSize; i++) {
+            dataSet.add(xOffset++, yBlock[i], eBlock[i], eBlock[i]);
+        }
+        return dataSet;
+    }
+
+    @Benchmark
+    public CircularDoubleErrorDataSet appendBlock() {
+        for (int i = 0; i < blockSize; i++) {
+            xBlock[i] = xOffset++;
+        }
+        return dataSet.add(xBlock, yBlock, eBlock, eBlock);
+    }
+
+    @Benchmark
+    public double appendBlockAndRecomputeLimits() {
+        appendBlock();
+        dataSet.recomputeLimits(DataSet.DIM_Y);
+        return dataSet.getAxisDescription(DataSet.DIM_Y).getMax();
+    }
+}
@@ -0,0 +1,61 @@
+package io.fair_acc.jmh.dataset;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.DoubleErrorDataSet;
+import io.fair_acc.dataset.utils.DataSetUtils;
+
+/**
+ * Benchmarks the {@link DataSetUtils} serialisation round-trip (in-memory, to exclude file-system effects) for the
+ * human-readable text and the binary (float32/float64) encodings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DataSetUtilsBenchmark {
+    @Param({ "1000", "100000", "1000000" })
+    private int nSamples;
+
+    @Param({ "TEXT", "FLOAT32", "FLOAT64" })
+    private String encoding;
+
+    private DataSet dataSet;
+    private ByteArrayOutputStream byteOutput;
+    private byte[] serialised;
+    private boolean binary;
+    private boolean asFloat;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        binary = !"TEXT".equals(encoding);
+        asFloat = "FLOAT32".equals(encoding);
+        dataSet = new DoubleErrorDataSet("bench", BenchmarkData.linearX(nSamples), BenchmarkData.noisySine(nSamples, 42), //
+                BenchmarkData.constant(nSamples, 0.1), BenchmarkData.constant(nSamples, 0.1), nSamples, true);
+        byteOutput = new ByteArrayOutputStream(nSamples * 64);
+        DataSetUtils.writeDataSetToByteArray(dataSet, byteOutput, binary, asFloat);
+        serialised = byteOutput.toByteArray();
+    }
+
+    @Benchmark
+    public int write() {
+        DataSetUtils.writeDataSetToByteArray(dataSet, byteOutput, binary, asFloat);
+        return byteOutput.size();
+    }
+
+    @Benchmark
+    public DataSet read() {
+        return DataSetUtils.readDataSetFromByteArray(serialised);
+    }
+}
@@ -0,0 +1,73 @@
+package io.fair_acc.jmh.dataset;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.DoubleDataSet;
+
+/**
+ * Benchmarks the basic {@link DoubleDataSet} fill and update paths: point-wise {@code add}, bulk {@code set} of
+ * complete arrays and point-wise {@code get}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DoubleDataSetBenchmark {
+    @Param({ "1000", "100000", "10000000", "100000000" })
+    private int nSamples;
+
+    private double[] xValues;
+    private double[] yValues;
+    private DoubleDataSet dataSet;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        xValues = BenchmarkData.linearX(nSamples);
+        yValues = BenchmarkData.noisySine(nSamples, 42);
+        dataSet = new DoubleDataSet("bench", xValues, yValues, nSamples, true);
+    }
+
+    @Benchmark
+    public DoubleDataSet addPointWise() {
+        final DoubleDataSet ds = new DoubleDataSet("add", nSamples);
+        for (int i = 0; i < nSamples; i++) {
+            ds.add(xValues[i], yValues[i]);
+        }
+        return ds;
+    }
+
+    @Benchmark
+    public DoubleDataSet setCopy() {
+        return dataSet.set(xValues, yValues, nSamples, true);
+    }
+
+    @Benchmark
+    public DoubleDataSet setNoCopy() {
+        return dataSet.set(xValues, yValues, nSamples, false);
+    }
+
+    @Benchmark
+    public void getPointWise(final Blackhole blackhole) {
+        for (int i = 0; i < nSamples; i++) {
+            blackhole.consume(dataSet.get(DataSet.DIM_Y, i));
+        }
+    }
+
+    @Benchmark
+    public double recomputeLimits() {
+        dataSet.getAxisDescription(DataSet.DIM_Y).clear();
+        dataSet.recomputeLimits(DataSet.DIM_Y);
+        return dataSet.getAxisDescription(DataSet.DIM_Y).getMax();
+    }
+}
@@ -0,0 +1,71 @@
+package io.fair_acc.jmh.math;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.fair_acc.dataset.DataSet;
+import io.fair_acc.dataset.spi.DoubleErrorDataSet;
+import io.fair_acc.jmh.dataset.BenchmarkData;
+import io.fair_acc.math.DataSetMath;
+
+/**
+ * Benchmarks typical derived-trace operations of {@link DataSetMath} (element-wise arithmetic, integration,
+ * differentiation, filtering and spectra) as used by {@code MathDataSet} chains.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataSetMathBenchmark {
+    @Param({ "1024", "65536", "1048576" })
+    private int nSamples;
+
+    private DataSet function1;
+    private DataSet function2;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final double[] xValues = BenchmarkData.linearX(nSamples);
+        final double[] errors = BenchmarkData.constant(nSamples, 0.1);
+        function1 = new DoubleErrorDataSet("f1", xValues, BenchmarkData.noisySine(nSamples, 42), errors, errors, nSamples, true);
+        function2 = new DoubleErrorDataSet("f2", xValues, BenchmarkData.noisySine(nSamples, 43), errors, errors, nSamples, true);
+    }
+
+    @Benchmark
+    public DataSet addFunction() {
+        return DataSetMath.addFunction(function1, function2);
+    }
+
+    @Benchmark
+    public DataSet multiplyFunction() {
+        return DataSetMath.multiplyFunction(function1, 2.0);
+    }
+
+    @Benchmark
+    public DataSet integrateFunction() {
+        return DataSetMath.integrateFunction(function1);
+    }
+
+    @Benchmark
+    public DataSet derivativeFunction() {
+        return DataSetMath.derivativeFunction(function1);
+    }
+
+    @Benchmark
+    public DataSet lowPassFilterFunction() {
+        return DataSetMath.lowPassFilterFunction(function1, 10.0);
+    }
+
+    @Benchmark
+    public DataSet magnitudeSpectrumDecibel() {
+        return DataSetMath.magnitudeSpectrumDecibel(function1);
+    }
+}
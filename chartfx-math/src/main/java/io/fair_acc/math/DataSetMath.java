@@ -17,8 +17,6 @@ import java.util.List;
 import java.util.Objects;
 
 import org.jetbrains.annotations.NotNull;
-import org.jtransforms.fft.DoubleFFT_1D;
-
 import io.fair_acc.dataset.*;
 import io.fair_acc.dataset.spi.DoubleDataSet;
 import io.fair_acc.dataset.spi.DoubleErrorDataSet;
@@ -27,6 +25,7 @@ import io.fair_acc.dataset.spi.utils.DoublePointError;
 import io.fair_acc.dataset.utils.NoDuplicatesList;
 import io.fair_acc.math.spectra.Apodization;
 import io.fair_acc.math.spectra.SpectrumTools;
+import io.fair_acc.math.spectra.fft.DoubleFFT;
 
 /**
  * Some math operation on DataSet, DataSetError and Histogram
@@ -860,7 +859,7 @@ public final class DataSetMath { // NOPMD - nomen est omen
             return new DoubleErrorDataSet(functionName, 0);
         }
 
-        final var fastFourierTrafo = new DoubleFFT_1D(n);
+        final var fastFourierTrafo = new DoubleFFT(n);
 
         // N.B. since realForward computes the FFT in-place -> generate a copy
         final var fftSpectra = new double[n];
@@ -893,7 +892,7 @@ public final class DataSetMath { // NOPMD - nomen est omen
             final boolean dbScale, final boolean normalisedFrequency, @NotNull final Formatter<Number>... format) {
         final int n = function.getDataCount();
 
-        final var fastFourierTrafo = new DoubleFFT_1D(n);
+        final var fastFourierTrafo = new DoubleFFT(n);
 
         // N.B. since realForward computes the FFT in-place -> generate a copy
         final var fftSpectra = new double[2 * n];
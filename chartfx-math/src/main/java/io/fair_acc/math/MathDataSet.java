@@ -17,6 +17,14 @@ import io.fair_acc.dataset.spi.DoubleErrorDataSet;
  * DataSet that automatically transforms source DataSet accordance to
  * DataSetFunction or DataSetValueFunction definition. An optional rate limit is
  * available to limit the number of redundant (GUI) updates if desired.
+ * <p>
+ * The updates are executed by the {@link ThreadEventProcessor#getUserInstance() user event processor}. By default
+ * this is a single thread that recomputes all derived data sets sequentially. Setting a
+ * {@link io.fair_acc.dataset.events.PooledEventProcessor PooledEventProcessor} via
+ * {@link ThreadEventProcessor#setUserInstance(EventProcessor)} prior to creating the data sets recomputes independent
+ * data sets concurrently on a bounded worker pool, coalesces update storms and honours the {@code minUpdatePeriod}.
+ * The results of {@link DataSetFunction}s are computed outside and published atomically under this data set's write
+ * lock.
  *
  * @author rstein
  */
@@ -27,7 +35,7 @@ public class MathDataSet extends DoubleErrorDataSet {
     private final transient DataSetFunction dataSetFunction;
     private final transient DataSetsFunction dataSetsFunction;
     private final transient DataSetValueFunction dataSetValueFunction;
-    private final transient long minUpdatePeriod; // NOPMD
+    private final transient long minUpdatePeriod;
     private final transient String transformName;
     private final BitState inputDataSetBitState = BitState.initDirtyMultiThreaded(this, ChartBits.DataSetMask);
 
@@ -113,7 +121,7 @@ public class MathDataSet extends DoubleErrorDataSet {
         registerListener();
         EventProcessor eventProcessor = ThreadEventProcessor.getUserInstance();
         // eventProcessor.getBitState().addChangeListener(this);
-        eventProcessor.addAction(inputDataSetBitState, this::update);
+        eventProcessor.addAction(inputDataSetBitState, this::update, minUpdatePeriod);
         // inputDataSetBitState.addChangeListener((source, bits) -> update());
 
         // update();
@@ -166,10 +174,17 @@ public class MathDataSet extends DoubleErrorDataSet {
     }
 
     protected void update() {
+        if (dataSetFunction != null) {
+            // N.B. compute outside of the write lock so that readers are not blocked by long-running transforms
+            final DataSet result = dataSetFunction.transform(sourceDataSets.get(0));
+            this.lock().writeLockGuard(() -> {
+                set(result);
+                this.setName(getCompositeDataSetName(transformName, sourceDataSets.toArray(new DataSet[0])));
+            });
+            return;
+        }
         this.lock().writeLockGuard(() -> {
-            if (dataSetFunction != null) {
-                set(dataSetFunction.transform(sourceDataSets.get(0)));
-            } else if (dataSetsFunction != null) {
+            if (dataSetsFunction != null) {
                 dataSetsFunction.transform(sourceDataSets, this);
             } else {
                 if (sourceDataSets.isEmpty()) {
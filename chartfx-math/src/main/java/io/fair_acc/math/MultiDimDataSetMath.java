@@ -15,7 +15,7 @@ import io.fair_acc.dataset.DefaultNumberFormatter;
 import io.fair_acc.dataset.Formatter;
 import io.fair_acc.dataset.GridDataSet;
 import io.fair_acc.dataset.spi.DoubleErrorDataSet;
-import io.fair_acc.dataset.utils.DoubleArrayCache;
+import io.fair_acc.dataset.utils.ArrayPool;
 
 /**
  * Some math operation on multi-dimensional DataSets (nDim larger than 2)
@@ -232,7 +232,7 @@ public final class MultiDimDataSetMath { // NOPMD -- nomen est omen
     private static double[] getSanitizedBuffer(final GridDataSet source, final int dimIndex, final double[] buffer) {
         final int size = source.getShape(dimIndex);
         final boolean invalidBuffer = buffer == null || buffer.length < size;
-        return invalidBuffer ? DoubleArrayCache.getInstance().getArrayExact(size) : buffer;
+        return invalidBuffer ? ArrayPool.DOUBLE.allocateExact(size) : buffer;
     }
 
     @SafeVarargs
@@ -6,6 +6,7 @@ import java.util.Arrays;
 import org.jtransforms.fft.DoubleFFT_1D;
 
 import io.fair_acc.math.MathBase;
+import io.fair_acc.math.spectra.fft.DoubleFFT;
 import io.fair_acc.math.utils.ConcurrencyUtils;
 
 /**
@@ -14,11 +15,49 @@ import io.fair_acc.math.utils.ConcurrencyUtils;
  * @author rstein
  */
 public class Convolution {
+    /**
+     * @deprecated the transforms use the internal {@link DoubleFFT} implementation, a JTransforms instance is only used
+     *             if explicitly set
+     */
+    @Deprecated
     public DoubleFFT_1D f1dFFT;
+    private DoubleFFT fft;
 
     private void init(final int size) {
+        if (f1dFFT == null && fft == null) {
+            fft = new DoubleFFT(size);
+        }
+    }
+
+    private void complexForward(final double[] a) {
         if (f1dFFT == null) {
-            f1dFFT = new DoubleFFT_1D(size);
+            fft.complexForward(a);
+        } else {
+            f1dFFT.complexForward(a);
+        }
+    }
+
+    private void complexInverse(final double[] a) {
+        if (f1dFFT == null) {
+            fft.complexInverse(a, true);
+        } else {
+            f1dFFT.complexInverse(a, true);
+        }
+    }
+
+    private void realForward(final double[] a) {
+        if (f1dFFT == null) {
+            fft.realForward(a);
+        } else {
+            f1dFFT.realForward(a);
+        }
+    }
+
+    private void realInverse(final double[] a) {
+        if (f1dFFT == null) {
+            fft.realInverse(a, true);
+        } else {
+            f1dFFT.realInverse(a, true);
         }
     }
 
@@ -93,11 +132,11 @@ public class Convolution {
             }
         }
 
-        f1dFFT.realForward(fdata);
+        realForward(fdata);
 
         complexMultiply(fdata, filter);
 
-        f1dFFT.realInverse(fdata, true);
+        realInverse(fdata);
 
         if (cyclicBoundary) {
             return fdata.length != data.length ? Arrays.copyOf(fdata, data.length) : fdata;
@@ -157,11 +196,11 @@ public class Convolution {
             fdataFull[i << 1] = fdata[i];
         }
 
-        f1dFFT.complexForward(fdataFull);
+        complexForward(fdataFull);
 
         complexMultiply(fdataFull, filter);
 
-        f1dFFT.complexInverse(fdataFull, true);
+        complexInverse(fdataFull);
 
         if (cyclicBoundary) {
             return fdataFull;
@@ -6,15 +6,14 @@ import static io.fair_acc.dataset.DataSet.DIM_Z;
 
 import java.util.Arrays;
 
-import org.jtransforms.fft.DoubleFFT_1D;
-
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.GridDataSet;
 import io.fair_acc.dataset.spi.DataSetBuilder;
 import io.fair_acc.dataset.spi.DoubleGridDataSet;
 import io.fair_acc.dataset.spi.MultiDimDoubleDataSet;
+import io.fair_acc.dataset.utils.ArrayPool;
 import io.fair_acc.dataset.utils.AssertUtils;
-import io.fair_acc.dataset.utils.DoubleArrayCache;
+import io.fair_acc.math.spectra.fft.DoubleFFT;
 
 /**
  * Static utility class providing magnitude spectrograms from complex and real valued input data.
@@ -22,6 +21,7 @@ import io.fair_acc.dataset.utils.DoubleArrayCache;
  * but also low level array based functions.
  * For complex input values, the data can be provided as two separate arrays as well as in the "interleaved"
  * layout used by JTransforms.
+ * See {@link StreamingShortTimeFourierTransform} for an incremental variant for live data streams.
  *
  * @author Alexander Krimm
  */
@@ -135,10 +135,10 @@ public class ShortTimeFourierTransform {
         AssertUtils.equalDoubleArrays(real, imag); // check for same length
         final int nT = ceilDiv(real.length, step); // number of time steps
         final double[] amplitudeData = output == null || output.length != nFFT * nT ? new double[nFFT * nT] : output; // output array
-        final double[] currentMagnitudeData = DoubleArrayCache.getInstance().getArray(nFFT);
+        final double[] currentMagnitudeData = ArrayPool.DOUBLE.allocate(nFFT);
         // calculate spectrogram
-        final DoubleFFT_1D fastFourierTrafo = new DoubleFFT_1D(nFFT);
-        final double[] raw = DoubleArrayCache.getInstance().getArrayExact(2 * nFFT); // array to perform calculations in
+        final DoubleFFT fastFourierTrafo = new DoubleFFT(nFFT);
+        final double[] raw = ArrayPool.DOUBLE.allocateExact(2 * nFFT); // array to perform calculations in
         for (int i = 0; i < nT; i++) {
             // obtain input data for FFT
             final int offset = i * step;
@@ -180,8 +180,8 @@ public class ShortTimeFourierTransform {
             System.arraycopy(currentMagnitudeData, nFFT / 2, amplitudeData, i * nFFT, nFFT / 2);
         }
         // return cached arrays
-        DoubleArrayCache.getInstance().add(currentMagnitudeData);
-        DoubleArrayCache.getInstance().add(raw);
+        ArrayPool.DOUBLE.release(currentMagnitudeData);
+        ArrayPool.DOUBLE.release(raw);
         return amplitudeData;
     }
 
@@ -189,10 +189,10 @@ public class ShortTimeFourierTransform {
             final Padding padding, final boolean dbScale, final boolean truncateDCNy) {
         final int nT = ceilDiv(complexInput.length, 2 * step); // number of time steps
         final double[] amplitudeData = output == null || output.length != nFFT * nT ? new double[nFFT * nT] : output; // output array
-        final double[] currentMagnitudeData = DoubleArrayCache.getInstance().getArray(nFFT);
+        final double[] currentMagnitudeData = ArrayPool.DOUBLE.allocate(nFFT);
         // calculate spectrogram
-        final DoubleFFT_1D fastFourierTrafo = new DoubleFFT_1D(nFFT);
-        final double[] raw = DoubleArrayCache.getInstance().getArrayExact(2 * nFFT); // array to perform calculations in
+        final DoubleFFT fastFourierTrafo = new DoubleFFT(nFFT);
+        final double[] raw = ArrayPool.DOUBLE.allocateExact(2 * nFFT); // array to perform calculations in
         for (int i = 0; i < nT; i++) {
             // obtain input data for FFT
             final int offset = i * 2 * step;
@@ -235,8 +235,8 @@ public class ShortTimeFourierTransform {
             System.arraycopy(currentMagnitudeData, nFFT / 2, amplitudeData, i * nFFT, nFFT / 2);
         }
         // return cached arrays
-        DoubleArrayCache.getInstance().add(currentMagnitudeData);
-        DoubleArrayCache.getInstance().add(raw);
+        ArrayPool.DOUBLE.release(currentMagnitudeData);
+        ArrayPool.DOUBLE.release(raw);
         return amplitudeData;
     }
 
@@ -330,10 +330,10 @@ public class ShortTimeFourierTransform {
             final Padding padding, final boolean dbScale, final boolean truncateDCNy) {
         final int nT = ceilDiv(input.length, step); // number of time steps
         final double[] amplitudeData = output == null || output.length != nFFT / 2 * nT ? new double[nFFT / 2 * nT] : output; // output array
-        final double[] currentMagnitudeData = DoubleArrayCache.getInstance().getArray(nFFT / 2);
+        final double[] currentMagnitudeData = ArrayPool.DOUBLE.allocate(nFFT / 2);
         // calculate spectrogram
-        final DoubleFFT_1D fastFourierTrafo = new DoubleFFT_1D(nFFT);
-        final double[] raw = DoubleArrayCache.getInstance().getArrayExact(nFFT); // array to perform calculations in
+        final DoubleFFT fastFourierTrafo = new DoubleFFT(nFFT);
+        final double[] raw = ArrayPool.DOUBLE.allocateExact(nFFT); // array to perform calculations in
         for (int i = 0; i < nT; i++) {
             // obtain input data for FFT
             final int offset = i * step;
@@ -370,8 +370,8 @@ public class ShortTimeFourierTransform {
             System.arraycopy(currentMagnitudeData, 0, amplitudeData, i * nFFT / 2, nFFT / 2);
         }
         // return cached arrays
-        DoubleArrayCache.getInstance().add(currentMagnitudeData);
-        DoubleArrayCache.getInstance().add(raw);
+        ArrayPool.DOUBLE.release(currentMagnitudeData);
+        ArrayPool.DOUBLE.release(raw);
 
         return amplitudeData;
     }
@@ -2,12 +2,11 @@ package io.fair_acc.math.spectra;
 
 import java.util.Arrays;
 
-import org.jtransforms.fft.DoubleFFT_1D;
-
 import io.fair_acc.math.Math;
 import io.fair_acc.math.MathBase;
 import io.fair_acc.math.fitter.NonLinearRegressionFitter;
 import io.fair_acc.math.functions.CombFunction;
+import io.fair_acc.math.spectra.fft.DoubleFFT;
 
 /**
  * Class implements frequency interpolation of spectral peaks. The main idea behind these algorithm is: The resolution
@@ -56,7 +55,7 @@ public class SpectrumTools {
     /**
      * compute magnitude power spectra
      *
-     * @see DoubleFFT_1D for the expected spectra layout
+     * @see DoubleFFT for the expected spectra layout
      * @param data the input data Since due to intrinsic uncertainties the DC and Nyquist frequency components are less
      *            representative for the given spectrum, their values are set to their adjacent frequency bins.
      * @return computed magnitude spectrum
@@ -68,7 +67,7 @@ public class SpectrumTools {
     /**
      * compute magnitude power spectra
      *
-     * @see DoubleFFT_1D for the expected spectra layout
+     * @see DoubleFFT for the expected spectra layout
      * @param data the input data
      * @param truncateDCNyq true: whether to smooth spectra and to ZOH the DC and Nyquist frequencies
      * @return computed magnitude spectrum
@@ -82,7 +81,7 @@ public class SpectrumTools {
     /**
      * compute magnitude power spectra
      *
-     * @see DoubleFFT_1D for the expected spectra layout
+     * @see DoubleFFT for the expected spectra layout
      * @param data the input data
      * @param fromPos start of the data to read
      * @param length length to read of the input data
@@ -114,7 +113,7 @@ public class SpectrumTools {
     /**
      * compute magnitude power spectra
      *
-     * @see DoubleFFT_1D for the expected spectra layout
+     * @see DoubleFFT for the expected spectra layout
      * @param data the input data Since due to intrinsic uncertainties the DC and Nyquist frequency components are less
      *            representative for the given spectrum, their values are set to their adjacent frequency bins.
      * @return computed magnitude spectrum
@@ -126,7 +125,7 @@ public class SpectrumTools {
     /**
      * compute magnitude power spectra
      *
-     * @see DoubleFFT_1D for the expected spectra layout
+     * @see DoubleFFT for the expected spectra layout
      * @param data the input data
      * @param truncateDCNyq true: whether to smooth spectra and to ZOH the DC and Nyquist frequencies
      * @return computed magnitude spectrum
@@ -140,7 +139,7 @@ public class SpectrumTools {
     /**
      * compute magnitude power spectra
      *
-     * @see DoubleFFT_1D for the expected spectra layout
+     * @see DoubleFFT for the expected spectra layout
      * @param data the input data
      * @param fromPos starting position of the data
      * @param length length of the data
@@ -171,7 +170,7 @@ public class SpectrumTools {
     /**
      * compute magnitude power spectra in decibel
      *
-     * @see DoubleFFT_1D for the expected spectra layout
+     * @see DoubleFFT for the expected spectra layout
      * @param data the input data
      * @param truncateDCNyq true: whether to smooth spectra and to ZOH the DC and Nyquist frequencies
      * @return computed magnitude spectrum in [dB]
@@ -186,7 +185,7 @@ public class SpectrumTools {
     /**
      * compute magnitude power spectra in decibel
      *
-     * @see DoubleFFT_1D for the expected spectra layout
+     * @see DoubleFFT for the expected spectra layout
      * @param data the input data
      * @param fromPos starting position of the data
      * @param length length of the data
@@ -220,7 +219,7 @@ public class SpectrumTools {
     /**
      * compute magnitude power spectra in decibel
      *
-     * @see DoubleFFT_1D for the expected spectra layout
+     * @see DoubleFFT for the expected spectra layout
      * @param data the input data
      * @param truncateDCNyq true: whether to smooth spectra and to ZOH the DC and Nyquist frequencies
      * @return computed magnitude spectrum in [dB]
@@ -234,7 +233,7 @@ public class SpectrumTools {
     /**
      * compute magnitude power spectra in decibel
      *
-     * @see DoubleFFT_1D for the expected spectra layout
+     * @see DoubleFFT for the expected spectra layout
      * @param data the input data
      * @param fromPos starting position of the data
      * @param length length of the data
@@ -363,7 +362,7 @@ public class SpectrumTools {
     /**
      * compute phase spectra ([-PI,+PI])
      *
-     * @see DoubleFFT_1D for the expected spectra layout
+     * @see DoubleFFT for the expected spectra layout
      * @param data the input data
      * @return computed phase spectrum
      */
@@ -388,7 +387,7 @@ public class SpectrumTools {
     /**
      * compute phase spectra ([-PI,+PI])
      *
-     * @see DoubleFFT_1D for the expected spectra layout
+     * @see DoubleFFT for the expected spectra layout
      * @param data the input data
      * @return phase spectrum
      */
@@ -599,14 +598,14 @@ public class SpectrumTools {
     public static synchronized double[] interpolateSpectrum(final double[] data, final int noversampling) {
         final double[] val1 = Arrays.copyOf(data, data.length);
 
-        DoubleFFT_1D fft1D = new DoubleFFT_1D(data.length);
+        DoubleFFT fft1D = new DoubleFFT(data.length);
         fft1D.realInverse(val1, true);
 
         final double[] val2 = new double[noversampling * val1.length];
         System.arraycopy(val1, 0, val2, 0, val1.length - 2);
 
         final int fftLength = noversampling * data.length;
-        fft1D = new DoubleFFT_1D(fftLength);
+        fft1D = new DoubleFFT(fftLength);
         fft1D.realForward(val2);
 
         for (int i = 0; i < val2.length; i++) {
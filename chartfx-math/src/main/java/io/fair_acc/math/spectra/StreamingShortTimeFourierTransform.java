@@ -0,0 +1,385 @@
+package io.fair_acc.math.spectra;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+import static io.fair_acc.dataset.DataSet.DIM_Z;
+
+import java.util.Arrays;
+
+import io.fair_acc.dataset.GridDataSet;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.spi.DoubleGridDataSet;
+import io.fair_acc.dataset.spi.SlidingWindowRange;
+import io.fair_acc.dataset.spi.utils.MultiArrayDouble;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.math.spectra.ShortTimeFourierTransform.Padding;
+import io.fair_acc.math.spectra.fft.DoubleFFT;
+
+/**
+ * Stateful, incremental short-time fourier transform for live spectrograms (e.g. waterfall displays).
+ * <p>
+ * Contrary to {@link ShortTimeFourierTransform#real(io.fair_acc.dataset.DataSet, GridDataSet, int, int, Apodization,
+ * Padding, boolean, boolean) ShortTimeFourierTransform.real(..)} and {@code complex(..)}, which recompute the whole
+ * spectrogram on each call, new samples are appended via {@link #add(double[], int, int)} (real input) or
+ * {@link #add(double[], double[], int, int)} (complex input) and only the spectra of the frames that have been
+ * completed by these samples are computed. The spectra of the last {@code nFrames} frames are kept in a ring buffer and
+ * published in chronological order to the {@link #getDataSet() output GridDataSet} (DIM_X: frequency, DIM_Y: time,
+ * DIM_Z: magnitude). The output stores each spectrum twice in a mirrored ring buffer, so that the last {@code nFrames}
+ * spectra are always contiguous: publishing only copies the new spectra and moves the start of the view instead of
+ * rotating the whole history.
+ * <p>
+ * Frame {@code k} covers the samples {@code [k * step, k * step + nFFT)}. The frames that are only partially covered
+ * by the samples received so far are computed using the configured {@link Padding} when calling {@link #flush()},
+ * which yields the same spectra as the corresponding non-incremental transform of all samples.
+ * <p>
+ * The class is not thread-safe: samples are expected to be added by a single producer thread. The output data set is
+ * modified under its write lock and may be rendered concurrently.
+ */
+public class StreamingShortTimeFourierTransform {
+    private final boolean complexInput;
+    private final int nFFT;
+    private final int step;
+    private final int nFrames;
+    private final int nFrequencies;
+    private final double sampleInterval;
+    private final Padding padding;
+    private final boolean dbScale;
+    private final boolean truncateDCNy;
+    private final double[] window; // cached apodization window
+    private final double[] frequencyAxis;
+    private final DoubleFFT fastFourierTrafo;
+    private final double[] raw; // array to perform calculations in
+    private final double[] magnitude;
+    private final double[] historyReal; // ring buffer of the last samples
+    private final double[] historyImag;
+    private final int historyMask;
+    private final double[] spectra; // ring buffer of the last nFrames spectra
+    private final SlidingWindowRange magnitudeRange = new SlidingWindowRange();
+    private final SpectrogramDataSet dataSet;
+    private long sampleCount; // total number of received samples
+    private long frameCount; // total number of computed frames
+    private long publishedFrameCount; // total number of frames copied to the output data set
+
+    /**
+     * Streaming STFT using a Hann window and zero padding.
+     *
+     * @param name name of the output data set
+     * @param complexInput {@code true}: complex input samples, {@code false}: real input samples
+     * @param nFFT the number of samples per frame
+     * @param step the time step between consecutive frames in samples
+     * @param nFrames the number of frames kept in the output data set
+     * @param sampleInterval the time between two consecutive samples
+     */
+    public StreamingShortTimeFourierTransform(final String name, final boolean complexInput, final int nFFT, final int step, final int nFrames, final double sampleInterval) {
+        this(name, complexInput, nFFT, step, nFrames, sampleInterval, Apodization.Hann, Padding.ZERO, false, false);
+    }
+
+    /**
+     * @param name name of the output data set
+     * @param complexInput {@code true}: complex input samples, {@code false}: real input samples
+     * @param nFFT the number of samples per frame
+     * @param step the time step between consecutive frames in samples
+     * @param nFrames the number of frames kept in the output data set
+     * @param sampleInterval the time between two consecutive samples
+     * @param apodization window function applied to each frame
+     * @param padding how to pad the frames at the end of the stream (see {@link #flush()}): ZERO, ZOH or MIRROR
+     * @param dbScale {@code true} to convert the spectrum to dB scale
+     * @param truncateDCNy {@code true} to interpolate the DC- and Nyquist-bins to their respective nearest neighbours
+     */
+    public StreamingShortTimeFourierTransform(final String name, final boolean complexInput, final int nFFT, final int step, final int nFrames, final double sampleInterval, //
+            final Apodization apodization, final Padding padding, final boolean dbScale, final boolean truncateDCNy) {
+        AssertUtils.notNull("name", name);
+        AssertUtils.gtThanZero("nFFT", nFFT);
+        AssertUtils.gtThanZero("step", step);
+        AssertUtils.gtThanZero("nFrames", nFrames);
+        AssertUtils.gtThanZero("sampleInterval", sampleInterval);
+        AssertUtils.notNull("apodization", apodization);
+        AssertUtils.notNull("padding", padding);
+        this.complexInput = complexInput;
+        this.nFFT = nFFT;
+        this.step = step;
+        this.nFrames = nFrames;
+        this.nFrequencies = complexInput ? nFFT : nFFT / 2;
+        this.sampleInterval = sampleInterval;
+        this.padding = padding;
+        this.dbScale = dbScale;
+        this.truncateDCNy = truncateDCNy;
+        window = apodization.getWindow(nFFT);
+        fastFourierTrafo = new DoubleFFT(nFFT);
+        raw = new double[complexInput ? 2 * nFFT : nFFT];
+        magnitude = new double[nFrequencies];
+        final int historyCapacity = Integer.highestOneBit(nFFT) == nFFT ? nFFT : Integer.highestOneBit(nFFT) << 1;
+        historyMask = historyCapacity - 1;
+        historyReal = new double[historyCapacity];
+        historyImag = complexInput ? new double[historyCapacity] : null;
+        spectra = new double[nFrames * nFrequencies];
+
+        frequencyAxis = complexInput ? ShortTimeFourierTransform.getFrequencyAxisComplex(sampleInterval, nFFT, null) : ShortTimeFourierTransform.getFrequencyAxisReal(sampleInterval, nFFT, null);
+        dataSet = new SpectrogramDataSet(name, frequencyAxis, new double[2 * nFrames * nFrequencies]);
+        dataSet.getMetaInfo().put(complexInput ? "ComplexSTFT-nFFT" : "RealSTFT-nFFT", Integer.toString(nFFT));
+        dataSet.getMetaInfo().put(complexInput ? "ComplexSTFT-step" : "RealSTFT-step", Integer.toString(step));
+        dataSet.getAxisDescription(DIM_X).set("Frequency", "Hz", frequencyAxis[0], frequencyAxis[frequencyAxis.length - 1]);
+        dataSet.getAxisDescription(DIM_Y).set("Time", "s");
+        dataSet.getAxisDescription(DIM_Z).set("Magnitude", "a.u.");
+    }
+
+    /**
+     * Appends real-valued samples and computes the spectra of all frames that are completed by them.
+     *
+     * @param real new samples
+     * @param offset index of the first new sample
+     * @param length number of new samples
+     * @return number of newly computed spectra
+     */
+    public int add(final double[] real, final int offset, final int length) {
+        if (complexInput) {
+            throw new IllegalStateException("transform expects complex input samples");
+        }
+        return add(real, null, offset, length);
+    }
+
+    /**
+     * Appends complex-valued samples and computes the spectra of all frames that are completed by them.
+     *
+     * @param real real part of the new samples
+     * @param imag imaginary part of the new samples (ignored for real-valued transforms)
+     * @param offset index of the first new sample
+     * @param length number of new samples
+     * @return number of newly computed spectra
+     */
+    public int add(final double[] real, final double[] imag, final int offset, final int length) {
+        AssertUtils.notNull("real", real);
+        AssertUtils.gtEqThanZero("offset", offset);
+        AssertUtils.gtEqThanZero("length", length);
+        AssertUtils.gtOrEqual("real", offset + length, real.length);
+        if (complexInput) {
+            AssertUtils.notNull("imag", imag);
+            AssertUtils.gtOrEqual("imag", offset + length, imag.length);
+        }
+        int newFrames = 0;
+        for (int i = offset; i < offset + length; i++) {
+            final int index = (int) (sampleCount & historyMask);
+            historyReal[index] = real[i];
+            if (complexInput) {
+                historyImag[index] = imag[i];
+            }
+            sampleCount++;
+            // N.B. at most one frame can be completed per sample
+            if (frameCount * step + nFFT == sampleCount) {
+                computeFrame(nFFT);
+                newFrames++;
+            }
+        }
+        if (newFrames > 0) {
+            publish();
+        }
+        return newFrames;
+    }
+
+    /**
+     * Computes the spectra of all frames that are started but only partially covered by the samples received so far
+     * using the configured {@link Padding}, e.g. at the end of a finite stream. Subsequent samples continue with the
+     * next frame.
+     *
+     * @return number of newly computed spectra
+     */
+    public int flush() {
+        int newFrames = 0;
+        while (frameCount * step < sampleCount) {
+            computeFrame((int) (sampleCount - frameCount * step));
+            newFrames++;
+        }
+        if (newFrames > 0) {
+            publish();
+        }
+        return newFrames;
+    }
+
+    /**
+     * @return the spectrogram of the last {@code nFrames} frames: DIM_X: frequency, DIM_Y: time, DIM_Z: magnitude
+     */
+    public GridDataSet getDataSet() {
+        return dataSet;
+    }
+
+    /**
+     * @return total number of frames computed since the last {@link #reset()}
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return total number of samples received since the last {@link #reset()}
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * @return {@code true}: complex input samples, {@code false}: real input samples
+     */
+    public boolean isComplexInput() {
+        return complexInput;
+    }
+
+    /**
+     * discards all received samples and computed spectra
+     */
+    public void reset() {
+        sampleCount = 0;
+        frameCount = 0;
+        publishedFrameCount = 0;
+        magnitudeRange.clear();
+        dataSet.set(false, new double[][] { frequencyAxis, new double[0] }, new double[0]);
+        dataSet.getAxisDescription(DIM_Y).clear();
+        dataSet.getAxisDescription(DIM_Z).clear();
+    }
+
+    private void computeFrame(final int validLength) {
+        final long frameOffset = frameCount * step;
+        final int stride = complexInput ? 2 : 1;
+        for (int j = 0; j < validLength; j++) {
+            copySample(frameOffset + j, j);
+        }
+        // padding
+        switch (padding) {
+        case MIRROR:
+            for (int j = validLength; j < nFFT; j++) {
+                copySample(Math.max(0, sampleCount - 1 - (j - validLength)), j);
+            }
+            break;
+        case ZERO:
+            Arrays.fill(raw, stride * validLength, raw.length, 0.0);
+            break;
+        default:
+        case ZOH:
+            for (int j = validLength; j < nFFT; j++) {
+                copySample(sampleCount - 1, j);
+            }
+            break;
+        }
+        // apply apodization function
+        for (int j = 0; j < nFFT; j++) {
+            raw[stride * j] = raw[stride * j] * window[j];
+            if (complexInput) {
+                raw[2 * j + 1] = raw[2 * j + 1] * window[j];
+            }
+        }
+        // perform Fourier transform and calculate magnitude spectrum
+        if (complexInput) {
+            fastFourierTrafo.complexForward(raw);
+        } else {
+            fastFourierTrafo.realForward(raw);
+        }
+        if (dbScale) {
+            SpectrumTools.computeMagnitudeSpectrum_dB(raw, 0, raw.length, magnitude, 0, truncateDCNy);
+        } else {
+            SpectrumTools.computeMagnitudeSpectrum(raw, 0, raw.length, magnitude, 0, truncateDCNy);
+        }
+
+        // copy output into the spectra ring buffer (layout of complex spectrum is 0, ..., fmax, 0, ..., fmin)
+        final int rowOffset = (int) (frameCount % nFrames) * nFrequencies;
+        if (complexInput) {
+            System.arraycopy(magnitude, 0, spectra, rowOffset + nFFT / 2, nFFT / 2);
+            System.arraycopy(magnitude, nFFT / 2, spectra, rowOffset, nFFT / 2);
+        } else {
+            System.arraycopy(magnitude, 0, spectra, rowOffset, nFrequencies);
+        }
+        double min = Double.NaN;
+        double max = Double.NaN;
+        for (int f = 0; f < nFrequencies; f++) {
+            final double value = magnitude[f];
+            if (Double.isFinite(value)) {
+                min = Double.isNaN(min) ? value : Math.min(min, value);
+                max = Double.isNaN(max) ? value : Math.max(max, value);
+            }
+        }
+        magnitudeRange.add(min, max);
+        magnitudeRange.retainLast(nFrames);
+        frameCount++;
+    }
+
+    private void copySample(final long sample, final int j) {
+        final int index = (int) (sample & historyMask);
+        if (complexInput) {
+            raw[2 * j] = historyReal[index];
+            raw[2 * j + 1] = historyImag[index];
+        } else {
+            raw[j] = historyReal[index];
+        }
+    }
+
+    private void publish() {
+        final int nRows = (int) Math.min(frameCount, nFrames);
+        final long firstFrame = frameCount - nRows;
+        final double[] buffer = dataSet.buffer;
+        dataSet.lock().writeLockGuard(() -> {
+            // copy the new spectra to both halves of the mirrored ring buffer
+            for (long frame = Math.max(publishedFrameCount, firstFrame); frame < frameCount; frame++) {
+                final int row = (int) (frame % nFrames);
+                System.arraycopy(spectra, row * nFrequencies, buffer, row * nFrequencies, nFrequencies);
+                System.arraycopy(spectra, row * nFrequencies, buffer, (row + nFrames) * nFrequencies, nFrequencies);
+            }
+            final double[] timeAxis = dataSet.getShape(DIM_Y) == nRows ? dataSet.getGridValues(DIM_Y) : new double[nRows];
+            for (int row = 0; row < nRows; row++) {
+                timeAxis[row] = sampleInterval * (firstFrame + row) * step;
+            }
+            dataSet.setView(timeAxis, (int) (firstFrame % nFrames));
+            dataSet.getAxisDescription(DIM_Y).set(timeAxis[0], timeAxis[nRows - 1]);
+            magnitudeRange.update(dataSet.getAxisDescription(DIM_Z));
+        });
+        publishedFrameCount = frameCount;
+        dataSet.fireInvalidated(ChartBits.DataSetData);
+    }
+
+    /**
+     * Output data set whose values are a view of {@code nRows} contiguous rows of a mirrored ring buffer holding each
+     * spectrum at the rows {@code r} and {@code r + nFrames}.
+     */
+    private static class SpectrogramDataSet extends DoubleGridDataSet {
+        private static final long serialVersionUID = 1L;
+        private final transient double[] buffer;
+        private transient int viewOffset; // buffer index of the first visible value
+        private transient double[] unwrapped; // chronological copy returned by getValues(DIM_Z), null: outdated
+
+        private SpectrogramDataSet(final String name, final double[] frequencyAxis, final double[] buffer) {
+            super(name, false, new double[][] { frequencyAxis, new double[0] }, new double[0]);
+            this.buffer = buffer;
+        }
+
+        /**
+         * N.B. returns a copy of the visible rows for DIM_Z, modifications are not reflected in the data set
+         */
+        @Override
+        public double[] getValues(final int dimIndex) {
+            if (dimIndex != DIM_Z || values[0].elements() != buffer) { // NOPMD NOSONAR - identity intended
+                return super.getValues(dimIndex);
+            }
+            final double[] local = unwrapped;
+            if (local != null) {
+                return local;
+            }
+            final double[] copy = new double[getDataCount()];
+            System.arraycopy(buffer, viewOffset, copy, 0, copy.length);
+            unwrapped = copy;
+            return copy;
+        }
+
+        /**
+         * N.B. to be called with the write lock being held
+         *
+         * @param timeAxis the time axis of the visible rows
+         * @param firstRow ring buffer row of the first visible spectrum
+         */
+        private void setView(final double[] timeAxis, final int firstRow) {
+            final int nFrequencies = grid[DIM_X].length;
+            grid = new double[][] { grid[DIM_X], timeAxis };
+            shape = new int[] { nFrequencies, timeAxis.length };
+            dataCount = nFrequencies * timeAxis.length;
+            viewOffset = firstRow * nFrequencies;
+            values = new MultiArrayDouble[] { MultiArrayDouble.wrap(buffer, viewOffset, new int[] { timeAxis.length, nFrequencies }) };
+            unwrapped = null;
+        }
+    }
+}
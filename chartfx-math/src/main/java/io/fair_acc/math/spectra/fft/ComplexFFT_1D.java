@@ -4,6 +4,9 @@ import org.apache.commons.math3.complex.Complex;
 
 /**
  * classic FFT implementation based on the Complex data object
+ * <p>
+ * N.B. limited to power-of-two lengths and allocation-heavy, see {@link DoubleFFT} for the primitive, plan-caching
+ * mixed-radix implementation used by the math library.
  *
  * @author rstein
  */
@@ -0,0 +1,669 @@
+package io.fair_acc.math.spectra.fft;
+
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.fair_acc.dataset.utils.ArrayPool;
+import io.fair_acc.dataset.utils.AssertUtils;
+import io.fair_acc.dataset.utils.ComputePool;
+
+/**
+ * Primitive {@code double[]} based one-dimensional FFT engine for arbitrary transform lengths.
+ * <p>
+ * The complex transforms operate on interleaved (re, im) arrays and use an autosorting (Stockham) mixed-radix
+ * algorithm with specialised radix-2/3/4 butterflies and a generic butterfly for other small prime factors. Lengths
+ * containing a prime factor larger than {@value #MAX_DIRECT_RADIX} are computed via Bluestein's chirp-z algorithm on a
+ * power-of-two sized transform, ie. in O(n log n) for any n. Real-input transforms of even length are computed as a
+ * complex transform of half the length.
+ * <p>
+ * The array layouts and scaling conventions are identical to those of {@code org.jtransforms.fft.DoubleFFT_1D}, which
+ * makes this class a drop-in replacement for the transforms used throughout the math library, in particular the packed
+ * real-input spectrum layout of {@link #realForward(double[])} expected by {@link io.fair_acc.math.spectra.SpectrumTools}:
+ * <pre>
+ *  a[2*k] = Re[k], 0 &lt;= k &lt; n / 2
+ *  a[2*k+1] = Im[k], 0 &lt; k &lt; n / 2
+ *  a[1] = Re[n/2] (n even) or Im[(n-1)/2] (n odd, with a[n-1] = Re[(n-1)/2])
+ * </pre>
+ * <p>
+ * N.B. unlike JTransforms, whose unscaled real inverse returns n/2 * x for power-of-two lengths and n * x otherwise,
+ * the unscaled inverse transforms of this class consistently return n * x.
+ * <p>
+ * Twiddle factors and Bluestein chirps are computed once per transform length ('plan') and shared by all instances via
+ * a soft-referenced cache. Work buffers are taken from the {@link ArrayPool}, hence instances are thread-safe and
+ * cheap to create. Transforms with at least {@link #getParallelThreshold()} points execute their butterfly stages in
+ * parallel on the shared {@link ComputePool}.
+ */
+@SuppressWarnings("PMD.TooManyMethods") // part of the flexible class nature
+public class DoubleFFT {
+    /**
+     * default minimum transform length for the parallel execution of the butterfly stages
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 15;
+    /**
+     * largest prime factor that is transformed directly, lengths with larger prime factors use Bluestein's algorithm
+     */
+    public static final int MAX_DIRECT_RADIX = 31;
+    private static final int PARALLEL_GRAIN = 4096; // minimum number of complex points per parallel chunk
+    private static final Map<Integer, SoftReference<Plan>> PLAN_CACHE = new ConcurrentHashMap<>();
+    private final int n;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * @param n transform length (number of complex or real samples)
+     */
+    public DoubleFFT(final int n) {
+        AssertUtils.gtThanZero("n", n);
+        this.n = n;
+    }
+
+    /**
+     * Computes the forward complex DFT in place: X[k] = sum_j x[j] exp(-2 pi i j k / n).
+     *
+     * @param a interleaved complex data (re, im) of length 2n
+     */
+    public void complexForward(final double[] a) {
+        complexForward(a, 0);
+    }
+
+    /**
+     * Computes the forward complex DFT in place.
+     *
+     * @param a interleaved complex data (re, im)
+     * @param offa index of the first element
+     */
+    public void complexForward(final double[] a, final int offa) {
+        checkArray(a, offa, 2 * n);
+        transform(getPlan(n), a, offa);
+    }
+
+    /**
+     * Computes the inverse complex DFT in place.
+     *
+     * @param a interleaved complex data (re, im) of length 2n
+     * @param scale {@code true}: scale the result by 1/n (ie. exact inverse of {@link #complexForward(double[])})
+     */
+    public void complexInverse(final double[] a, final boolean scale) {
+        complexInverse(a, 0, scale);
+    }
+
+    /**
+     * Computes the inverse complex DFT in place.
+     *
+     * @param a interleaved complex data (re, im)
+     * @param offa index of the first element
+     * @param scale {@code true}: scale the result by 1/n (ie. exact inverse of {@link #complexForward(double[])})
+     */
+    public void complexInverse(final double[] a, final int offa, final boolean scale) {
+        checkArray(a, offa, 2 * n);
+        // inverse via conjugation: ifft(x) = conj(fft(conj(x)))
+        conjugate(a, offa, n, 1.0);
+        transform(getPlan(n), a, offa);
+        conjugate(a, offa, n, scale ? 1.0 / n : 1.0);
+    }
+
+    /**
+     * @return minimum transform length for the parallel execution of the butterfly stages
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * @return transform length
+     */
+    public int getSize() {
+        return n;
+    }
+
+    /**
+     * Computes the forward DFT of real data in place using the packed output layout (see class description).
+     *
+     * @param a real input data of length n, replaced by the packed spectrum
+     */
+    public void realForward(final double[] a) {
+        realForward(a, 0);
+    }
+
+    /**
+     * Computes the forward DFT of real data in place using the packed output layout (see class description).
+     *
+     * @param a real input data, replaced by the packed spectrum
+     * @param offa index of the first element
+     */
+    public void realForward(final double[] a, final int offa) {
+        checkArray(a, offa, n);
+        if (n == 1) {
+            return;
+        }
+        if ((n & 1) == 1) {
+            realForwardOdd(a, offa);
+            return;
+        }
+        final int h = n / 2;
+        transform(getPlan(h), a, offa); // even/odd samples as interleaved complex sequence of length n/2
+        final double[] realTwiddle = getPlan(n).getRealTwiddles();
+        final double z0r = a[offa];
+        final double z0i = a[offa + 1];
+        a[offa] = z0r + z0i;
+        a[offa + 1] = z0r - z0i;
+        for (int k = 1; k <= h / 2; k++) {
+            final int ik = offa + 2 * k;
+            final int ij = offa + 2 * (h - k);
+            final double zkr = a[ik];
+            final double zki = a[ik + 1];
+            final double zjr = a[ij];
+            final double zji = a[ij + 1];
+            final double er = 0.5 * (zkr + zjr);
+            final double ei = 0.5 * (zki - zji);
+            final double or = 0.5 * (zki + zji);
+            final double oi = -0.5 * (zkr - zjr);
+            final double wr = realTwiddle[2 * k];
+            final double wi = realTwiddle[2 * k + 1];
+            final double tr = wr * or - wi * oi;
+            final double ti = wr * oi + wi * or;
+            a[ik] = er + tr;
+            a[ik + 1] = ei + ti;
+            a[ij] = er - tr;
+            a[ij + 1] = ti - ei;
+        }
+    }
+
+    /**
+     * Computes the forward DFT of real data returning the full (hermitian) complex spectrum.
+     *
+     * @param a array of length 2n, the real input data is read from the first n elements and replaced by the
+     *            interleaved complex spectrum
+     */
+    public void realForwardFull(final double[] a) {
+        checkArray(a, 0, 2 * n);
+        for (int i = n - 1; i >= 0; i--) {
+            a[2 * i] = a[i];
+            a[2 * i + 1] = 0.0;
+        }
+        complexForward(a, 0);
+    }
+
+    /**
+     * Computes the inverse DFT of a packed real-input spectrum (see class description) in place.
+     *
+     * @param a packed spectrum of length n, replaced by the real signal
+     * @param scale {@code true}: scale the result by 1/n (ie. exact inverse of {@link #realForward(double[])})
+     */
+    public void realInverse(final double[] a, final boolean scale) {
+        realInverse(a, 0, scale);
+    }
+
+    /**
+     * Computes the inverse DFT of a packed real-input spectrum (see class description) in place.
+     *
+     * @param a packed spectrum, replaced by the real signal
+     * @param offa index of the first element
+     * @param scale {@code true}: scale the result by 1/n (ie. exact inverse of {@link #realForward(double[])})
+     */
+    public void realInverse(final double[] a, final int offa, final boolean scale) {
+        checkArray(a, offa, n);
+        if (n == 1) {
+            return;
+        }
+        if ((n & 1) == 1) {
+            realInverseOdd(a, offa, scale);
+            return;
+        }
+        final int h = n / 2;
+        final double[] realTwiddle = getPlan(n).getRealTwiddles();
+        final double x0 = a[offa];
+        final double xh = a[offa + 1];
+        a[offa] = 0.5 * (x0 + xh);
+        a[offa + 1] = 0.5 * (x0 - xh);
+        for (int k = 1; k <= h / 2; k++) {
+            final int ik = offa + 2 * k;
+            final int ij = offa + 2 * (h - k);
+            final double xkr = a[ik];
+            final double xki = a[ik + 1];
+            final double xjr = a[ij];
+            final double xji = a[ij + 1];
+            // E = (X[k] + conj X[h-k]) / 2, O = (X[k] - conj X[h-k]) conj(W^k) / 2
+            final double er = 0.5 * (xkr + xjr);
+            final double ei = 0.5 * (xki - xji);
+            final double dr = 0.5 * (xkr - xjr);
+            final double di = 0.5 * (xki + xji);
+            final double wr = realTwiddle[2 * k];
+            final double wi = -realTwiddle[2 * k + 1];
+            final double or = dr * wr - di * wi;
+            final double oi = dr * wi + di * wr;
+            // Z[k] = E + i O, Z[h-k] = conj(E) + i conj(O)
+            a[ik] = er - oi;
+            a[ik + 1] = ei + or;
+            a[ij] = er + oi;
+            a[ij + 1] = or - ei;
+        }
+        // N.B. the half-length transform yields n/2 * x, the unscaled inverse returns n * x as for the complex case
+        conjugate(a, offa, h, 1.0);
+        transform(getPlan(h), a, offa);
+        conjugate(a, offa, h, scale ? 2.0 / n : 2.0);
+    }
+
+    /**
+     * @param threshold minimum transform length for the parallel execution of the butterfly stages
+     *            ({@code Integer.MAX_VALUE}: always serial)
+     */
+    public void setParallelThreshold(final int threshold) {
+        AssertUtils.gtThanZero("threshold", threshold);
+        this.parallelThreshold = threshold;
+    }
+
+    @Override
+    public String toString() {
+        return "DoubleFFT[n=" + n + ", " + getPlan(n) + ']';
+    }
+
+    /**
+     * @param n transform length
+     * @return (cached) plan for the given complex transform length
+     */
+    protected static Plan getPlan(final int n) {
+        final SoftReference<Plan> reference = PLAN_CACHE.get(n);
+        Plan plan = reference == null ? null : reference.get();
+        if (plan == null) {
+            plan = new Plan(n);
+            PLAN_CACHE.put(n, new SoftReference<>(plan));
+        }
+        return plan;
+    }
+
+    private void checkArray(final double[] a, final int offa, final int length) {
+        AssertUtils.notNull("a", a);
+        AssertUtils.gtEqThanZero("offa", offa);
+        AssertUtils.gtOrEqual("a", offa + length, a.length);
+    }
+
+    private void realForwardOdd(final double[] a, final int offa) {
+        final double[] work = ArrayPool.DOUBLE.allocate(2 * n);
+        for (int i = 0; i < n; i++) {
+            work[2 * i] = a[offa + i];
+            work[2 * i + 1] = 0.0;
+        }
+        transform(getPlan(n), work, 0);
+        a[offa] = work[0];
+        for (int k = 1; k < (n - 1) / 2; k++) {
+            a[offa + 2 * k] = work[2 * k];
+            a[offa + 2 * k + 1] = work[2 * k + 1];
+        }
+        final int last = (n - 1) / 2;
+        a[offa + n - 1] = work[2 * last];
+        a[offa + 1] = work[2 * last + 1];
+        ArrayPool.DOUBLE.release(work);
+    }
+
+    private void realInverseOdd(final double[] a, final int offa, final boolean scale) {
+        final double[] work = ArrayPool.DOUBLE.allocate(2 * n);
+        final int last = (n - 1) / 2;
+        work[0] = a[offa];
+        work[1] = 0.0;
+        for (int k = 1; k <= last; k++) {
+            final double re = k == last ? a[offa + n - 1] : a[offa + 2 * k];
+            final double im = k == last ? a[offa + 1] : a[offa + 2 * k + 1];
+            // hermitian symmetry, conjugated for the inverse transform
+            work[2 * k] = re;
+            work[2 * k + 1] = -im;
+            work[2 * (n - k)] = re;
+            work[2 * (n - k) + 1] = im;
+        }
+        transform(getPlan(n), work, 0);
+        final double norm = scale ? 1.0 / n : 1.0;
+        for (int i = 0; i < n; i++) {
+            a[offa + i] = norm * work[2 * i];
+        }
+        ArrayPool.DOUBLE.release(work);
+    }
+
+    private void transform(final Plan plan, final double[] a, final int offa) {
+        if (plan.bluestein != null) {
+            transformBluestein(plan, a, offa);
+            return;
+        }
+        if (plan.radices.length == 0) {
+            return; // n == 1
+        }
+        final double[] work = ArrayPool.DOUBLE.allocate(2 * plan.n);
+        double[] x = a;
+        int xOff = offa;
+        double[] y = work;
+        int yOff = 0;
+        int length = plan.n;
+        int stride = 1;
+        for (final int radix : plan.radices) {
+            executeStage(plan, radix, length / radix, stride, x, xOff, y, yOff);
+            length /= radix;
+            stride *= radix;
+            final double[] tmp = x;
+            x = y;
+            y = tmp;
+            final int tmpOff = xOff;
+            xOff = yOff;
+            yOff = tmpOff;
+        }
+        if (x != a) {
+            System.arraycopy(x, xOff, a, offa, 2 * plan.n);
+        }
+        ArrayPool.DOUBLE.release(work);
+    }
+
+    private void executeStage(final Plan plan, final int radix, final int m, final int s, final double[] x, final int xOff, final double[] y, final int yOff) {
+        if (plan.n < parallelThreshold) {
+            butterflies(plan, radix, m, s, 0, m, 0, s, x, xOff, y, yOff);
+            return;
+        }
+        // parallelise the longer of the two stage loops
+        if (m >= s) {
+            final int minChunk = Math.max(1, PARALLEL_GRAIN / (s * radix));
+            ComputePool.parallelFor(0, m, minChunk, (chunk, from, to) -> butterflies(plan, radix, m, s, from, to, 0, s, x, xOff, y, yOff));
+        } else {
+            final int minChunk = Math.max(1, PARALLEL_GRAIN / (m * radix));
+            ComputePool.parallelFor(0, s, minChunk, (chunk, from, to) -> butterflies(plan, radix, m, s, 0, m, from, to, x, xOff, y, yOff));
+        }
+    }
+
+    private void transformBluestein(final Plan plan, final double[] a, final int offa) {
+        final Bluestein bluestein = plan.bluestein;
+        final int nPad = bluestein.plan.n;
+        final double[] chirp = bluestein.chirp;
+        final double[] kernel = bluestein.kernelSpectrum;
+        final double[] work = ArrayPool.DOUBLE.allocate(2 * nPad);
+        for (int k = 0; k < plan.n; k++) {
+            final double xr = a[offa + 2 * k];
+            final double xi = a[offa + 2 * k + 1];
+            final double cr = chirp[2 * k];
+            final double ci = chirp[2 * k + 1];
+            work[2 * k] = xr * cr - xi * ci;
+            work[2 * k + 1] = xr * ci + xi * cr;
+        }
+        Arrays.fill(work, 2 * plan.n, 2 * nPad, 0.0);
+        transform(bluestein.plan, work, 0);
+        // multiply with the kernel spectrum and conjugate for the inverse transform
+        for (int j = 0; j < nPad; j++) {
+            final double wr = work[2 * j];
+            final double wi = work[2 * j + 1];
+            final double kr = kernel[2 * j];
+            final double ki = kernel[2 * j + 1];
+            work[2 * j] = wr * kr - wi * ki;
+            work[2 * j + 1] = -(wr * ki + wi * kr);
+        }
+        transform(bluestein.plan, work, 0);
+        final double norm = 1.0 / nPad;
+        for (int k = 0; k < plan.n; k++) {
+            final double wr = norm * work[2 * k];
+            final double wi = -norm * work[2 * k + 1];
+            final double cr = chirp[2 * k];
+            final double ci = chirp[2 * k + 1];
+            a[offa + 2 * k] = wr * cr - wi * ci;
+            a[offa + 2 * k + 1] = wr * ci + wi * cr;
+        }
+        ArrayPool.DOUBLE.release(work);
+    }
+
+    /**
+     * One decimation-in-frequency Stockham stage of radix p on the sub-transform length n' = p * m with stride s:
+     * y[q + s (p j + k)] = W_n'^(j k) sum_r x[q + s (j + r m)] W_p^(r k)
+     */
+    private static void butterflies(final Plan plan, final int radix, final int m, final int s, final int jFrom, final int jTo, final int qFrom, final int qTo, final double[] x, final int xOff, final double[] y, final int yOff) {
+        switch (radix) {
+        case 2:
+            radix2(plan.twiddles, m, s, jFrom, jTo, qFrom, qTo, x, xOff, y, yOff);
+            break;
+        case 3:
+            radix3(plan.twiddles, m, s, jFrom, jTo, qFrom, qTo, x, xOff, y, yOff);
+            break;
+        case 4:
+            radix4(plan.twiddles, m, s, jFrom, jTo, qFrom, qTo, x, xOff, y, yOff);
+            break;
+        default:
+            radixGeneric(plan.twiddles, plan.n, radix, m, s, jFrom, jTo, qFrom, qTo, x, xOff, y, yOff);
+            break;
+        }
+    }
+
+    private static void conjugate(final double[] a, final int offa, final int nComplex, final double scale) {
+        for (int i = 0; i < nComplex; i++) {
+            a[offa + 2 * i] *= scale;
+            a[offa + 2 * i + 1] *= -scale;
+        }
+    }
+
+    private static void radix2(final double[] tw, final int m, final int s, final int jFrom, final int jTo, final int qFrom, final int qTo, final double[] x, final int xOff, final double[] y, final int yOff) {
+        for (int j = jFrom; j < jTo; j++) {
+            final double w1r = tw[2 * j * s];
+            final double w1i = tw[2 * j * s + 1];
+            for (int q = qFrom; q < qTo; q++) {
+                final int i0 = xOff + 2 * (q + s * j);
+                final int i1 = i0 + 2 * s * m;
+                final int o0 = yOff + 2 * (q + s * 2 * j);
+                final int o1 = o0 + 2 * s;
+                final double ar = x[i0];
+                final double ai = x[i0 + 1];
+                final double br = x[i1];
+                final double bi = x[i1 + 1];
+                y[o0] = ar + br;
+                y[o0 + 1] = ai + bi;
+                final double dr = ar - br;
+                final double di = ai - bi;
+                y[o1] = dr * w1r - di * w1i;
+                y[o1 + 1] = dr * w1i + di * w1r;
+            }
+        }
+    }
+
+    private static void radix3(final double[] tw, final int m, final int s, final int jFrom, final int jTo, final int qFrom, final int qTo, final double[] x, final int xOff, final double[] y, final int yOff) {
+        final double sin60 = Math.sqrt(3.0) / 2.0;
+        for (int j = jFrom; j < jTo; j++) {
+            final double w1r = tw[2 * j * s];
+            final double w1i = tw[2 * j * s + 1];
+            final double w2r = tw[4 * j * s];
+            final double w2i = tw[4 * j * s + 1];
+            for (int q = qFrom; q < qTo; q++) {
+                final int i0 = xOff + 2 * (q + s * j);
+                final int i1 = i0 + 2 * s * m;
+                final int i2 = i1 + 2 * s * m;
+                final int o0 = yOff + 2 * (q + s * 3 * j);
+                final int o1 = o0 + 2 * s;
+                final int o2 = o1 + 2 * s;
+                final double a0r = x[i0];
+                final double a0i = x[i0 + 1];
+                final double tr = x[i1] + x[i2];
+                final double ti = x[i1 + 1] + x[i2 + 1];
+                final double dr = sin60 * (x[i1] - x[i2]);
+                final double di = sin60 * (x[i1 + 1] - x[i2 + 1]);
+                final double cr = a0r - 0.5 * tr;
+                final double ci = a0i - 0.5 * ti;
+                y[o0] = a0r + tr;
+                y[o0 + 1] = a0i + ti;
+                final double b1r = cr + di;
+                final double b1i = ci - dr;
+                final double b2r = cr - di;
+                final double b2i = ci + dr;
+                y[o1] = b1r * w1r - b1i * w1i;
+                y[o1 + 1] = b1r * w1i + b1i * w1r;
+                y[o2] = b2r * w2r - b2i * w2i;
+                y[o2 + 1] = b2r * w2i + b2i * w2r;
+            }
+        }
+    }
+
+    private static void radix4(final double[] tw, final int m, final int s, final int jFrom, final int jTo, final int qFrom, final int qTo, final double[] x, final int xOff, final double[] y, final int yOff) {
+        for (int j = jFrom; j < jTo; j++) {
+            final double w1r = tw[2 * j * s];
+            final double w1i = tw[2 * j * s + 1];
+            final double w2r = tw[4 * j * s];
+            final double w2i = tw[4 * j * s + 1];
+            final double w3r = tw[6 * j * s];
+            final double w3i = tw[6 * j * s + 1];
+            for (int q = qFrom; q < qTo; q++) {
+                final int i0 = xOff + 2 * (q + s * j);
+                final int i1 = i0 + 2 * s * m;
+                final int i2 = i1 + 2 * s * m;
+                final int i3 = i2 + 2 * s * m;
+                final int o0 = yOff + 2 * (q + s * 4 * j);
+                final int o1 = o0 + 2 * s;
+                final int o2 = o1 + 2 * s;
+                final int o3 = o2 + 2 * s;
+                final double t0r = x[i0] + x[i2];
+                final double t0i = x[i0 + 1] + x[i2 + 1];
+                final double t1r = x[i0] - x[i2];
+                final double t1i = x[i0 + 1] - x[i2 + 1];
+                final double t2r = x[i1] + x[i3];
+                final double t2i = x[i1 + 1] + x[i3 + 1];
+                final double t3r = x[i1] - x[i3];
+                final double t3i = x[i1 + 1] - x[i3 + 1];
+                y[o0] = t0r + t2r;
+                y[o0 + 1] = t0i + t2i;
+                final double b1r = t1r + t3i; // t1 - i t3
+                final double b1i = t1i - t3r;
+                final double b2r = t0r - t2r;
+                final double b2i = t0i - t2i;
+                final double b3r = t1r - t3i; // t1 + i t3
+                final double b3i = t1i + t3r;
+                y[o1] = b1r * w1r - b1i * w1i;
+                y[o1 + 1] = b1r * w1i + b1i * w1r;
+                y[o2] = b2r * w2r - b2i * w2i;
+                y[o2 + 1] = b2r * w2i + b2i * w2r;
+                y[o3] = b3r * w3r - b3i * w3i;
+                y[o3 + 1] = b3r * w3i + b3i * w3r;
+            }
+        }
+    }
+
+    private static void radixGeneric(final double[] tw, final int n, final int p, final int m, final int s, final int jFrom, final int jTo, final int qFrom, final int qTo, final double[] x, final int xOff, final double[] y, final int yOff) {
+        final int rootStep = n / p; // W_p = W_n^(n/p)
+        final double[] ar = new double[p];
+        final double[] ai = new double[p];
+        for (int j = jFrom; j < jTo; j++) {
+            for (int q = qFrom; q < qTo; q++) {
+                for (int r = 0; r < p; r++) {
+                    final int index = xOff + 2 * (q + s * (j + r * m));
+                    ar[r] = x[index];
+                    ai[r] = x[index + 1];
+                }
+                for (int k = 0; k < p; k++) {
+                    double br = 0.0;
+                    double bi = 0.0;
+                    for (int r = 0, rk = 0; r < p; r++, rk += k) {
+                        final int root = 2 * (rk % p) * rootStep;
+                        br += ar[r] * tw[root] - ai[r] * tw[root + 1];
+                        bi += ar[r] * tw[root + 1] + ai[r] * tw[root];
+                    }
+                    final int twiddle = 2 * j * k * s;
+                    final int out = yOff + 2 * (q + s * (p * j + k));
+                    y[out] = br * tw[twiddle] - bi * tw[twiddle + 1];
+                    y[out + 1] = br * tw[twiddle + 1] + bi * tw[twiddle];
+                }
+            }
+        }
+    }
+
+    /**
+     * immutable, pre-computed factorisation and twiddle factors for a given complex transform length
+     */
+    protected static final class Plan {
+        private final int n;
+        private final int[] radices; // stage radices, empty for n = 1 or Bluestein
+        private final double[] twiddles; // W_n^j = exp(-2 pi i j / n), interleaved
+        private final Bluestein bluestein;
+        private volatile double[] realTwiddles; // NOPMD lazily computed for real transforms of length n
+
+        private Plan(final int n) {
+            this.n = n;
+            final int[] factors = factorise(n);
+            if (factors.length > 0 && factors[factors.length - 1] > MAX_DIRECT_RADIX) {
+                radices = new int[0];
+                twiddles = null;
+                bluestein = new Bluestein(n);
+                return;
+            }
+            radices = factors;
+            bluestein = null;
+            twiddles = new double[2 * n];
+            for (int j = 0; j < n; j++) {
+                final double phi = 2.0 * Math.PI * j / n;
+                twiddles[2 * j] = Math.cos(phi);
+                twiddles[2 * j + 1] = -Math.sin(phi);
+            }
+        }
+
+        /**
+         * @return W_n^k for 0 &lt;= k &lt;= n / 4 (interleaved) used by the real-input post-processing
+         */
+        private double[] getRealTwiddles() {
+            double[] local = realTwiddles;
+            if (local == null) {
+                local = new double[2 * (n / 4 + 1)];
+                for (int k = 0; k <= n / 4; k++) {
+                    final double phi = 2.0 * Math.PI * k / n;
+                    local[2 * k] = Math.cos(phi);
+                    local[2 * k + 1] = -Math.sin(phi);
+                }
+                realTwiddles = local;
+            }
+            return local;
+        }
+
+        @Override
+        public String toString() {
+            return bluestein == null ? "radices=" + Arrays.toString(radices) : "bluestein=" + bluestein.plan.n;
+        }
+
+        /**
+         * @param n transform length
+         * @return stage radices, radix-4 first, then ascending primes
+         */
+        private static int[] factorise(final int n) {
+            final int[] factors = new int[32];
+            int count = 0;
+            int remainder = n;
+            while (remainder % 4 == 0) {
+                factors[count++] = 4;
+                remainder /= 4;
+            }
+            for (int factor = 2; factor * factor <= remainder; factor++) {
+                while (remainder % factor == 0) {
+                    factors[count++] = factor;
+                    remainder /= factor;
+                }
+            }
+            if (remainder > 1) {
+                factors[count++] = remainder;
+            }
+            return Arrays.copyOf(factors, count);
+        }
+    }
+
+    /**
+     * pre-computed chirp and kernel spectrum for Bluestein's algorithm
+     */
+    private static final class Bluestein {
+        private final Plan plan; // power-of-two plan of the padded convolution
+        private final double[] chirp; // exp(-pi i k^2 / n), interleaved
+        private final double[] kernelSpectrum; // FFT of conj(chirp), wrapped around
+
+        private Bluestein(final int n) {
+            final int nPad = Integer.highestOneBit(2 * n - 1) << 1;
+            plan = getPlan(nPad);
+            chirp = new double[2 * n];
+            for (int k = 0; k < n; k++) {
+                // N.B. k^2 mod 2n keeps the argument small and accurate for large k
+                final double phi = Math.PI * ((long) k * k % (2L * n)) / n;
+                chirp[2 * k] = Math.cos(phi);
+                chirp[2 * k + 1] = -Math.sin(phi);
+            }
+            kernelSpectrum = new double[2 * nPad];
+            kernelSpectrum[0] = chirp[0];
+            kernelSpectrum[1] = -chirp[1];
+            for (int k = 1; k < n; k++) {
+                kernelSpectrum[2 * k] = kernelSpectrum[2 * (nPad - k)] = chirp[2 * k];
+                kernelSpectrum[2 * k + 1] = kernelSpectrum[2 * (nPad - k) + 1] = -chirp[2 * k + 1];
+            }
+            new DoubleFFT(nPad).complexForward(kernelSpectrum);
+        }
+    }
+}
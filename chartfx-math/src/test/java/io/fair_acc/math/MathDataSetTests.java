@@ -4,7 +4,10 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.awaitility.Awaitility;
@@ -13,6 +16,8 @@ import org.junit.jupiter.api.Test;
 import io.fair_acc.dataset.DataSet;
 import io.fair_acc.dataset.events.BitState;
 import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.dataset.events.PooledEventProcessor;
+import io.fair_acc.dataset.events.ThreadEventProcessor;
 import io.fair_acc.dataset.spi.DoubleDataSet;
 import io.fair_acc.dataset.spi.DoubleErrorDataSet;
 import io.fair_acc.math.MathDataSet.DataSetValueFunction;
@@ -181,6 +186,38 @@ public class MathDataSetTests {
         Awaitility.await().until(() -> identityDataSet.getBitState().isDirty());
     }
 
+    @Test
+    public void testParallelUpdates() {
+        final int nBins = 512;
+        final DoubleDataSet rawDataSetRef = generateSineWaveData(nBins);
+        final DoubleDataSet magDataSetRef = generateSineWaveSpectrumData(nBins);
+        final PooledEventProcessor processor = new PooledEventProcessor();
+        ThreadEventProcessor.setUserInstance(processor);
+        try {
+            final List<MathDataSet> derived = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                derived.add(new MathDataSet("magI" + i, DataSetMath::magnitudeSpectrumDecibel, 10, rawDataSetRef));
+            }
+            final MathDataSet identityDataSet = new MathDataSet("I", identityValueFunction, 10, rawDataSetRef);
+            Awaitility.await().until(() -> processor.getExecutionCount() >= derived.size() + 1);
+
+            derived.forEach(ds -> ds.getBitState().clear());
+            identityDataSet.getBitState().clear();
+            // update storm: coalesced into at most two executions per data set
+            for (int i = 0; i < 100; i++) {
+                rawDataSetRef.fireInvalidated(ChartBits.DataSetData);
+            }
+            Awaitility.await().until(() -> derived.stream().allMatch(ds -> ds.getBitState().isDirty()) && identityDataSet.getBitState().isDirty());
+            assertTrue(processor.getCoalescedCount() > 0, "coalesced updates");
+            for (final MathDataSet dataSet : derived) {
+                assertArrayEquals(magDataSetRef.getValues(DataSet.DIM_Y), dataSet.getValues(DataSet.DIM_Y));
+            }
+            assertArrayEquals(rawDataSetRef.getValues(DataSet.DIM_Y), identityDataSet.getValues(DataSet.DIM_Y));
+        } finally {
+            ThreadEventProcessor.setUserInstance(null);
+        }
+    }
+
     protected static DoubleDataSet generateSineWaveData(final int nData) {
         DoubleDataSet function = new DoubleDataSet("composite sine", nData);
         for (int i = 0; i < nData; i++) {
@@ -28,6 +28,8 @@ import io.fair_acc.math.spectra.ShortTimeFourierTransform.Padding;
  * @author Alexander Krimm
  */
 class ShortTimeFourierTransformTest {
+    private static final double FFT_TOLERANCE = 1e-10; // N.B. JTransforms reference vs. DoubleFFT round-off
+
     @Test
     public void testRealSTFT() {
         final int nFft = 128;
@@ -78,20 +80,20 @@ class ShortTimeFourierTransformTest {
         Apodization.Hann.apodize(vals1ref);
         fastFourierTrafo.realForward(vals1ref);
         final double[] vals1refMag = SpectrumTools.computeMagnitudeSpectrum(vals1ref, true);
-        assertArrayEquals(vals1refMag, zValues[0]);
+        assertArrayEquals(vals1refMag, zValues[0], FFT_TOLERANCE);
         // compare to transform t = 2 * step * dt
         final double[] vals2ref = Arrays.copyOfRange(sine.getValues(DIM_Y), 2 * step, 2 * step + nFft);
         Apodization.Hann.apodize(vals2ref);
         fastFourierTrafo.realForward(vals2ref);
         final double[] vals2refMag = SpectrumTools.computeMagnitudeSpectrum(vals2ref, true);
-        assertArrayEquals(vals2refMag, zValues[2]);
+        assertArrayEquals(vals2refMag, zValues[2], FFT_TOLERANCE);
         // compare to transform t = 5*step*dt
         final double[] vals3ref = new double[nFft];
         System.arraycopy(sine.getValues(DIM_Y), 5 * step, vals3ref, 0, nFft - 32 - step);
         Apodization.Hann.apodize(vals3ref);
         fastFourierTrafo.realForward(vals3ref);
         final double[] vals3refMag = SpectrumTools.computeMagnitudeSpectrum(vals3ref, true);
-        assertArrayEquals(vals3refMag, zValues[5]);
+        assertArrayEquals(vals3refMag, zValues[5], FFT_TOLERANCE);
 
         // compare to transform t = 5*step*dt with ZOH
         ShortTimeFourierTransform.real(sine, sineSpectrogram, nFft, step, Apodization.Hamming, Padding.ZOH, false, true);
@@ -102,7 +104,7 @@ class ShortTimeFourierTransformTest {
         Apodization.Hamming.apodize(vals3refZOH);
         fastFourierTrafo.realForward(vals3refZOH);
         final double[] vals3refMagZOH = SpectrumTools.computeMagnitudeSpectrum(vals3refZOH, true);
-        assertArrayEquals(zValuesZOH[5], vals3refMagZOH);
+        assertArrayEquals(zValuesZOH[5], vals3refMagZOH, FFT_TOLERANCE);
 
         // compare to transform t = 5*step*dt with ZOH
         final GridDataSet sineSpectrogramMirror = ShortTimeFourierTransform.real(sine, null, nFft, step, Apodization.Rectangular, Padding.MIRROR, true, false);
@@ -115,7 +117,7 @@ class ShortTimeFourierTransformTest {
         Apodization.Rectangular.apodize(vals2ref);
         fastFourierTrafo.realForward(vals3refMirror);
         final double[] vals3refMagMirror = SpectrumTools.computeMagnitudeSpectrum_dB(vals3refMirror, false);
-        assertArrayEquals(zValuesMirror[5], vals3refMagMirror);
+        assertArrayEquals(zValuesMirror[5], vals3refMagMirror, FFT_TOLERANCE);
 
         // perform different sized Transforms
         ShortTimeFourierTransform.real(sine, sineSpectrogram, nFft, 2 * step, Apodization.Rectangular, Padding.MIRROR, true, false);
@@ -211,13 +213,13 @@ class ShortTimeFourierTransformTest {
         ShortTimeFourierTransform.apodizeComplex(vals1ref, Apodization.Hann);
         fastFourierTrafo.complexForward(vals1ref);
         final double[] vals1refMag = alignSpectrum(SpectrumTools.computeMagnitudeSpectrum(vals1ref, true));
-        assertArrayEquals(vals1refMag, zValues[0]);
+        assertArrayEquals(vals1refMag, zValues[0], FFT_TOLERANCE);
         // compare to transform t = 2 * step * dt
         final double[] vals2ref = getStridedComplex(sine.getValues(DIM_Y), sine.getValues(DIM_Z), 2 * step, 2 * step + nFft);
         ShortTimeFourierTransform.apodizeComplex(vals2ref, Apodization.Hann);
         fastFourierTrafo.complexForward(vals2ref);
         final double[] vals2refMag = alignSpectrum(SpectrumTools.computeMagnitudeSpectrum(vals2ref, true));
-        assertArrayEquals(vals2refMag, zValues[2]);
+        assertArrayEquals(vals2refMag, zValues[2], FFT_TOLERANCE);
         // compare to transform t = d5 * step * dt
         final double[] vals3refstart = getStridedComplex(sine.getValues(DIM_Y), sine.getValues(DIM_Z), 5 * step, sine.getDataCount());
         final double[] vals3ref = new double[nFft * 2];
@@ -225,7 +227,7 @@ class ShortTimeFourierTransformTest {
         ShortTimeFourierTransform.apodizeComplex(vals3ref, Apodization.Hann);
         fastFourierTrafo.complexForward(vals3ref);
         final double[] vals3refMag = alignSpectrum(SpectrumTools.computeMagnitudeSpectrum(vals3ref, true));
-        assertArrayEquals(vals3refMag, zValues[5]);
+        assertArrayEquals(vals3refMag, zValues[5], FFT_TOLERANCE);
 
         // compare to transform t = 5*step*dt with ZOH
         ShortTimeFourierTransform.complex(sine, sineSpectrogram, nFft, step, Apodization.Hamming, Padding.ZOH, false, true);
@@ -242,7 +244,7 @@ class ShortTimeFourierTransformTest {
         ShortTimeFourierTransform.apodizeComplex(vals3refZOH, Apodization.Hamming);
         fastFourierTrafo.complexForward(vals3refZOH);
         final double[] vals3refMagZOH = alignSpectrum(SpectrumTools.computeMagnitudeSpectrum(vals3refZOH, true));
-        assertArrayEquals(zValuesZOH[5], vals3refMagZOH);
+        assertArrayEquals(zValuesZOH[5], vals3refMagZOH, FFT_TOLERANCE);
 
         // compare to transform t = 5*step*dt with ZOH
         final GridDataSet sineSpectrogramMirror = ShortTimeFourierTransform.complex(sine, null, nFft, step, Apodization.Rectangular, Padding.MIRROR, true, false);
@@ -256,7 +258,7 @@ class ShortTimeFourierTransformTest {
         ShortTimeFourierTransform.apodizeComplex(vals3refMirror, Apodization.Rectangular);
         fastFourierTrafo.complexForward(vals3refMirror);
         final double[] vals3refMagMirror = alignSpectrum(SpectrumTools.computeMagnitudeSpectrum_dB(vals3refMirror, false));
-        assertArrayEquals(zValuesMirror[5], vals3refMagMirror);
+        assertArrayEquals(zValuesMirror[5], vals3refMagMirror, FFT_TOLERANCE);
 
         // perform different sized Transforms
         ShortTimeFourierTransform.complex(sine, sineSpectrogram, nFft, 2 * step, Apodization.Rectangular, Padding.MIRROR, true, false);
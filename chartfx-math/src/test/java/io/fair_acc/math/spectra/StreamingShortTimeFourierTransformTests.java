@@ -0,0 +1,151 @@
+package io.fair_acc.math.spectra;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static io.fair_acc.dataset.DataSet.DIM_X;
+import static io.fair_acc.dataset.DataSet.DIM_Y;
+import static io.fair_acc.dataset.DataSet.DIM_Z;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.fair_acc.dataset.GridDataSet;
+import io.fair_acc.dataset.events.ChartBits;
+import io.fair_acc.math.spectra.ShortTimeFourierTransform.Padding;
+
+/**
+ * Checks the incremental {@link StreamingShortTimeFourierTransform} against the non-incremental
+ * {@link ShortTimeFourierTransform}.
+ */
+class StreamingShortTimeFourierTransformTests {
+    private static final int N_SAMPLES = 1000;
+    private static final int N_FFT = 64;
+    private static final int STEP = 24;
+    private static final double DT = 1e-3;
+
+    @Test
+    void basicTests() {
+        assertThrows(IllegalArgumentException.class, () -> new StreamingShortTimeFourierTransform("test", false, 0, STEP, 10, DT));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingShortTimeFourierTransform("test", false, N_FFT, 0, 10, DT));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingShortTimeFourierTransform("test", false, N_FFT, STEP, 0, DT));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingShortTimeFourierTransform("test", false, N_FFT, STEP, 10, 0.0));
+
+        final StreamingShortTimeFourierTransform complexStft = new StreamingShortTimeFourierTransform("test", true, N_FFT, STEP, 10, DT);
+        assertTrue(complexStft.isComplexInput());
+        assertThrows(IllegalStateException.class, () -> complexStft.add(new double[10], 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> complexStft.add(new double[10], null, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> complexStft.add(new double[10], new double[5], 0, 10));
+
+        final StreamingShortTimeFourierTransform stft = new StreamingShortTimeFourierTransform("test", false, N_FFT, STEP, 10, DT);
+        final GridDataSet dataSet = stft.getDataSet();
+        assertArrayEquals(new int[] { N_FFT / 2, 0 }, dataSet.getShape());
+        assertEquals("Frequency", dataSet.getAxisDescription(DIM_X).getName());
+        assertEquals(0, stft.add(new double[N_FFT - 1], 0, N_FFT - 1));
+        assertEquals(1, stft.add(new double[1], 0, 1));
+        assertEquals(1, stft.getFrameCount());
+        assertEquals(N_FFT, stft.getSampleCount());
+        assertArrayEquals(new int[] { N_FFT / 2, 1 }, dataSet.getShape());
+
+        stft.reset();
+        assertEquals(0, stft.getFrameCount());
+        assertEquals(0, stft.getSampleCount());
+        assertArrayEquals(new int[] { N_FFT / 2, 0 }, dataSet.getShape());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Padding.class)
+    void testRealStreaming(final Padding padding) {
+        final double[] signal = testSignal(0.05);
+        final double[] reference = ShortTimeFourierTransform.real(signal, null, N_FFT, STEP, Apodization.Hann, padding, false, false);
+        final int nT = reference.length / (N_FFT / 2);
+
+        final StreamingShortTimeFourierTransform stft = new StreamingShortTimeFourierTransform("test", false, N_FFT, STEP, nT, DT, Apodization.Hann, padding, false, false);
+        int newFrames = 0;
+        for (int offset = 0, chunk = 1; offset < N_SAMPLES; offset += chunk, chunk = 2 * chunk + 1) {
+            newFrames += stft.add(signal, offset, Math.min(chunk, N_SAMPLES - offset));
+        }
+        final int completeFrames = (N_SAMPLES - N_FFT) / STEP + 1;
+        assertEquals(completeFrames, newFrames);
+        assertEquals(nT - completeFrames, stft.flush());
+
+        final GridDataSet dataSet = stft.getDataSet();
+        assertArrayEquals(new int[] { N_FFT / 2, nT }, dataSet.getShape());
+        assertArrayEquals(reference, dataSet.getValues(DIM_Z), "streamed and batch spectrogram must be identical");
+        assertArrayEquals(ShortTimeFourierTransform.getTimeAxis(DT, N_SAMPLES, STEP, null), dataSet.getGridValues(DIM_Y), 1e-12);
+        assertArrayEquals(ShortTimeFourierTransform.getFrequencyAxisReal(DT, N_FFT, null), dataSet.getGridValues(DIM_X), 1e-12);
+    }
+
+    @Test
+    void testComplexStreaming() {
+        final double[] real = testSignal(0.05);
+        final double[] imag = testSignal(0.11);
+        final double[] reference = ShortTimeFourierTransform.complex(real, imag, null, N_FFT, STEP, Apodization.Hamming, Padding.MIRROR, true, true);
+        final int nT = reference.length / N_FFT;
+
+        final StreamingShortTimeFourierTransform stft = new StreamingShortTimeFourierTransform("test", true, N_FFT, STEP, nT, DT, Apodization.Hamming, Padding.MIRROR, true, true);
+        for (int offset = 0; offset < N_SAMPLES; offset += 100) {
+            stft.add(real, imag, offset, 100);
+        }
+        stft.flush();
+        assertArrayEquals(new int[] { N_FFT, nT }, stft.getDataSet().getShape());
+        assertArrayEquals(reference, stft.getDataSet().getValues(DIM_Z));
+    }
+
+    @Test
+    void testRingBufferedHistory() {
+        final double[] signal = testSignal(0.2);
+        final double[] reference = ShortTimeFourierTransform.real(signal, null, N_FFT, STEP, Apodization.Hann, Padding.ZERO, false, false);
+        final int nHistory = 7;
+        final int nFrequencies = N_FFT / 2;
+        final StreamingShortTimeFourierTransform stft = new StreamingShortTimeFourierTransform("test", false, N_FFT, STEP, nHistory, DT);
+        final GridDataSet dataSet = stft.getDataSet();
+        final AtomicInteger counter = new AtomicInteger();
+        dataSet.getBitState().addInvalidateListener(ChartBits.DataSetData, (src, bits) -> counter.incrementAndGet());
+
+        for (int offset = 0; offset < N_SAMPLES; offset += 50) {
+            final int nBefore = counter.get();
+            final int newFrames = stft.add(signal, offset, 50);
+            if (newFrames > 0) {
+                assertTrue(counter.get() > nBefore, "DataSetData invalidation");
+            }
+
+            final int nRows = (int) Math.min(stft.getFrameCount(), nHistory);
+            final int firstFrame = (int) stft.getFrameCount() - nRows;
+            assertArrayEquals(new int[] { nFrequencies, nRows }, dataSet.getShape());
+            if (nRows == 0) {
+                continue;
+            }
+            final double[] expected = Arrays.copyOfRange(reference, firstFrame * nFrequencies, (firstFrame + nRows) * nFrequencies);
+            assertArrayEquals(expected, dataSet.getValues(DIM_Z), "history at sample " + stft.getSampleCount());
+            // indexed access (as used by the renderers) reads the rotated view without unwrapping it
+            for (int row = 0; row < nRows; row++) {
+                for (int f = 0; f < nFrequencies; f += 7) {
+                    assertEquals(expected[row * nFrequencies + f], dataSet.get(DIM_Z, f, row));
+                    assertEquals(expected[row * nFrequencies + f], dataSet.get(DIM_Z, row * nFrequencies + f));
+                }
+            }
+            assertEquals(DT * firstFrame * STEP, dataSet.getGrid(DIM_Y, 0), 1e-12);
+            assertEquals(DT * (firstFrame + nRows - 1) * STEP, dataSet.getAxisDescription(DIM_Y).getMax(), 1e-12);
+
+            // incrementally tracked magnitude range
+            final double[] values = dataSet.getValues(DIM_Z);
+            assertEquals(Arrays.stream(values).min().orElseThrow(), dataSet.getAxisDescription(DIM_Z).getMin());
+            assertEquals(Arrays.stream(values).max().orElseThrow(), dataSet.getAxisDescription(DIM_Z).getMax());
+        }
+    }
+
+    private static double[] testSignal(final double frequency) {
+        final double[] signal = new double[N_SAMPLES];
+        for (int i = 0; i < N_SAMPLES; i++) {
+            signal[i] = Math.sin(2.0 * Math.PI * frequency * i * (1.0 + 1e-4 * i)) + 0.1 * Math.cos(0.37 * i);
+        }
+        return signal;
+    }
+}
@@ -0,0 +1,156 @@
+package io.fair_acc.math.spectra.fft;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jtransforms.fft.DoubleFFT_1D;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks the primitive {@link DoubleFFT} engine against the JTransforms reference implementation.
+ */
+class DoubleFFTTests {
+    private static final double RELATIVE_TOLERANCE = 1e-9;
+
+    @Test
+    void basicTests() {
+        assertThrows(IllegalArgumentException.class, () -> new DoubleFFT(0));
+        final DoubleFFT fft = new DoubleFFT(8);
+        assertEquals(8, fft.getSize());
+        assertThrows(IllegalArgumentException.class, () -> fft.complexForward(new double[15]));
+        assertThrows(IllegalArgumentException.class, () -> fft.realForward(new double[7]));
+        assertThrows(IllegalArgumentException.class, () -> fft.setParallelThreshold(0));
+        fft.setParallelThreshold(16);
+        assertEquals(16, fft.getParallelThreshold());
+        assertTrue(new DoubleFFT(2 * 37).toString().contains("bluestein"));
+        assertTrue(new DoubleFFT(60).toString().contains("radices=[4, 3, 5]"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 3, 4, 5, 6, 7, 8, 12, 15, 30, 31, 37, 49, 60, 97, 100, 210, 1000, 1023, 1024, 1025, 4096, 4097, 10007 })
+    void complexTransformTests(final int n) {
+        final double[] data = randomData(2 * n, n);
+        final double[] reference = data.clone();
+        new DoubleFFT_1D(n).complexForward(reference);
+
+        final double[] result = data.clone();
+        final DoubleFFT fft = new DoubleFFT(n);
+        fft.complexForward(result);
+        assertClose(reference, result, "complexForward n=" + n);
+
+        fft.complexInverse(result, true);
+        assertClose(data, result, "complexInverse n=" + n);
+
+        // unscaled inverse
+        final double[] unscaled = reference.clone();
+        new DoubleFFT_1D(n).complexInverse(unscaled, false);
+        fft.complexInverse(reference, false);
+        assertClose(unscaled, reference, "unscaled complexInverse n=" + n);
+    }
+
+    @Test
+    void offsetTests() {
+        final int n = 15;
+        final double[] data = randomData(2 * n + 3, n);
+        final double[] reference = data.clone();
+        new DoubleFFT_1D(n).complexForward(reference, 3);
+        final double[] result = data.clone();
+        new DoubleFFT(n).complexForward(result, 3);
+        assertClose(reference, result, "complexForward with offset");
+
+        final double[] realReference = data.clone();
+        new DoubleFFT_1D(16).realForward(realReference, 5);
+        final double[] realResult = data.clone();
+        new DoubleFFT(16).realForward(realResult, 5);
+        assertClose(realReference, realResult, "realForward with offset");
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 3, 4, 5, 6, 8, 10, 15, 16, 30, 74, 100, 127, 128, 1000, 1024, 2047, 4096, 10006 })
+    void realTransformTests(final int n) {
+        final double[] data = randomData(n, n);
+        final double[] reference = data.clone();
+        new DoubleFFT_1D(n).realForward(reference);
+
+        final DoubleFFT fft = new DoubleFFT(n);
+        final double[] result = data.clone();
+        fft.realForward(result);
+        assertClose(reference, result, "realForward n=" + n);
+
+        final double[] inverse = result.clone();
+        fft.realInverse(inverse, true);
+        assertClose(data, inverse, "realInverse n=" + n);
+
+        // N.B. JTransforms returns n/2 * x for power-of-two and n * x for other lengths, DoubleFFT consistently n * x
+        final double[] unscaledReference = data.clone();
+        for (int i = 0; i < n; i++) {
+            unscaledReference[i] *= n;
+        }
+        fft.realInverse(result, false);
+        assertClose(unscaledReference, result, "unscaled realInverse n=" + n);
+
+        final double[] full = Arrays.copyOf(data, 2 * n);
+        final double[] fullReference = full.clone();
+        new DoubleFFT_1D(n).realForwardFull(fullReference);
+        fft.realForwardFull(full);
+        assertClose(fullReference, full, "realForwardFull n=" + n);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1 << 12, 3 * 5 * 7 * 64, (1 << 11) + 1 })
+    void parallelTransformTests(final int n) {
+        final double[] data = randomData(2 * n, n);
+        final double[] serial = data.clone();
+        final DoubleFFT fft = new DoubleFFT(n);
+        fft.setParallelThreshold(Integer.MAX_VALUE);
+        fft.complexForward(serial);
+
+        final double[] parallel = data.clone();
+        fft.setParallelThreshold(16);
+        fft.complexForward(parallel);
+        assertArrayEquals(serial, parallel, "parallel and serial stages must be identical");
+        fft.complexInverse(parallel, true);
+        assertClose(data, parallel, "parallel complexInverse n=" + n);
+    }
+
+    @Test
+    void singleToneTest() {
+        final int n = 60;
+        final double[] data = new double[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = Math.cos(2.0 * Math.PI * 7 * i / n);
+        }
+        new DoubleFFT(n).realForward(data);
+        assertEquals(0.0, data[0], 1e-12);
+        assertEquals(n / 2.0, data[2 * 7], 1e-12);
+        assertEquals(0.0, data[2 * 7 + 1], 1e-12);
+        assertEquals(0.0, data[2 * 8], 1e-12);
+    }
+
+    private static void assertClose(final double[] expected, final double[] actual, final String message) {
+        assertEquals(expected.length, actual.length, message);
+        double norm = 1.0;
+        for (final double value : expected) {
+            norm = Math.max(norm, Math.abs(value));
+        }
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], RELATIVE_TOLERANCE * norm, message + " index " + i);
+        }
+    }
+
+    private static double[] randomData(final int length, final long seed) {
+        final Random random = new Random(seed);
+        final double[] data = new double[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = random.nextGaussian();
+        }
+        return data;
+    }
+}
@@ -21,7 +21,7 @@ import io.fair_acc.dataset.GridDataSet;
 import io.fair_acc.dataset.events.ChartBits;
 import io.fair_acc.dataset.spi.AbstractDataSet;
 import io.fair_acc.dataset.spi.fastutil.FloatArrayList;
-import io.fair_acc.dataset.utils.ByteArrayCache;
+import io.fair_acc.dataset.utils.ArrayPool;
 import io.fair_acc.dataset.utils.DoubleCircularBuffer;
 import io.fair_acc.math.ArrayUtils;
 import io.fair_acc.math.spectra.Apodization;
@@ -280,7 +280,7 @@ public class TestDataSetSource extends AbstractDataSet<TestDataSetSource> implem
                 }
 
                 final int nAudioSamples = AUDIO_SAMPLING_RATE / 10;
-                final byte[] buffer = ByteArrayCache.getInstance().getArrayExact(2 * nAudioSamples);
+                final byte[] buffer = ArrayPool.BYTE.allocateExact(2 * nAudioSamples);
                 try (final AudioInputStream ais = new AudioInputStream(line)) {
                     int ret;
                     while ((ret = ais.read(buffer)) != 0 && running) {
@@ -300,7 +300,7 @@ public class TestDataSetSource extends AbstractDataSet<TestDataSetSource> implem
                 } catch (final IOException e) {
                     LOGGER.atError().setCause(e).log("issue in audio IO loop");
                 }
-                ByteArrayCache.getInstance().add(buffer);
+                ArrayPool.BYTE.release(buffer);
 
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.atDebug().log("stop recording...");